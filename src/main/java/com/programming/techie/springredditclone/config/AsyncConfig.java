@@ -24,4 +24,19 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Writers for notification streams. Kept apart from taskExecutor so clients
+     * on slow connections cannot hold up event handling.
+     */
+    @Bean(name = "notificationPushExecutor")
+    public Executor notificationPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("NotificationPush-");
+        executor.initialize();
+        return executor;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.programming.techie.springredditclone.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the Redis pub/sub listener container, retrying until Redis is reachable.
+ * Until then each node only sees its own cache invalidations.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisListenerStarter {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Scheduled(fixedDelayString = "${redis.listener.start-retry-ms:30000}")
+    public void startListenerContainer() {
+        if (redisMessageListenerContainer.isListening()) {
+            return;
+        }
+        try {
+            redisMessageListenerContainer.start();
+            log.info("Redis pub/sub listener container started");
+        } catch (Exception e) {
+            // Reset so the next attempt performs a fresh subscription
+            redisMessageListenerContainer.stop();
+            log.warn("Redis pub/sub listener container could not start, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/subreddit")
                         .permitAll()
+                        // The following timeline is per viewer, so it must not fall under the public post reads below
+                        .requestMatchers(HttpMethod.GET, "/api/posts/following")
+                        .authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/posts/")
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/**")
@@ -65,6 +68,8 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/search")
                         .permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/comments/search")
+                        .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/comments/post/**")
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/comments/*/replies")
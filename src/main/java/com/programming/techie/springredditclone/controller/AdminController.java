@@ -1,6 +1,8 @@
 package com.programming.techie.springredditclone.controller;
 
 import com.programming.techie.springredditclone.dto.MatchingControlDto;
+import com.programming.techie.springredditclone.dto.NotificationRetentionStats;
+import com.programming.techie.springredditclone.service.NotificationRetentionService;
 import com.programming.techie.springredditclone.service.RandomVideoCallService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final RandomVideoCallService randomVideoCallService;
+    private final NotificationRetentionService notificationRetentionService;
 
     /**
      * Enable the random video call matching system
@@ -137,4 +140,24 @@ public class AdminController {
         
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Get the outcome of the last notification purge and the totals for this node
+     */
+    @GetMapping("/notifications/retention")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationRetentionStats> getNotificationRetentionStats() {
+        return ResponseEntity.ok(notificationRetentionService.getStats());
+    }
+
+    /**
+     * Run the notification purge now instead of waiting for the nightly job
+     */
+    @PostMapping("/notifications/retention/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationRetentionStats> purgeNotifications() {
+        long purged = notificationRetentionService.purge();
+        log.info("Admin ran the notification purge: {} notifications removed", purged);
+        return ResponseEntity.ok(notificationRetentionService.getStats());
+    }
+}
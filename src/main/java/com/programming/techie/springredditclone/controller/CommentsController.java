@@ -3,6 +3,7 @@ package com.programming.techie.springredditclone.controller;
 import com.programming.techie.springredditclone.dto.CommentsDto;
 import com.programming.techie.springredditclone.dto.CreateCommentRequest;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.model.CommentSort;
 import com.programming.techie.springredditclone.service.CommentService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -42,12 +43,42 @@ public class CommentsController {
     public ResponseEntity<CursorPageResponse<CommentsDto>> getCommentsForPost(
             @PathVariable Long postId,
             @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit,
+            @RequestParam(required = false) String sort) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        CommentSort commentSort = (sort != null) ? CommentSort.lookup(sort) : null;
+        return ResponseEntity.status(OK)
+                .body(commentService.getCommentsForPost(postId, cursor, limit, commentSort));
+    }
+
+    @GetMapping("/post/{postId}/thread")
+    public ResponseEntity<CursorPageResponse<CommentsDto>> getCommentThread(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "10") Integer limit,
+            @RequestParam(required = false, defaultValue = "3") Integer depth) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (depth != null && depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative");
+        }
+        return ResponseEntity.status(OK)
+                .body(commentService.getCommentThread(postId, cursor, limit, depth));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<CommentsDto>> searchComments(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "20") Integer limit) {
         if (limit != null && limit < 1) {
             throw new IllegalArgumentException("Limit must be at least 1");
         }
         return ResponseEntity.status(OK)
-                .body(commentService.getCommentsForPost(postId, cursor, limit));
+                .body(commentService.searchComments(query, cursor, limit));
     }
 
     @GetMapping("/user/{userName}")
@@ -1,14 +1,17 @@
 package com.programming.techie.springredditclone.controller;
 
 import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationPageResponse;
 import com.programming.techie.springredditclone.service.NotificationService;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -30,6 +33,20 @@ public class NotificationController {
         return new ResponseEntity<>(notifications, OK);
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<NotificationPageResponse> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer limit,
+            @RequestParam(defaultValue = "false") boolean unread,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return new ResponseEntity<>(notificationService.getInbox(cursor, limit, unread, type, category, includeCount), OK);
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDto>> getUnreadNotifications() {
         List<NotificationDto> unreadNotifications = notificationService.getUnreadNotificationsForCurrentUser();
@@ -42,6 +59,16 @@ public class NotificationController {
         return new ResponseEntity<>(count, OK);
     }
 
+    /**
+     * Push channel replacing polling of /unread and /count/unread. Sends "notification"
+     * events with a NotificationDto and "unread-count" events with the badge count.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications() {
+        SseEmitter emitter = notificationService.subscribeToNotifications();
+        return new ResponseEntity<>(emitter, OK);
+    }
+
     @GetMapping("/type/{notificationType}")
     public ResponseEntity<List<NotificationDto>> getNotificationsByType(@PathVariable String notificationType) {
         List<NotificationDto> notifications = notificationService.getNotificationsByType(notificationType);
@@ -76,10 +76,18 @@ public class PostController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<PostResponse>> searchPosts(
-            @RequestParam String query) {
-        List<PostResponse> posts = postService.searchPosts(query);
-        return status(HttpStatus.OK).body(posts);
+    public ResponseEntity<CursorPageResponse<PostResponse>> searchPosts(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+        return status(HttpStatus.OK).body(postService.searchPosts(query, cursor, limit));
+    }
+
+    @GetMapping("/following")
+    public ResponseEntity<CursorPageResponse<PostResponse>> getFollowingTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+        return status(HttpStatus.OK).body(postService.getFollowingTimeline(cursor, limit));
     }
 
     @GetMapping("/promoted")
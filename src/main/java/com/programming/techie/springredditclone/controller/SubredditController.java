@@ -1,5 +1,6 @@
 package com.programming.techie.springredditclone.controller;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.SubredditDto;
 import com.programming.techie.springredditclone.service.SubredditService;
 import lombok.AllArgsConstructor;
@@ -8,8 +9,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/subreddit")
 @AllArgsConstructor
@@ -25,10 +24,11 @@ public class SubredditController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SubredditDto>> getAllSubreddits() {
+    public ResponseEntity<CursorPageResponse<SubredditDto>> getAllSubreddits(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false, defaultValue = "20") Integer limit) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(subredditService.getAll());
+                .body(subredditService.getAll(cursor, limit));
     }
 
     @GetMapping("/{id}")
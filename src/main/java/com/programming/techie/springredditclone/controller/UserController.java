@@ -1,8 +1,14 @@
 package com.programming.techie.springredditclone.controller;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.GetIntroDto;
+import com.programming.techie.springredditclone.service.AuthService;
+import com.programming.techie.springredditclone.service.ExportService;
 import com.programming.techie.springredditclone.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,18 +16,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/user")
 public class UserController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final UserService userService;
+    private final AuthService authService;
+    private final ExportService exportService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AuthService authService, ExportService exportService) {
         this.userService = userService;
+        this.authService = authService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/intro/{userId}")
@@ -31,9 +42,35 @@ public class UserController {
         return ResponseEntity.ok(userIntro);
     }
 
+    /**
+     * Typeahead search on usernames starting with the given prefix, case-insensitive,
+     * ordered by username and paged with a cursor
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<GetIntroDto>> searchUsersByUsername(@RequestParam String username) {
-        List<GetIntroDto> users = userService.searchUsersByUsername(username);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPageResponse<GetIntroDto>> searchUsersByUsername(@RequestParam String username,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return ResponseEntity.ok(userService.searchUsersByUsername(username, cursor, limit));
+    }
+
+    /**
+     * Download the current user's posts and comments as NDJSON. The body is written
+     * on the MVC async executor while rows are read, so the response starts immediately
+     * and its size is not bounded by the heap.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportHistory() {
+        // Resolved here because the security context is not available on the async thread
+        Long userId = authService.getCurrentUser().getUserId();
+        StreamingResponseBody body = out -> exportService.exportUserHistory(userId, out);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("history.ndjson").build().toString())
+                .body(body);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cached copy of one user's block graph, stored in Redis by the block graph cache.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlockGraphSnapshot {
+    private long version; // graph version this snapshot was loaded under
+    private long[] blockedUserIds; // users this user has blocked
+    private long[] blockedByUserIds; // users who have blocked this user
+}
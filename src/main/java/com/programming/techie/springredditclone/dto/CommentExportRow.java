@@ -0,0 +1,23 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of one of a user's comments for the history export.
+ * Rows are not managed entities, so streaming them does not grow the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentExportRow {
+    private Long id;
+    private Long postId;
+    private Long parentCommentId;
+    private String text;
+    private Instant createdDate;
+    private Instant editedDate;
+    private Integer voteCount;
+    private boolean deleted;
+}
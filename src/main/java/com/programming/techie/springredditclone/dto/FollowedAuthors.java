@@ -0,0 +1,17 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Followed users split by how their posts reach a timeline. An author that recently
+ * dropped under the fan-out limit is in both lists.
+ */
+@Getter
+@AllArgsConstructor
+public class FollowedAuthors {
+    private List<Long> fanOutAuthorIds; // fanned out on write, seeded into rebuilt timelines
+    private List<Long> fanOutOnReadAuthorIds; // read from the database at query time
+}
@@ -0,0 +1,17 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fan-out classification of authors, stored in Redis so every node splits authors the same way.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HeavyAuthorSnapshot {
+    private long[] heavyAuthorIds; // authors over the fan-out limit, read at query time
+    private long[] recentlyLightAuthorIds; // authors that dropped under the limit within the grace period
+    private long[] recentlyLightSinceMillis; // when each of the above dropped under the limit
+}
@@ -0,0 +1,19 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class NotificationPageResponse extends CursorPageResponse<NotificationDto> {
+    private Long totalCount; // Matching notifications across all pages; null unless requested
+
+    public NotificationPageResponse(List<NotificationDto> content, String nextCursor, boolean hasMore, int limit, Long totalCount) {
+        super(content, nextCursor, hasMore, limit);
+        this.totalCount = totalCount;
+    }
+}
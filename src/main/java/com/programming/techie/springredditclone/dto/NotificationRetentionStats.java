@@ -0,0 +1,24 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NotificationRetentionStats {
+    private boolean archiveEnabled; // Purged rows are copied to notifications_archive before deletion
+    private int maxAgeDays;
+    private Instant lastRunAt;
+    private long lastRunPurged; // Rows removed from notifications by the last run
+    private int lastRunBatches;
+    private long lastRunMillis;
+    private long totalPurged; // Rows removed since this node started
+    private long totalArchived; // Of those, rows copied to the archive
+    private long failedBatches; // Since this node started
+}
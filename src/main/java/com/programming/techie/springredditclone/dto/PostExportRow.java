@@ -0,0 +1,22 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of one of a user's posts for the history export.
+ * Rows are not managed entities, so streaming them does not grow the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class PostExportRow {
+    private Long postId;
+    private String postName;
+    private String url;
+    private String description;
+    private Integer voteCount;
+    private Integer commentCount;
+    private Instant createdDate;
+}
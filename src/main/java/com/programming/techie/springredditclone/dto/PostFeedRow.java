@@ -0,0 +1,25 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Flat projection of a post and its author for feed pages.
+ * Selecting the author columns directly avoids loading a User entity
+ * (and its inverse one-to-one associations) for every row.
+ */
+@Getter
+@AllArgsConstructor
+public class PostFeedRow {
+    private Long postId;
+    private String postName;
+    private String url;
+    private String description;
+    private Integer voteCount;
+    private Integer commentCount;
+    private Instant createdDate;
+    private Long userId;
+    private String username;
+}
@@ -0,0 +1,14 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A post ID with its ranking score
+ */
+@Getter
+@AllArgsConstructor
+public class RankedPost {
+    private Long postId;
+    private double score;
+}
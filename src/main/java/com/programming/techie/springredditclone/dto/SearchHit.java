@@ -0,0 +1,14 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A post or comment ID with its search relevance score
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private Long id;
+    private double score;
+}
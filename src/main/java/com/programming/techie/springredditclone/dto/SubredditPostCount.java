@@ -0,0 +1,17 @@
+package com.programming.techie.springredditclone.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A subreddit with its posts counted in the same statement, so the
+ * post collection is never initialized just to take its size.
+ */
+@Getter
+@AllArgsConstructor
+public class SubredditPostCount {
+    private Long id;
+    private String name;
+    private String description;
+    private Long postCount;
+}
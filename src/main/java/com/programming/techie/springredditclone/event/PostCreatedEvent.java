@@ -0,0 +1,24 @@
+package com.programming.techie.springredditclone.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Instant;
+
+/**
+ * Event fired when a new post is saved
+ */
+@Getter
+public class PostCreatedEvent extends ApplicationEvent {
+
+    private final Long postId;
+    private final Long authorId;
+    private final Instant createdDate;
+
+    public PostCreatedEvent(Object source, Long postId, Long authorId, Instant createdDate) {
+        super(source);
+        this.postId = postId;
+        this.authorId = authorId;
+        this.createdDate = createdDate;
+    }
+}
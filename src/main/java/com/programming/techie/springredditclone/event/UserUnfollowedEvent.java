@@ -0,0 +1,15 @@
+package com.programming.techie.springredditclone.event;
+
+import com.programming.techie.springredditclone.model.User;
+import lombok.Getter;
+
+/**
+ * Event fired when a user unfollows another user
+ */
+@Getter
+public class UserUnfollowedEvent extends UserActionEvent {
+    
+    public UserUnfollowedEvent(Object source, User follower, User unfollowed) {
+        super(source, follower, unfollowed, "USER_UNFOLLOWED");
+    }
+}
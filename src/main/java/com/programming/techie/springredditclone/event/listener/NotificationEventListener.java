@@ -3,7 +3,7 @@ package com.programming.techie.springredditclone.event.listener;
 import com.programming.techie.springredditclone.event.PostCommentedEvent;
 import com.programming.techie.springredditclone.event.PostLikedEvent;
 import com.programming.techie.springredditclone.event.UserFollowedEvent;
-import com.programming.techie.springredditclone.service.NotificationService;
+import com.programming.techie.springredditclone.service.NotificationIngestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -12,14 +12,15 @@ import org.springframework.stereotype.Component;
 
 /**
  * Event listener for user actions that trigger notifications
- * Uses @Async to handle notifications asynchronously
+ * Uses @Async to handle notifications asynchronously; the notifications are
+ * queued and written in coalesced batches by NotificationIngestionService
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationEventListener {
 
-    private final NotificationService notificationService;
+    private final NotificationIngestionService notificationIngestionService;
 
     /**
      * Handle post liked events
@@ -37,13 +38,13 @@ public class NotificationEventListener {
                 return;
             }
             
-            notificationService.createLikeNotification(
+            notificationIngestionService.enqueueLike(
                     event.getActor(),      // liker
                     event.getRecipient(),  // post owner
                     event.getPostId()      // post id
             );
             
-            log.info("Successfully created like notification for post {}", event.getPostId());
+            log.info("Queued like notification for post {}", event.getPostId());
         } catch (Exception e) {
             log.error("Error processing post liked event for post {}: {}", 
                     event.getPostId(), e.getMessage(), e);
@@ -66,14 +67,14 @@ public class NotificationEventListener {
                 return;
             }
             
-            notificationService.createCommentNotification(
+            notificationIngestionService.enqueueComment(
                     event.getActor(),      // commenter
                     event.getRecipient(),  // post owner
                     event.getPostId(),     // post id
                     event.getCommentId()   // comment id
             );
             
-            log.info("Successfully created comment notification for post {}", event.getPostId());
+            log.info("Queued comment notification for post {}", event.getPostId());
         } catch (Exception e) {
             log.error("Error processing post commented event for post {}: {}", 
                     event.getPostId(), e.getMessage(), e);
@@ -96,12 +97,12 @@ public class NotificationEventListener {
                 return;
             }
             
-            notificationService.createFollowNotification(
+            notificationIngestionService.enqueueFollow(
                     event.getActor(),      // follower
                     event.getRecipient()   // followed
             );
             
-            log.info("Successfully created follow notification for user {}", 
+            log.info("Queued follow notification for user {}", 
                     event.getRecipient().getUsername());
         } catch (Exception e) {
             log.error("Error processing user followed event: {}", e.getMessage(), e);
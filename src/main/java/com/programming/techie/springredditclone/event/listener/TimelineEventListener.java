@@ -0,0 +1,65 @@
+package com.programming.techie.springredditclone.event.listener;
+
+import com.programming.techie.springredditclone.event.PostCreatedEvent;
+import com.programming.techie.springredditclone.event.UserFollowedEvent;
+import com.programming.techie.springredditclone.event.UserUnfollowedEvent;
+import com.programming.techie.springredditclone.service.TimelineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes new posts into followers' timelines and keeps timelines in step with follows and unfollows
+ * Runs after the change is committed so readers never hydrate an ID that isn't visible yet
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineEventListener {
+
+    private final TimelineService timelineService;
+
+    /**
+     * Handle post created events
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async
+    public void handlePostCreatedEvent(PostCreatedEvent event) {
+        try {
+            timelineService.fanOutPost(event.getPostId(), event.getAuthorId(), event.getCreatedDate());
+        } catch (Exception e) {
+            log.error("Error fanning out post {} to follower timelines: {}",
+                    event.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handle user followed events
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async
+    public void handleUserFollowedEvent(UserFollowedEvent event) {
+        try {
+            timelineService.addAuthor(event.getActor().getUserId(), event.getRecipient().getUserId());
+        } catch (Exception e) {
+            log.error("Error merging user {} into the timeline of user {}: {}",
+                    event.getRecipient().getUserId(), event.getActor().getUserId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handle user unfollowed events
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async
+    public void handleUserUnfollowedEvent(UserUnfollowedEvent event) {
+        try {
+            timelineService.removeAuthor(event.getActor().getUserId(), event.getRecipient().getUserId());
+        } catch (Exception e) {
+            log.error("Error removing user {} from the timeline of user {}: {}",
+                    event.getRecipient().getUserId(), event.getActor().getUserId(), e.getMessage(), e);
+        }
+    }
+}
@@ -24,6 +24,8 @@ public interface CommentMapper {
     @Mapping(target = "user", source = "user")
     @Mapping(target = "parentComment", ignore = true)
     @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "path", ignore = true)
+    @Mapping(target = "depth", ignore = true)
     @Mapping(target = "voteCount", constant = "0")
     @Mapping(target = "replyCount", constant = "0")
     @Mapping(target = "edited", constant = "false")
@@ -39,6 +41,8 @@ public interface CommentMapper {
     @Mapping(target = "user", source = "user")
     @Mapping(target = "parentComment", source = "parentComment")
     @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "path", ignore = true)
+    @Mapping(target = "depth", ignore = true)
     @Mapping(target = "voteCount", constant = "0")
     @Mapping(target = "replyCount", constant = "0")
     @Mapping(target = "edited", constant = "false")
@@ -1,6 +1,7 @@
 package com.programming.techie.springredditclone.mapper;
 
 import com.github.marlonlom.utilities.timeago.TimeAgo;
+import com.programming.techie.springredditclone.dto.PostFeedRow;
 import com.programming.techie.springredditclone.dto.PostRequest;
 import com.programming.techie.springredditclone.dto.PostResponse;
 import com.programming.techie.springredditclone.model.*;
@@ -37,6 +38,22 @@ public abstract class PostMapper {
     @Mapping(target = "duration", expression = "java(getDuration(post))")
     public abstract PostResponse mapToDto(Post post);
 
+    // Map a feed projection row; subreddit names are loaded separately for the whole page
+    public PostResponse mapToDto(PostFeedRow row, List<String> subredditNames) {
+        PostResponse response = new PostResponse();
+        response.setId(row.getPostId());
+        response.setPostName(row.getPostName());
+        response.setUrl(row.getUrl());
+        response.setDescription(row.getDescription());
+        response.setUserName(row.getUsername());
+        response.setUserId(row.getUserId());
+        response.setSubredditNames(subredditNames);
+        response.setVoteCount(row.getVoteCount());
+        response.setCommentCount(row.getCommentCount());
+        response.setDuration(TimeAgo.using(row.getCreatedDate().toEpochMilli()));
+        return response;
+    }
+
     // Helper method to map subreddit names to subreddit entities
     protected Set<Subreddit> mapSubreddits(List<String> subredditNames) {
         // This will be implemented in the service layer
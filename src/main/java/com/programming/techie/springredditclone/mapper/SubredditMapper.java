@@ -1,26 +1,20 @@
 package com.programming.techie.springredditclone.mapper;
 
 import com.programming.techie.springredditclone.dto.SubredditDto;
-import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.Subreddit;
 import org.mapstruct.InheritInverseConfiguration;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.util.List;
-import java.util.Set;
-
 @Mapper(componentModel = "spring")
 public interface SubredditMapper {
 
-    @Mapping(target = "numberOfPosts", expression = "java(mapPosts(subreddit.getPosts()))")
+    // Reads the stored counter; taking posts.size() would initialize the whole lazy collection
+    @Mapping(target = "numberOfPosts", source = "postCount")
     SubredditDto mapSubredditToDto(Subreddit subreddit);
 
-    default Integer mapPosts(Set<Post> numberOfPosts) {
-        return numberOfPosts == null ? 0 : numberOfPosts.size();
-    }
-
     @InheritInverseConfiguration
     @Mapping(target = "posts", ignore = true)
+    @Mapping(target = "postCount", ignore = true)
     Subreddit mapDtoToSubreddit(SubredditDto subredditDto);
 }
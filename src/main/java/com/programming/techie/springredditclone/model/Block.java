@@ -13,7 +13,10 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "blocks")
+@Table(name = "blocks", indexes = {
+        @Index(name = "idx_blocks_blocker_active", columnList = "blocker_id, isActive"),
+        @Index(name = "idx_blocks_blocked_active", columnList = "blocked_id, isActive")
+})
 public class Block {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package com.programming.techie.springredditclone.model;
 
+import com.programming.techie.springredditclone.util.CommentPath;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,7 +15,17 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Keyset pages of top-level comments, replies and a user's comments, all ordered by id
+        @Index(name = "idx_comments_post_parent_id", columnList = "postId, parentCommentId, id"),
+        @Index(name = "idx_comments_parent_id", columnList = "parentCommentId, id"),
+        @Index(name = "idx_comments_user_id", columnList = "userId, id"),
+        // Thread loads: descendants of a run of top-level comments are one path range
+        @Index(name = "idx_comments_post_path", columnList = "postId, path"),
+        // Keyset pages of top-level comments under each CommentSort, as (sortKey, id)
+        @Index(name = "idx_comments_post_parent_created", columnList = "postId, parentCommentId, createdDate, id"),
+        @Index(name = "idx_comments_post_parent_votes", columnList = "postId, parentCommentId, voteCount, id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,8 +52,17 @@ public class Comment {
     @OneToMany(mappedBy = "parentComment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> replies;
     
+    // Materialized path of ancestor IDs and nesting depth, see CommentPath
+    @Column(length = CommentPath.MAX_LENGTH)
+    private String path = CommentPath.ROOT;
+    private Integer depth = 0;
+    
     // Comment metadata
+    // Owned by VoteCounterService, which adds deltas in place; entity updates must not overwrite it
+    @Column(updatable = false)
     private Integer voteCount = 0;
+    // Maintained by atomic increments in CommentRepository and repaired by ReplyCountReconciliationService
+    @Column(updatable = false)
     private Integer replyCount = 0;
     private boolean isEdited = false;
     private Instant editedDate;
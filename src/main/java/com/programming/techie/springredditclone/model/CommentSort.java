@@ -0,0 +1,27 @@
+package com.programming.techie.springredditclone.model;
+
+import com.programming.techie.springredditclone.exceptions.SpringRedditException;
+
+import java.util.Arrays;
+
+/**
+ * Orderings for a post's top-level comments. Each is backed by a stored sort key
+ * so pages can be read with a (sortKey, id) keyset cursor.
+ */
+public enum CommentSort {
+    // Newest first, keyed by createdDate
+    NEW,
+    // Most liked first, keyed by voteCount
+    TOP,
+    // Best first. Comment votes are likes only, so a Wilson score lower bound would be
+    // monotonic in voteCount; this is served exactly like TOP, from the same index
+    BEST,
+    ;
+
+    public static CommentSort lookup(String sort) {
+        return Arrays.stream(CommentSort.values())
+                .filter(value -> value.name().equalsIgnoreCase(sort))
+                .findAny()
+                .orElseThrow(() -> new SpringRedditException("Unknown comment sort: " + sort));
+    }
+}
@@ -13,7 +13,10 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "follows")
+@Table(name = "follows", indexes = {
+        @Index(name = "idx_follows_follower_active", columnList = "follower_id, isActive"),
+        @Index(name = "idx_follows_following_active", columnList = "following_id, isActive")
+})
 public class Follow {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,7 +13,11 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Inbox pages and unread counts per recipient, newest first
+        @Index(name = "idx_notifications_recipient_deleted_created", columnList = "recipient_id, isDeleted, createdAt, id"),
+        @Index(name = "idx_notifications_recipient_read", columnList = "recipient_id, isRead")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,56 @@
+package com.programming.techie.springredditclone.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Read and deleted notifications moved out of the live table by the retention job.
+ * Rows are copied as they were, keeping their ids; users are referenced by id only,
+ * so archived rows never block deleting a user.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_recipient_created", columnList = "recipientId, createdAt")
+})
+public class NotificationArchive {
+    @Id
+    private Long id; // Same id as in notifications
+
+    private Long recipientId;
+    private Long senderId;
+
+    private String title;
+    private String message;
+    private String notificationType;
+    private String priority;
+
+    private boolean isRead;
+    private Instant readAt;
+    private boolean isDeleted;
+    private Instant deletedAt;
+
+    private Long relatedPostId;
+    private Long relatedCommentId;
+    private Long relatedUserId;
+    private Long relatedMatchId;
+    private Long relatedCallId;
+
+    private Instant createdAt;
+    private String actionUrl;
+    private String icon;
+    private String category;
+
+    private Instant archivedAt; // When the retention job moved the row
+}
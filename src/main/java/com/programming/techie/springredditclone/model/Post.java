@@ -9,7 +9,11 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = {
+        // Keyset feed pages: (createdDate, postId) row comparison ordered newest first
+        @Index(name = "idx_post_created_date_post_id", columnList = "createdDate, postId"),
+        @Index(name = "idx_post_user_created_date_post_id", columnList = "userId, createdDate, postId")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,6 +25,8 @@ public class Post {
     private String url;
     @Lob
     private String description;
+    // Owned by VoteCounterService, which adds deltas in place; entity updates must not overwrite it
+    @Column(updatable = false)
     private Integer voteCount = 0;
     private Integer commentCount = 0;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +37,7 @@ public class Post {
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "post_subreddits",
+        indexes = @Index(name = "idx_post_subreddits_subreddit_post", columnList = "subreddit_id, post_id"),
         joinColumns = @JoinColumn(name = "post_id"),
         inverseJoinColumns = @JoinColumn(name = "subreddit_id")
     )
@@ -13,7 +13,12 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "random_video_call_queue")
+@Table(name = "random_video_call_queue", indexes = {
+        // Matching scans waiting requests oldest first
+        @Index(name = "idx_rvcq_status_created", columnList = "queueStatus, requestCreatedAt"),
+        @Index(name = "idx_rvcq_user_status", columnList = "user_id, queueStatus"),
+        @Index(name = "idx_rvcq_request_id", columnList = "requestId")
+})
 public class RandomVideoCallQueue {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +17,10 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        // Subreddit listing, read in (name, id) keyset order
+        @Index(name = "idx_subreddit_name_id", columnList = "name, id")
+})
 @Builder
 public class Subreddit {
     @Id
@@ -26,7 +30,15 @@ public class Subreddit {
     private String description;
     @ManyToMany(mappedBy = "subreddits", fetch = LAZY)
     private Set<Post> posts;
+    // Number of posts in the subreddit, maintained by atomic increments in SubredditRepository
+    @Column(updatable = false, columnDefinition = "integer default 0")
+    private Integer postCount;
     private Instant createdDate;
     @ManyToOne(fetch = LAZY)
     private User user;
+
+    @PrePersist
+    protected void onCreate() {
+        postCount = 0;
+    }
 }
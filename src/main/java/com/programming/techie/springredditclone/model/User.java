@@ -8,18 +8,24 @@ import lombok.Setter;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 
 @Setter
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Case-insensitive username prefix search, read in (usernameLower, userId) keyset order
+        @Index(name = "idx_users_username_lower", columnList = "usernameLower, userId")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long userId;
     private String username;
+    // Lower-cased copy of username for the prefix search, kept in sync on every write
+    private String usernameLower;
     private String password;
     private String email;
     private Instant created;
@@ -84,4 +90,10 @@ public class User {
     
     @OneToMany(mappedBy = "matchedUser", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Match> matchedBy;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeUsername() {
+        usernameLower = (username != null) ? username.toLowerCase(Locale.ROOT) : null;
+    }
 }
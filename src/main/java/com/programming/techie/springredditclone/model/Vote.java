@@ -16,7 +16,14 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @NoArgsConstructor
 @Entity
 @Builder
-@Table(name = "votes")
+@Table(name = "votes", uniqueConstraints = {
+        // One vote per user per target; NULLs are distinct, so each constraint only applies to its own vote kind
+        @UniqueConstraint(name = "uk_votes_user_post", columnNames = {"userId", "postId"}),
+        @UniqueConstraint(name = "uk_votes_user_comment", columnNames = {"userId", "commentId"})
+}, indexes = {
+        @Index(name = "idx_votes_post", columnList = "postId"),
+        @Index(name = "idx_votes_comment", columnList = "commentId")
+})
 public class Vote {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -30,4 +30,8 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     // Get blocked user IDs for filtering in other repositories
     @Query("SELECT b.blocked.userId FROM Block b WHERE b.blocker = :user AND b.isActive = true")
     List<Long> findBlockedUserIdsByBlocker(@Param("user") User user);
+    
+    // Get IDs of users who have actively blocked the given user
+    @Query("SELECT b.blocker.userId FROM Block b WHERE b.blocked = :user AND b.isActive = true")
+    List<Long> findBlockerUserIdsByBlocked(@Param("user") User user);
 } 
\ No newline at end of file
@@ -1,15 +1,25 @@
 package com.programming.techie.springredditclone.repository;
 
+import com.programming.techie.springredditclone.dto.CommentExportRow;
 import com.programming.techie.springredditclone.model.Comment;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -17,6 +27,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Basic comment queries
     List<Comment> findByPost(Post post);
     List<Comment> findAllByUser(User user);
+
+    // Every comment of a user, including deleted ones, for the history export. Must be consumed inside a
+    // transaction; the fetch size makes the driver page through a cursor (idx_comments_user_id) instead of
+    // materializing the whole result
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.programming.techie.springredditclone.dto.CommentExportRow(c.id, c.post.postId, parent.id, c.text, c.createdDate, c.editedDate, c.voteCount, c.deleted) " +
+           "FROM Comment c LEFT JOIN c.parentComment parent WHERE c.user.userId = :userId ORDER BY c.id")
+    Stream<CommentExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
     
     // Threading/replies queries
     List<Comment> findByParentComment(Comment parentComment);
@@ -39,6 +57,15 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.parentComment = :parentComment AND c.deleted = false")
     Long countRepliesByParentComment(@Param("parentComment") Comment parentComment);
     
+    // Reply counter updates run in the database so concurrent replies never lose an increment
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1 WHERE c.id = :commentId")
+    int incrementReplyCount(@Param("commentId") Long commentId);
+    
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount - 1 WHERE c.id = :commentId AND c.replyCount > 0")
+    int decrementReplyCount(@Param("commentId") Long commentId);
+    
     // Comment tree queries
     @Query("SELECT c FROM Comment c WHERE c.parentComment = :parentComment AND c.deleted = false ORDER BY c.createdDate ASC")
     List<Comment> findRepliesByParentCommentOrderByDate(@Param("parentComment") Comment parentComment);
@@ -46,6 +73,10 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Search comments
     @Query("SELECT c FROM Comment c WHERE c.text LIKE %:searchTerm% AND c.deleted = false")
     List<Comment> searchCommentsByText(@Param("searchTerm") String searchTerm);
+
+    // Hydrate a page of search hits with their authors in one query; callers restore the ranking order
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN :ids")
+    List<Comment> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
     
     // Comment statistics
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.post = :post AND c.deleted = false")
@@ -58,22 +89,50 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.id = :commentId AND c.deleted = false")
     Optional<Comment> findByIdAndNotDeleted(@Param("commentId") Long commentId);
     
-    // Cursor-based pagination queries
-    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
-    List<Comment> findTopLevelCommentsByPostWithCursor(@Param("postId") Long postId, @Param("cursor") Long cursor);
+    // Keyset pagination by id; callers pass PageRequest.of(0, limit + 1) so only one page
+    // plus a look-ahead row is read. Authors are fetched with the page since every DTO needs them.
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
+    List<Comment> findTopLevelCommentsByPostWithCursor(@Param("postId") Long postId, @Param("cursor") Long cursor, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false ORDER BY c.id ASC")
+    List<Comment> findTopLevelCommentsByPostFirstPage(@Param("postId") Long postId, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.user = :user AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
+    List<Comment> findCommentsByUserWithCursor(@Param("user") User user, @Param("cursor") Long cursor, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.user = :user AND c.deleted = false ORDER BY c.id ASC")
+    List<Comment> findCommentsByUserFirstPage(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.parentComment.id = :commentId AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
+    List<Comment> findRepliesByCommentWithCursor(@Param("commentId") Long commentId, @Param("cursor") Long cursor, Pageable pageable);
+    
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.parentComment.id = :commentId AND c.deleted = false ORDER BY c.id ASC")
+    List<Comment> findRepliesByCommentFirstPage(@Param("commentId") Long commentId, Pageable pageable);
     
-    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false ORDER BY c.id ASC")
-    List<Comment> findTopLevelCommentsByPostFirstPage(@Param("postId") Long postId);
+    // Sorted keyset pages of top-level comments, descending on (sortKey, id). The leading
+    // sortKey <= bound lets the index range scan start at the cursor; the row value breaks ties.
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false " +
+           "ORDER BY c.createdDate DESC, c.id DESC")
+    List<Comment> findTopLevelCommentsByPostNewestFirstPage(@Param("postId") Long postId, Pageable pageable);
     
-    @Query("SELECT c FROM Comment c WHERE c.user.username = :userName AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
-    List<Comment> findCommentsByUserWithCursor(@Param("userName") String userName, @Param("cursor") Long cursor);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false " +
+           "AND c.createdDate <= :createdDate AND (c.createdDate, c.id) < (:createdDate, :id) ORDER BY c.createdDate DESC, c.id DESC")
+    List<Comment> findTopLevelCommentsByPostNewestWithCursor(@Param("postId") Long postId, @Param("createdDate") Instant createdDate,
+                                                             @Param("id") Long id, Pageable pageable);
     
-    @Query("SELECT c FROM Comment c WHERE c.user.username = :userName AND c.deleted = false ORDER BY c.id ASC")
-    List<Comment> findCommentsByUserFirstPage(@Param("userName") String userName);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false " +
+           "ORDER BY c.voteCount DESC, c.id DESC")
+    List<Comment> findTopLevelCommentsByPostTopFirstPage(@Param("postId") Long postId, Pageable pageable);
     
-    @Query("SELECT c FROM Comment c WHERE c.parentComment.id = :commentId AND c.deleted = false AND c.id > :cursor ORDER BY c.id ASC")
-    List<Comment> findRepliesByCommentWithCursor(@Param("commentId") Long commentId, @Param("cursor") Long cursor);
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentComment IS NULL AND c.deleted = false " +
+           "AND c.voteCount <= :voteCount AND (c.voteCount, c.id) < (:voteCount, :id) ORDER BY c.voteCount DESC, c.id DESC")
+    List<Comment> findTopLevelCommentsByPostTopWithCursor(@Param("postId") Long postId, @Param("voteCount") Integer voteCount,
+                                                          @Param("id") Long id, Pageable pageable);
     
-    @Query("SELECT c FROM Comment c WHERE c.parentComment.id = :commentId AND c.deleted = false ORDER BY c.id ASC")
-    List<Comment> findRepliesByCommentFirstPage(@Param("commentId") Long commentId);
+    // Descendants of a run of top-level comments, read as one range of the path index. Ordered
+    // shallowest first so a result cut off by the page size never contains a node without its parent.
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.path >= :fromPath AND c.path < :toPath " +
+           "AND c.depth <= :maxDepth AND c.deleted = false ORDER BY c.depth ASC, c.id ASC")
+    List<Comment> findThreadDescendants(@Param("postId") Long postId, @Param("fromPath") String fromPath,
+                                        @Param("toPath") String toPath, @Param("maxDepth") int maxDepth, Pageable pageable);
 }
@@ -28,4 +28,15 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     
     @Query("SELECT f FROM Follow f WHERE f.following = :user AND f.isActive = true")
     List<Follow> findActiveFollowersByUser(@Param("user") User user);
+    
+    // Timeline fan-out: user IDs only, so no Follow or User entities are loaded
+    @Query("SELECT f.follower.userId FROM Follow f WHERE f.following.userId = :userId AND f.isActive = true")
+    List<Long> findActiveFollowerIds(@Param("userId") Long userId);
+    
+    @Query("SELECT f.following.userId FROM Follow f WHERE f.follower = :user AND f.isActive = true")
+    List<Long> findActiveFollowingIds(@Param("user") User user);
+    
+    // Authors read at query time instead of fanned out; one pass over idx_follows_following_active
+    @Query("SELECT f.following.userId FROM Follow f WHERE f.isActive = true GROUP BY f.following.userId HAVING COUNT(f) > :maxFollowers")
+    List<Long> findUserIdsWithMoreActiveFollowersThan(@Param("maxFollowers") long maxFollowers);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.programming.techie.springredditclone.repository;
 
+import com.programming.techie.springredditclone.dto.NotificationDto;
 import com.programming.techie.springredditclone.model.Notification;
 import com.programming.techie.springredditclone.model.User;
 import org.springframework.data.domain.Page;
@@ -11,11 +12,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
+    // Inbox rows read straight into DTOs, so no Notification or User entities are loaded
+    String INBOX_SELECT = "SELECT new com.programming.techie.springredditclone.dto.NotificationDto(" +
+            "n.id, s.username, r.username, n.title, n.message, n.notificationType, n.priority, n.isRead, n.readAt, " +
+            "n.createdAt, n.actionUrl, n.icon, n.category, n.relatedPostId, n.relatedCommentId, n.relatedUserId, " +
+            "n.relatedMatchId, n.relatedCallId) " +
+            "FROM Notification n JOIN n.recipient r LEFT JOIN n.sender s ";
+    String INBOX_FILTER = "WHERE n.recipient.userId = :recipientId AND n.isDeleted = false " +
+            "AND (:isRead IS NULL OR n.isRead = :isRead) " +
+            "AND (:notificationType IS NULL OR n.notificationType = :notificationType) " +
+            "AND (:category IS NULL OR n.category = :category) ";
+    
     // Find notifications for a specific user
     Page<Notification> findByRecipientOrderByCreatedAtDesc(User recipient, Pageable pageable);
     
@@ -25,6 +38,37 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Count unread notifications for a user
     Long countByRecipientAndIsReadFalse(User recipient);
     
+    // Unread badge count, excluding deleted notifications, on idx_notifications_recipient_read
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.userId = :recipientId AND n.isRead = false AND n.isDeleted = false")
+    long countUnreadByRecipientId(@Param("recipientId") Long recipientId);
+    
+    // Unread badge counts of several users as (recipientId, count) rows; users without unread notifications are absent
+    @Query("SELECT n.recipient.userId, COUNT(n) FROM Notification n WHERE n.recipient.userId IN :recipientIds " +
+           "AND n.isRead = false AND n.isDeleted = false GROUP BY n.recipient.userId")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<Long> recipientIds);
+    
+    // Keyset pages of the inbox, newest first, on idx_notifications_recipient_deleted_created. Callers pass
+    // PageRequest.of(0, limit + 1); the leading createdAt <= bound starts the index range scan at the cursor.
+    @Query(INBOX_SELECT + INBOX_FILTER + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findInboxFirstPage(@Param("recipientId") Long recipientId, @Param("isRead") Boolean isRead,
+                                             @Param("notificationType") String notificationType,
+                                             @Param("category") String category, Pageable pageable);
+    
+    @Query(INBOX_SELECT + INBOX_FILTER +
+           "AND n.createdAt <= :createdAt AND (n.createdAt, n.id) < (:createdAt, :id) ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findInboxWithCursor(@Param("recipientId") Long recipientId, @Param("isRead") Boolean isRead,
+                                              @Param("notificationType") String notificationType,
+                                              @Param("category") String category, @Param("createdAt") Instant createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+    
+    // Total for an inbox listing; only run when the client asks for it
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.userId = :recipientId AND n.isDeleted = false " +
+           "AND (:isRead IS NULL OR n.isRead = :isRead) " +
+           "AND (:notificationType IS NULL OR n.notificationType = :notificationType) " +
+           "AND (:category IS NULL OR n.category = :category)")
+    long countInbox(@Param("recipientId") Long recipientId, @Param("isRead") Boolean isRead,
+                    @Param("notificationType") String notificationType, @Param("category") String category);
+    
     // Find notifications by type
     List<Notification> findByRecipientAndNotificationTypeOrderByCreatedAtDesc(User recipient, String notificationType);
     
@@ -51,10 +95,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.recipient = :recipient AND n.isRead = false")
     void markAllAsRead(@Param("recipient") User recipient, @Param("readAt") Instant readAt);
     
-    // Mark specific notification as read
+    // Mark specific notification of the recipient as read; returns 0 if it was already read or deleted
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id = :notificationId")
-    void markAsRead(@Param("notificationId") Long notificationId, @Param("readAt") Instant readAt);
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id = :notificationId " +
+           "AND n.recipient = :recipient AND n.isRead = false AND n.isDeleted = false")
+    int markAsRead(@Param("notificationId") Long notificationId, @Param("recipient") User recipient, @Param("readAt") Instant readAt);
     
     // Soft delete notifications
     @Modifying
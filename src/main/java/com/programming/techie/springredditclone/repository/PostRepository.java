@@ -1,5 +1,7 @@
 package com.programming.techie.springredditclone.repository;
 
+import com.programming.techie.springredditclone.dto.PostExportRow;
+import com.programming.techie.springredditclone.dto.PostFeedRow;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.Subreddit;
 import com.programming.techie.springredditclone.model.User;
@@ -7,12 +9,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -20,45 +28,73 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findBySubredditsContaining(Subreddit subreddit, Pageable pageable);
     List<Post> findByUser(User user);
     Page<Post> findByUser(User user, Pageable pageable);
+
+    // Every post of a user for the history export, in idx_post_user_created_date_post_id order. Must be consumed
+    // inside a transaction; the fetch size makes the driver page through a cursor instead of materializing the result
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostExportRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate) " +
+           "FROM Post p WHERE p.user.userId = :userId ORDER BY p.createdDate, p.postId")
+    Stream<PostExportRow> streamExportRowsByUserId(@Param("userId") Long userId);
     
     // Find posts that belong to any of the specified subreddits
     List<Post> findBySubredditsIn(Set<Subreddit> subreddits);
     
-    // Cursor-based pagination methods
-    @Query("SELECT p FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId) ORDER BY p.createdDate DESC, p.postId DESC")
+    // Cursor-based pagination methods. The redundant createdDate bound gives planners that cannot
+    // range-scan a row value comparison a leading index condition on idx_post_created_date_post_id
+    @Query("SELECT p FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) ORDER BY p.createdDate DESC, p.postId DESC")
     List<Post> findAllWithCursor(@Param("createdDate") Instant createdDate, @Param("postId") Long postId, org.springframework.data.domain.Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId) AND :subreddit MEMBER OF p.subreddits ORDER BY p.createdDate DESC, p.postId DESC")
+    @Query("SELECT p FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND :subreddit MEMBER OF p.subreddits ORDER BY p.createdDate DESC, p.postId DESC")
     List<Post> findBySubredditWithCursor(@Param("subreddit") Subreddit subreddit, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, org.springframework.data.domain.Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId) AND p.user = :user ORDER BY p.createdDate DESC, p.postId DESC")
+    @Query("SELECT p FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND p.user = :user ORDER BY p.createdDate DESC, p.postId DESC")
     List<Post> findByUserWithCursor(@Param("user") User user, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, org.springframework.data.domain.Pageable pageable);
     
+    // Feed projections of the cursor queries above; author columns come from the join. The subreddit
+    // feed starts from the subreddit so its posts are read through idx_post_subreddits_subreddit_post
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostFeedRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate, u.userId, u.username) " +
+           "FROM Post p JOIN p.user u WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) ORDER BY p.createdDate DESC, p.postId DESC")
+    List<PostFeedRow> findFeedRowsWithCursor(@Param("createdDate") Instant createdDate, @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostFeedRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate, u.userId, u.username) " +
+           "FROM Subreddit s JOIN s.posts p JOIN p.user u WHERE s = :subreddit AND p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) ORDER BY p.createdDate DESC, p.postId DESC")
+    List<PostFeedRow> findFeedRowsBySubredditWithCursor(@Param("subreddit") Subreddit subreddit, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostFeedRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate, u.userId, u.username) " +
+           "FROM Post p JOIN p.user u WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND u = :user ORDER BY p.createdDate DESC, p.postId DESC")
+    List<PostFeedRow> findFeedRowsByUserWithCursor(@Param("user") User user, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostFeedRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate, u.userId, u.username) " +
+           "FROM Post p JOIN p.user u WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND u.userId IN :userIds ORDER BY p.createdDate DESC, p.postId DESC")
+    List<PostFeedRow> findFeedRowsByUserIdsWithCursor(@Param("userIds") Collection<Long> userIds, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT new com.programming.techie.springredditclone.dto.PostFeedRow(p.postId, p.postName, p.url, p.description, p.voteCount, p.commentCount, p.createdDate, u.userId, u.username) " +
+           "FROM Post p JOIN p.user u WHERE p.postId IN :postIds")
+    List<PostFeedRow> findFeedRowsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Most recent posts by the given authors as (postId, createdDate) rows, used to seed a timeline
+    @Query("SELECT p.postId, p.createdDate FROM Post p WHERE p.user.userId IN :userIds ORDER BY p.createdDate DESC, p.postId DESC")
+    List<Object[]> findTimelineEntriesByUserIds(@Param("userIds") Collection<Long> userIds, Pageable pageable);
+
+    // Subreddit names for a page of posts, as (postId, subredditName) rows
+    @Query("SELECT p.postId, s.name FROM Post p JOIN p.subreddits s WHERE p.postId IN :postIds")
+    List<Object[]> findSubredditNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+    
     // Methods to check if there are more results
-    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId)")
+    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId)")
     boolean hasMoreResults(@Param("createdDate") Instant createdDate, @Param("postId") Long postId);
     
-    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId) AND :subreddit MEMBER OF p.subreddits")
+    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND :subreddit MEMBER OF p.subreddits")
     boolean hasMoreResultsBySubreddit(@Param("subreddit") Subreddit subreddit, @Param("createdDate") Instant createdDate, @Param("postId") Long postId);
     
-    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE (p.createdDate, p.postId) < (:createdDate, :postId) AND p.user = :user")
+    @Query("SELECT COUNT(p) > 0 FROM Post p WHERE p.createdDate <= :createdDate AND (p.createdDate, p.postId) < (:createdDate, :postId) AND p.user = :user")
     boolean hasMoreResultsByUser(@Param("user") User user, @Param("createdDate") Instant createdDate, @Param("postId") Long postId);
     
-    // Search posts by subreddit name
+    // Search posts by subreddit name; the substring match is served by idx_subreddit_name_trgm (db/search.sql)
     @Query("SELECT p FROM Post p JOIN p.subreddits s WHERE s.name LIKE %:subredditName% ORDER BY p.createdDate DESC")
     List<Post> findBySubredditName(@Param("subredditName") String subredditName);
     
-    // Search posts by subreddit name and/or post name
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.subreddits s " +
-           "WHERE (:searchTerm IS NULL OR s.name LIKE %:searchTerm% OR p.postName LIKE %:searchTerm%) " +
-           "ORDER BY p.createdDate DESC")
-    List<Post> searchPosts(@Param("searchTerm") String searchTerm);
-    
-    // Find top posts by vote count for promotion algorithm
-    @Query("SELECT p FROM Post p ORDER BY p.voteCount DESC, p.createdDate DESC")
-    List<Post> findTopPostsByVoteCount(Pageable pageable);
-    
-    // Find promoted posts with cursor-based pagination
-    @Query("SELECT p FROM Post p WHERE (p.voteCount, p.createdDate, p.postId) < (:voteCount, :createdDate, :postId) ORDER BY p.voteCount DESC, p.createdDate DESC, p.postId DESC")
-    List<Post> findPromotedPostsWithCursor(@Param("voteCount") Integer voteCount, @Param("createdDate") Instant createdDate, @Param("postId") Long postId, Pageable pageable);
+    // Ranking inputs for recent posts as (postId, voteCount, commentCount, createdDate) rows, used to seed the hot ranking
+    @Query("SELECT p.postId, p.voteCount, p.commentCount, p.createdDate FROM Post p WHERE p.createdDate >= :since ORDER BY p.createdDate DESC")
+    List<Object[]> findRankingInputsSince(@Param("since") Instant since, Pageable pageable);
 }
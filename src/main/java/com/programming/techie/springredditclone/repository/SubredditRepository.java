@@ -1,13 +1,45 @@
 package com.programming.techie.springredditclone.repository;
 
+import com.programming.techie.springredditclone.dto.SubredditDto;
+import com.programming.techie.springredditclone.dto.SubredditPostCount;
 import com.programming.techie.springredditclone.model.Subreddit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubredditRepository extends JpaRepository<Subreddit, Long> {
 
     Optional<Subreddit> findByName(String subredditName);
+
+    // Subreddit listing pages in (name, id) order on idx_subreddit_name_id, with the stored post count.
+    // Rows created before the column existed hold NULL until db/subreddit-post-count.sql runs, so read as 0
+    @Query("SELECT new com.programming.techie.springredditclone.dto.SubredditDto(s.id, s.name, s.description, COALESCE(s.postCount, 0)) " +
+           "FROM Subreddit s ORDER BY s.name, s.id")
+    List<SubredditDto> findListingFirstPage(Pageable pageable);
+
+    @Query("SELECT new com.programming.techie.springredditclone.dto.SubredditDto(s.id, s.name, s.description, COALESCE(s.postCount, 0)) " +
+           "FROM Subreddit s WHERE s.name >= :name AND (s.name, s.id) > (:name, :id) ORDER BY s.name, s.id")
+    List<SubredditDto> findListingWithCursor(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    // Exact post count from post_subreddits in one statement; also the reference the stored count is repaired against
+    @Query("SELECT new com.programming.techie.springredditclone.dto.SubredditPostCount(s.id, s.name, s.description, COUNT(p.postId)) " +
+           "FROM Subreddit s LEFT JOIN s.posts p WHERE s.id = :id GROUP BY s.id, s.name, s.description")
+    Optional<SubredditPostCount> findWithPostCountById(@Param("id") Long id);
+
+    // NULL counts count from 0, since NULL + 1 would stay NULL
+    @Modifying
+    @Query("UPDATE Subreddit s SET s.postCount = COALESCE(s.postCount, 0) + 1 WHERE s.id IN :ids")
+    int incrementPostCount(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Subreddit s SET s.postCount = COALESCE(s.postCount, 0) - 1 WHERE s.id IN :ids AND COALESCE(s.postCount, 0) > 0")
+    int decrementPostCount(@Param("ids") Collection<Long> ids);
 }
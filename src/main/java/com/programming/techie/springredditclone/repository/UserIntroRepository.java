@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,11 @@ import java.util.Optional;
 public interface UserIntroRepository extends JpaRepository<UserIntro, Long> {
     @Query("SELECT i FROM UserIntro i WHERE i.user.userId = :userId")
     Optional<UserIntro> findByUserId(@Param("userId") Long userId);
+
+    // Bios for a page of users as (userId, bio) rows
+    @Query("SELECT i.user.userId, i.bio FROM UserIntro i WHERE i.user.userId IN :userIds")
+    List<Object[]> findBiosByUserIds(@Param("userIds") Collection<Long> userIds);
+
     List<UserIntro> findByIsPublic(boolean isPublic);
     List<UserIntro> findByIsVerified(boolean isVerified);
     
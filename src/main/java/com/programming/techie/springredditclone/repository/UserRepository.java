@@ -1,6 +1,7 @@
 package com.programming.techie.springredditclone.repository;
 
 import com.programming.techie.springredditclone.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +15,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     
+    // Username prefix search as (userId, username, usernameLower) rows, one keyset page at a time on
+    // idx_users_username_lower. The prefix is lower-cased with LIKE wildcards escaped; projecting the
+    // columns avoids loading each User with its inverse one-to-one associations
+    @Query("SELECT u.userId, u.username, u.usernameLower FROM User u WHERE u.usernameLower LIKE :prefix ESCAPE '\\' " +
+           "ORDER BY u.usernameLower, u.userId")
+    List<Object[]> findUsernamePrefixFirstPage(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query("SELECT u.userId, u.username, u.usernameLower FROM User u WHERE u.usernameLower LIKE :prefix ESCAPE '\\' " +
+           "AND u.usernameLower >= :usernameLower AND (u.usernameLower, u.userId) > (:usernameLower, :userId) " +
+           "ORDER BY u.usernameLower, u.userId")
+    List<Object[]> findUsernamePrefixWithCursor(@Param("prefix") String prefix, @Param("usernameLower") String usernameLower,
+                                                @Param("userId") Long userId, Pageable pageable);
+
     @Query(value = "SELECT * FROM users u WHERE u.user_id != :currentUserId AND u.enabled = true ORDER BY u.created DESC LIMIT :limit", nativeQuery = true)
     List<User> findPotentialMatches(@Param("currentUserId") Long currentUserId, @Param("limit") int limit);
 }
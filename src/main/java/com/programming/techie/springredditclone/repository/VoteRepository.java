@@ -5,21 +5,40 @@ import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.model.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface VoteRepository extends JpaRepository<Vote, Long> {
+public interface VoteRepository extends JpaRepository<Vote, Long>, VoteRepositoryCustom {
     
     // Post voting methods
     Optional<Vote> findByPostAndUser(Post post, User currentUser);
     
+    // Bulk vote state for a page of posts: one row per voted post as [postId, voteType]
+    @Query("SELECT v.post.postId, v.voteType FROM Vote v WHERE v.user = :user AND v.post.postId IN :postIds")
+    List<Object[]> findPostVoteStatesByUser(@Param("user") User user, @Param("postIds") Collection<Long> postIds);
+    
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.post.postId = :postId AND v.user.userId = :userId")
+    int deletePostVote(@Param("postId") Long postId, @Param("userId") Long userId);
+    
     // Comment voting methods
     Optional<Vote> findByCommentAndUser(Comment comment, User currentUser);
     
+    // Which of a page of comments the user liked, in one query per page; served by uk_votes_user_comment
+    @Query("SELECT v.comment.id FROM Vote v WHERE v.user.userId = :userId AND v.voteType = 'UPVOTE' AND v.comment.id IN :commentIds")
+    List<Long> findUpvotedCommentIdsByUser(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+    
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.comment.id = :commentId AND v.user.userId = :userId")
+    int deleteCommentVote(@Param("commentId") Long commentId, @Param("userId") Long userId);
+    
     // Vote count methods
     @Query("SELECT COUNT(v) FROM Vote v WHERE v.post = :post AND v.voteType = 'UPVOTE'")
     Long countUpvotesByPost(@Param("post") Post post);
@@ -0,0 +1,20 @@
+package com.programming.techie.springredditclone.repository;
+
+/**
+ * Conditional vote inserts, kept out of Spring Data's query derivation because
+ * a native INSERT cannot be parsed into the count query it builds for every @Query.
+ */
+public interface VoteRepositoryCustom {
+
+    /**
+     * Insert a post vote unless the user already voted on the post
+     * @return 1 if inserted, 0 otherwise
+     */
+    int insertPostVoteIfAbsent(Long postId, Long userId, String voteType);
+
+    /**
+     * Insert a comment vote unless the user already voted on the comment
+     * @return 1 if inserted, 0 otherwise
+     */
+    int insertCommentVoteIfAbsent(Long commentId, Long userId, String voteType);
+}
@@ -0,0 +1,60 @@
+package com.programming.techie.springredditclone.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * On PostgreSQL the insert relies on ON CONFLICT DO NOTHING against uk_votes_user_post and
+ * uk_votes_user_comment, so concurrent duplicate votes are skipped without an error. Other
+ * databases, such as H2 in tests, get a portable INSERT ... WHERE NOT EXISTS; there a
+ * concurrent duplicate still fails on the unique constraint instead of being skipped.
+ */
+@Slf4j
+public class VoteRepositoryCustomImpl implements VoteRepositoryCustom {
+
+    static final String UPSERT_POST_VOTE_SQL = "INSERT INTO votes (vote_type, post_id, user_id) VALUES (?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+    static final String UPSERT_COMMENT_VOTE_SQL = "INSERT INTO votes (vote_type, comment_id, user_id) VALUES (?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+    static final String INSERT_POST_VOTE_SQL = "INSERT INTO votes (vote_type, post_id, user_id) SELECT ?, ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM votes WHERE post_id = ? AND user_id = ?)";
+    static final String INSERT_COMMENT_VOTE_SQL = "INSERT INTO votes (vote_type, comment_id, user_id) SELECT ?, ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM votes WHERE comment_id = ? AND user_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean onConflict;
+
+    public VoteRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.onConflict = detectPostgres(jdbcTemplate);
+    }
+
+    @Override
+    public int insertPostVoteIfAbsent(Long postId, Long userId, String voteType) {
+        if (onConflict) {
+            return jdbcTemplate.update(UPSERT_POST_VOTE_SQL, voteType, postId, userId);
+        }
+        return jdbcTemplate.update(INSERT_POST_VOTE_SQL, voteType, postId, userId, postId, userId);
+    }
+
+    @Override
+    public int insertCommentVoteIfAbsent(Long commentId, Long userId, String voteType) {
+        if (onConflict) {
+            return jdbcTemplate.update(UPSERT_COMMENT_VOTE_SQL, voteType, commentId, userId);
+        }
+        return jdbcTemplate.update(INSERT_COMMENT_VOTE_SQL, voteType, commentId, userId, commentId, userId);
+    }
+
+    private static boolean detectPostgres(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            return "PostgreSQL".equals(product);
+        } catch (DataAccessException e) {
+            log.warn("Could not detect the database, using the portable conditional vote insert", e);
+            return false;
+        }
+    }
+}
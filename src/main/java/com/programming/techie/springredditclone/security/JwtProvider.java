@@ -2,8 +2,6 @@ package com.programming.techie.springredditclone.security;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -15,25 +13,25 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public class JwtProvider {
 
+    public static final String USER_ID_CLAIM = "userId";
+
     private final JwtEncoder jwtEncoder;
     @Value("${jwt.expiration.time}")
     private Long jwtExpirationInMillis;
 
-    public String generateToken(Authentication authentication) {
-        User principal = (User) authentication.getPrincipal();
-        return generateTokenWithUserName(principal.getUsername());
-    }
-
-    public String generateTokenWithUserName(String username) {
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+    public String generateTokenWithUserName(String username, Long userId) {
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(Instant.now())
                 .expiresAt(Instant.now().plusMillis(jwtExpirationInMillis))
                 .subject(username)
-                .claim("scope", "ROLE_USER")
-                .build();
+                .claim("scope", "ROLE_USER");
+        // Lets the current user be resolved by primary key without a username lookup
+        if (userId != null) {
+            claims.claim(USER_ID_CLAIM, userId);
+        }
 
-        return this.jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return this.jwtEncoder.encode(JwtEncoderParameters.from(claims.build())).getTokenValue();
     }
 
     public Long getJwtExpirationInMillis() {
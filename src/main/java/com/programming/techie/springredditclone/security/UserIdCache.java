@@ -0,0 +1,37 @@
+package com.programming.techie.springredditclone.security;
+
+import com.programming.techie.springredditclone.util.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded username to userId cache used when resolving the current user.
+ * Tokens issued before the userId claim was added only carry the username,
+ * so this lets them resolve by primary key instead of a username lookup.
+ */
+@Component
+public class UserIdCache {
+
+    private final LocalTtlCache<String, Long> cache;
+
+    public UserIdCache(@Value("${auth.user-cache.max-entries:10000}") int maxEntries,
+                       @Value("${auth.user-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new LocalTtlCache<>(maxEntries, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public Long getUserId(String username) {
+        return cache.get(username);
+    }
+
+    public void put(String username, Long userId) {
+        if (username != null && userId != null) {
+            cache.put(username, userId);
+        }
+    }
+
+    public void evict(String username) {
+        cache.remove(username);
+    }
+}
@@ -0,0 +1,26 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.util.BlockContext;
+
+/**
+ * Two-tier cache of per-user block graphs (who a user has blocked, and who has blocked them).
+ * A small in-process tier sits in front of Redis; invalidations are versioned and
+ * broadcast over Redis pub/sub so every app node drops its local copy.
+ */
+public interface BlockGraphCache {
+    
+    /**
+     * Get the block graph of a user, loading it from the database on a cache miss
+     * @param user User whose graph to load
+     * @return Block context with the user's blocked and blocked-by IDs
+     */
+    BlockContext getBlockGraph(User user);
+    
+    /**
+     * Invalidate the cached graphs of the given users on all nodes.
+     * When called inside a transaction, the invalidation runs after commit.
+     * @param userIds IDs of the users whose graphs changed
+     */
+    void invalidate(Long... userIds);
+}
@@ -2,6 +2,7 @@ package com.programming.techie.springredditclone.service;
 
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.util.BlockContext;
 
 /**
  * Utility service for validating block relationships between users.
@@ -25,6 +26,13 @@ public interface BlockValidationService {
      */
     boolean hasBlockRelationship(Long targetUserId);
     
+    /**
+     * Get the current user's blocked and blocked-by user IDs.
+     * Loaded once per request and reused, so callers can filter lists in memory.
+     * @return Block context of the current user, empty if not logged in
+     */
+    BlockContext getBlockContext();
+    
     /**
      * Validate that current user can interact with target user
      * @param targetUserId ID of the target user
@@ -3,6 +3,7 @@ package com.programming.techie.springredditclone.service;
 import com.programming.techie.springredditclone.dto.CommentsDto;
 import com.programming.techie.springredditclone.dto.CreateCommentRequest;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.model.CommentSort;
 
 import java.util.List;
 
@@ -36,6 +37,17 @@ public interface CommentService {
      */
     CursorPageResponse<CommentsDto> getCommentsForPost(Long postId, String cursor, Integer limit);
     
+    /**
+     * Get paginated top-level comments for a post in the given order. Cursors encode the
+     * comment's stored sort key and ID, so they are only valid for the sort that issued them.
+     * @param postId Post ID
+     * @param cursor Cursor for pagination (can be null for first page)
+     * @param limit Number of comments to return
+     * @param sort Ordering, or null for oldest first
+     * @return Paginated response with comments and next cursor
+     */
+    CursorPageResponse<CommentsDto> getCommentsForPost(Long postId, String cursor, Integer limit, CommentSort sort);
+    
     /**
      * Get paginated comments by a specific user using cursor-based pagination
      * @param userName Username
@@ -54,6 +66,26 @@ public interface CommentService {
      */
     CursorPageResponse<CommentsDto> getRepliesForComment(Long commentId, String cursor, Integer limit);
     
+    /**
+     * Get a page of top-level comments for a post with their reply trees nested in
+     * {@code replies}, loaded with one path range query for the whole page
+     * @param postId Post ID
+     * @param cursor Cursor for pagination (can be null for first page)
+     * @param limit Number of top-level comments to return
+     * @param depth Maximum reply depth to include, 0 for top-level comments only
+     * @return Paginated response with comment trees and next cursor
+     */
+    CursorPageResponse<CommentsDto> getCommentThread(Long postId, String cursor, Integer limit, Integer depth);
+    
+    /**
+     * Search the text of visible comments, most relevant first, using cursor-based pagination
+     * @param query Search query
+     * @param cursor Cursor for pagination (can be null for first page)
+     * @param limit Number of comments to return
+     * @return Paginated response with matching comments and next cursor
+     */
+    CursorPageResponse<CommentsDto> searchComments(String query, String cursor, Integer limit);
+    
     /**
      * Get all comments by a specific user
      * @param userName Username
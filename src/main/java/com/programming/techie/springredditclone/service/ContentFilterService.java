@@ -0,0 +1,18 @@
+package com.programming.techie.springredditclone.service;
+
+public interface ContentFilterService {
+
+    /**
+     * Check text against the configured word list, after folding case, leetspeak,
+     * accents and lookalike characters
+     * @param text Text to check, may be null
+     * @return True if the text contains a listed word
+     */
+    boolean containsProfanity(String text);
+
+    /**
+     * Recompile the word list from its configured location. On failure the
+     * previously loaded list stays in effect.
+     */
+    void reload();
+}
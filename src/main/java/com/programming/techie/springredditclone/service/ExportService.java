@@ -0,0 +1,19 @@
+package com.programming.techie.springredditclone.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * Write a user's full post and comment history as NDJSON, one JSON object per line:
+     * posts first, oldest first, then comments in id order, each tagged with a "type" field.
+     * Rows are streamed from the database and written as they are read, so memory use
+     * does not depend on the size of the history.
+     * @param userId ID of the user to export
+     * @param out Stream to write to; flushed but not closed
+     * @return Number of lines written
+     * @throws IOException If writing to the stream fails, for example when the client disconnects
+     */
+    long exportUserHistory(Long userId, OutputStream out) throws IOException;
+}
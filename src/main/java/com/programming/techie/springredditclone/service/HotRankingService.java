@@ -0,0 +1,31 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.RankedPost;
+import com.programming.techie.springredditclone.model.Post;
+
+import java.util.List;
+
+public interface HotRankingService {
+
+    /**
+     * Recompute a post's hot score from its current counts and update the ranking.
+     * Applied after the surrounding transaction commits.
+     * @param post Post whose votes or comments changed
+     */
+    void updatePost(Post post);
+
+    /**
+     * Remove a post from the ranking
+     * @param postId Post ID
+     */
+    void removePost(Long postId);
+
+    /**
+     * Get ranked posts ordered by (score, postId) descending, strictly after the cursor
+     * @param afterScore Score of the last post on the previous page, or null for the first page
+     * @param afterPostId Post ID of the last post on the previous page, or null for the first page
+     * @param count Maximum number of posts to return
+     * @return Ranked posts, highest score first
+     */
+    List<RankedPost> getRankedPosts(Double afterScore, Long afterPostId, int count);
+}
@@ -0,0 +1,37 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.model.User;
+
+public interface NotificationIngestionService {
+
+    /**
+     * Queue a like notification. Likes on the same post within one flush window
+     * become a single "X and N others liked your post" notification.
+     * @param liker User who liked
+     * @param postOwner User who owns the post
+     * @param postId ID of the post
+     */
+    void enqueueLike(User liker, User postOwner, Long postId);
+
+    /**
+     * Queue a comment notification, coalesced per post like {@link #enqueueLike}
+     * @param commenter User who commented
+     * @param postOwner User who owns the post
+     * @param postId ID of the post
+     * @param commentId ID of the comment
+     */
+    void enqueueComment(User commenter, User postOwner, Long postId, Long commentId);
+
+    /**
+     * Queue a follow notification, coalesced per followed user
+     * @param follower User who followed
+     * @param followed User who was followed
+     */
+    void enqueueFollow(User follower, User followed);
+
+    /**
+     * Coalesce the queued notifications and write them with batched inserts
+     * @return Number of notification rows written
+     */
+    int flush();
+}
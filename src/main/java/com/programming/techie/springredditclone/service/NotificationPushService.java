@@ -0,0 +1,43 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams of new notifications and badge counts. Each node
+ * keeps the streams of its own clients; events are fanned out to the other
+ * nodes over Redis pub/sub.
+ */
+public interface NotificationPushService {
+
+    /**
+     * Open a stream for a user. The first event carries the current unread count.
+     * @param userId User ID
+     * @param unreadCount Current unread count of the user
+     * @return Emitter to return from the controller
+     */
+    SseEmitter subscribe(Long userId, long unreadCount);
+
+    /**
+     * Push a new notification to every open stream of its recipient. When called
+     * inside a transaction, it is sent after commit.
+     * @param userId Recipient user ID
+     * @param notification Notification to push
+     */
+    void pushNotification(Long userId, NotificationDto notification);
+
+    /**
+     * Push a new badge count to every open stream of a user. Sent immediately, so
+     * callers should only call it once the change is committed.
+     * @param userId User ID
+     * @param unreadCount New unread count
+     */
+    void pushUnreadCount(Long userId, long unreadCount);
+
+    /**
+     * Send a heartbeat on every stream of this node and close streams whose client
+     * has stopped reading
+     * @return Number of streams closed
+     */
+    int sendHeartbeats();
+}
@@ -0,0 +1,20 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.NotificationRetentionStats;
+
+public interface NotificationRetentionService {
+
+    /**
+     * Remove read and deleted notifications older than the configured age, archiving
+     * them first when enabled. Works in short batches, each in its own transaction,
+     * and stops after the configured number of batches.
+     * @return Number of notifications removed by this run
+     */
+    long purge();
+
+    /**
+     * Get the outcome of the last run and the totals purged by this node
+     * @return Retention statistics
+     */
+    NotificationRetentionStats getStats();
+}
@@ -1,9 +1,11 @@
 package com.programming.techie.springredditclone.service;
 
 import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationPageResponse;
 import com.programming.techie.springredditclone.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -26,22 +28,35 @@ public interface NotificationService {
     Page<NotificationDto> getNotificationsForCurrentUser(Pageable pageable);
     
     /**
-     * Get unread notifications for the current user
-     * @return List of unread notifications
+     * Get a keyset page of the current user's inbox, newest first, excluding deleted notifications
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size
+     * @param unreadOnly Only return unread notifications
+     * @param notificationType Only return notifications of this type, if not null
+     * @param category Only return notifications of this category, if not null
+     * @param includeCount Also count all matching notifications
+     * @return Page of notifications
+     */
+    NotificationPageResponse getInbox(String cursor, Integer limit, boolean unreadOnly,
+                                      String notificationType, String category, boolean includeCount);
+    
+    /**
+     * Get the newest unread notifications for the current user
+     * @return List of at most 100 unread notifications
      */
     List<NotificationDto> getUnreadNotificationsForCurrentUser();
     
     /**
-     * Get notifications by type for the current user
+     * Get the newest notifications of a type for the current user
      * @param notificationType Type of notification
-     * @return List of notifications
+     * @return List of at most 100 notifications
      */
     List<NotificationDto> getNotificationsByType(String notificationType);
     
     /**
-     * Get notifications by category for the current user
+     * Get the newest notifications of a category for the current user
      * @param category Category of notification
-     * @return List of notifications
+     * @return List of at most 100 notifications
      */
     List<NotificationDto> getNotificationsByCategory(String category);
     
@@ -62,6 +77,12 @@ public interface NotificationService {
      */
     Long getUnreadNotificationCount();
     
+    /**
+     * Open a server-sent event stream of new notifications and unread counts for the current user
+     * @return Emitter that stays open until the client disconnects or it times out
+     */
+    SseEmitter subscribeToNotifications();
+    
     /**
      * Delete a notification (soft delete)
      * @param notificationId ID of the notification
@@ -29,6 +29,14 @@ public interface PostService {
      */
     CursorPageResponse<PostResponse> getAllPosts(String cursor, int limit);
     
+    /**
+     * Get posts from users the current user follows with cursor-based pagination
+     * @param cursor Cursor for pagination (optional)
+     * @param limit Number of posts to return
+     * @return Cursor page response
+     */
+    CursorPageResponse<PostResponse> getFollowingTimeline(String cursor, int limit);
+    
     /**
      * Get posts by subreddit ID with cursor-based pagination
      * @param subredditId Subreddit ID
@@ -84,11 +92,13 @@ public interface PostService {
     List<PostResponse> searchPostsBySubreddit(String subredditName);
     
     /**
-     * Search posts by subreddit name and/or post name
-     * @param searchTerm Search term to match against subreddit name or post name
-     * @return List of post responses
+     * Search post titles, most relevant first, using cursor-based pagination
+     * @param query Search query
+     * @param cursor Cursor for pagination (can be null for first page)
+     * @param limit Number of posts to return
+     * @return Paginated response with matching posts and next cursor
      */
-    List<PostResponse> searchPosts(String searchTerm);
+    CursorPageResponse<PostResponse> searchPosts(String query, String cursor, int limit);
     
     /**
      * Get promoted posts based on promotion algorithm
@@ -1,5 +1,10 @@
 package com.programming.techie.springredditclone.service;
 
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public interface RedisService {
@@ -17,4 +22,39 @@ public interface RedisService {
     Long getExpire(String key, TimeUnit unit);
     
     Boolean expire(String key, long timeout, TimeUnit unit);
+    
+    Long increment(String key);
+    
+    /**
+     * Atomically add delta to a counter only if the key exists, flooring the result at zero.
+     * The key keeps its TTL. Returns the new value, or null if the key does not exist.
+     */
+    Long incrementIfPresent(String key, long delta);
+    
+    void publish(String channel, Object message);
+    
+    /**
+     * Add a member to several sorted sets in one pipeline, trimming each set to the
+     * highest-scored maxSize members and refreshing its TTL
+     */
+    void zAddCapped(Collection<String> keys, Object member, double score, long maxSize, long timeout, TimeUnit unit);
+    
+    /**
+     * Add scored members to one sorted set in one pipeline, trimming it to the
+     * highest-scored maxSize members and refreshing its TTL
+     */
+    void zAddAll(String key, Map<Object, Double> scoredMembers, long maxSize, long timeout, TimeUnit unit);
+    
+    /**
+     * Members with score at most max, highest score first
+     */
+    Set<Object> zReverseRangeByScore(String key, double max, long count);
+    
+    /**
+     * Members with score between min and max inclusive and their scores, highest score first.
+     * A negative count returns all matching members.
+     */
+    Set<ZSetOperations.TypedTuple<Object>> zReverseRangeByScoreWithScores(String key, double min, double max, long count);
+    
+    Long zRemove(String key, Object... members);
 }
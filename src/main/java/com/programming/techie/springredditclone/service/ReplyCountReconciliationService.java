@@ -0,0 +1,11 @@
+package com.programming.techie.springredditclone.service;
+
+public interface ReplyCountReconciliationService {
+
+    /**
+     * Recount live replies for every comment and repair stored reply counts that drifted.
+     * Comments are processed in id ranges, each range in its own short transaction.
+     * @return Number of comments whose reply count was corrected
+     */
+    int reconcile();
+}
@@ -0,0 +1,28 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.SearchHit;
+
+import java.util.List;
+
+public interface SearchService {
+
+    /**
+     * Find posts whose title matches a search query, most relevant first
+     * @param query Search query as typed by the user
+     * @param afterScore Score of the last hit on the previous page, or null for the first page
+     * @param afterId Post ID of the last hit on the previous page, or null for the first page
+     * @param count Maximum number of hits to return
+     * @return Post hits ordered by (score, id) descending, strictly after the cursor
+     */
+    List<SearchHit> searchPosts(String query, Double afterScore, Long afterId, int count);
+
+    /**
+     * Find visible comments whose text matches a search query, most relevant first
+     * @param query Search query as typed by the user
+     * @param afterScore Score of the last hit on the previous page, or null for the first page
+     * @param afterId Comment ID of the last hit on the previous page, or null for the first page
+     * @param count Maximum number of hits to return
+     * @return Comment hits ordered by (score, id) descending, strictly after the cursor
+     */
+    List<SearchHit> searchComments(String query, Double afterScore, Long afterId, int count);
+}
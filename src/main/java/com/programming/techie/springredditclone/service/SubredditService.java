@@ -1,9 +1,8 @@
 package com.programming.techie.springredditclone.service;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.SubredditDto;
 
-import java.util.List;
-
 public interface SubredditService {
     
     /**
@@ -14,10 +13,12 @@ public interface SubredditService {
     SubredditDto save(SubredditDto subredditDto);
     
     /**
-     * Get all subreddits
-     * @return List of subreddit DTOs
+     * Get a page of subreddits ordered by name, with their post counts
+     * @param cursor Cursor from the previous page, null for the first page
+     * @param limit Page size, default 20, max 100
+     * @return Page of subreddit DTOs
      */
-    List<SubredditDto> getAll();
+    CursorPageResponse<SubredditDto> getAll(String cursor, Integer limit);
     
     /**
      * Get a subreddit by ID
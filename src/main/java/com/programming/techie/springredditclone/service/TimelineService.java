@@ -0,0 +1,53 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.FollowedAuthors;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TimelineService {
+
+    /**
+     * Push a new post into the timeline of each active follower of its author.
+     * Authors with more followers than the fan-out limit are skipped and read at query time instead.
+     * @param postId New post ID
+     * @param authorId Author's user ID
+     * @param createdDate Post creation time, used as the timeline score
+     */
+    void fanOutPost(Long postId, Long authorId, Instant createdDate);
+
+    /**
+     * Get post IDs from a user's precomputed timeline, newest first.
+     * The timeline is rebuilt from the given authors' recent posts if it isn't materialized.
+     * @param userId Timeline owner
+     * @param fanOutAuthorIds Followed users whose posts are fanned out on write
+     * @param before Only entries created at or before this instant
+     * @param count Maximum number of IDs to return
+     * @return Post IDs, newest first
+     */
+    List<Long> getTimelinePostIds(Long userId, Collection<Long> fanOutAuthorIds, Instant before, int count);
+
+    /**
+     * Merge a newly followed author's recent posts into the follower's timeline.
+     * Does nothing for heavy authors, which are read at query time, or if the timeline isn't built yet.
+     * @param userId Timeline owner
+     * @param authorId Followed user's ID
+     */
+    void addAuthor(Long userId, Long authorId);
+
+    /**
+     * Remove an unfollowed author's recent posts from the follower's timeline
+     * @param userId Timeline owner
+     * @param authorId Unfollowed user's ID
+     */
+    void removeAuthor(Long userId, Long authorId);
+
+    /**
+     * Split authors into those fanned out on write and those read at query time.
+     * Every node classifies from the same set of heavy authors, kept in Redis and refreshed periodically.
+     * @param authorIds Followed users' IDs
+     * @return The authors to seed timelines from and the authors to read at query time
+     */
+    FollowedAuthors classifyAuthors(Collection<Long> authorIds);
+}
@@ -0,0 +1,44 @@
+package com.programming.techie.springredditclone.service;
+
+/**
+ * Per-user unread notification counts for the notification badge. Counts live in
+ * Redis with a short-lived in-process tier in front; writers adjust them in place
+ * instead of the badge recounting notifications on every poll.
+ */
+public interface UnreadNotificationCounter {
+
+    /**
+     * Get the unread count of a user, rebuilding it from the database on a cache miss
+     * @param userId User ID
+     * @return Number of unread, non-deleted notifications
+     */
+    long getUnreadCount(Long userId);
+
+    /**
+     * Add to the unread count of a user. When called inside a transaction, the
+     * change is applied after commit. The new count is pushed to the user's open
+     * streams; a count that is not cached is left to be rebuilt on the next read.
+     * @param userId User ID
+     * @param delta Number of notifications that became unread, or negative for read ones
+     */
+    void increment(Long userId, long delta);
+
+    /**
+     * Subtract one from the unread count of a user, never going below zero
+     * @param userId User ID
+     */
+    void decrement(Long userId);
+
+    /**
+     * Set the unread count of a user to zero, after commit when in a transaction
+     * @param userId User ID
+     */
+    void reset(Long userId);
+
+    /**
+     * Recount the users whose counts this node has served recently and overwrite
+     * the cached counts that drifted
+     * @return Number of counts repaired
+     */
+    int reconcile();
+}
@@ -1,10 +1,9 @@
 package com.programming.techie.springredditclone.service;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.GetIntroDto;
 
-import java.util.List;
-
 public interface UserService {
     GetIntroDto getUserIntro(Long userId);
-    List<GetIntroDto> searchUsersByUsername(String username);
+    CursorPageResponse<GetIntroDto> searchUsersByUsername(String prefix, String cursor, Integer limit);
 } 
\ No newline at end of file
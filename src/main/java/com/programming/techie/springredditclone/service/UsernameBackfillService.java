@@ -0,0 +1,11 @@
+package com.programming.techie.springredditclone.service;
+
+public interface UsernameBackfillService {
+
+    /**
+     * Fill in the lower-cased username of users created before the column existed.
+     * Users are processed in id ranges, each range in its own short transaction.
+     * @return Number of users updated
+     */
+    int backfill();
+}
@@ -0,0 +1,38 @@
+package com.programming.techie.springredditclone.service;
+
+public interface VoteCounterService {
+
+    /**
+     * Record a vote count change for a post. The delta is buffered once the
+     * surrounding transaction commits and written back on the next flush.
+     * @param postId Post ID
+     * @param delta Change in vote count, usually +1 or -1
+     */
+    void addPostDelta(Long postId, int delta);
+
+    /**
+     * Record a vote count change for a comment
+     * @param commentId Comment ID
+     * @param delta Change in vote count, usually +1 or -1
+     */
+    void addCommentDelta(Long commentId, int delta);
+
+    /**
+     * Get the buffered vote count change for a post that has not been flushed yet
+     * @param postId Post ID
+     * @return Pending delta, or 0 if none
+     */
+    long getPendingPostDelta(Long postId);
+
+    /**
+     * Get the buffered vote count change for a comment that has not been flushed yet
+     * @param commentId Comment ID
+     * @return Pending delta, or 0 if none
+     */
+    long getPendingCommentDelta(Long commentId);
+
+    /**
+     * Write all buffered deltas to the database in batched additive updates
+     */
+    void flush();
+}
@@ -11,6 +11,7 @@ import com.programming.techie.springredditclone.model.VerificationToken;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.repository.VerificationTokenRepository;
 import com.programming.techie.springredditclone.security.JwtProvider;
+import com.programming.techie.springredditclone.security.UserIdCache;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.MailService;
 import com.programming.techie.springredditclone.service.RefreshTokenService;
@@ -25,6 +26,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -37,6 +40,8 @@ import java.util.HashMap;
 @Transactional
 public class AuthServiceImpl implements AuthService {
 
+    private static final String CURRENT_USER_ATTRIBUTE = AuthServiceImpl.class.getName() + ".CURRENT_USER";
+
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final VerificationTokenRepository verificationTokenRepository;
@@ -44,6 +49,7 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtProvider jwtProvider;
     private final RefreshTokenService refreshTokenService;
+    private final UserIdCache userIdCache;
 
     @Override
     public void signup(RegisterRequest registerRequest) {
@@ -108,8 +114,44 @@ public class AuthServiceImpl implements AuthService {
     public User getCurrentUser() {
         Jwt principal = (Jwt) SecurityContextHolder.
                 getContext().getAuthentication().getPrincipal();
-        return userRepository.findByUsername(principal.getSubject())
-                .orElseThrow(() -> new UsernameNotFoundException("User name not found - " + principal.getSubject()));
+        String username = principal.getSubject();
+
+        // Services call this many times per request, so resolve the principal once
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object memo = requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (memo instanceof User memoUser && username.equals(memoUser.getUsername())) {
+                return memoUser;
+            }
+        }
+
+        User user = resolveUser(principal);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private User resolveUser(Jwt principal) {
+        String username = principal.getSubject();
+        Long userId = principal.getClaims().get(JwtProvider.USER_ID_CLAIM) instanceof Number claim
+                ? claim.longValue()
+                : userIdCache.getUserId(username);
+
+        // Primary key lookup; the username check guards against a stale claim or cache entry
+        if (userId != null) {
+            Optional<User> user = userRepository.findById(userId)
+                    .filter(candidate -> username.equals(candidate.getUsername()));
+            if (user.isPresent()) {
+                return user.get();
+            }
+            userIdCache.evict(username);
+        }
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User name not found - " + username));
+        userIdCache.put(username, user.getUserId());
+        return user;
     }
 
     private void fetchUserAndEnable(VerificationToken verificationToken) {
@@ -140,11 +182,12 @@ public class AuthServiceImpl implements AuthService {
         Authentication authenticate = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getUsername(),
                 loginRequest.getPassword()));
         SecurityContextHolder.getContext().setAuthentication(authenticate);
-        String token = jwtProvider.generateToken(authenticate);
-        
-        // Get the user to include userId in response
+
+        // Get the user to include userId in the token and response
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + loginRequest.getUsername()));
+        userIdCache.put(user.getUsername(), user.getUserId());
+        String token = jwtProvider.generateTokenWithUserName(user.getUsername(), user.getUserId());
         
         return AuthenticationResponse.builder()
                 .authenticationToken(token)
@@ -158,12 +201,21 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public AuthenticationResponse refreshToken(RefreshTokenRequest refreshTokenRequest) {
         refreshTokenService.validateRefreshToken(refreshTokenRequest.getRefreshToken());
-        String token = jwtProvider.generateTokenWithUserName(refreshTokenRequest.getUsername());
+        String username = refreshTokenRequest.getUsername();
+        Long userId = userIdCache.getUserId(username);
+        if (userId == null) {
+            userId = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username))
+                    .getUserId();
+            userIdCache.put(username, userId);
+        }
+        String token = jwtProvider.generateTokenWithUserName(username, userId);
         return AuthenticationResponse.builder()
                 .authenticationToken(token)
                 .refreshToken(refreshTokenRequest.getRefreshToken())
                 .expiresAt(Instant.now().plusMillis(jwtProvider.getJwtExpirationInMillis()))
-                .username(refreshTokenRequest.getUsername())
+                .username(username)
+                .userId(userId)
                 .build();
     }
 
@@ -0,0 +1,197 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.BlockGraphSnapshot;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.BlockRepository;
+import com.programming.techie.springredditclone.service.BlockGraphCache;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.util.BlockContext;
+import com.programming.techie.springredditclone.util.LongHashSet;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class BlockGraphCacheImpl implements BlockGraphCache, MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "block:graph:invalidate";
+    private static final String GRAPH_KEY_PREFIX = "block:graph:";
+    private static final String VERSION_KEY_PREFIX = "block:graph:version:";
+
+    private final BlockRepository blockRepository;
+    private final RedisService redisService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long localTtlMillis;
+    private final long redisTtlSeconds;
+    private final Map<Long, LocalEntry> localCache;
+
+    public BlockGraphCacheImpl(BlockRepository blockRepository,
+                               RedisService redisService,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${block.graph.cache.local.max-entries:10000}") int localMaxEntries,
+                               @Value("${block.graph.cache.local.ttl-seconds:60}") long localTtlSeconds,
+                               @Value("${block.graph.cache.redis.ttl-seconds:1800}") long redisTtlSeconds) {
+        this.blockRepository = blockRepository;
+        this.redisService = redisService;
+        this.listenerContainer = listenerContainer;
+        this.localTtlMillis = TimeUnit.SECONDS.toMillis(localTtlSeconds);
+        this.redisTtlSeconds = redisTtlSeconds;
+        this.localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LocalEntry> eldest) {
+                return size() > localMaxEntries;
+            }
+        });
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public BlockContext getBlockGraph(User user) {
+        Long userId = user.getUserId();
+
+        // Local tier: valid until an invalidation arrives or the short TTL expires
+        LocalEntry localEntry = localCache.get(userId);
+        if (localEntry != null && !localEntry.isExpired(localTtlMillis)) {
+            return localEntry.context;
+        }
+
+        // Redis tier: only accept a snapshot loaded under the current version
+        long version = currentVersion(userId);
+        BlockGraphSnapshot snapshot = redisService.get(graphKey(userId), BlockGraphSnapshot.class);
+        if (snapshot != null && snapshot.getVersion() == version) {
+            BlockContext context = toContext(snapshot);
+            putLocal(userId, version, context);
+            return context;
+        }
+
+        // Miss: load from the database and populate both tiers
+        long[] blockedUserIds = toArray(blockRepository.findBlockedUserIdsByBlocker(user));
+        long[] blockedByUserIds = toArray(blockRepository.findBlockerUserIdsByBlocked(user));
+        snapshot = new BlockGraphSnapshot(version, blockedUserIds, blockedByUserIds);
+        BlockContext context = toContext(snapshot);
+
+        // An invalidation during the load may have raced the queries; serve the result but don't cache it
+        if (currentVersion(userId) != version) {
+            log.debug("Block graph for user {} changed while loading, not caching version {}", userId, version);
+            return context;
+        }
+        redisService.set(graphKey(userId), snapshot, redisTtlSeconds, TimeUnit.SECONDS);
+        putLocal(userId, version, context);
+        log.debug("Block graph for user {} loaded from database (version {})", userId, version);
+        return context;
+    }
+
+    @Override
+    public void invalidate(Long... userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Wait for the block change to be visible before anyone can reload the graph
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(userIds);
+                }
+            });
+        } else {
+            doInvalidate(userIds);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8).replace("\"", "");
+        try {
+            String[] parts = payload.split(":");
+            evictLocal(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed block graph invalidation message: {}", payload);
+        }
+    }
+
+    private void doInvalidate(Long... userIds) {
+        for (Long userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            // Bumping the version makes any snapshot written by an in-flight loader stale
+            Long newVersion = redisService.increment(versionKey(userId));
+            redisService.delete(graphKey(userId));
+            localCache.remove(userId);
+            redisService.publish(INVALIDATION_CHANNEL, userId + ":" + (newVersion != null ? newVersion : Long.MAX_VALUE));
+            log.debug("Block graph for user {} invalidated (version {})", userId, newVersion);
+        }
+    }
+
+    private void evictLocal(long userId, long version) {
+        localCache.computeIfPresent(userId, (id, entry) -> entry.version < version ? null : entry);
+    }
+
+    private void putLocal(Long userId, long version, BlockContext context) {
+        localCache.put(userId, new LocalEntry(version, context, System.currentTimeMillis()));
+    }
+
+    private long currentVersion(Long userId) {
+        Number version = redisService.get(versionKey(userId), Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
+    private static BlockContext toContext(BlockGraphSnapshot snapshot) {
+        return new BlockContext(toSet(snapshot.getBlockedUserIds()), toSet(snapshot.getBlockedByUserIds()));
+    }
+
+    private static LongHashSet toSet(long[] values) {
+        LongHashSet set = new LongHashSet(values != null ? values.length : 0);
+        if (values != null) {
+            for (long value : values) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    private static long[] toArray(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    private static String graphKey(Long userId) {
+        return GRAPH_KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return VERSION_KEY_PREFIX + userId;
+    }
+
+    private static final class LocalEntry {
+        private final long version;
+        private final BlockContext context;
+        private final long loadedAtMillis;
+
+        private LocalEntry(long version, BlockContext context, long loadedAtMillis) {
+            this.version = version;
+            this.context = context;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAtMillis > ttlMillis;
+        }
+    }
+}
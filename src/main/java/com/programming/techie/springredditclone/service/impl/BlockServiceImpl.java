@@ -10,6 +10,7 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.BlockRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.AuthService;
+import com.programming.techie.springredditclone.service.BlockGraphCache;
 import com.programming.techie.springredditclone.service.BlockService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +39,7 @@ public class BlockServiceImpl implements BlockService {
     private final BlockRepository blockRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final BlockGraphCache blockGraphCache;
 
     @Override
     public BlockResponseDto blockUser(BlockRequestDto blockRequest) {
@@ -62,6 +64,7 @@ public class BlockServiceImpl implements BlockService {
                 block.setBlockedAt(Instant.now());
                 block.setReason(blockRequest.getReason());
                 block = blockRepository.save(block);
+                blockGraphCache.invalidate(currentUser.getUserId(), userToBlock.getUserId());
                 return mapToBlockResponseDto(block, currentUser, userToBlock);
             }
         }
@@ -77,6 +80,7 @@ public class BlockServiceImpl implements BlockService {
 
 
         block = blockRepository.save(block);
+        blockGraphCache.invalidate(currentUser.getUserId(), userToBlock.getUserId());
         log.info("User {} blocked user {}", currentUser.getUsername(), userToBlock.getUsername());
 
         return mapToBlockResponseDto(block, currentUser, userToBlock);
@@ -98,6 +102,7 @@ public class BlockServiceImpl implements BlockService {
         // Soft delete by setting active to false
         block.setActive(false);
         block = blockRepository.save(block);
+        blockGraphCache.invalidate(currentUser.getUserId(), userToUnblock.getUserId());
         log.info("User {} unblocked user {}", currentUser.getUsername(), userToUnblock.getUsername());
 
         return mapToBlockResponseDto(block, currentUser, userToUnblock);
@@ -246,6 +251,7 @@ public class BlockServiceImpl implements BlockService {
         }
 
         blockRepository.delete(block);
+        blockGraphCache.invalidate(block.getBlocker().getUserId(), block.getBlocked().getUserId());
         log.info("Block {} deleted by user {}", blockId, currentUser.getUsername());
     }
 
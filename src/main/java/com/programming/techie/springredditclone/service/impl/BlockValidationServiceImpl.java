@@ -3,8 +3,10 @@ package com.programming.techie.springredditclone.service.impl;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.service.AuthService;
+import com.programming.techie.springredditclone.service.BlockGraphCache;
 import com.programming.techie.springredditclone.service.BlockService;
 import com.programming.techie.springredditclone.service.BlockValidationService;
+import com.programming.techie.springredditclone.util.BlockContext;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -13,7 +15,10 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,8 +28,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class BlockValidationServiceImpl implements BlockValidationService {
 
+    private static final String BLOCK_CONTEXT_ATTRIBUTE = BlockContext.class.getName();
+
     private final BlockService blockService;
     private final AuthService authService;
+    private final BlockGraphCache blockGraphCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -63,17 +71,42 @@ public class BlockValidationServiceImpl implements BlockValidationService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasBlockRelationship(Long targetUserId) {
-        // Check if user is authenticated
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null
-            || authentication instanceof AnonymousAuthenticationToken
-            || !authentication.isAuthenticated()
-            || !(authentication.getPrincipal() instanceof Jwt)) {
+        if (!isAuthenticated()) {
             return false; // Not logged in, so no block relationship
         }
         
-        return blockService.hasBlockedUser(targetUserId) || 
-               blockService.isBlockedByUser(targetUserId);
+        return getBlockContext().hasBlockRelationship(targetUserId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlockContext getBlockContext() {
+        if (!isAuthenticated()) {
+            return BlockContext.EMPTY;
+        }
+        
+        // Reuse the context already resolved for this request, if any
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object cached = requestAttributes.getAttribute(BLOCK_CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof BlockContext blockContext) {
+                return blockContext;
+            }
+        }
+        
+        BlockContext blockContext = blockGraphCache.getBlockGraph(authService.getCurrentUser());
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(BLOCK_CONTEXT_ATTRIBUTE, blockContext, RequestAttributes.SCOPE_REQUEST);
+        }
+        return blockContext;
+    }
+
+    private boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+            && !(authentication instanceof AnonymousAuthenticationToken)
+            && authentication.isAuthenticated()
+            && authentication.getPrincipal() instanceof Jwt;
     }
 
     @Override
@@ -135,26 +168,25 @@ public class BlockValidationServiceImpl implements BlockValidationService {
             return userIds;
         }
         
+        BlockContext blockContext = getBlockContext();
         return userIds.stream()
-                .filter(userId -> !hasBlockRelationship(userId))
+                .filter(userId -> !blockContext.hasBlockRelationship(userId))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Long> getBlockedUserIds() {
-        // This would need to be implemented in BlockService
-        // For now, we'll return an empty list
-        // TODO: Implement this method in BlockService
-        return List.of();
+        return Arrays.stream(getBlockContext().getBlockedUserIds())
+                .boxed()
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Long> getUsersWhoBlockedMe() {
-        // This would need to be implemented in BlockService
-        // For now, we'll return an empty list
-        // TODO: Implement this method in BlockService
-        return List.of();
+        return Arrays.stream(getBlockContext().getBlockedByUserIds())
+                .boxed()
+                .collect(Collectors.toList());
     }
 } 
\ No newline at end of file
@@ -3,14 +3,15 @@ package com.programming.techie.springredditclone.service.impl;
 import com.programming.techie.springredditclone.dto.CommentsDto;
 import com.programming.techie.springredditclone.dto.CreateCommentRequest;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.dto.SearchHit;
 import com.programming.techie.springredditclone.exceptions.PostNotFoundException;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.mapper.CommentMapper;
 import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.CommentSort;
 import com.programming.techie.springredditclone.model.NotificationEmail;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
-import com.programming.techie.springredditclone.model.VoteType;
 import com.programming.techie.springredditclone.repository.CommentRepository;
 import com.programming.techie.springredditclone.repository.PostRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
@@ -19,19 +20,39 @@ import com.programming.techie.springredditclone.event.PostCommentedEvent;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
 import com.programming.techie.springredditclone.service.BlockValidationService;
+import com.programming.techie.springredditclone.service.ContentFilterService;
+import com.programming.techie.springredditclone.service.HotRankingService;
 import com.programming.techie.springredditclone.service.CommentService;
 import com.programming.techie.springredditclone.service.NotificationService;
+import com.programming.techie.springredditclone.service.SearchService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import com.programming.techie.springredditclone.util.BlockContext;
+import com.programming.techie.springredditclone.util.CommentPath;
 import com.programming.techie.springredditclone.util.CursorUtil;
+import com.programming.techie.springredditclone.util.LongHashSet;
 import lombok.AllArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @AllArgsConstructor
 public class CommentServiceImpl implements CommentService {
+
+    private static final int DEFAULT_THREAD_DEPTH = 3;
+    // Upper bound on replies loaded for one page of threads
+    private static final int MAX_THREAD_REPLIES = 500;
+    // Keeps the IN list of the bulk vote lookup well below driver parameter limits
+    private static final int VOTE_LOOKUP_BATCH_SIZE = 500;
     private static final String POST_URL = "";
     private final PostRepository postRepository;
     private final UserRepository userRepository;
@@ -44,6 +65,10 @@ public class CommentServiceImpl implements CommentService {
     private final CursorUtil cursorUtil;
     private final ApplicationEventPublisher eventPublisher;
     private final VoteRepository voteRepository;
+    private final HotRankingService hotRankingService;
+    private final VoteCounterService voteCounterService;
+    private final ContentFilterService contentFilterService;
+    private final SearchService searchService;
 
     @Override
     public void save(CommentsDto commentsDto) {
@@ -56,18 +81,23 @@ public class CommentServiceImpl implements CommentService {
         // Use the new BlockValidationService for cleaner validation
         blockValidationService.validateCanInteract(postOwner);
         
+        // Check for inappropriate language
+        containsSwearWords(commentsDto.getText());
+        
         Comment comment = commentMapper.map(commentsDto, post, currentUser);
         commentRepository.save(comment);
 
         // Increment comment count for the post
         post.setCommentCount(post.getCommentCount() + 1);
         postRepository.save(post);
+        hotRankingService.updatePost(post);
 
         // Publish comment event for notification
         eventPublisher.publishEvent(new PostCommentedEvent(this, comment.getUser(), post.getUser(), post, comment));
     }
     
     @Override
+    @Transactional
     public void createComment(CreateCommentRequest createCommentRequest) {
         Post post = postRepository.findById(createCommentRequest.getPostId())
                 .orElseThrow(() -> new PostNotFoundException(createCommentRequest.getPostId().toString()));
@@ -86,23 +116,32 @@ public class CommentServiceImpl implements CommentService {
         if (createCommentRequest.getParentCommentId() != null) {
             parentComment = commentRepository.findById(createCommentRequest.getParentCommentId())
                     .orElseThrow(() -> new SpringRedditException("Parent comment not found with ID: " + createCommentRequest.getParentCommentId()));
+            if (parentComment.getDepth() != null && parentComment.getDepth() + 1 >= CommentPath.MAX_DEPTH) {
+                throw new SpringRedditException("Replies cannot be nested more than " + CommentPath.MAX_DEPTH + " levels deep");
+            }
         }
         
         Comment comment = commentMapper.mapToComment(createCommentRequest, post, currentUser, parentComment);
+        if (parentComment != null) {
+            comment.setPath(CommentPath.childPath(parentComment.getPath(), parentComment.getId()));
+            comment.setDepth(parentComment.getDepth() != null ? parentComment.getDepth() + 1 : 1);
+        }
         commentRepository.save(comment);
+        if (parentComment != null) {
+            commentRepository.incrementReplyCount(parentComment.getId());
+        }
 
         // Increment comment count for the post
         post.setCommentCount(post.getCommentCount() + 1);
         postRepository.save(post);
-        
-        // Note: We don't manually update reply count anymore
-        // Reply count is calculated dynamically from the database
+        hotRankingService.updatePost(post);
 
         // Publish comment event for notification
         eventPublisher.publishEvent(new PostCommentedEvent(this, comment.getUser(), post.getUser(), post, comment));
     }
 
     @Override
+    @Transactional
     public void deleteComment(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new SpringRedditException("Comment not found with ID: " + commentId));
@@ -112,6 +151,9 @@ public class CommentServiceImpl implements CommentService {
         if (!comment.getUser().equals(currentUser) && !comment.getPost().getUser().equals(currentUser)) {
             throw new SpringRedditException("You are not authorized to delete this comment");
         }
+        if (comment.isDeleted()) {
+            return; // Already deleted; counters were adjusted the first time
+        }
         
         // Soft delete the comment
         comment.setDeleted(true);
@@ -121,12 +163,11 @@ public class CommentServiceImpl implements CommentService {
         Post post = comment.getPost();
         post.setCommentCount(Math.max(0, post.getCommentCount() - 1)); // Ensure count doesn't go negative
         postRepository.save(post);
+        hotRankingService.updatePost(post);
         
         // If this was a reply, decrement the parent comment's reply count
         if (comment.getParentComment() != null) {
-            Comment parentComment = comment.getParentComment();
-            parentComment.setReplyCount(Math.max(0, parentComment.getReplyCount() - 1));
-            commentRepository.save(parentComment);
+            commentRepository.decrementReplyCount(comment.getParentComment().getId());
         }
     }
 
@@ -136,30 +177,13 @@ public class CommentServiceImpl implements CommentService {
     public List<CommentsDto> getAllCommentsForPost(Long postId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new PostNotFoundException(postId.toString()));
         
-        return commentRepository.findByPost(post)
+        BlockContext blockContext = blockValidationService.getBlockContext();
+        List<Comment> comments = commentRepository.findByPost(post)
                 .stream()
-                .filter(comment -> {
-                    // Filter out comments from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(comment.getUser().getUserId());
-                })
-                .map(comment -> {
-                    CommentsDto dto = commentMapper.mapToDto(comment);
-                    dto.setUpVote(false);
-                    if (authService.isLoggedIn()) {
-                        try {
-                            User currentUser = authService.getCurrentUser();
-                            voteRepository.findByCommentAndUser(comment, currentUser)
-                                .ifPresent(vote -> {
-                                    if (vote.getVoteType() == VoteType.UPVOTE) {
-                                        dto.setUpVote(true);
-                                    }
-                                });
-                        } catch (Exception e) {
-                            // User not authenticated, keep upVote as false
-                        }
-                    }
-                    return dto;
-                }).toList();
+                // Filter out comments from blocked users using the request's block context
+                .filter(comment -> !blockContext.hasBlockRelationship(comment.getUser().getUserId()))
+                .toList();
+        return toDtos(comments);
     }
 
     @Override
@@ -170,90 +194,82 @@ public class CommentServiceImpl implements CommentService {
         // Set default limit if not provided
         int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
         
+        // Read one row past the page to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
         List<Comment> comments;
-        String nextCursor = null;
-        
         if (cursor == null) {
             // First page
-            comments = commentRepository.findTopLevelCommentsByPostFirstPage(postId);
+            comments = commentRepository.findTopLevelCommentsByPostFirstPage(postId, pageable);
         } else {
             // Subsequent pages
             CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
-            comments = commentRepository.findTopLevelCommentsByPostWithCursor(postId, cursorData.getId());
+            comments = commentRepository.findTopLevelCommentsByPostWithCursor(postId, cursorData.getId(), pageable);
         }
         
-        // Apply limit and get next cursor
-        if (comments.size() > actualLimit) {
-            comments = comments.subList(0, actualLimit);
-            Comment lastComment = comments.get(actualLimit - 1);
-            nextCursor = cursorUtil.encodeCursor(lastComment.getCreatedDate(), lastComment.getId());
+        return buildCommentPage(comments, actualLimit);
+    }
+
+    @Override
+    public CursorPageResponse<CommentsDto> getCommentsForPost(Long postId, String cursor, Integer limit, CommentSort sort) {
+        if (sort == null) {
+            return getCommentsForPost(postId, cursor, limit);
         }
+        postRepository.findById(postId).orElseThrow(() -> new PostNotFoundException(postId.toString()));
         
-        List<CommentsDto> commentDtos = comments.stream()
-                .filter(comment -> {
-                    // Filter out comments from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(comment.getUser().getUserId());
-                })
-                .map(comment -> {
-                    CommentsDto dto = commentMapper.mapToDto(comment);
-                    dto.setUpVote(false);
-                    if (authService.isLoggedIn()) {
-                        try {
-                            User currentUser = authService.getCurrentUser();
-                            voteRepository.findByCommentAndUser(comment, currentUser)
-                                .ifPresent(vote -> {
-                                    if (vote.getVoteType() == VoteType.UPVOTE) {
-                                        dto.setUpVote(true);
-                                    }
-                                });
-                        } catch (Exception e) {
-                            // User not authenticated, keep upVote as false
-                        }
-                    }
-                    return dto;
-                })
-                .toList();
+        int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
+        List<Comment> comments;
+        Function<Comment, String> cursorEncoder;
+        switch (sort) {
+            case NEW -> {
+                if (cursor == null) {
+                    comments = commentRepository.findTopLevelCommentsByPostNewestFirstPage(postId, pageable);
+                } else {
+                    CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
+                    comments = commentRepository.findTopLevelCommentsByPostNewestWithCursor(
+                            postId, cursorData.getCreatedDate(), cursorData.getId(), pageable);
+                }
+                cursorEncoder = comment -> cursorUtil.encodeCursor(comment.getCreatedDate(), comment.getId());
+            }
+            default -> {
+                // TOP, and BEST, which orders the same way while every vote is a like
+                if (cursor == null) {
+                    comments = commentRepository.findTopLevelCommentsByPostTopFirstPage(postId, pageable);
+                } else {
+                    CursorUtil.ScoreCursorData cursorData = cursorUtil.decodeScoreCursor(cursor);
+                    comments = commentRepository.findTopLevelCommentsByPostTopWithCursor(
+                            postId, (int) cursorData.getScore(), cursorData.getId(), pageable);
+                }
+                cursorEncoder = comment -> cursorUtil.encodeScoreCursor(comment.getVoteCount(), comment.getId());
+            }
+        }
         
-        return new CursorPageResponse<>(commentDtos, nextCursor, nextCursor != null, actualLimit);
+        // Cursors carry the stored sort key, not the DTO's vote count with pending deltas merged in
+        return buildCommentPage(comments, actualLimit, cursorEncoder);
     }
 
     @Override
     public CursorPageResponse<CommentsDto> getCommentsForUser(String userName, String cursor, Integer limit) {
-        // Validate user exists
-        userRepository.findByUsername(userName)
+        // Validate user exists; pages are read by user id on idx_comments_user_id
+        User user = userRepository.findByUsername(userName)
                 .orElseThrow(() -> new UsernameNotFoundException(userName));
         
         // Set default limit if not provided
         int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
         
+        // Read one row past the page to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
         List<Comment> comments;
-        String nextCursor = null;
-        
         if (cursor == null) {
             // First page
-            comments = commentRepository.findCommentsByUserFirstPage(userName);
+            comments = commentRepository.findCommentsByUserFirstPage(user, pageable);
         } else {
             // Subsequent pages
             CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
-            comments = commentRepository.findCommentsByUserWithCursor(userName, cursorData.getId());
-        }
-        
-        // Apply limit and get next cursor
-        if (comments.size() > actualLimit) {
-            comments = comments.subList(0, actualLimit);
-            Comment lastComment = comments.get(actualLimit - 1);
-            nextCursor = cursorUtil.encodeCursor(lastComment.getCreatedDate(), lastComment.getId());
+            comments = commentRepository.findCommentsByUserWithCursor(user, cursorData.getId(), pageable);
         }
         
-        List<CommentsDto> commentDtos = comments.stream()
-                .filter(comment -> {
-                    // Filter out comments from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(comment.getUser().getUserId());
-                })
-                .map(commentMapper::mapToDto)
-                .toList();
-        
-        return new CursorPageResponse<>(commentDtos, nextCursor, nextCursor != null, actualLimit);
+        return buildCommentPage(comments, actualLimit);
     }
 
     @Override
@@ -265,49 +281,198 @@ public class CommentServiceImpl implements CommentService {
         // Set default limit if not provided
         int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
         
+        // Read one row past the page to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
         List<Comment> replies;
-        String nextCursor = null;
-        
         if (cursor == null) {
             // First page
-            replies = commentRepository.findRepliesByCommentFirstPage(commentId);
+            replies = commentRepository.findRepliesByCommentFirstPage(commentId, pageable);
         } else {
             // Subsequent pages
             CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
-            replies = commentRepository.findRepliesByCommentWithCursor(commentId, cursorData.getId());
+            replies = commentRepository.findRepliesByCommentWithCursor(commentId, cursorData.getId(), pageable);
         }
         
-        // Apply limit and get next cursor
-        if (replies.size() > actualLimit) {
-            replies = replies.subList(0, actualLimit);
-            Comment lastReply = replies.get(actualLimit - 1);
-            nextCursor = cursorUtil.encodeCursor(lastReply.getCreatedDate(), lastReply.getId());
+        return buildCommentPage(replies, actualLimit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentsDto> searchComments(String query, String cursor, Integer limit) {
+        int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
+        
+        Double score = null;
+        Long commentId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorUtil.ScoreCursorData cursorData = cursorUtil.decodeScoreCursor(cursor);
+            score = cursorData.getScore();
+            commentId = cursorData.getId();
         }
         
-        List<CommentsDto> replyDtos = replies.stream()
-                .filter(reply -> {
-                    // Filter out replies from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(reply.getUser().getUserId());
-                })
-                .map(commentMapper::mapToDto)
+        List<SearchHit> hits = searchService.searchComments(query, score, commentId, actualLimit + 1);
+        boolean hasMore = hits.size() > actualLimit;
+        if (hasMore) {
+            hits = hits.subList(0, actualLimit);
+        }
+        
+        // Hydrate in relevance order; comments deleted since the search ran are skipped
+        List<Long> commentIds = hits.stream().map(SearchHit::getId).toList();
+        Map<Long, Comment> commentsById = new HashMap<>();
+        if (!commentIds.isEmpty()) {
+            for (Comment comment : commentRepository.findAllWithUserByIdIn(commentIds)) {
+                commentsById.put(comment.getId(), comment);
+            }
+        }
+        List<Comment> comments = commentIds.stream()
+                .map(commentsById::get)
+                .filter(comment -> comment != null && !comment.isDeleted())
                 .toList();
+        List<CommentsDto> content = buildCommentPage(comments, actualLimit).getContent();
+        
+        String nextCursor = null;
+        if (hasMore) {
+            SearchHit lastHit = hits.get(hits.size() - 1);
+            nextCursor = cursorUtil.encodeScoreCursor(lastHit.getScore(), lastHit.getId());
+        }
+        return new CursorPageResponse<>(content, nextCursor, hasMore, actualLimit);
+    }
+
+    @Override
+    public CursorPageResponse<CommentsDto> getCommentThread(Long postId, String cursor, Integer limit, Integer depth) {
+        // Validate post exists
+        postRepository.findById(postId).orElseThrow(() -> new PostNotFoundException(postId.toString()));
+        
+        int actualLimit = (limit != null) ? Math.min(limit, 50) : 10; // Max 50, default 10
+        int maxDepth = (depth != null) ? Math.max(0, Math.min(depth, CommentPath.MAX_DEPTH)) : DEFAULT_THREAD_DEPTH;
+        
+        // Read one row past the page to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
+        List<Comment> roots;
+        if (cursor == null) {
+            roots = commentRepository.findTopLevelCommentsByPostFirstPage(postId, pageable);
+        } else {
+            CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
+            roots = commentRepository.findTopLevelCommentsByPostWithCursor(postId, cursorData.getId(), pageable);
+        }
         
-        return new CursorPageResponse<>(replyDtos, nextCursor, nextCursor != null, actualLimit);
+        CursorPageResponse<CommentsDto> page = buildCommentPage(roots, actualLimit);
+        if (page.getContent().isEmpty() || maxDepth == 0) {
+            return page;
+        }
+        
+        // Roots are ordered by id, so the replies under all of them form one contiguous path range
+        long firstRootId = page.getContent().get(0).getId();
+        long lastRootId = page.getContent().get(page.getContent().size() - 1).getId();
+        List<Comment> descendants = commentRepository.findThreadDescendants(postId,
+                CommentPath.subtreeStart(firstRootId), CommentPath.subtreeEnd(lastRootId), maxDepth,
+                PageRequest.of(0, MAX_THREAD_REPLIES));
+        
+        Map<Long, CommentsDto> nodes = new HashMap<>();
+        page.getContent().forEach(root -> nodes.put(root.getId(), withReplies(root)));
+        BlockContext blockContext = blockValidationService.getBlockContext();
+        LongHashSet upvotedIds = resolveUpvotedCommentIds(descendants);
+        for (Comment reply : descendants) {
+            // Replies arrive shallowest first; a missing parent was deleted or blocked, so its subtree is skipped
+            CommentsDto parent = nodes.get(reply.getParentComment().getId());
+            if (parent == null || blockContext.hasBlockRelationship(reply.getUser().getUserId())) {
+                continue;
+            }
+            CommentsDto dto = withReplies(toDto(reply, upvotedIds));
+            parent.getReplies().add(dto);
+            nodes.put(dto.getId(), dto);
+        }
+        return page;
+    }
+
+    private static CommentsDto withReplies(CommentsDto dto) {
+        if (dto.getReplies() == null) {
+            dto.setReplies(new ArrayList<>());
+        }
+        return dto;
     }
 
     @Override
     public List<CommentsDto> getAllCommentsForUser(String userName) {
         User user = userRepository.findByUsername(userName)
                 .orElseThrow(() -> new UsernameNotFoundException(userName));
-        return commentRepository.findAllByUser(user)
-                .stream()
-                .map(commentMapper::mapToDto)
+        return toDtos(commentRepository.findAllByUser(user));
+    }
+
+    /**
+     * Build a cursor page from up to limit + 1 comments. The cursor points at the last
+     * comment read, before blocked authors are filtered out, so hidden comments at the
+     * end of a page cannot make the next page start over or stop early.
+     */
+    private CursorPageResponse<CommentsDto> buildCommentPage(List<Comment> comments, int limit) {
+        return buildCommentPage(comments, limit,
+                comment -> cursorUtil.encodeCursor(comment.getCreatedDate(), comment.getId()));
+    }
+
+    private CursorPageResponse<CommentsDto> buildCommentPage(List<Comment> comments, int limit,
+                                                             Function<Comment, String> cursorEncoder) {
+        boolean hasMore = comments.size() > limit;
+        if (hasMore) {
+            comments = comments.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            nextCursor = cursorEncoder.apply(comments.get(comments.size() - 1));
+        }
+        
+        BlockContext blockContext = blockValidationService.getBlockContext();
+        List<Comment> visible = comments.stream()
+                // Filter out comments from blocked users using the request's block context
+                .filter(comment -> !blockContext.hasBlockRelationship(comment.getUser().getUserId()))
+                .toList();
+        
+        return new CursorPageResponse<>(toDtos(visible), nextCursor, hasMore, limit);
+    }
+
+    private List<CommentsDto> toDtos(List<Comment> comments) {
+        LongHashSet upvotedIds = resolveUpvotedCommentIds(comments);
+        return comments.stream()
+                .map(comment -> toDto(comment, upvotedIds))
                 .toList();
     }
 
+    /**
+     * Resolve which of the given comments the viewer liked with one query per batch,
+     * instead of a findByCommentAndUser lookup per comment.
+     */
+    private LongHashSet resolveUpvotedCommentIds(List<Comment> comments) {
+        if (comments.isEmpty() || !authService.isLoggedIn()) {
+            return LongHashSet.empty();
+        }
+        Long userId = authService.getCurrentUser().getUserId();
+        List<Long> commentIds = comments.stream().map(Comment::getId).toList();
+        LongHashSet upvotedIds = new LongHashSet(commentIds.size());
+        for (int from = 0; from < commentIds.size(); from += VOTE_LOOKUP_BATCH_SIZE) {
+            List<Long> batch = commentIds.subList(from, Math.min(from + VOTE_LOOKUP_BATCH_SIZE, commentIds.size()));
+            voteRepository.findUpvotedCommentIdsByUser(userId, batch).forEach(upvotedIds::add);
+        }
+        return upvotedIds;
+    }
+
+    private CommentsDto toDto(Comment comment, LongHashSet upvotedIds) {
+        CommentsDto dto = toDto(comment);
+        dto.setUpVote(upvotedIds.contains(comment.getId()));
+        return dto;
+    }
+
+    // Vote counts are written behind, so add likes that have not been flushed yet
+    private CommentsDto toDto(Comment comment) {
+        CommentsDto dto = commentMapper.mapToDto(comment);
+        long pending = voteCounterService.getPendingCommentDelta(comment.getId());
+        if (pending != 0 && dto.getVoteCount() != null) {
+            dto.setVoteCount(dto.getVoteCount() + (int) pending);
+        }
+        return dto;
+    }
+
     @Override
     public boolean containsSwearWords(String comment) {
-        if (comment.contains("shit")) {
+        if (contentFilterService.containsProfanity(comment)) {
             throw new SpringRedditException("Comments contains unacceptable language");
         }
         return false;
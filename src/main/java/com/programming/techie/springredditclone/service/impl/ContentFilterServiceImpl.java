@@ -0,0 +1,83 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.exceptions.SpringRedditException;
+import com.programming.techie.springredditclone.service.ContentFilterService;
+import com.programming.techie.springredditclone.util.AhoCorasickMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Word-list content filter. The list is compiled once into an Aho-Corasick
+ * automaton that checks text in a single pass; a scheduled check recompiles it
+ * when the list file changes, and readers switch to the new automaton atomically.
+ * The list holds one word per line; blank lines and lines starting with # are skipped.
+ */
+@Service
+@Slf4j
+public class ContentFilterServiceImpl implements ContentFilterService {
+
+    private final Resource wordList;
+    private volatile AhoCorasickMatcher matcher;
+    private volatile long loadedLastModified;
+
+    public ContentFilterServiceImpl(ResourceLoader resourceLoader,
+                                    @Value("${content.filter.words-location:classpath:content-filter/words.txt}") String wordListLocation) {
+        this.wordList = resourceLoader.getResource(wordListLocation);
+        reload();
+        if (matcher == null) {
+            throw new SpringRedditException("Could not load content filter word list from " + wordListLocation);
+        }
+    }
+
+    @Override
+    public boolean containsProfanity(String text) {
+        return matcher.matches(text);
+    }
+
+    @Override
+    public synchronized void reload() {
+        long lastModified = lastModified();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(wordList.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> words = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+            matcher = AhoCorasickMatcher.compile(words);
+            loadedLastModified = lastModified;
+            log.info("Loaded {} content filter words from {}", matcher.size(), wordList.getDescription());
+        } catch (IOException e) {
+            log.error("Failed to load content filter words from {}: {}", wordList.getDescription(), e.getMessage());
+        }
+    }
+
+    /**
+     * Hot reload: recompile when the list's modification time changes. A list packaged
+     * inside the application jar never changes, so point the location at a file to edit it live.
+     */
+    @Scheduled(initialDelayString = "${content.filter.reload-interval-ms:30000}",
+            fixedDelayString = "${content.filter.reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        long lastModified = lastModified();
+        if (lastModified > 0 && lastModified != loadedLastModified) {
+            reload();
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return wordList.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
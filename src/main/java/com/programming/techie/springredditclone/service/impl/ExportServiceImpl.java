@@ -0,0 +1,103 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.programming.techie.springredditclone.dto.CommentExportRow;
+import com.programming.techie.springredditclone.dto.PostExportRow;
+import com.programming.techie.springredditclone.repository.CommentRepository;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.ExportService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON history export. Each row is written straight to a Jackson generator as it
+ * comes off the result stream; the generator only buffers a few kilobytes before
+ * passing bytes on, and nothing else keeps a reference to rows already written.
+ */
+@Service
+@AllArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    // Generators write to the caller's stream and must leave it open for the servlet container
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUserHistory(Long userId, OutputStream out) throws IOException {
+        long lines = 0;
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            // Root values are separated by a newline instead of the default space
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            try (Stream<PostExportRow> posts = postRepository.streamExportRowsByUserId(userId)) {
+                for (Iterator<PostExportRow> it = posts.iterator(); it.hasNext(); lines++) {
+                    writePost(json, it.next());
+                }
+            }
+            try (Stream<CommentExportRow> comments = commentRepository.streamExportRowsByUserId(userId)) {
+                for (Iterator<CommentExportRow> it = comments.iterator(); it.hasNext(); lines++) {
+                    writeComment(json, it.next());
+                }
+            }
+            if (lines > 0) {
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+        return lines;
+    }
+
+    private static void writePost(JsonGenerator json, PostExportRow post) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "post");
+        writeNumber(json, "postId", post.getPostId());
+        json.writeStringField("postName", post.getPostName());
+        json.writeStringField("url", post.getUrl());
+        json.writeStringField("description", post.getDescription());
+        writeNumber(json, "voteCount", post.getVoteCount());
+        writeNumber(json, "commentCount", post.getCommentCount());
+        writeInstant(json, "createdDate", post.getCreatedDate());
+        json.writeEndObject();
+    }
+
+    private static void writeComment(JsonGenerator json, CommentExportRow comment) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "comment");
+        writeNumber(json, "id", comment.getId());
+        writeNumber(json, "postId", comment.getPostId());
+        writeNumber(json, "parentCommentId", comment.getParentCommentId());
+        json.writeStringField("text", comment.getText());
+        writeInstant(json, "createdDate", comment.getCreatedDate());
+        writeInstant(json, "editedDate", comment.getEditedDate());
+        writeNumber(json, "voteCount", comment.getVoteCount());
+        json.writeBooleanField("deleted", comment.isDeleted());
+        json.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Number value) throws IOException {
+        json.writeFieldName(field);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeInstant(JsonGenerator json, String field, Instant value) throws IOException {
+        json.writeStringField(field, value != null ? value.toString() : null);
+    }
+}
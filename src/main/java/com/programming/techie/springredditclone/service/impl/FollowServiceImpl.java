@@ -6,6 +6,7 @@ import com.programming.techie.springredditclone.dto.GetFollowingDto;
 import com.programming.techie.springredditclone.dto.FollowerCountDto;
 import com.programming.techie.springredditclone.dto.FollowingCountDto;
 import com.programming.techie.springredditclone.event.UserFollowedEvent;
+import com.programming.techie.springredditclone.event.UserUnfollowedEvent;
 import com.programming.techie.springredditclone.exceptions.NotFollowingException;
 import com.programming.techie.springredditclone.model.Follow;
 import com.programming.techie.springredditclone.model.User;
@@ -83,6 +84,9 @@ public class FollowServiceImpl implements FollowService {
 
         // Delete the follow relationship
         followRepository.delete(existingFollow.get());
+        
+        // Publish unfollow event so the author's posts leave the follower's timeline
+        eventPublisher.publishEvent(new UserUnfollowedEvent(this, follower, following));
     }
 
     @Override
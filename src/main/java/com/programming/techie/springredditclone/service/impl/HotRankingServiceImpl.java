@@ -0,0 +1,202 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.RankedPost;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.HotRankingService;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import com.programming.techie.springredditclone.util.HotScore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class HotRankingServiceImpl implements HotRankingService {
+
+    static final String RANKING_KEY = "posts:hot";
+    static final String BUILT_KEY = "posts:hot:built";
+    private static final Comparator<RankedPost> HIGHEST_FIRST = Comparator
+            .comparingDouble(RankedPost::getScore)
+            .thenComparing(RankedPost::getPostId)
+            .reversed();
+
+    private final PostRepository postRepository;
+    private final RedisService redisService;
+    private final VoteCounterService voteCounterService;
+    private final int maxSize;
+    private final long rebuildWindowDays;
+    private final long rebuildIntervalHours;
+    private final long rebuildRetryMillis;
+    // One rebuild at a time per node; other requests are served the previous ranking meanwhile
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Ranking from this node's last rebuild, served while a rebuild runs or Redis is unavailable
+    private volatile List<RankedPost> lastRanking;
+    private volatile long lastRebuildAtMillis;
+
+    public HotRankingServiceImpl(PostRepository postRepository,
+                                 RedisService redisService,
+                                 VoteCounterService voteCounterService,
+                                 @Value("${ranking.hot.max-size:5000}") int maxSize,
+                                 @Value("${ranking.hot.rebuild-window-days:7}") long rebuildWindowDays,
+                                 @Value("${ranking.hot.rebuild-interval-hours:24}") long rebuildIntervalHours,
+                                 @Value("${ranking.hot.rebuild-retry-ms:60000}") long rebuildRetryMillis) {
+        this.postRepository = postRepository;
+        this.redisService = redisService;
+        this.voteCounterService = voteCounterService;
+        this.maxSize = maxSize;
+        this.rebuildWindowDays = rebuildWindowDays;
+        this.rebuildIntervalHours = rebuildIntervalHours;
+        this.rebuildRetryMillis = rebuildRetryMillis;
+    }
+
+    @Override
+    public void updatePost(Post post) {
+        Long postId = post.getPostId();
+        int voteCount = count(post.getVoteCount());
+        int commentCount = count(post.getCommentCount());
+        Instant createdDate = post.getCreatedDate();
+        afterCommit(() -> {
+            // Scored after commit so vote deltas buffered by this transaction are included
+            int votes = voteCount + (int) voteCounterService.getPendingPostDelta(postId);
+            double score = HotScore.compute(votes, commentCount, createdDate);
+            redisService.zAddCapped(List.of(RANKING_KEY), postId, score, maxSize, rebuildWindowDays, TimeUnit.DAYS);
+        });
+    }
+
+    @Override
+    public void removePost(Long postId) {
+        afterCommit(() -> redisService.zRemove(RANKING_KEY, postId));
+    }
+
+    @Override
+    public List<RankedPost> getRankedPosts(Double afterScore, Long afterPostId, int count) {
+        if (!Boolean.TRUE.equals(redisService.hasKey(BUILT_KEY))) {
+            return page(rebuildOnce(), afterScore, afterPostId, count);
+        }
+
+        List<RankedPost> candidates = new ArrayList<>();
+        double max = Double.POSITIVE_INFINITY;
+        if (afterScore != null) {
+            // Posts tied with the cursor score continue by descending ID
+            candidates.addAll(range(afterScore, afterScore, -1));
+            max = Math.nextDown(afterScore);
+        }
+        List<RankedPost> lower = range(Double.NEGATIVE_INFINITY, max, count);
+        if (lower.size() == count) {
+            // Redis orders equal scores by member bytes, so load the whole tie group at the page boundary
+            double boundary = lower.get(lower.size() - 1).getScore();
+            lower.removeIf(rankedPost -> rankedPost.getScore() == boundary);
+            lower.addAll(range(boundary, boundary, -1));
+        }
+        candidates.addAll(lower);
+        return page(candidates, afterScore, afterPostId, count);
+    }
+
+    /**
+     * Rebuild the ranking unless this node rebuilt it within the retry interval. Without Redis the
+     * built marker stays missing, so this bounds the database work to one rebuild per interval.
+     * Only the very first rebuild makes concurrent requests wait; later ones serve the last ranking.
+     */
+    private List<RankedPost> rebuildOnce() {
+        List<RankedPost> last = lastRanking;
+        if (last != null && !isRebuildDue()) {
+            return last;
+        }
+        if (last == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return last;
+        }
+        try {
+            // Another request may have rebuilt while this one waited for the lock
+            if (lastRanking != null && !isRebuildDue()) {
+                return lastRanking;
+            }
+            return rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isRebuildDue() {
+        return System.currentTimeMillis() - lastRebuildAtMillis >= rebuildRetryMillis;
+    }
+
+    /**
+     * Rebuild the ranking from recent posts. Older posts cannot outrank new ones without
+     * orders of magnitude more engagement, so the window bounds the work.
+     */
+    private List<RankedPost> rebuild() {
+        Instant since = Instant.now().minus(Duration.ofDays(rebuildWindowDays));
+        List<RankedPost> ranked = postRepository.findRankingInputsSince(since, PageRequest.of(0, maxSize * 4)).stream()
+                .map(row -> new RankedPost((Long) row[0],
+                        HotScore.compute(count((Integer) row[1]) + (int) voteCounterService.getPendingPostDelta((Long) row[0]),
+                                count((Integer) row[2]), (Instant) row[3])))
+                .sorted(HIGHEST_FIRST)
+                .limit(maxSize)
+                .collect(Collectors.toList());
+
+        Map<Object, Double> seed = new LinkedHashMap<>();
+        ranked.forEach(rankedPost -> seed.put(rankedPost.getPostId(), rankedPost.getScore()));
+        redisService.zAddAll(RANKING_KEY, seed, maxSize, rebuildWindowDays, TimeUnit.DAYS);
+        redisService.set(BUILT_KEY, 1, rebuildIntervalHours, TimeUnit.HOURS);
+        lastRanking = ranked;
+        lastRebuildAtMillis = System.currentTimeMillis();
+        log.debug("Rebuilt hot ranking with {} posts", ranked.size());
+        return ranked;
+    }
+
+    private List<RankedPost> range(double min, double max, long count) {
+        List<RankedPost> ranked = new ArrayList<>();
+        for (ZSetOperations.TypedTuple<Object> tuple : redisService.zReverseRangeByScoreWithScores(RANKING_KEY, min, max, count)) {
+            if (tuple.getValue() != null && tuple.getScore() != null) {
+                ranked.add(new RankedPost(((Number) tuple.getValue()).longValue(), tuple.getScore()));
+            }
+        }
+        return ranked;
+    }
+
+    private static List<RankedPost> page(List<RankedPost> candidates, Double afterScore, Long afterPostId, int count) {
+        return candidates.stream()
+                .filter(rankedPost -> afterScore == null
+                        || rankedPost.getScore() < afterScore
+                        || (rankedPost.getScore() == afterScore && rankedPost.getPostId() < afterPostId))
+                .sorted(HIGHEST_FIRST)
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -12,7 +12,9 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.MatchRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.BlockValidationService;
 import com.programming.techie.springredditclone.service.MatchingService;
+import com.programming.techie.springredditclone.util.BlockContext;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -32,6 +34,7 @@ public class MatchingServiceImpl implements MatchingService {
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
     private final BlockService blockService;
+    private final BlockValidationService blockValidationService;
     private final MatchMapper matchMapper;
 
     @Override
@@ -42,10 +45,10 @@ public class MatchingServiceImpl implements MatchingService {
         // Get users who are not already matched with current user
         List<User> potentialUsers = userRepository.findPotentialMatches(currentUser.getUserId(), limit);
         
-        // Filter out blocked users
+        // Filter out blocked users in memory against the request's block context
+        BlockContext blockContext = blockValidationService.getBlockContext();
         return potentialUsers.stream()
-                .filter(user -> !blockService.hasBlockedUser(user.getUserId()) && 
-                               !blockService.isBlockedByUser(user.getUserId()))
+                .filter(user -> !blockContext.hasBlockRelationship(user.getUserId()))
                 .map(user -> createPotentialMatchDto(currentUser, user))
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,315 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.NotificationIngestionService;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffered writer for like, comment and follow notifications. Events wait in a
+ * bounded queue; every flush groups them per (recipient, type, post), so a burst
+ * on a viral post becomes one "X and 41 others liked your post" row, and writes
+ * the groups with one JDBC batch insert. Each node buffers its own events, so a
+ * burst split across nodes yields at most one row per node and window. Once the
+ * batch commits, every written row is pushed to its recipient's open streams.
+ */
+@Service
+@Slf4j
+public class NotificationIngestionServiceImpl implements NotificationIngestionService {
+
+    static final String INSERT_SQL = "INSERT INTO notifications (recipient_id, sender_id, title, message, notification_type, "
+            + "priority, is_read, is_deleted, related_post_id, related_comment_id, related_user_id, created_at, action_url, icon, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?, false, false, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] COLUMN_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP_WITH_TIMEZONE, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+    };
+    // The value Notification.onCreate stores for every row written through JPA
+    private static final String PRIORITY = "normal";
+    private static final String CATEGORY = "social";
+
+    private final BlockingQueue<PendingNotification> queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockService blockService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationPushService notificationPushService;
+    private final int batchSize;
+
+    public NotificationIngestionServiceImpl(JdbcTemplate jdbcTemplate,
+                                            PlatformTransactionManager transactionManager,
+                                            BlockService blockService,
+                                            UnreadNotificationCounter unreadNotificationCounter,
+                                            NotificationPushService notificationPushService,
+                                            @Value("${notifications.ingest.queue-capacity:10000}") int queueCapacity,
+                                            @Value("${notifications.ingest.batch-size:500}") int batchSize) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blockService = blockService;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationPushService = notificationPushService;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void enqueueLike(User liker, User postOwner, Long postId) {
+        if (shouldSkip(liker, postOwner)) {
+            return;
+        }
+        offer(new PendingNotification(postOwner.getUserId(), postOwner.getUsername(), Kind.LIKE, postId, null,
+                liker.getUserId(), liker.getUsername()));
+    }
+
+    @Override
+    public void enqueueComment(User commenter, User postOwner, Long postId, Long commentId) {
+        if (shouldSkip(commenter, postOwner)) {
+            return;
+        }
+        offer(new PendingNotification(postOwner.getUserId(), postOwner.getUsername(), Kind.COMMENT, postId, commentId,
+                commenter.getUserId(), commenter.getUsername()));
+    }
+
+    @Override
+    public void enqueueFollow(User follower, User followed) {
+        if (shouldSkip(follower, followed)) {
+            return;
+        }
+        offer(new PendingNotification(followed.getUserId(), followed.getUsername(), Kind.FOLLOW, null, null,
+                follower.getUserId(), follower.getUsername()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.ingest.flush-interval-ms:2000}")
+    public synchronized int flush() {
+        List<PendingNotification> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (PendingNotification pending : drained) {
+            groups.computeIfAbsent(new GroupKey(pending.getRecipientId(), pending.getKind(), pending.getPostId()), key -> new Group())
+                    .add(pending);
+        }
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        List<Object[]> rows = groups.values().stream().map(group -> group.toRow(createdAt)).toList();
+
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> insert(rows));
+            log.debug("Wrote {} notifications for {} events", rows.size(), drained.size());
+        } catch (RuntimeException e) {
+            // Put the events back so the next flush retries them; whatever no longer fits is dropped
+            int requeued = 0;
+            for (PendingNotification pending : drained) {
+                if (queue.offer(pending)) {
+                    requeued++;
+                }
+            }
+            log.warn("Failed to write {} notifications, requeued {} of {} events: {}",
+                    rows.size(), requeued, drained.size(), e.getMessage());
+            return 0;
+        }
+
+        Map<Long, Long> unreadPerRecipient = new LinkedHashMap<>();
+        for (GroupKey key : groups.keySet()) {
+            unreadPerRecipient.merge(key.recipientId, 1L, Long::sum);
+        }
+        unreadPerRecipient.forEach(unreadNotificationCounter::increment);
+        push(groups.values(), ids, createdAt.toInstant());
+        return rows.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // One JDBC batch per batchSize rows, returning the generated ids in row order
+    private List<Long> insert(List<Object[]> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(rows.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (int start = 0; start < rows.size(); start += batchSize) {
+                    for (Object[] row : rows.subList(start, Math.min(start + batchSize, rows.size()))) {
+                        for (int i = 0; i < row.length; i++) {
+                            ps.setObject(i + 1, row[i], COLUMN_TYPES[i]);
+                        }
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private void push(Collection<Group> groups, List<Long> ids, Instant createdAt) {
+        if (ids == null || ids.size() != groups.size()) {
+            // Clients still see the rows through the inbox and the unread count pushed above
+            log.warn("Driver returned {} generated ids for {} notifications, skipping live push",
+                    ids == null ? 0 : ids.size(), groups.size());
+            return;
+        }
+        int i = 0;
+        for (Group group : groups) {
+            NotificationDto notification = group.toDto(ids.get(i++), createdAt);
+            notificationPushService.pushNotification(group.latest.getRecipientId(), notification);
+        }
+    }
+
+    // Same rules as NotificationServiceImpl: no notifications to yourself or between blocked users
+    private boolean shouldSkip(User actor, User recipient) {
+        return actor.equals(recipient)
+                || blockService.hasBlockedUser(recipient.getUserId())
+                || blockService.isBlockedByUser(recipient.getUserId());
+    }
+
+    private void offer(PendingNotification pending) {
+        if (queue.offer(pending)) {
+            return;
+        }
+        // Queue is full: write it out on the caller's thread instead of growing without bound
+        flush();
+        if (!queue.offer(pending)) {
+            log.warn("Dropped {} notification for user {}: ingestion queue is full", pending.getKind(), pending.getRecipientId());
+        }
+    }
+
+    private enum Kind {
+        LIKE("like", "New Like", "liked your post", "like-icon"),
+        COMMENT("comment", "New Comment", "commented on your post", "comment-icon"),
+        FOLLOW("follow", "New Follower", "started following you", "follow-icon");
+
+        private final String type;
+        private final String title;
+        private final String action;
+        private final String icon;
+
+        Kind(String type, String title, String action, String icon) {
+            this.type = type;
+            this.title = title;
+            this.action = action;
+            this.icon = icon;
+        }
+
+        String actionUrl(PendingNotification latest) {
+            return switch (this) {
+                case LIKE -> "/posts/" + latest.getPostId();
+                case COMMENT -> "/posts/" + latest.getPostId() + "#comment-" + latest.getCommentId();
+                case FOLLOW -> "/profile/" + latest.getActorUsername();
+            };
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingNotification {
+        private final Long recipientId;
+        private final String recipientUsername;
+        private final Kind kind;
+        private final Long postId;
+        private final Long commentId;
+        private final Long actorId;
+        private final String actorUsername;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class GroupKey {
+        private final Long recipientId;
+        private final Kind kind;
+        private final Long postId;
+    }
+
+    /**
+     * Events for one key. The notification names the most recent actor and counts
+     * the other distinct actors, so repeated like/unlike by one user counts once.
+     */
+    private static class Group {
+        private final Map<Long, String> actors = new LinkedHashMap<>();
+        private PendingNotification latest;
+
+        void add(PendingNotification pending) {
+            actors.remove(pending.getActorId());
+            actors.put(pending.getActorId(), pending.getActorUsername());
+            latest = pending;
+        }
+
+        Object[] toRow(OffsetDateTime createdAt) {
+            Kind kind = latest.getKind();
+            return new Object[]{
+                    latest.getRecipientId(), latest.getActorId(), kind.title, message(kind), kind.type,
+                    PRIORITY, latest.getPostId(), latest.getCommentId(), latest.getActorId(), createdAt,
+                    kind.actionUrl(latest), kind.icon, CATEGORY
+            };
+        }
+
+        NotificationDto toDto(Long id, Instant createdAt) {
+            Kind kind = latest.getKind();
+            return NotificationDto.builder()
+                    .id(id)
+                    .senderUsername(latest.getActorUsername())
+                    .recipientUsername(latest.getRecipientUsername())
+                    .title(kind.title)
+                    .message(message(kind))
+                    .notificationType(kind.type)
+                    .priority(PRIORITY)
+                    .isRead(false)
+                    .createdAt(createdAt)
+                    .actionUrl(kind.actionUrl(latest))
+                    .icon(kind.icon)
+                    .category(CATEGORY)
+                    .relatedPostId(latest.getPostId())
+                    .relatedCommentId(latest.getCommentId())
+                    .relatedUserId(latest.getActorId())
+                    .build();
+        }
+
+        private String message(Kind kind) {
+            int others = actors.size() - 1;
+            String subject = latest.getActorUsername();
+            if (others == 1) {
+                subject += " and 1 other";
+            } else if (others > 1) {
+                subject += " and " + others + " others";
+            }
+            return subject + " " + kind.action;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.exceptions.SpringRedditException;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.RedisService;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of the notification streams open on this node. An event is written to
+ * the local streams of its user right away and published once on Redis; every
+ * other node writes it to the streams it holds for that user and ignores the rest.
+ * <p>
+ * Writes never happen on the caller's thread. Each stream has a bounded buffer
+ * drained by the push executor; badge counts overwrite each other instead of
+ * queueing, and a client that lets its buffer fill up or stops accepting
+ * heartbeats is disconnected so it reconnects and catches up through the pull
+ * endpoints. A write still blocked after the send timeout marks its client as
+ * stalled: the stream is completed with an error, which makes the container drop
+ * the connection and fail the write, so a slow client cannot pin an executor thread.
+ */
+@Service
+@Slf4j
+public class NotificationPushServiceImpl implements NotificationPushService, MessageListener {
+
+    static final String PUSH_CHANNEL = "notifications:push";
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final RedisService redisService;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Executor pushExecutor;
+    private final long emitterTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long sendTimeoutMillis;
+    private final int bufferSize;
+    private final int maxStreamsPerUser;
+    private final int maxStreams;
+    // Lets a node recognize its own events when Redis echoes them back
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, List<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger streamCount = new AtomicInteger();
+
+    public NotificationPushServiceImpl(RedisService redisService,
+                                       RedisMessageListenerContainer listenerContainer,
+                                       ObjectMapper objectMapper,
+                                       @Qualifier("notificationPushExecutor") Executor pushExecutor,
+                                       @Value("${notifications.push.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                       @Value("${notifications.push.idle-timeout-ms:90000}") long idleTimeoutMillis,
+                                       @Value("${notifications.push.send-timeout-ms:10000}") long sendTimeoutMillis,
+                                       @Value("${notifications.push.buffer-size:64}") int bufferSize,
+                                       @Value("${notifications.push.max-streams-per-user:5}") int maxStreamsPerUser,
+                                       @Value("${notifications.push.max-streams:10000}") int maxStreams) {
+        this.redisService = redisService;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.pushExecutor = pushExecutor;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.maxStreams = maxStreams;
+    }
+
+    @PostConstruct
+    void listen() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(PUSH_CHANNEL));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, long unreadCount) {
+        if (streamCount.get() >= maxStreams) {
+            throw new SpringRedditException("Too many open notification streams, try again later");
+        }
+        SseEmitter emitter = createEmitter();
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        List<Stream> evicted = new ArrayList<>();
+        streams.compute(userId, (id, userStreams) -> {
+            if (userStreams == null) {
+                userStreams = new CopyOnWriteArrayList<>();
+            }
+            userStreams.add(stream);
+            // A user opening yet another tab takes over from their oldest stream
+            for (int i = 0; i < userStreams.size() - maxStreamsPerUser; i++) {
+                evicted.add(userStreams.get(i));
+            }
+            return userStreams;
+        });
+        streamCount.incrementAndGet();
+        evicted.forEach(this::close);
+
+        stream.offerUnreadCount(Long.toString(unreadCount));
+        log.debug("Opened notification stream for user {} ({} streams on this node)", userId, streamCount.get());
+        return emitter;
+    }
+
+    @Override
+    public void pushNotification(Long userId, NotificationDto notification) {
+        if (userId == null || notification == null) {
+            return;
+        }
+        afterCommit(() -> dispatch(userId, NOTIFICATION_EVENT, toJson(notification)));
+    }
+
+    @Override
+    public void pushUnreadCount(Long userId, long unreadCount) {
+        if (userId == null) {
+            return;
+        }
+        dispatch(userId, UNREAD_COUNT_EVENT, Long.toString(unreadCount));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-interval-ms:25000}")
+    public int sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        int closed = 0;
+        for (List<Stream> userStreams : streams.values()) {
+            for (Stream stream : userStreams) {
+                if (stream.isSendStalled(now)) {
+                    abort(stream);
+                    closed++;
+                // Heartbeats are buffered like any event, so a stalled client stops confirming them
+                } else if (now - stream.lastWriteAtMillis > idleTimeoutMillis || !stream.offerHeartbeat()) {
+                    close(stream);
+                    closed++;
+                }
+            }
+        }
+        if (closed > 0) {
+            log.info("Closed {} idle notification streams", closed);
+        }
+        return closed;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        PushMessage pushMessage;
+        try {
+            // Published as a JSON string through the template's JSON serializer
+            String payload = objectMapper.readValue(message.getBody(), String.class);
+            pushMessage = objectMapper.readValue(payload, PushMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed notification push message: {}", e.getMessage());
+            return;
+        }
+        if (!nodeId.equals(pushMessage.getOrigin())) {
+            deliver(pushMessage.getUserId(), pushMessage.getEvent(), pushMessage.getData());
+        }
+    }
+
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMillis);
+    }
+
+    private void dispatch(Long userId, String event, String data) {
+        if (data == null) {
+            return;
+        }
+        deliver(userId, event, data);
+        String message = toJson(new PushMessage(nodeId, userId, event, data));
+        if (message != null) {
+            redisService.publish(PUSH_CHANNEL, message);
+        }
+    }
+
+    private void deliver(Long userId, String event, String data) {
+        List<Stream> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (Stream stream : userStreams) {
+            if (stream.isSendStalled(System.currentTimeMillis())) {
+                abort(stream);
+                continue;
+            }
+            boolean accepted = UNREAD_COUNT_EVENT.equals(event)
+                    ? stream.offerUnreadCount(data)
+                    : stream.offer(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            if (!accepted) {
+                log.warn("Notification stream of user {} is not keeping up, disconnecting it", userId);
+                close(stream);
+            }
+        }
+    }
+
+    private void close(Stream stream) {
+        remove(stream);
+        stream.closed = true;
+        try {
+            stream.emitter.complete();
+        } catch (RuntimeException e) {
+            log.debug("Notification stream of user {} was already closed: {}", stream.userId, e.getMessage());
+        }
+    }
+
+    // Completing with an error makes the container close the connection, which fails the blocked write
+    private void abort(Stream stream) {
+        log.warn("Notification stream of user {} has been blocked in a write for over {} ms, disconnecting it",
+                stream.userId, sendTimeoutMillis);
+        remove(stream);
+        stream.closed = true;
+        try {
+            stream.emitter.completeWithError(new IOException("Notification stream send timed out"));
+        } catch (RuntimeException e) {
+            log.debug("Notification stream of user {} was already closed: {}", stream.userId, e.getMessage());
+        }
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            if (userStreams.remove(stream)) {
+                streamCount.decrementAndGet();
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize notification push event: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * One open stream. Events wait in a bounded buffer and are written by at most
+     * one executor task at a time, which keeps them in order.
+     */
+    private final class Stream {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Only the latest badge count is worth sending
+        private final AtomicReference<String> pendingUnreadCount = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastWriteAtMillis = System.currentTimeMillis();
+        // When the write in progress started, 0 while no write is in progress
+        private volatile long sendStartedAtMillis;
+        private volatile boolean closed;
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        boolean offerUnreadCount(String unreadCount) {
+            pendingUnreadCount.set(unreadCount);
+            scheduleDrain();
+            return true;
+        }
+
+        boolean offerHeartbeat() {
+            return offer(SseEmitter.event().comment("heartbeat"));
+        }
+
+        boolean isSendStalled(long now) {
+            long startedAt = sendStartedAtMillis;
+            return startedAt != 0 && now - startedAt > sendTimeoutMillis;
+        }
+
+        private void scheduleDrain() {
+            if (closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                pushExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Executor is saturated; the next event or heartbeat tries again
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    String unreadCount = pendingUnreadCount.getAndSet(null);
+                    if (unreadCount != null) {
+                        write(SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+                        continue;
+                    }
+                    SseEmitter.SseEventBuilder event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    write(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports it through the emitter callbacks as well
+                log.debug("Notification stream of user {} failed: {}", userId, e.getMessage());
+                close(this);
+            } finally {
+                draining.set(false);
+            }
+            // Catch events that arrived between the last poll and releasing the flag
+            if (!closed && (pendingUnreadCount.get() != null || !buffer.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedAtMillis = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAtMillis = 0;
+            }
+            lastWriteAtMillis = System.currentTimeMillis();
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class PushMessage {
+        private String origin;
+        private Long userId;
+        private String event;
+        private String data;
+    }
+}
@@ -0,0 +1,177 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.NotificationRetentionStats;
+import com.programming.techie.springredditclone.service.NotificationRetentionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the live notifications table small. Each batch locks the oldest purgeable
+ * rows, optionally copies them to notifications_archive and deletes them, all in
+ * one short transaction, so no lock is held longer than a batch. A run on another
+ * node waits for the locked rows and then only sees those still present, so rows
+ * are never archived twice. Unread notifications are never purged, so unread
+ * counts are unaffected. A run stops after max-run-ms even if rows are left, so
+ * a backlog is worked off over several nights instead of in one long run.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    // Walks idx_notifications_purgeable (db/indexes.sql), a partial index on created_at of read or deleted rows
+    static final String SELECT_BATCH_SQL = "SELECT id FROM notifications WHERE created_at < ? "
+            + "AND (is_read = true OR is_deleted = true) ORDER BY created_at, id LIMIT ? FOR UPDATE";
+    private static final String COLUMNS = "id, recipient_id, sender_id, title, message, notification_type, priority, "
+            + "is_read, read_at, is_deleted, deleted_at, related_post_id, related_comment_id, related_user_id, "
+            + "related_match_id, related_call_id, created_at, action_url, icon, category";
+    static final String ARCHIVE_SQL = "INSERT INTO notifications_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", ? FROM notifications WHERE id IN (%s)";
+    static final String DELETE_SQL = "DELETE FROM notifications WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean archiveEnabled;
+    private final int maxAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final long maxRunMillis;
+
+    private final AtomicLong totalPurged = new AtomicLong();
+    private final AtomicLong totalArchived = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile Instant lastRunAt;
+    private volatile long lastRunPurged;
+    private volatile int lastRunBatches;
+    private volatile long lastRunMillis;
+
+    public NotificationRetentionServiceImpl(JdbcTemplate jdbcTemplate,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${notifications.retention.archive:true}") boolean archiveEnabled,
+                                            @Value("${notifications.retention.max-age-days:90}") int maxAgeDays,
+                                            @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                            @Value("${notifications.retention.max-batches-per-run:500}") int maxBatchesPerRun,
+                                            @Value("${notifications.retention.pause-ms:100}") long pauseMillis,
+                                            @Value("${notifications.retention.max-run-ms:900000}") long maxRunMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveEnabled = archiveEnabled;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    @Override
+    // Nightly by default; set the cron to "-" to disable the job on a node
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public synchronized long purge() {
+        long startedAtMillis = System.currentTimeMillis();
+        Instant now = Instant.now();
+        OffsetDateTime cutoff = OffsetDateTime.ofInstant(now.minus(Duration.ofDays(maxAgeDays)), ZoneOffset.UTC);
+        OffsetDateTime archivedAt = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+
+        long purged = 0;
+        int batches = 0;
+        while (batches < maxBatchesPerRun) {
+            Integer removed;
+            try {
+                removed = transactionTemplate.execute(status -> purgeBatch(cutoff, archivedAt));
+            } catch (RuntimeException e) {
+                // The batch rolled back as a whole; the next run picks the same rows up again
+                failedBatches.incrementAndGet();
+                log.warn("Notification purge batch failed, ending this run: {}", e.getMessage());
+                break;
+            }
+            if (removed == null || removed == 0) {
+                break;
+            }
+            batches++;
+            purged += removed;
+            totalPurged.addAndGet(removed);
+            if (archiveEnabled) {
+                totalArchived.addAndGet(removed);
+            }
+            if (removed < batchSize || !pause()) {
+                break;
+            }
+            if (System.currentTimeMillis() - startedAtMillis >= maxRunMillis) {
+                log.info("Notification purge reached its {} ms limit after {} batches, resuming next run", maxRunMillis, batches);
+                break;
+            }
+        }
+
+        lastRunAt = now;
+        lastRunPurged = purged;
+        lastRunBatches = batches;
+        lastRunMillis = System.currentTimeMillis() - startedAtMillis;
+        if (purged > 0) {
+            log.info("Purged {} notifications older than {} days in {} batches ({} ms, archived: {})",
+                    purged, maxAgeDays, batches, lastRunMillis, archiveEnabled);
+        }
+        return purged;
+    }
+
+    @Override
+    public NotificationRetentionStats getStats() {
+        return NotificationRetentionStats.builder()
+                .archiveEnabled(archiveEnabled)
+                .maxAgeDays(maxAgeDays)
+                .lastRunAt(lastRunAt)
+                .lastRunPurged(lastRunPurged)
+                .lastRunBatches(lastRunBatches)
+                .lastRunMillis(lastRunMillis)
+                .totalPurged(totalPurged.get())
+                .totalArchived(totalArchived.get())
+                .failedBatches(failedBatches.get())
+                .build();
+    }
+
+    private int purgeBatch(OffsetDateTime cutoff, OffsetDateTime archivedAt) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, Long.class,
+                new SqlParameterValue(Types.TIMESTAMP_WITH_TIMEZONE, cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        if (archiveEnabled) {
+            Object[] params = new Object[ids.size() + 1];
+            params[0] = new SqlParameterValue(Types.TIMESTAMP_WITH_TIMEZONE, archivedAt);
+            for (int i = 0; i < ids.size(); i++) {
+                params[i + 1] = ids.get(i);
+            }
+            jdbcTemplate.update(String.format(ARCHIVE_SQL, placeholders), params);
+        }
+        return jdbcTemplate.update(String.format(DELETE_SQL, placeholders), ids.toArray());
+    }
+
+    // Gives replicas and autovacuum room between batches; false if the thread was interrupted
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
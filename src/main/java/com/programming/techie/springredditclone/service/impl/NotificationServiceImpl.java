@@ -1,6 +1,7 @@
 package com.programming.techie.springredditclone.service.impl;
 
 import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationPageResponse;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.mapper.NotificationMapper;
 import com.programming.techie.springredditclone.model.Notification;
@@ -8,17 +9,21 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.NotificationRepository;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.NotificationPushService;
 import com.programming.techie.springredditclone.service.NotificationService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
+import com.programming.techie.springredditclone.util.CursorUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -26,17 +31,26 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    // Cap for the list endpoints, which return the newest notifications without a cursor
+    private static final int LIST_LIMIT = 100;
+
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
     private final AuthService authService;
     private final BlockService blockService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationPushService notificationPushService;
+    private final CursorUtil cursorUtil;
 
     @Override
     public NotificationDto createNotification(NotificationDto notificationDto, User recipient, User sender) {
         Notification notification = notificationMapper.mapToEntity(notificationDto, recipient, sender);
         Notification savedNotification = notificationRepository.save(notification);
+        unreadNotificationCounter.increment(recipient.getUserId(), 1);
         log.info("Created notification: {} for user: {}", notificationDto.getTitle(), recipient.getUsername());
-        return notificationMapper.mapToDto(savedNotification);
+        NotificationDto createdNotification = notificationMapper.mapToDto(savedNotification);
+        notificationPushService.pushNotification(recipient.getUserId(), createdNotification);
+        return createdNotification;
     }
 
     @Override
@@ -49,38 +63,69 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationDto> getUnreadNotificationsForCurrentUser() {
+    public NotificationPageResponse getInbox(String cursor, Integer limit, boolean unreadOnly,
+                                             String notificationType, String category, boolean includeCount) {
         User currentUser = authService.getCurrentUser();
-        List<Notification> unreadNotifications = notificationRepository.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(currentUser);
-        return unreadNotifications.stream()
-                .map(notificationMapper::mapToDto)
-                .collect(Collectors.toList());
+        Long userId = currentUser.getUserId();
+        Boolean isRead = unreadOnly ? Boolean.FALSE : null;
+
+        int actualLimit = (limit != null) ? Math.min(limit, 50) : 20; // Max 50, default 20
+        // Read one row past the page to learn whether another page exists
+        Pageable pageable = PageRequest.of(0, actualLimit + 1);
+        List<NotificationDto> notifications;
+        if (cursor == null) {
+            notifications = notificationRepository.findInboxFirstPage(userId, isRead, notificationType, category, pageable);
+        } else {
+            CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
+            notifications = notificationRepository.findInboxWithCursor(userId, isRead, notificationType, category,
+                    cursorData.getCreatedDate(), cursorData.getId(), pageable);
+        }
+
+        boolean hasMore = notifications.size() > actualLimit;
+        if (hasMore) {
+            notifications = notifications.subList(0, actualLimit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDto last = notifications.get(notifications.size() - 1);
+            nextCursor = cursorUtil.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        Long totalCount = null;
+        if (includeCount) {
+            // The unread badge counter already holds the total of the plain unread listing
+            totalCount = (unreadOnly && notificationType == null && category == null)
+                    ? unreadNotificationCounter.getUnreadCount(userId)
+                    : notificationRepository.countInbox(userId, isRead, notificationType, category);
+        }
+        return new NotificationPageResponse(notifications, nextCursor, hasMore, actualLimit, totalCount);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationDto> getUnreadNotificationsForCurrentUser() {
+        return listNewest(Boolean.FALSE, null, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NotificationDto> getNotificationsByType(String notificationType) {
-        User currentUser = authService.getCurrentUser();
-        List<Notification> notifications = notificationRepository.findByRecipientAndNotificationTypeOrderByCreatedAtDesc(currentUser, notificationType);
-        return notifications.stream()
-                .map(notificationMapper::mapToDto)
-                .collect(Collectors.toList());
+        return listNewest(null, notificationType, null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NotificationDto> getNotificationsByCategory(String category) {
-        User currentUser = authService.getCurrentUser();
-        List<Notification> notifications = notificationRepository.findByRecipientAndCategoryOrderByCreatedAtDesc(currentUser, category);
-        return notifications.stream()
-                .map(notificationMapper::mapToDto)
-                .collect(Collectors.toList());
+        return listNewest(null, null, category);
     }
 
     @Override
     public void markNotificationAsRead(Long notificationId) {
         User currentUser = authService.getCurrentUser();
-        notificationRepository.markAsRead(notificationId, Instant.now());
+        // Only a notification that was still unread lowers the badge
+        if (notificationRepository.markAsRead(notificationId, currentUser, Instant.now()) > 0) {
+            unreadNotificationCounter.decrement(currentUser.getUserId());
+        }
         log.info("Marked notification {} as read for user: {}", notificationId, currentUser.getUsername());
     }
 
@@ -88,6 +133,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void markAllNotificationsAsRead() {
         User currentUser = authService.getCurrentUser();
         notificationRepository.markAllAsRead(currentUser, Instant.now());
+        unreadNotificationCounter.reset(currentUser.getUserId());
         log.info("Marked all notifications as read for user: {}", currentUser.getUsername());
     }
 
@@ -95,7 +141,15 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional(readOnly = true)
     public Long getUnreadNotificationCount() {
         User currentUser = authService.getCurrentUser();
-        return notificationRepository.countByRecipientAndIsReadFalse(currentUser);
+        return unreadNotificationCounter.getUnreadCount(currentUser.getUserId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToNotifications() {
+        User currentUser = authService.getCurrentUser();
+        long unreadCount = unreadNotificationCounter.getUnreadCount(currentUser.getUserId());
+        return notificationPushService.subscribe(currentUser.getUserId(), unreadCount);
     }
 
     @Override
@@ -109,9 +163,13 @@ public class NotificationServiceImpl implements NotificationService {
             throw new SpringRedditException("You can only delete your own notifications");
         }
         
+        boolean wasUnread = !notification.isRead() && !notification.isDeleted();
         notification.setDeleted(true);
         notification.setDeletedAt(Instant.now());
         notificationRepository.save(notification);
+        if (wasUnread) {
+            unreadNotificationCounter.decrement(currentUser.getUserId());
+        }
         log.info("Deleted notification {} for user: {}", notificationId, currentUser.getUsername());
     }
 
@@ -119,6 +177,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void deleteAllNotifications() {
         User currentUser = authService.getCurrentUser();
         notificationRepository.deleteAllForUser(currentUser, Instant.now());
+        unreadNotificationCounter.reset(currentUser.getUserId());
         log.info("Deleted all notifications for user: {}", currentUser.getUsername());
     }
 
@@ -250,4 +309,10 @@ public class NotificationServiceImpl implements NotificationService {
         
         createNotification(notificationDto, recipient, null); // System notifications have no sender
     }
-} 
\ No newline at end of file
+
+    private List<NotificationDto> listNewest(Boolean isRead, String notificationType, String category) {
+        User currentUser = authService.getCurrentUser();
+        return notificationRepository.findInboxFirstPage(currentUser.getUserId(), isRead, notificationType, category,
+                PageRequest.of(0, LIST_LIMIT));
+    }
+}
@@ -1,35 +1,53 @@
 package com.programming.techie.springredditclone.service.impl;
 
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.dto.FollowedAuthors;
+import com.programming.techie.springredditclone.dto.PostFeedRow;
 import com.programming.techie.springredditclone.dto.PostRequest;
 import com.programming.techie.springredditclone.dto.PostResponse;
+import com.programming.techie.springredditclone.dto.RankedPost;
+import com.programming.techie.springredditclone.dto.SearchHit;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
+import com.programming.techie.springredditclone.event.PostCreatedEvent;
 import com.programming.techie.springredditclone.mapper.PostMapper;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.Subreddit;
 import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.FollowRepository;
 import com.programming.techie.springredditclone.repository.PostRepository;
 import com.programming.techie.springredditclone.repository.SubredditRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
 import com.programming.techie.springredditclone.service.BlockValidationService;
+import com.programming.techie.springredditclone.service.ContentFilterService;
+import com.programming.techie.springredditclone.service.HotRankingService;
 import com.programming.techie.springredditclone.service.PostService;
+import com.programming.techie.springredditclone.service.TimelineService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import com.programming.techie.springredditclone.util.BlockContext;
 import com.programming.techie.springredditclone.util.CursorUtil;
+import com.programming.techie.springredditclone.util.LongHashSet;
 import com.programming.techie.springredditclone.repository.VoteRepository;
 import com.programming.techie.springredditclone.model.Vote;
 import com.programming.techie.springredditclone.model.VoteType;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -37,6 +55,7 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.oauth2.jwt.Jwt;
 import com.programming.techie.springredditclone.exceptions.InvalidPostContentException;
 import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.SearchService;
 
 @Service
 @AllArgsConstructor
@@ -44,6 +63,15 @@ import com.programming.techie.springredditclone.service.RedisService;
 @Transactional
 public class PostServiceImpl implements PostService {
 
+    // Keeps the IN list of the bulk vote lookup well below driver parameter limits
+    private static final int VOTE_LOOKUP_BATCH_SIZE = 500;
+    private static final Pattern HASHTAG = Pattern.compile("#\\w+");
+    private static final Pattern ALPHANUMERIC = Pattern.compile("[a-zA-Z0-9]");
+    private static final Comparator<PostFeedRow> NEWEST_FIRST = Comparator
+            .comparing(PostFeedRow::getCreatedDate)
+            .thenComparing(PostFeedRow::getPostId)
+            .reversed();
+
     private final PostRepository postRepository;
     private final SubredditRepository subredditRepository;
     private final UserRepository userRepository;
@@ -54,6 +82,13 @@ public class PostServiceImpl implements PostService {
     private final CursorUtil cursorUtil;
     private final VoteRepository voteRepository;
     private final RedisService redisService;
+    private final FollowRepository followRepository;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotRankingService hotRankingService;
+    private final VoteCounterService voteCounterService;
+    private final ContentFilterService contentFilterService;
+    private final SearchService searchService;
 
     @Override
     public void save(PostRequest postRequest) {
@@ -69,6 +104,7 @@ public class PostServiceImpl implements PostService {
         
         // Enhanced content validation that checks for meaningful content beyond hashtags
         validatePostContent(postRequest.getDescription());
+        validatePostLanguage(postRequest);
 
         // Create post with multiple subreddits
         Post post = new Post();
@@ -81,6 +117,11 @@ public class PostServiceImpl implements PostService {
         post.setVoteCount(0);
         
         postRepository.save(post);
+        subredditRepository.incrementPostCount(subredditIds(subreddits));
+        hotRankingService.updatePost(post);
+        
+        // Followers' timelines are updated asynchronously once the post is committed
+        eventPublisher.publishEvent(new PostCreatedEvent(this, post.getPostId(), post.getUser().getUserId(), post.getCreatedDate()));
     }
 
     /**
@@ -92,17 +133,24 @@ public class PostServiceImpl implements PostService {
         }
         
         // Remove hashtags and check if there's meaningful content left
-        String contentWithoutHashtags = description.replaceAll("#\\w+", "").trim();
+        String contentWithoutHashtags = HASHTAG.matcher(description).replaceAll("").trim();
         if (contentWithoutHashtags.isEmpty()) {
             throw new InvalidPostContentException("Post content cannot consist only of hashtags");
         }
         
         // Check if remaining content has at least one alphanumeric character
-        if (!contentWithoutHashtags.matches(".*[a-zA-Z0-9].*")) {
+        if (!ALPHANUMERIC.matcher(contentWithoutHashtags).find()) {
             throw new InvalidPostContentException("Post content must contain meaningful text beyond hashtags");
         }
     }
 
+    private void validatePostLanguage(PostRequest postRequest) {
+        if (contentFilterService.containsProfanity(postRequest.getPostName())
+                || contentFilterService.containsProfanity(postRequest.getDescription())) {
+            throw new InvalidPostContentException("Post contains unacceptable language");
+        }
+    }
+
     /**
      * Validate and retrieve subreddits by names, creating new ones if they don't exist
      */
@@ -140,6 +188,13 @@ public class PostServiceImpl implements PostService {
         return subreddits;
     }
 
+    private static Set<Long> subredditIds(Set<Subreddit> subreddits) {
+        if (subreddits == null) {
+            return Set.of();
+        }
+        return subreddits.stream().map(Subreddit::getId).collect(Collectors.toSet());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PostResponse getPost(Long id) {
@@ -156,7 +211,7 @@ public class PostServiceImpl implements PostService {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found with id - " + id));
         
-        PostResponse response = postMapper.mapToDto(post);
+        PostResponse response = toResponse(post);
         
         // Add vote status if user is authenticated
         if (authService.isLoggedIn()) {
@@ -184,37 +239,74 @@ public class PostServiceImpl implements PostService {
             postId = cursorData.getId();
         }
         
-        List<Post> posts = postRepository.findAllWithCursor(createdDate, postId, PageRequest.of(0, limit + 1));
+        List<PostFeedRow> rows = postRepository.findFeedRowsWithCursor(createdDate, postId, PageRequest.of(0, limit + 1));
+        return buildFeedPage(rows, limit, blockValidationService.getBlockContext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getFollowingTimeline(String cursor, int limit) {
+        User currentUser = authService.getCurrentUser();
+        
+        Instant createdDate = Instant.now();
+        Long postId = Long.MAX_VALUE;
         
-        boolean hasMore = posts.size() > limit;
-        if (hasMore) {
-            posts = posts.subList(0, limit);
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
+            createdDate = cursorData.getCreatedDate();
+            postId = cursorData.getId();
         }
         
-        List<PostResponse> postResponses = posts.stream()
-                .filter(post -> {
-                    // Filter out posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
-                })
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<Long> following = followRepository.findActiveFollowingIds(currentUser);
+        if (following.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), null, false, limit);
+        }
+        LongHashSet followedIds = LongHashSet.of(following);
+        // Split followed users into fanned-out authors and heavy authors read at query time
+        FollowedAuthors authors = timelineService.classifyAuthors(following);
         
-        String nextCursor = null;
-        if (hasMore && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = cursorUtil.encodeCursor(lastPost.getCreatedDate(), lastPost.getPostId());
+        List<PostFeedRow> rows = readTimelineRows(currentUser.getUserId(), authors.getFanOutAuthorIds(), followedIds, createdDate, postId, limit + 1);
+        if (!authors.getFanOutOnReadAuthorIds().isEmpty()) {
+            rows.addAll(postRepository.findFeedRowsByUserIdsWithCursor(authors.getFanOutOnReadAuthorIds(), createdDate, postId, PageRequest.of(0, limit + 1)));
         }
         
-        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
+        LongHashSet seenPostIds = new LongHashSet(rows.size());
+        List<PostFeedRow> merged = rows.stream()
+                .sorted(NEWEST_FIRST)
+                .filter(row -> seenPostIds.add(row.getPostId()))
+                .limit(limit + 1)
+                .collect(Collectors.toList());
+        
+        return buildFeedPage(merged, limit, blockValidationService.getBlockContext());
+    }
+
+    /**
+     * Read at least {@code needed} rows after the cursor from the precomputed timeline, unless it runs out first.
+     * Entries tied with the cursor or from since-unfollowed authors are dropped, so the range is widened
+     * until enough rows survive; only the newly fetched IDs are hydrated on each pass.
+     */
+    private List<PostFeedRow> readTimelineRows(Long userId, List<Long> fanOutAuthorIds, LongHashSet followedIds,
+                                               Instant cursorDate, Long cursorId, int needed) {
+        List<PostFeedRow> rows = new ArrayList<>();
+        int fetched = 0;
+        int count = 2 * needed;
+        while (true) {
+            List<Long> postIds = timelineService.getTimelinePostIds(userId, fanOutAuthorIds, cursorDate, count);
+            if (postIds.size() > fetched) {
+                for (PostFeedRow row : postRepository.findFeedRowsByPostIds(postIds.subList(fetched, postIds.size()))) {
+                    if (followedIds.contains(row.getUserId()) && (row.getCreatedDate().isBefore(cursorDate)
+                            || (row.getCreatedDate().equals(cursorDate) && row.getPostId() < cursorId))) {
+                        rows.add(row);
+                    }
+                }
+                fetched = postIds.size();
+            }
+            // A short range means the timeline is exhausted; it is capped, so this always ends
+            if (rows.size() >= needed || postIds.size() < count) {
+                return rows;
+            }
+            count *= 2;
+        }
     }
 
     @Override
@@ -232,37 +324,8 @@ public class PostServiceImpl implements PostService {
             postId = cursorData.getId();
         }
         
-        List<Post> posts = postRepository.findBySubredditWithCursor(subreddit, createdDate, postId, PageRequest.of(0, limit + 1));
-        
-        boolean hasMore = posts.size() > limit;
-        if (hasMore) {
-            posts = posts.subList(0, limit);
-        }
-        
-        List<PostResponse> postResponses = posts.stream()
-                .filter(post -> {
-                    // Filter out posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
-                })
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
-                .collect(Collectors.toList());
-        
-        String nextCursor = null;
-        if (hasMore && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = cursorUtil.encodeCursor(lastPost.getCreatedDate(), lastPost.getPostId());
-        }
-        
-        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
+        List<PostFeedRow> rows = postRepository.findFeedRowsBySubredditWithCursor(subreddit, createdDate, postId, PageRequest.of(0, limit + 1));
+        return buildFeedPage(rows, limit, blockValidationService.getBlockContext());
     }
 
     @Override
@@ -283,33 +346,8 @@ public class PostServiceImpl implements PostService {
             postId = cursorData.getId();
         }
 
-        List<Post> posts = postRepository.findByUserWithCursor(user, createdDate, postId, PageRequest.of(0, limit + 1));
-
-        boolean hasMore = posts.size() > limit;
-        if (hasMore) {
-            posts = posts.subList(0, limit);
-        }
-
-        List<PostResponse> postResponses = posts.stream()
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        String nextCursor = null;
-        if (hasMore && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = cursorUtil.encodeCursor(lastPost.getCreatedDate(), lastPost.getPostId());
-        }
-
-        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
+        List<PostFeedRow> rows = postRepository.findFeedRowsByUserWithCursor(user, createdDate, postId, PageRequest.of(0, limit + 1));
+        return buildFeedPage(rows, limit, BlockContext.EMPTY);
     }
 
     @Override
@@ -330,33 +368,8 @@ public class PostServiceImpl implements PostService {
             postId = cursorData.getId();
         }
 
-        List<Post> posts = postRepository.findByUserWithCursor(user, createdDate, postId, PageRequest.of(0, limit + 1));
-
-        boolean hasMore = posts.size() > limit;
-        if (hasMore) {
-            posts = posts.subList(0, limit);
-        }
-
-        List<PostResponse> postResponses = posts.stream()
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
-                .collect(Collectors.toList());
-
-        String nextCursor = null;
-        if (hasMore && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = cursorUtil.encodeCursor(lastPost.getCreatedDate(), lastPost.getPostId());
-        }
-
-        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
+        List<PostFeedRow> rows = postRepository.findFeedRowsByUserWithCursor(user, createdDate, postId, PageRequest.of(0, limit + 1));
+        return buildFeedPage(rows, limit, BlockContext.EMPTY);
     }
 
     /**
@@ -378,7 +391,7 @@ public class PostServiceImpl implements PostService {
         
         return postRepository.findBySubredditsIn(subreddits)
                 .stream()
-                .map(postMapper::mapToDto)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -407,6 +420,21 @@ public class PostServiceImpl implements PostService {
         
         // Enhanced content validation that checks for meaningful content beyond hashtags
         validatePostContent(postRequest.getDescription());
+        validatePostLanguage(postRequest);
+        
+        // Move the post counts of subreddits the post leaves or joins
+        Set<Long> previousIds = subredditIds(existingPost.getSubreddits());
+        Set<Long> currentIds = subredditIds(subreddits);
+        Set<Long> removedIds = new HashSet<>(previousIds);
+        removedIds.removeAll(currentIds);
+        Set<Long> addedIds = new HashSet<>(currentIds);
+        addedIds.removeAll(previousIds);
+        if (!removedIds.isEmpty()) {
+            subredditRepository.decrementPostCount(removedIds);
+        }
+        if (!addedIds.isEmpty()) {
+            subredditRepository.incrementPostCount(addedIds);
+        }
         
         // Update the post fields
         existingPost.setPostName(postRequest.getPostName().trim());
@@ -436,7 +464,12 @@ public class PostServiceImpl implements PostService {
         }
         
         // Delete the post
+        Set<Long> subredditIds = subredditIds(existingPost.getSubreddits());
         postRepository.delete(existingPost);
+        if (!subredditIds.isEmpty()) {
+            subredditRepository.decrementPostCount(subredditIds);
+        }
+        hotRankingService.removePost(postId);
         
         // Invalidate cache for this post
         String cacheKey = "post:" + postId;
@@ -458,134 +491,220 @@ public class PostServiceImpl implements PostService {
                 .orElse(false);
     }
 
+    /**
+     * Build a cursor page from feed projection rows. Subreddit names and the viewer's
+     * votes are each loaded with one query for the whole page, so the statement count
+     * does not grow with the page size.
+     */
+    private CursorPageResponse<PostResponse> buildFeedPage(List<PostFeedRow> rows, int limit, BlockContext blockContext) {
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        // Filter out posts from blocked users using the request's block context
+        List<PostFeedRow> visibleRows = rows.stream()
+                .filter(row -> !blockContext.hasBlockRelationship(row.getUserId()))
+                .collect(Collectors.toList());
+        List<Long> postIds = visibleRows.stream()
+                .map(PostFeedRow::getPostId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<String>> subredditNames = resolveSubredditNames(postIds);
+        ViewerVoteState viewerVotes = resolveViewerVotesForIds(postIds);
+
+        List<PostResponse> postResponses = visibleRows.stream()
+                .map(row -> {
+                    PostResponse response = postMapper.mapToDto(row, subredditNames.getOrDefault(row.getPostId(), List.of()));
+                    applyPendingVotes(response);
+                    response.setUpVote(viewerVotes.isUpVoted(row.getPostId()));
+                    response.setDownVote(viewerVotes.isDownVoted(row.getPostId()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore && !rows.isEmpty()) {
+            PostFeedRow lastRow = rows.get(rows.size() - 1);
+            nextCursor = cursorUtil.encodeCursor(lastRow.getCreatedDate(), lastRow.getPostId());
+        }
+
+        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
+    }
+
+    private Map<Long, List<String>> resolveSubredditNames(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> namesByPostId = new HashMap<>(postIds.size() * 2);
+        for (Object[] row : postRepository.findSubredditNamesByPostIds(postIds)) {
+            namesByPostId.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return namesByPostId;
+    }
+
+    /**
+     * Resolve the viewer's votes for a whole page of posts in one query,
+     * instead of two findByPostAndUser lookups per post.
+     */
+    private ViewerVoteState resolveViewerVotesForIds(List<Long> postIds) {
+        if (postIds.isEmpty() || !authService.isLoggedIn()) {
+            return ViewerVoteState.NONE;
+        }
+        User currentUser = authService.getCurrentUser();
+
+        ViewerVoteState state = new ViewerVoteState(postIds.size());
+        for (int from = 0; from < postIds.size(); from += VOTE_LOOKUP_BATCH_SIZE) {
+            List<Long> batch = postIds.subList(from, Math.min(from + VOTE_LOOKUP_BATCH_SIZE, postIds.size()));
+            for (Object[] row : voteRepository.findPostVoteStatesByUser(currentUser, batch)) {
+                state.record((Long) row[0], (VoteType) row[1]);
+            }
+        }
+        return state;
+    }
+
+    private PostResponse toResponse(Post post) {
+        return applyPendingVotes(postMapper.mapToDto(post));
+    }
+
+    // Vote counts are written behind, so add likes that have not been flushed yet
+    private PostResponse applyPendingVotes(PostResponse response) {
+        long pending = voteCounterService.getPendingPostDelta(response.getId());
+        if (pending != 0 && response.getVoteCount() != null) {
+            response.setVoteCount(response.getVoteCount() + (int) pending);
+        }
+        return response;
+    }
+
+    /**
+     * Viewer's vote state for one page of posts, keyed by primitive post ID
+     */
+    private static final class ViewerVoteState {
+        private static final ViewerVoteState NONE = new ViewerVoteState(0);
+
+        private final LongHashSet upVoted;
+        private final LongHashSet downVoted;
+
+        private ViewerVoteState(int expectedSize) {
+            this.upVoted = new LongHashSet(expectedSize);
+            this.downVoted = new LongHashSet(expectedSize);
+        }
+
+        private void record(Long postId, VoteType voteType) {
+            if (voteType == VoteType.UPVOTE) {
+                upVoted.add(postId);
+            } else if (voteType == VoteType.DOWNVOTE) {
+                downVoted.add(postId);
+            }
+        }
+
+        private boolean isUpVoted(Long postId) {
+            return upVoted.contains(postId);
+        }
+
+        private boolean isDownVoted(Long postId) {
+            return downVoted.contains(postId);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PostResponse> searchPostsBySubreddit(String subredditName) {
         List<Post> posts = postRepository.findBySubredditName(subredditName);
+        BlockContext blockContext = blockValidationService.getBlockContext();
         return posts.stream()
                 .filter(post -> {
-                    // Filter out posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
+                    // Filter out posts from blocked users using the request's block context
+                    return !blockContext.hasBlockRelationship(post.getUser().getUserId());
                 })
-                .map(postMapper::mapToDto)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PostResponse> searchPosts(String searchTerm) {
-        List<Post> posts = postRepository.searchPosts(searchTerm);
-        return posts.stream()
-                .filter(post -> {
-                    // Filter out posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
-                })
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
+    public CursorPageResponse<PostResponse> searchPosts(String query, String cursor, int limit) {
+        Double score = null;
+        Long postId = null;
+        
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorUtil.ScoreCursorData cursorData = cursorUtil.decodeScoreCursor(cursor);
+            score = cursorData.getScore();
+            postId = cursorData.getId();
+        }
+        
+        List<SearchHit> hits = searchService.searchPosts(query, score, postId, limit + 1);
+        
+        boolean hasMore = hits.size() > limit;
+        if (hasMore) {
+            hits = hits.subList(0, limit);
+        }
+        
+        // Hydrate in relevance order
+        List<Long> postIds = hits.stream()
+                .map(SearchHit::getId)
+                .collect(Collectors.toList());
+        Map<Long, PostFeedRow> rowsById = postIds.isEmpty() ? Map.of() : postRepository.findFeedRowsByPostIds(postIds).stream()
+                .collect(Collectors.toMap(PostFeedRow::getPostId, row -> row));
+        List<PostFeedRow> rows = postIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        
+        List<PostResponse> postResponses = buildFeedPage(rows, limit, blockValidationService.getBlockContext()).getContent();
+        
+        String nextCursor = null;
+        if (hasMore && !hits.isEmpty()) {
+            SearchHit lastHit = hits.get(hits.size() - 1);
+            nextCursor = cursorUtil.encodeScoreCursor(lastHit.getScore(), lastHit.getId());
+        }
+        
+        return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<PostResponse> getPromotedPosts(int limit) {
-        // TODO: Implement promotion algorithm
-        // This method should return posts that are promoted based on various factors such as:
-        // - High engagement (likes, comments, shares)
-        // - Recent activity
-        // - User reputation/credibility
-        // - Content quality metrics
-        // - Trending topics
-        // - Sponsored content (if applicable)
-        
-        log.info("Getting promoted posts with limit: {}", limit);
-        
-        // Placeholder implementation - currently returns recent posts with high vote counts
-        // This should be replaced with a proper promotion algorithm
-        List<Post> promotedPosts = postRepository.findTopPostsByVoteCount(PageRequest.of(0, limit));
-        
-        return promotedPosts.stream()
-                .filter(post -> {
-                    // Filter out promoted posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
-                })
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
-                .collect(Collectors.toList());
+        return getPromotedPosts(null, limit).getContent();
     }
     
     @Override
     @Transactional(readOnly = true)
     public CursorPageResponse<PostResponse> getPromotedPosts(String cursor, int limit) {
-        // TODO: Implement promotion algorithm with pagination
-        // This method should return posts that are promoted based on various factors such as:
-        // - High engagement (likes, comments, shares)
-        // - Recent activity
-        // - User reputation/credibility
-        // - Content quality metrics
-        // - Trending topics
-        // - Sponsored content (if applicable)
-        
-        log.info("Getting promoted posts with cursor: {} and limit: {}", cursor, limit);
-        
-        // Initialize cursor values for first page
-        Integer voteCount = Integer.MAX_VALUE;
-        Instant createdDate = Instant.now();
-        Long postId = Long.MAX_VALUE;
+        // Promoted posts are ranked by hot score: engagement decayed by age
+        Double score = null;
+        Long postId = null;
         
         if (cursor != null && !cursor.isEmpty()) {
-            CursorUtil.CursorData cursorData = cursorUtil.decodeCursor(cursor);
-            // For promoted posts, we need to decode vote count from cursor
-            // This is a simplified approach - in a real implementation, you might want to encode vote count in the cursor
-            createdDate = cursorData.getCreatedDate();
+            CursorUtil.ScoreCursorData cursorData = cursorUtil.decodeScoreCursor(cursor);
+            score = cursorData.getScore();
             postId = cursorData.getId();
-            // Note: voteCount would need to be encoded in cursor for proper pagination
-            // For now, we'll use a simplified approach
         }
         
-        List<Post> posts = postRepository.findPromotedPostsWithCursor(voteCount, createdDate, postId, PageRequest.of(0, limit + 1));
+        List<RankedPost> ranked = hotRankingService.getRankedPosts(score, postId, limit + 1);
         
-        boolean hasMore = posts.size() > limit;
+        boolean hasMore = ranked.size() > limit;
         if (hasMore) {
-            posts = posts.subList(0, limit);
+            ranked = ranked.subList(0, limit);
         }
         
-        List<PostResponse> postResponses = posts.stream()
-                .filter(post -> {
-                    // Filter out promoted posts from blocked users using the validation service
-                    return !blockValidationService.hasBlockRelationship(post.getUser().getUserId());
-                })
-                .map(post -> {
-                    PostResponse response = postMapper.mapToDto(post);
-                    // Add vote status if user is authenticated
-                    if (authService.isLoggedIn()) {
-                        User currentUser = authService.getCurrentUser();
-                        response.setUpVote(isPostUpVoted(post, currentUser));
-                        response.setDownVote(isPostDownVoted(post, currentUser));
-                    }
-                    return response;
-                })
+        // Hydrate in ranking order; posts deleted since they were ranked are skipped
+        List<Long> postIds = ranked.stream()
+                .map(RankedPost::getPostId)
                 .collect(Collectors.toList());
+        Map<Long, PostFeedRow> rowsById = postIds.isEmpty() ? Map.of() : postRepository.findFeedRowsByPostIds(postIds).stream()
+                .collect(Collectors.toMap(PostFeedRow::getPostId, row -> row));
+        List<PostFeedRow> rows = postIds.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        
+        List<PostResponse> postResponses = buildFeedPage(rows, limit, blockValidationService.getBlockContext()).getContent();
         
         String nextCursor = null;
-        if (hasMore && !posts.isEmpty()) {
-            Post lastPost = posts.get(posts.size() - 1);
-            nextCursor = cursorUtil.encodeCursor(lastPost.getCreatedDate(), lastPost.getPostId());
+        if (hasMore && !ranked.isEmpty()) {
+            RankedPost lastRanked = ranked.get(ranked.size() - 1);
+            nextCursor = cursorUtil.encodeScoreCursor(lastRanked.getScore(), lastRanked.getPostId());
         }
         
         return new CursorPageResponse<>(postResponses, nextCursor, hasMore, limit);
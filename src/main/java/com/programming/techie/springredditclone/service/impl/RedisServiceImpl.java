@@ -4,9 +4,19 @@ import com.programming.techie.springredditclone.service.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -14,6 +24,13 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class RedisServiceImpl implements RedisService {
 
+    // Missing keys stay missing so the caller can rebuild them; a result below zero is brought back to zero
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return nil end "
+                    + "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "if value < 0 then value = redis.call('INCRBY', KEYS[1], -value) end "
+                    + "return value", Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
 
     @Override
@@ -99,4 +116,123 @@ public class RedisServiceImpl implements RedisService {
             return false;
         }
     }
+
+    @Override
+    public Long increment(String key) {
+        try {
+            Long result = redisTemplate.opsForValue().increment(key);
+            log.debug("Redis: Incremented key '{}' to {}", key, result);
+            return result;
+        } catch (Exception e) {
+            log.error("Redis: Error incrementing key '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public Long incrementIfPresent(String key, long delta) {
+        try {
+            Long result = redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(key), delta);
+            log.debug("Redis: Added {} to key '{}' if present: {}", delta, key, result);
+            return result;
+        } catch (Exception e) {
+            log.error("Redis: Error incrementing key '{}' if present: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void publish(String channel, Object message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+            log.debug("Redis: Published to channel '{}': {}", channel, message);
+        } catch (Exception e) {
+            log.error("Redis: Error publishing to channel '{}': {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void zAddCapped(Collection<String> keys, Object member, double score, long maxSize, long timeout, TimeUnit unit) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String key : keys) {
+                        ops.opsForZSet().add(key, member, score);
+                        ops.opsForZSet().removeRange(key, 0, -(maxSize + 1));
+                        ops.expire(key, timeout, unit);
+                    }
+                    return null;
+                }
+            });
+            log.debug("Redis: Added member {} to {} sorted sets", member, keys.size());
+        } catch (Exception e) {
+            log.error("Redis: Error adding member {} to {} sorted sets: {}", member, keys.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void zAddAll(String key, Map<Object, Double> scoredMembers, long maxSize, long timeout, TimeUnit unit) {
+        if (scoredMembers.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    scoredMembers.forEach((member, score) -> ops.opsForZSet().add(key, member, score));
+                    ops.opsForZSet().removeRange(key, 0, -(maxSize + 1));
+                    ops.expire(key, timeout, unit);
+                    return null;
+                }
+            });
+            log.debug("Redis: Added {} members to sorted set '{}'", scoredMembers.size(), key);
+        } catch (Exception e) {
+            log.error("Redis: Error adding members to sorted set '{}': {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public Set<Object> zReverseRangeByScore(String key, double max, long count) {
+        try {
+            Set<Object> result = redisTemplate.opsForZSet().reverseRangeByScore(key, Double.NEGATIVE_INFINITY, max, 0, count);
+            log.debug("Redis: Reverse range by score on key '{}' returned {} members", key, result != null ? result.size() : 0);
+            return result != null ? result : Collections.emptySet();
+        } catch (Exception e) {
+            log.error("Redis: Error reading sorted set '{}': {}", key, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    @Override
+    public Set<ZSetOperations.TypedTuple<Object>> zReverseRangeByScoreWithScores(String key, double min, double max, long count) {
+        try {
+            Set<ZSetOperations.TypedTuple<Object>> result =
+                    redisTemplate.opsForZSet().reverseRangeByScoreWithScores(key, min, max, 0, count);
+            log.debug("Redis: Reverse range with scores on key '{}' returned {} members", key, result != null ? result.size() : 0);
+            return result != null ? result : Collections.emptySet();
+        } catch (Exception e) {
+            log.error("Redis: Error reading sorted set '{}' with scores: {}", key, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    @Override
+    public Long zRemove(String key, Object... members) {
+        try {
+            Long result = redisTemplate.opsForZSet().remove(key, members);
+            log.debug("Redis: Removed {} members from sorted set '{}'", result, key);
+            return result;
+        } catch (Exception e) {
+            log.error("Redis: Error removing members from sorted set '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
 }
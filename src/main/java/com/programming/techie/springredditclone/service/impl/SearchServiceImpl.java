@@ -0,0 +1,154 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.SearchHit;
+import com.programming.techie.springredditclone.service.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Relevance search over post titles and comment text.
+ * On PostgreSQL with db/search.sql applied, queries match the generated search_vector
+ * columns through their GIN indexes and are ranked by ts_rank_cd. When the full-text
+ * query matches nothing at all, typically a typo or a partial word, the request falls
+ * back to pg_trgm word similarity over the trigram indexes instead. Other databases,
+ * and PostgreSQL before the script has run, get an unindexed case-insensitive substring
+ * match ranked by how early the term occurs.
+ */
+@Service
+@Slf4j
+public class SearchServiceImpl implements SearchService {
+
+    // Longer queries only add tsquery and trigram work
+    static final int MAX_QUERY_LENGTH = 200;
+
+    static final String SEARCH_COLUMNS_SQL = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE table_name IN ('post', 'comments') AND column_name = 'search_vector'";
+
+    static final Statements POSTS = new Statements(
+            "SELECT EXISTS (SELECT 1 FROM post p WHERE p.search_vector @@ websearch_to_tsquery('english', ?))",
+            "SELECT p.post_id AS id, CAST(ts_rank_cd(p.search_vector, q.query) AS DOUBLE PRECISION) AS score "
+                    + "FROM post p, websearch_to_tsquery('english', ?) AS q(query) WHERE p.search_vector @@ q.query",
+            "SELECT p.post_id AS id, CAST(word_similarity(?, p.post_name) AS DOUBLE PRECISION) AS score "
+                    + "FROM post p WHERE ? <% p.post_name",
+            "SELECT p.post_id AS id, CAST(1 AS DOUBLE PRECISION) / LOCATE(?, LOWER(p.post_name)) AS score "
+                    + "FROM post p WHERE LOWER(p.post_name) LIKE ? ESCAPE '\\'");
+
+    static final Statements COMMENTS = new Statements(
+            "SELECT EXISTS (SELECT 1 FROM comments c WHERE c.search_vector @@ websearch_to_tsquery('english', ?) "
+                    + "AND c.deleted = false AND c.is_hidden = false)",
+            "SELECT c.id AS id, CAST(ts_rank_cd(c.search_vector, q.query) AS DOUBLE PRECISION) AS score "
+                    + "FROM comments c, websearch_to_tsquery('english', ?) AS q(query) WHERE c.search_vector @@ q.query "
+                    + "AND c.deleted = false AND c.is_hidden = false",
+            "SELECT c.id AS id, CAST(word_similarity(?, c.text) AS DOUBLE PRECISION) AS score "
+                    + "FROM comments c WHERE ? <% c.text AND c.deleted = false AND c.is_hidden = false",
+            "SELECT c.id AS id, CAST(1 AS DOUBLE PRECISION) / LOCATE(?, LOWER(c.text)) AS score "
+                    + "FROM comments c WHERE LOWER(c.text) LIKE ? ESCAPE '\\' AND c.deleted = false AND c.is_hidden = false");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean fullText;
+
+    public SearchServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fullText = detectFullText(jdbcTemplate);
+    }
+
+    @Override
+    public List<SearchHit> searchPosts(String query, Double afterScore, Long afterId, int count) {
+        return search(POSTS, query, afterScore, afterId, count);
+    }
+
+    @Override
+    public List<SearchHit> searchComments(String query, Double afterScore, Long afterId, int count) {
+        return search(COMMENTS, query, afterScore, afterId, count);
+    }
+
+    private List<SearchHit> search(Statements statements, String query, Double afterScore, Long afterId, int count) {
+        String term = normalizeQuery(query);
+        if (term.isEmpty() || count <= 0) {
+            return List.of();
+        }
+        if (!fullText) {
+            String lowerTerm = term.toLowerCase(Locale.ROOT);
+            return page(statements.substring, List.of(lowerTerm, "%" + escapeLike(lowerTerm) + "%"),
+                    afterScore, afterId, count);
+        }
+        // Decided per request rather than per page, so every page of one search uses the same ranking
+        Boolean matched = jdbcTemplate.queryForObject(statements.exists, Boolean.class, term);
+        if (Boolean.TRUE.equals(matched)) {
+            return page(statements.match, List.of(term), afterScore, afterId, count);
+        }
+        return page(statements.similar, List.of(term, term), afterScore, afterId, count);
+    }
+
+    private List<SearchHit> page(String hitsSql, List<Object> hitsArgs, Double afterScore, Long afterId, int count) {
+        StringBuilder sql = new StringBuilder("SELECT id, score FROM (").append(hitsSql).append(") hits");
+        List<Object> args = new ArrayList<>(hitsArgs);
+        if (afterScore != null && afterId != null) {
+            sql.append(" WHERE score < ? OR (score = ? AND id < ?)");
+            args.add(afterScore);
+            args.add(afterScore);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY score DESC, id DESC LIMIT ?");
+        args.add(count);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new SearchHit(rs.getLong("id"), rs.getDouble("score")), args.toArray());
+    }
+
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String term = query.trim().replaceAll("\\s+", " ");
+        return term.length() > MAX_QUERY_LENGTH ? term.substring(0, MAX_QUERY_LENGTH) : term;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean detectFullText(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(product)) {
+                return false;
+            }
+            Integer columns = jdbcTemplate.queryForObject(SEARCH_COLUMNS_SQL, Integer.class);
+            if (columns == null || columns < 2) {
+                log.warn("search_vector columns are missing, run db/search.sql; falling back to unindexed substring search");
+                return false;
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not detect full-text search support, falling back to substring search", e);
+            return false;
+        }
+    }
+
+    /**
+     * SQL for one searchable table: a full-text existence probe, the ranked full-text match,
+     * the trigram fallback and the portable substring match. Each of the last three selects
+     * (id, score) rows and is wrapped in the keyset page query.
+     */
+    static final class Statements {
+        private final String exists;
+        private final String match;
+        private final String similar;
+        private final String substring;
+
+        Statements(String exists, String match, String similar, String substring) {
+            this.exists = exists;
+            this.match = match;
+            this.similar = similar;
+            this.substring = substring;
+        }
+    }
+}
@@ -1,20 +1,22 @@
 package com.programming.techie.springredditclone.service.impl;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.SubredditDto;
+import com.programming.techie.springredditclone.dto.SubredditPostCount;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.mapper.SubredditMapper;
 import com.programming.techie.springredditclone.model.Subreddit;
 import com.programming.techie.springredditclone.repository.SubredditRepository;
 import com.programming.techie.springredditclone.service.SubredditService;
+import com.programming.techie.springredditclone.util.CursorUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
-
 @Service
 @AllArgsConstructor
 @Slf4j
@@ -22,28 +24,54 @@ public class SubredditServiceImpl implements SubredditService {
 
     private final SubredditRepository subredditRepository;
     private final SubredditMapper subredditMapper;
+    private final CursorUtil cursorUtil;
 
     @Override
     @Transactional
     public SubredditDto save(SubredditDto subredditDto) {
         Subreddit save = subredditRepository.save(subredditMapper.mapDtoToSubreddit(subredditDto));
         subredditDto.setId(save.getId());
+        subredditDto.setNumberOfPosts(save.getPostCount());
         return subredditDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<SubredditDto> getAll() {
-        return subredditRepository.findAll()
-                .stream()
-                .map(subredditMapper::mapSubredditToDto)
-                .collect(toList());
+    public CursorPageResponse<SubredditDto> getAll(String cursor, Integer limit) {
+        int actualLimit = (limit != null) ? Math.min(limit, 100) : 20; // Max 100, default 20
+
+        // Read one row past the page to learn whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, actualLimit + 1);
+        List<SubredditDto> subreddits;
+        if (cursor == null || cursor.isEmpty()) {
+            subreddits = subredditRepository.findListingFirstPage(pageRequest);
+        } else {
+            CursorUtil.KeyCursorData cursorData = cursorUtil.decodeKeyCursor(cursor);
+            subreddits = subredditRepository.findListingWithCursor(cursorData.getKey(), cursorData.getId(), pageRequest);
+        }
+
+        boolean hasMore = subreddits.size() > actualLimit;
+        if (hasMore) {
+            subreddits = subreddits.subList(0, actualLimit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            SubredditDto last = subreddits.get(subreddits.size() - 1);
+            nextCursor = cursorUtil.encodeKeyCursor(last.getName(), last.getId());
+        }
+        return new CursorPageResponse<>(subreddits, nextCursor, hasMore, actualLimit);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SubredditDto getSubreddit(Long id) {
-        Subreddit subreddit = subredditRepository.findById(id)
+        SubredditPostCount subreddit = subredditRepository.findWithPostCountById(id)
                 .orElseThrow(() -> new SpringRedditException("No subreddit found with ID - " + id));
-        return subredditMapper.mapSubredditToDto(subreddit);
+        return SubredditDto.builder()
+                .id(subreddit.getId())
+                .name(subreddit.getName())
+                .description(subreddit.getDescription())
+                .numberOfPosts(Math.toIntExact(subreddit.getPostCount()))
+                .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.dto.FollowedAuthors;
+import com.programming.techie.springredditclone.dto.HeavyAuthorSnapshot;
+import com.programming.techie.springredditclone.repository.FollowRepository;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.TimelineService;
+import com.programming.techie.springredditclone.util.LongHashSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class TimelineServiceImpl implements TimelineService {
+
+    private static final String TIMELINE_KEY_PREFIX = "timeline:";
+    private static final String BUILT_KEY_PREFIX = "timeline:built:";
+    private static final String HEAVY_AUTHORS_KEY = "timeline:heavy-authors";
+    // Keeps each pipeline to a bounded number of commands for very large follower lists
+    private static final int FAN_OUT_BATCH_SIZE = 1000;
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final RedisService redisService;
+    private final int maxSize;
+    private final long fanOutMaxFollowers;
+    private final long ttlHours;
+    // Last classification read from or written to Redis, used while Redis is unavailable
+    private volatile HeavyAuthorSnapshot lastSnapshot;
+
+    public TimelineServiceImpl(FollowRepository followRepository,
+                               PostRepository postRepository,
+                               RedisService redisService,
+                               @Value("${timeline.max-size:800}") int maxSize,
+                               @Value("${timeline.fan-out.max-followers:10000}") long fanOutMaxFollowers,
+                               @Value("${timeline.ttl-hours:72}") long ttlHours) {
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.redisService = redisService;
+        this.maxSize = maxSize;
+        this.fanOutMaxFollowers = fanOutMaxFollowers;
+        this.ttlHours = ttlHours;
+    }
+
+    @Override
+    public void fanOutPost(Long postId, Long authorId, Instant createdDate) {
+        if (isHeavy(snapshot(), authorId)) {
+            log.debug("Skipping fan-out of post {}: author {} is read at query time", postId, authorId);
+            return;
+        }
+
+        List<Long> followerIds = followRepository.findActiveFollowerIds(authorId);
+        if (followerIds.isEmpty()) {
+            return;
+        }
+
+        double score = createdDate.toEpochMilli();
+        for (int from = 0; from < followerIds.size(); from += FAN_OUT_BATCH_SIZE) {
+            List<String> keys = new ArrayList<>();
+            for (Long followerId : followerIds.subList(from, Math.min(from + FAN_OUT_BATCH_SIZE, followerIds.size()))) {
+                keys.add(timelineKey(followerId));
+            }
+            redisService.zAddCapped(keys, postId, score, maxSize, ttlHours, TimeUnit.HOURS);
+        }
+        log.debug("Fanned out post {} to {} follower timelines", postId, followerIds.size());
+    }
+
+    @Override
+    public List<Long> getTimelinePostIds(Long userId, Collection<Long> fanOutAuthorIds, Instant before, int count) {
+        double maxScore = before.toEpochMilli();
+
+        // Fan-out can create a timeline key holding only new posts, so a separate marker
+        // records that the timeline was seeded with the authors' earlier posts
+        if (Boolean.TRUE.equals(redisService.hasKey(builtKey(userId)))) {
+            List<Long> postIds = new ArrayList<>(count);
+            for (Object member : redisService.zReverseRangeByScore(timelineKey(userId), maxScore, count)) {
+                postIds.add(((Number) member).longValue());
+            }
+            return postIds;
+        }
+
+        // Rebuild from the database and serve this read from the seed itself,
+        // which also keeps the timeline readable when Redis is unavailable
+        Map<Object, Double> seed = new LinkedHashMap<>();
+        if (!fanOutAuthorIds.isEmpty()) {
+            for (Object[] row : postRepository.findTimelineEntriesByUserIds(fanOutAuthorIds, PageRequest.of(0, maxSize))) {
+                seed.put(row[0], (double) ((Instant) row[1]).toEpochMilli());
+            }
+        }
+        redisService.zAddAll(timelineKey(userId), seed, maxSize, ttlHours, TimeUnit.HOURS);
+        redisService.set(builtKey(userId), 1, ttlHours, TimeUnit.HOURS);
+        log.debug("Rebuilt timeline for user {} with {} entries", userId, seed.size());
+
+        List<Long> postIds = new ArrayList<>(count);
+        for (Map.Entry<Object, Double> entry : seed.entrySet()) {
+            if (postIds.size() == count) {
+                break;
+            }
+            if (entry.getValue() <= maxScore) {
+                postIds.add((Long) entry.getKey());
+            }
+        }
+        return postIds;
+    }
+
+    @Override
+    public void addAuthor(Long userId, Long authorId) {
+        // An unbuilt timeline is seeded from every followed author on its next read
+        if (isHeavy(snapshot(), authorId) || !Boolean.TRUE.equals(redisService.hasKey(builtKey(userId)))) {
+            return;
+        }
+        Map<Object, Double> entries = new LinkedHashMap<>();
+        for (Object[] row : postRepository.findTimelineEntriesByUserIds(List.of(authorId), PageRequest.of(0, maxSize))) {
+            entries.put(row[0], (double) ((Instant) row[1]).toEpochMilli());
+        }
+        redisService.zAddAll(timelineKey(userId), entries, maxSize, ttlHours, TimeUnit.HOURS);
+        log.debug("Merged {} posts of author {} into timeline of user {}", entries.size(), authorId, userId);
+    }
+
+    @Override
+    public void removeAuthor(Long userId, Long authorId) {
+        // Older posts of the author than these are past the timeline cap; reads still filter by followed authors
+        List<Object[]> entries = postRepository.findTimelineEntriesByUserIds(List.of(authorId), PageRequest.of(0, maxSize));
+        if (entries.isEmpty()) {
+            return;
+        }
+        Object[] postIds = entries.stream().map(row -> row[0]).toArray();
+        redisService.zRemove(timelineKey(userId), postIds);
+        log.debug("Removed posts of author {} from timeline of user {}", authorId, userId);
+    }
+
+    @Override
+    public FollowedAuthors classifyAuthors(Collection<Long> authorIds) {
+        HeavyAuthorSnapshot snapshot = snapshot();
+        LongHashSet heavy = toSet(snapshot.getHeavyAuthorIds());
+        LongHashSet recentlyLight = new LongHashSet();
+        long graceStart = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(ttlHours);
+        for (int i = 0; i < snapshot.getRecentlyLightAuthorIds().length; i++) {
+            if (snapshot.getRecentlyLightSinceMillis()[i] > graceStart) {
+                recentlyLight.add(snapshot.getRecentlyLightAuthorIds()[i]);
+            }
+        }
+
+        List<Long> fanOutAuthorIds = new ArrayList<>();
+        List<Long> fanOutOnReadAuthorIds = new ArrayList<>();
+        for (Long authorId : authorIds) {
+            if (heavy.contains(authorId)) {
+                fanOutOnReadAuthorIds.add(authorId);
+                continue;
+            }
+            fanOutAuthorIds.add(authorId);
+            // Posts written while the author was heavy are in no timeline until it is reseeded
+            if (recentlyLight.contains(authorId)) {
+                fanOutOnReadAuthorIds.add(authorId);
+            }
+        }
+        return new FollowedAuthors(fanOutAuthorIds, fanOutOnReadAuthorIds);
+    }
+
+    /**
+     * Reload the authors with more followers than the fan-out limit in one grouped query and
+     * publish them to Redis, where every node reads them on each fan-out and timeline read.
+     * An author moving over the limit is safe right away: its earlier posts are in the timelines
+     * and reads now add its newer ones. An author dropping under the limit is also read at query
+     * time for timeline.ttl-hours, by which time every timeline has been reseeded with its posts.
+     */
+    @Scheduled(fixedDelayString = "${timeline.heavy-authors.refresh-ms:300000}")
+    public synchronized void refreshHeavyAuthors() {
+        LongHashSet heavy = LongHashSet.of(followRepository.findUserIdsWithMoreActiveFollowersThan(fanOutMaxFollowers));
+        long now = System.currentTimeMillis();
+        long graceStart = now - TimeUnit.HOURS.toMillis(ttlHours);
+
+        HeavyAuthorSnapshot previous = redisService.get(HEAVY_AUTHORS_KEY, HeavyAuthorSnapshot.class);
+        if (previous == null) {
+            previous = lastSnapshot;
+        }
+        Map<Long, Long> recentlyLight = new LinkedHashMap<>();
+        if (previous != null) {
+            for (int i = 0; i < previous.getRecentlyLightAuthorIds().length; i++) {
+                long authorId = previous.getRecentlyLightAuthorIds()[i];
+                long since = previous.getRecentlyLightSinceMillis()[i];
+                if (since > graceStart && !heavy.contains(authorId)) {
+                    recentlyLight.put(authorId, since);
+                }
+            }
+            for (long authorId : previous.getHeavyAuthorIds()) {
+                if (!heavy.contains(authorId)) {
+                    recentlyLight.putIfAbsent(authorId, now);
+                }
+            }
+        }
+
+        HeavyAuthorSnapshot snapshot = new HeavyAuthorSnapshot(heavy.toArray(),
+                recentlyLight.keySet().stream().mapToLong(Long::longValue).toArray(),
+                recentlyLight.values().stream().mapToLong(Long::longValue).toArray());
+        redisService.set(HEAVY_AUTHORS_KEY, snapshot);
+        lastSnapshot = snapshot;
+        log.debug("Loaded {} authors over the fan-out limit of {} followers, {} recently under it",
+                heavy.size(), fanOutMaxFollowers, recentlyLight.size());
+    }
+
+    private HeavyAuthorSnapshot snapshot() {
+        HeavyAuthorSnapshot snapshot = redisService.get(HEAVY_AUTHORS_KEY, HeavyAuthorSnapshot.class);
+        if (snapshot != null) {
+            lastSnapshot = snapshot;
+            return snapshot;
+        }
+        if (lastSnapshot == null) {
+            refreshHeavyAuthors();
+        }
+        return lastSnapshot;
+    }
+
+    private static boolean isHeavy(HeavyAuthorSnapshot snapshot, Long authorId) {
+        for (long heavyAuthorId : snapshot.getHeavyAuthorIds()) {
+            if (heavyAuthorId == authorId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LongHashSet toSet(long[] values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    private static String timelineKey(Long userId) {
+        return TIMELINE_KEY_PREFIX + userId;
+    }
+
+    private static String builtKey(Long userId) {
+        return BUILT_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,181 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.repository.NotificationRepository;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unread counts kept in Redis and adjusted atomically after each commit. A count
+ * is only adjusted while its key exists, so a missing or expired count is always
+ * rebuilt from the database rather than started from zero. A change committed
+ * while another request is rebuilding the same count can be missed; the
+ * reconciliation sweep corrects it. The local tier is not invalidated across
+ * nodes, so a badge served by another node may lag by up to its short TTL.
+ */
+@Service
+@Slf4j
+public class UnreadNotificationCounterImpl implements UnreadNotificationCounter {
+
+    private static final String KEY_PREFIX = "notifications:unread:";
+    // Keeps the IN list of the recount well below driver parameter limits
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final RedisService redisService;
+    private final NotificationPushService notificationPushService;
+    private final long localTtlMillis;
+    private final long redisTtlSeconds;
+    // Access-ordered, so its keys are also the users this node served most recently
+    private final Map<Long, LocalEntry> localCache;
+
+    public UnreadNotificationCounterImpl(NotificationRepository notificationRepository,
+                                         RedisService redisService,
+                                         NotificationPushService notificationPushService,
+                                         @Value("${notifications.unread.local.max-entries:10000}") int localMaxEntries,
+                                         @Value("${notifications.unread.local.ttl-ms:2000}") long localTtlMillis,
+                                         @Value("${notifications.unread.redis.ttl-seconds:86400}") long redisTtlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.redisService = redisService;
+        this.notificationPushService = notificationPushService;
+        this.localTtlMillis = localTtlMillis;
+        this.redisTtlSeconds = redisTtlSeconds;
+        this.localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LocalEntry> eldest) {
+                return size() > localMaxEntries;
+            }
+        });
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        LocalEntry localEntry = localCache.get(userId);
+        if (localEntry != null && !localEntry.isExpired(localTtlMillis)) {
+            return localEntry.count;
+        }
+
+        Number cached = redisService.get(key(userId), Number.class);
+        long count;
+        if (cached != null) {
+            count = cached.longValue();
+        } else {
+            count = notificationRepository.countUnreadByRecipientId(userId);
+            redisService.set(key(userId), count, redisTtlSeconds, TimeUnit.SECONDS);
+            log.debug("Unread count for user {} rebuilt from database: {}", userId, count);
+        }
+        localCache.put(userId, new LocalEntry(count, System.currentTimeMillis()));
+        return count;
+    }
+
+    @Override
+    public void increment(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            Long updated = redisService.incrementIfPresent(key(userId), delta);
+            if (updated == null) {
+                // Missing, or Redis failed mid-update: drop the count so the next read rebuilds it
+                redisService.delete(key(userId));
+            } else {
+                notificationPushService.pushUnreadCount(userId, updated);
+            }
+            localCache.remove(userId);
+        });
+    }
+
+    @Override
+    public void decrement(Long userId) {
+        increment(userId, -1);
+    }
+
+    @Override
+    public void reset(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            redisService.set(key(userId), 0L, redisTtlSeconds, TimeUnit.SECONDS);
+            localCache.remove(userId);
+            notificationPushService.pushUnreadCount(userId, 0);
+        });
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${notifications.unread.reconcile-interval-ms:300000}",
+            fixedDelayString = "${notifications.unread.reconcile-interval-ms:300000}")
+    public synchronized int reconcile() {
+        List<Long> userIds;
+        synchronized (localCache) {
+            userIds = new ArrayList<>(localCache.keySet());
+        }
+        int repaired = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<Long, Long> actualCounts = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByRecipientIds(batch)) {
+                actualCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long userId : batch) {
+                long actual = actualCounts.getOrDefault(userId, 0L);
+                Number cached = redisService.get(key(userId), Number.class);
+                // Counts that are not cached are rebuilt on their next read
+                if (cached != null && cached.longValue() != actual) {
+                    redisService.set(key(userId), actual, redisTtlSeconds, TimeUnit.SECONDS);
+                    localCache.remove(userId);
+                    repaired++;
+                }
+            }
+        }
+        if (repaired > 0) {
+            log.info("Repaired unread notification counts of {} users", repaired);
+        }
+        return repaired;
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class LocalEntry {
+        private final long count;
+        private final long loadedAtMillis;
+
+        private LocalEntry(long count, long loadedAtMillis) {
+            this.count = count;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAtMillis > ttlMillis;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.programming.techie.springredditclone.service.impl;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.GetIntroDto;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.model.UserIntro;
@@ -10,10 +11,15 @@ import com.programming.techie.springredditclone.service.BlockService;
 import com.programming.techie.springredditclone.service.BlockValidationService;
 import com.programming.techie.springredditclone.service.UserService;
 import com.programming.techie.springredditclone.mapper.UserMapper;
+import com.programming.techie.springredditclone.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,17 +31,20 @@ public class UserServiceImpl implements UserService {
     private final BlockService blockService;
     private final BlockValidationService blockValidationService;
     private final UserMapper userMapper;
+    private final CursorUtil cursorUtil;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository, UserIntroRepository userIntroRepository, 
                           AuthService authService, BlockService blockService, 
-                          BlockValidationService blockValidationService, UserMapper userMapper) {
+                          BlockValidationService blockValidationService, UserMapper userMapper,
+                          CursorUtil cursorUtil) {
         this.userRepository = userRepository;
         this.userIntroRepository = userIntroRepository;
         this.authService = authService;
         this.blockService = blockService;
         this.blockValidationService = blockValidationService;
         this.userMapper = userMapper;
+        this.cursorUtil = cursorUtil;
     }
 
     @Override
@@ -60,21 +69,52 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<GetIntroDto> searchUsersByUsername(String username) {
-        // Search for users whose username contains the search term (case-insensitive)
-        List<User> users = userRepository.findAll().stream()
-                .filter(user -> user.getUsername().toLowerCase().contains(username.toLowerCase()))
-                .toList();
-        
-        return users.stream()
-                .map(user -> {
-                    Optional<UserIntro> userIntroOpt = userIntroRepository.findByUserId(user.getUserId());
-                    if (userIntroOpt.isPresent()) {
-                        return userMapper.mapToGetIntroDto(user, userIntroOpt.get());
-                    } else {
-                        return userMapper.mapToGetIntroDto(user);
-                    }
-                })
+    public CursorPageResponse<GetIntroDto> searchUsersByUsername(String prefix, String cursor, Integer limit) {
+        int actualLimit = (limit != null) ? Math.min(limit, 50) : 10; // Max 50, default 10
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), null, false, actualLimit);
+        }
+        String pattern = escapeLike(normalized) + "%";
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest pageRequest = PageRequest.of(0, actualLimit + 1);
+        List<Object[]> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = userRepository.findUsernamePrefixFirstPage(pattern, pageRequest);
+        } else {
+            CursorUtil.KeyCursorData cursorData = cursorUtil.decodeKeyCursor(cursor);
+            rows = userRepository.findUsernamePrefixWithCursor(pattern, cursorData.getKey(), cursorData.getId(), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > actualLimit;
+        if (hasMore) {
+            rows = rows.subList(0, actualLimit);
+        }
+        if (rows.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), null, false, actualLimit);
+        }
+
+        // Bios for the whole page in one query instead of one lookup per user
+        List<Long> userIds = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, String> bios = new HashMap<>();
+        for (Object[] row : userIntroRepository.findBiosByUserIds(userIds)) {
+            bios.put((Long) row[0], (String) row[1]);
+        }
+
+        List<GetIntroDto> content = rows.stream()
+                .map(row -> new GetIntroDto((Long) row[0], (String) row[1], bios.get((Long) row[0])))
                 .toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = cursorUtil.encodeKeyCursor((String) last[2], (Long) last[0]);
+        }
+        return new CursorPageResponse<>(content, nextCursor, hasMore, actualLimit);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
-} 
\ No newline at end of file
+}
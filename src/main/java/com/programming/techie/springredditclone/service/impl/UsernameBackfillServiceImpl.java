@@ -0,0 +1,72 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.service.UsernameBackfillService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Startup backfill for users.username_lower. New and renamed users get the column from
+ * the entity, but with ddl-auto=update the column is added empty for existing rows, and
+ * those users would be missing from username search until db/username-search.sql is run.
+ * Runs in the background after startup; once every row is filled it is a single
+ * index lookup on idx_users_username_lower.
+ */
+@Service
+@Slf4j
+public class UsernameBackfillServiceImpl implements UsernameBackfillService {
+
+    static final String BOUNDS_SQL = "SELECT MIN(user_id) AS min_id, MAX(user_id) AS max_id FROM users "
+            + "WHERE username_lower IS NULL AND username IS NOT NULL";
+    static final String BACKFILL_SQL = "UPDATE users SET username_lower = LOWER(username) "
+            + "WHERE user_id >= ? AND user_id < ? AND username_lower IS NULL AND username IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UsernameBackfillServiceImpl(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${users.username-lower.backfill-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.warn("Username backfill failed, run db/username-search.sql instead: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized int backfill() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(BOUNDS_SQL);
+        Number minId = (Number) bounds.get("min_id");
+        Number maxId = (Number) bounds.get("max_id");
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        int filled = 0;
+        for (long fromId = minId.longValue(); fromId <= maxId.longValue(); fromId += batchSize) {
+            long lowerBound = fromId;
+            long upperBound = fromId + batchSize;
+            Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(BACKFILL_SQL, lowerBound, upperBound));
+            filled += updated != null ? updated : 0;
+        }
+        log.info("Filled in the lower-cased username of {} users", filled);
+        return filled;
+    }
+}
@@ -0,0 +1,133 @@
+package com.programming.techie.springredditclone.service.impl;
+
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind vote counters. Likes only touch an in-memory delta per row and a
+ * scheduled flush folds them into the database with additive updates, so hot
+ * posts no longer serialize every like on the same row lock. Each node buffers
+ * its own deltas; because the flush adds rather than overwrites, nodes never
+ * clobber each other.
+ */
+@Service
+@Slf4j
+public class VoteCounterServiceImpl implements VoteCounterService {
+
+    static final String POST_UPDATE_SQL = "UPDATE post SET vote_count = vote_count + ? WHERE post_id = ?";
+    static final String COMMENT_UPDATE_SQL = "UPDATE comments SET vote_count = vote_count + ? WHERE id = ?";
+
+    // ConcurrentHashMap locks per bin, so concurrent likes on different rows do not contend
+    private final Map<Long, Long> postDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, Long> commentDeltas = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public VoteCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${votes.counter.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void addPostDelta(Long postId, int delta) {
+        afterCommit(() -> postDeltas.merge(postId, (long) delta, Long::sum));
+    }
+
+    @Override
+    public void addCommentDelta(Long commentId, int delta) {
+        afterCommit(() -> commentDeltas.merge(commentId, (long) delta, Long::sum));
+    }
+
+    @Override
+    public long getPendingPostDelta(Long postId) {
+        return postId != null ? postDeltas.getOrDefault(postId, 0L) : 0L;
+    }
+
+    @Override
+    public long getPendingCommentDelta(Long commentId) {
+        return commentId != null ? commentDeltas.getOrDefault(commentId, 0L) : 0L;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${votes.counter.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        flush(postDeltas, POST_UPDATE_SQL);
+        flush(commentDeltas, COMMENT_UPDATE_SQL);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Map<Long, Long> deltas, String sql) {
+        // Deltas stay in the map until the update commits, so readers adding them to the stored count
+        // never see a vote that is in neither place
+        List<Object[]> snapshot = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            long delta = entry.getValue();
+            if (delta != 0) {
+                snapshot.add(new Object[]{delta, entry.getKey()});
+            } else {
+                deltas.remove(entry.getKey(), 0L);
+            }
+        }
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction per flush so a failure rolls back every batch and the retry cannot double count
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(sql, snapshot, batchSize, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                });
+            });
+        } catch (RuntimeException e) {
+            // Nothing was taken out of the map, so the next flush retries the same deltas
+            log.warn("Failed to flush {} vote count deltas: {}", snapshot.size(), e.getMessage());
+            return;
+        }
+        // Take out only what was written; likes that arrived during the flush stay pending
+        for (Object[] row : snapshot) {
+            deltas.computeIfPresent((Long) row[1], (id, pending) -> {
+                long remaining = pending - (Long) row[0];
+                return remaining != 0 ? remaining : null;
+            });
+        }
+        log.debug("Flushed {} vote count deltas", snapshot.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -15,6 +15,8 @@ import com.programming.techie.springredditclone.repository.VoteRepository;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
 import com.programming.techie.springredditclone.service.BlockValidationService;
+import com.programming.techie.springredditclone.service.HotRankingService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
 import com.programming.techie.springredditclone.service.VoteService;
 import lombok.AllArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
@@ -36,6 +38,8 @@ public class VoteServiceImpl implements VoteService {
     private final BlockService blockService;
     private final BlockValidationService blockValidationService;
     private final ApplicationEventPublisher eventPublisher;
+    private final HotRankingService hotRankingService;
+    private final VoteCounterService voteCounterService;
 
     @Override
     @Transactional
@@ -49,26 +53,16 @@ public class VoteServiceImpl implements VoteService {
         // Use BlockValidationService for cleaner validation
         blockValidationService.validateCanInteract(postOwner);
         
-        Optional<Vote> existingVote = voteRepository.findByPostAndUser(post, currentUser);
-        
-        if (existingVote.isPresent()) {
-            // User has already liked - do nothing (idempotent)
+        // The unique (user, post) constraint makes this a no-op if the user already liked (idempotent)
+        int inserted = voteRepository.insertPostVoteIfAbsent(postId, currentUser.getUserId(), UPVOTE.name());
+        if (inserted == 0) {
             return;
-        } else {
-            // User hasn't liked yet - create new like
-            post.setVoteCount(post.getVoteCount() + 1);
-            Vote newVote = Vote.builder()
-                    .voteType(UPVOTE)
-                    .post(post)
-                    .user(currentUser)
-                    .build();
-            voteRepository.save(newVote);
-            
-            // Publish event for new like
-            eventPublisher.publishEvent(new PostLikedEvent(this, currentUser, post.getUser(), post));
         }
+        voteCounterService.addPostDelta(postId, 1);
         
-        postRepository.save(post);
+        // Publish event for new like
+        eventPublisher.publishEvent(new PostLikedEvent(this, currentUser, post.getUser(), post));
+        hotRankingService.updatePost(post);
     }
 
     @Override
@@ -79,17 +73,11 @@ public class VoteServiceImpl implements VoteService {
         
         User currentUser = authService.getCurrentUser();
         
-        Optional<Vote> existingVote = voteRepository.findByPostAndUser(post, currentUser);
-        
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            // Remove the like and adjust count
-            post.setVoteCount(post.getVoteCount() - 1);
-            voteRepository.delete(vote);
-            postRepository.save(post);
-        } else {
-            // User hasn't liked - do nothing (idempotent)
-            return;
+        // Only adjust the count if a like was actually removed (idempotent)
+        int deleted = voteRepository.deletePostVote(postId, currentUser.getUserId());
+        if (deleted > 0) {
+            voteCounterService.addPostDelta(postId, -deleted);
+            hotRankingService.updatePost(post);
         }
     }
 
@@ -104,7 +92,7 @@ public class VoteServiceImpl implements VoteService {
         
         return VoteStatusDto.builder()
                 .isLiked(existingVote.isPresent())
-                .likeCount(post.getVoteCount())
+                .likeCount(post.getVoteCount() + (int) voteCounterService.getPendingPostDelta(postId))
                 .build();
     }
 
@@ -120,44 +108,26 @@ public class VoteServiceImpl implements VoteService {
         // Use BlockValidationService for cleaner validation
         blockValidationService.validateCanInteract(commentOwner);
         
-        Optional<Vote> existingVote = voteRepository.findByCommentAndUser(comment, currentUser);
-        
-        if (existingVote.isPresent()) {
-            // User has already liked - do nothing (idempotent)
-            return;
-        } else {
-            // User hasn't liked yet - create new like
-            comment.setVoteCount(comment.getVoteCount() + 1);
-            Vote newVote = Vote.builder()
-                    .voteType(UPVOTE)
-                    .comment(comment)
-                    .user(currentUser)
-                    .build();
-            voteRepository.save(newVote);
+        // The unique (user, comment) constraint makes this a no-op if the user already liked (idempotent)
+        int inserted = voteRepository.insertCommentVoteIfAbsent(commentId, currentUser.getUserId(), UPVOTE.name());
+        if (inserted > 0) {
+            voteCounterService.addCommentDelta(commentId, 1);
         }
-        
-        commentRepository.save(comment);
     }
 
     @Override
     @Transactional
     public void unlikeComment(Long commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new SpringRedditException("Comment Not Found with ID - " + commentId));
+        if (!commentRepository.existsById(commentId)) {
+            throw new SpringRedditException("Comment Not Found with ID - " + commentId);
+        }
         
         User currentUser = authService.getCurrentUser();
         
-        Optional<Vote> existingVote = voteRepository.findByCommentAndUser(comment, currentUser);
-        
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            // Remove the like and adjust count
-            comment.setVoteCount(comment.getVoteCount() - 1);
-            voteRepository.delete(vote);
-            commentRepository.save(comment);
-        } else {
-            // User hasn't liked - do nothing (idempotent)
-            return;
+        // Only adjust the count if a like was actually removed (idempotent)
+        int deleted = voteRepository.deleteCommentVote(commentId, currentUser.getUserId());
+        if (deleted > 0) {
+            voteCounterService.addCommentDelta(commentId, -deleted);
         }
     }
 
@@ -172,7 +142,7 @@ public class VoteServiceImpl implements VoteService {
         
         return VoteStatusDto.builder()
                 .isLiked(existingVote.isPresent())
-                .likeCount(comment.getVoteCount())
+                .likeCount(comment.getVoteCount() + (int) voteCounterService.getPendingCommentDelta(commentId))
                 .build();
     }
 } 
\ No newline at end of file
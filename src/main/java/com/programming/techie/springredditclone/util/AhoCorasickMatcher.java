@@ -0,0 +1,193 @@
+package com.programming.techie.springredditclone.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over {@link TextNormalizer}-folded text. Failure links are
+ * folded into a dense transition table at compile time, so matching is one table
+ * lookup per character with no backtracking and no allocation, regardless of how
+ * many words are loaded. Words match whole words of the text only: a word is found
+ * when a separator or the end of the text is reached on a state whose depth equals
+ * the length of the text word, so "twat" is not found in "saltwater".
+ * Instances are immutable and safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 26;
+    private static final int NO_MATCH = -1;
+
+    // transitions[state * ALPHABET + letter] is the next state
+    private final int[] transitions;
+    // Index into words of the word spelled by the path to each state, or NO_MATCH
+    private final int[] matches;
+    // Length of the path to each state; shorter than the letters read once a failure link was taken
+    private final int[] depths;
+    private final String[] words;
+
+    private AhoCorasickMatcher(int[] transitions, int[] matches, int[] depths, String[] words) {
+        this.transitions = transitions;
+        this.matches = matches;
+        this.depths = depths;
+        this.words = words;
+    }
+
+    /**
+     * Compile an automaton from a word list. Words are folded with {@link TextNormalizer};
+     * entries that fold to nothing or contain a separator (phrases) are skipped.
+     * @param wordList Words to match
+     * @return Compiled matcher
+     */
+    public static AhoCorasickMatcher compile(Collection<String> wordList) {
+        List<String> accepted = new ArrayList<>();
+        TrieBuilder trie = new TrieBuilder();
+        for (String word : wordList) {
+            String folded = TextNormalizer.normalize(word.trim());
+            if (folded.isEmpty() || folded.indexOf(TextNormalizer.SEPARATOR) >= 0) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < folded.length(); i++) {
+                state = trie.child(state, folded.charAt(i) - 'a');
+            }
+            if (trie.matches[state] == NO_MATCH) {
+                trie.matches[state] = accepted.size();
+                accepted.add(word.trim());
+            }
+        }
+        return trie.build(accepted.toArray(new String[0]));
+    }
+
+    /**
+     * @param text Text to scan, may be null
+     * @return True if the text contains any word
+     */
+    public boolean matches(CharSequence text) {
+        return find(text) != NO_MATCH;
+    }
+
+    /**
+     * @param text Text to scan, may be null
+     * @return The first word found in the text as it appears in the word list, or null
+     */
+    public String findFirst(CharSequence text) {
+        int match = find(text);
+        return match != NO_MATCH ? words[match] : null;
+    }
+
+    /**
+     * @return Number of distinct words in the automaton
+     */
+    public int size() {
+        return words.length;
+    }
+
+    private int find(CharSequence text) {
+        if (text == null || words.length == 0) {
+            return NO_MATCH;
+        }
+        int state = 0;
+        int letters = 0;
+        // Leetspeak symbols such as '!' fold to letters, so "shit!" reads as "shiti". The word
+        // seen before a run of symbols still counts if only symbols follow it to the word end.
+        int beforeSymbols = NO_MATCH;
+        boolean inSymbols = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char raw = text.charAt(i);
+            char c = TextNormalizer.fold(raw);
+            if (c == TextNormalizer.IGNORED) {
+                continue;
+            }
+            if (c == TextNormalizer.SEPARATOR) {
+                int match = wordEnd(state, letters, inSymbols ? beforeSymbols : NO_MATCH);
+                if (match != NO_MATCH) {
+                    return match;
+                }
+                state = 0;
+                letters = 0;
+                inSymbols = false;
+                continue;
+            }
+            if (Character.isLetterOrDigit(raw)) {
+                inSymbols = false;
+            } else if (!inSymbols) {
+                beforeSymbols = wordEnd(state, letters, NO_MATCH);
+                inSymbols = true;
+            }
+            state = transitions[state * ALPHABET + (c - 'a')];
+            letters++;
+        }
+        return wordEnd(state, letters, inSymbols ? beforeSymbols : NO_MATCH);
+    }
+
+    // Word found when the text word ends on a listed word and every letter of it is on the
+    // path from the root; a shorter depth means a failure link skipped its first letters
+    private int wordEnd(int state, int letters, int fallback) {
+        if (letters > 0 && matches[state] != NO_MATCH && depths[state] == letters) {
+            return matches[state];
+        }
+        return fallback;
+    }
+
+
+    private static final class TrieBuilder {
+        private int[] transitions = new int[64 * ALPHABET];
+        private int[] matches = new int[64];
+        private int states = 1;
+
+        TrieBuilder() {
+            Arrays.fill(matches, NO_MATCH);
+        }
+
+        int child(int state, int letter) {
+            int next = transitions[state * ALPHABET + letter];
+            if (next == 0) {
+                if (states == matches.length) {
+                    transitions = Arrays.copyOf(transitions, transitions.length * 2);
+                    int oldLength = matches.length;
+                    matches = Arrays.copyOf(matches, oldLength * 2);
+                    Arrays.fill(matches, oldLength, matches.length, NO_MATCH);
+                }
+                next = states++;
+                transitions[state * ALPHABET + letter] = next;
+            }
+            return next;
+        }
+
+        // Breadth-first pass that turns the trie into a complete DFA: a missing edge takes
+        // the edge of the failure state, which is always shallower and already complete.
+        AhoCorasickMatcher build(String[] words) {
+            int[] failure = new int[states];
+            int[] depths = new int[states];
+            int[] queue = new int[states];
+            int head = 0;
+            int tail = 0;
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                int child = transitions[letter];
+                if (child != 0) {
+                    depths[child] = 1;
+                    queue[tail++] = child;
+                }
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                for (int letter = 0; letter < ALPHABET; letter++) {
+                    int index = state * ALPHABET + letter;
+                    int child = transitions[index];
+                    int fallback = transitions[failure[state] * ALPHABET + letter];
+                    if (child != 0) {
+                        failure[child] = fallback;
+                        depths[child] = depths[state] + 1;
+                        queue[tail++] = child;
+                    } else {
+                        transitions[index] = fallback;
+                    }
+                }
+            }
+            return new AhoCorasickMatcher(Arrays.copyOf(transitions, states * ALPHABET),
+                    Arrays.copyOf(matches, states), depths, words);
+        }
+    }
+}
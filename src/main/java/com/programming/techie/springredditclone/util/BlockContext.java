@@ -0,0 +1,59 @@
+package com.programming.techie.springredditclone.util;
+
+/**
+ * Snapshot of the current viewer's block relationships.
+ * Loaded once per request so feeds and comment lists can filter authors in memory
+ * instead of issuing block lookups for every item. The sets are never handed out,
+ * so a context (including the shared {@link #EMPTY}) cannot be changed once built.
+ */
+public final class BlockContext {
+
+    public static final BlockContext EMPTY = new BlockContext(LongHashSet.empty(), LongHashSet.empty());
+
+    private final LongHashSet blockedUserIds;
+    private final LongHashSet blockedByUserIds;
+
+    public BlockContext(LongHashSet blockedUserIds, LongHashSet blockedByUserIds) {
+        this.blockedUserIds = blockedUserIds;
+        this.blockedByUserIds = blockedByUserIds;
+    }
+
+    /**
+     * Check if the viewer has blocked the given user
+     */
+    public boolean hasBlocked(Long userId) {
+        return blockedUserIds.contains(userId);
+    }
+
+    /**
+     * Check if the given user has blocked the viewer
+     */
+    public boolean isBlockedBy(Long userId) {
+        return blockedByUserIds.contains(userId);
+    }
+
+    /**
+     * Check if there's a block in either direction between the viewer and the given user
+     */
+    public boolean hasBlockRelationship(Long userId) {
+        return hasBlocked(userId) || isBlockedBy(userId);
+    }
+
+    /**
+     * Get a copy of the IDs the viewer has blocked
+     */
+    public long[] getBlockedUserIds() {
+        return blockedUserIds.toArray();
+    }
+
+    /**
+     * Get a copy of the IDs of users who have blocked the viewer
+     */
+    public long[] getBlockedByUserIds() {
+        return blockedByUserIds.toArray();
+    }
+
+    public boolean isEmpty() {
+        return blockedUserIds.isEmpty() && blockedByUserIds.isEmpty();
+    }
+}
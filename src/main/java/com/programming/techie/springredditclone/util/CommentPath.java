@@ -0,0 +1,49 @@
+package com.programming.techie.springredditclone.util;
+
+/**
+ * Materialized path encoding for comment threads.
+ * A comment's path is the concatenation of its ancestors' IDs from the root down,
+ * each zero-padded to a fixed width, so every descendant of comment X has a path
+ * starting with {@code path(X) + segment(X)} and whole subtrees of consecutive
+ * top-level comments occupy one contiguous, index-ordered range of paths.
+ * Top-level comments have an empty path and depth 0.
+ */
+public final class CommentPath {
+
+    public static final String ROOT = "";
+    // Wide enough for any positive long, so string order always matches ID order
+    public static final int SEGMENT_WIDTH = 19;
+    public static final int MAX_DEPTH = 64;
+    public static final int MAX_LENGTH = SEGMENT_WIDTH * MAX_DEPTH;
+
+    private CommentPath() {
+    }
+
+    public static String segment(long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(SEGMENT_WIDTH - digits.length()) + digits;
+    }
+
+    /**
+     * Path for a reply to the given parent
+     * @param parentPath Path of the parent comment
+     * @param parentId ID of the parent comment
+     */
+    public static String childPath(String parentPath, long parentId) {
+        return (parentPath != null ? parentPath : ROOT) + segment(parentId);
+    }
+
+    /**
+     * Inclusive lower bound of the paths of all descendants of top-level comment {@code firstRootId}
+     */
+    public static String subtreeStart(long firstRootId) {
+        return segment(firstRootId);
+    }
+
+    /**
+     * Exclusive upper bound of the paths of all descendants of top-level comment {@code lastRootId}
+     */
+    public static String subtreeEnd(long lastRootId) {
+        return segment(lastRootId + 1);
+    }
+}
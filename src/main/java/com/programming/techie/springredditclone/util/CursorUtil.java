@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.HashMap;
@@ -51,6 +52,76 @@ public class CursorUtil {
         }
     }
     
+    /**
+     * Encode a (score, id) cursor for score-ranked listings to Base64 string
+     */
+    public String encodeScoreCursor(double score, Long id) {
+        try {
+            Map<String, Object> cursorData = new HashMap<>();
+            cursorData.put("score", score);
+            cursorData.put("id", id);
+            
+            String json = objectMapper.writeValueAsString(cursorData);
+            return Base64.getEncoder().encodeToString(json.getBytes());
+        } catch (JsonProcessingException e) {
+            log.error("Error encoding score cursor", e);
+            throw new RuntimeException("Error encoding cursor", e);
+        }
+    }
+    
+    /**
+     * Decode a (score, id) cursor from Base64 string
+     */
+    public ScoreCursorData decodeScoreCursor(String cursor) {
+        try {
+            String json = new String(Base64.getDecoder().decode(cursor));
+            Map<String, Object> cursorData = objectMapper.readValue(json, Map.class);
+            
+            double score = ((Number) cursorData.get("score")).doubleValue();
+            Long id = Long.valueOf(cursorData.get("id").toString());
+            
+            return new ScoreCursorData(score, id);
+        } catch (Exception e) {
+            log.error("Error decoding score cursor: {}", cursor, e);
+            throw new RuntimeException("Invalid cursor format", e);
+        }
+    }
+    
+    /**
+     * Encode a (key, id) cursor for listings ordered by a string key to Base64 string
+     */
+    public String encodeKeyCursor(String key, Long id) {
+        try {
+            Map<String, Object> cursorData = new HashMap<>();
+            cursorData.put("key", key);
+            cursorData.put("id", id);
+            
+            String json = objectMapper.writeValueAsString(cursorData);
+            return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            log.error("Error encoding key cursor", e);
+            throw new RuntimeException("Error encoding cursor", e);
+        }
+    }
+    
+    /**
+     * Decode a (key, id) cursor from Base64 string
+     */
+    public KeyCursorData decodeKeyCursor(String cursor) {
+        try {
+            String json = new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> cursorData = objectMapper.readValue(json, Map.class);
+            
+            String key = (String) cursorData.get("key");
+            Long id = Long.valueOf(cursorData.get("id").toString());
+            
+            return new KeyCursorData(key, id);
+        } catch (Exception e) {
+            log.error("Error decoding key cursor: {}", cursor, e);
+            throw new RuntimeException("Invalid cursor format", e);
+        }
+    }
+    
     /**
      * Cursor data holder
      */
@@ -71,4 +142,46 @@ public class CursorUtil {
             return id;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Score cursor data holder
+     */
+    public static class ScoreCursorData {
+        private final double score;
+        private final Long id;
+        
+        public ScoreCursorData(double score, Long id) {
+            this.score = score;
+            this.id = id;
+        }
+        
+        public double getScore() {
+            return score;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+    }
+    
+    /**
+     * Key cursor data holder
+     */
+    public static class KeyCursorData {
+        private final String key;
+        private final Long id;
+        
+        public KeyCursorData(String key, Long id) {
+            this.key = key;
+            this.id = id;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+    }
+}
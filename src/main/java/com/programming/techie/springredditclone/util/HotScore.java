@@ -0,0 +1,29 @@
+package com.programming.techie.springredditclone.util;
+
+import java.time.Instant;
+
+/**
+ * Time-decayed "hot" score for ranking posts.
+ * Engagement counts logarithmically and newer posts get a linear bonus measured
+ * from a fixed epoch, so a post's score only changes when its votes or comments
+ * change and the ranking never needs a global recompute as time passes.
+ */
+public final class HotScore {
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_SECONDS = 1704067200L;
+    // A post needs 10x the engagement to outrank one posted this many seconds later
+    private static final double DECAY_SECONDS = 45000d;
+    private static final double COMMENT_WEIGHT = 0.5d;
+
+    private HotScore() {
+    }
+
+    public static double compute(int voteCount, int commentCount, Instant createdDate) {
+        double engagement = voteCount + COMMENT_WEIGHT * commentCount;
+        double order = Math.log10(Math.max(Math.abs(engagement), 1d));
+        double sign = Math.signum(engagement);
+        double seconds = createdDate.getEpochSecond() - EPOCH_SECONDS;
+        return sign * order + seconds / DECAY_SECONDS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.programming.techie.springredditclone.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small in-process LRU cache whose entries expire after a fixed TTL.
+ * Meant for hot, cheap-to-rebuild lookups where a shared cache round trip
+ * would cost more than the value is worth.
+ */
+public final class LocalTtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+
+    public LocalTtlCache(int maxEntries, long ttl, TimeUnit unit) {
+        this.ttlMillis = unit.toMillis(ttl);
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value
+     * @return the value, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.storedAtMillis > ttlMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAtMillis;
+
+        private Entry(V value, long storedAtMillis) {
+            this.value = value;
+            this.storedAtMillis = storedAtMillis;
+        }
+    }
+}
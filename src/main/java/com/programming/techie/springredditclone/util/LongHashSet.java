@@ -0,0 +1,154 @@
+package com.programming.techie.springredditclone.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Open-addressing hash set of primitive longs.
+ * Used for per-request ID lookups (vote state, block lists) where boxing
+ * every ID into a HashSet<Long> would be wasted allocation.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] table;
+    private boolean containsZero;
+    private int size;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        table = new long[tableSizeFor(expectedSize)];
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        for (Long value : values) {
+            if (value != null) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    public static LongHashSet empty() {
+        return new LongHashSet(0);
+    }
+
+    /**
+     * Add a value to the set
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        size++;
+        if (size > table.length * LOAD_FACTOR) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    public void addAll(Collection<Long> values) {
+        for (Long value : values) {
+            if (value != null) {
+                add(value);
+            }
+        }
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        long current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Null-safe variant for boxed IDs coming from entities
+     */
+    public boolean contains(Long value) {
+        return value != null && contains(value.longValue());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+        if (containsZero) {
+            result[i++] = EMPTY;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = table;
+        table = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = mix(value) & mask;
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Math.max(4, (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
@@ -0,0 +1,144 @@
+package com.programming.techie.springredditclone.util;
+
+import java.text.Normalizer;
+
+/**
+ * Folds text onto the 26 lowercase ASCII letters for content filtering.
+ * Case, leetspeak digits and symbols, accented Latin letters, fullwidth forms and
+ * Cyrillic/Greek lookalikes all map to the letter they imitate. Every char is
+ * resolved through one precomputed table, so folding never allocates.
+ */
+public final class TextNormalizer {
+
+    /** Folded value of characters that end a word, such as spaces and punctuation */
+    public static final char SEPARATOR = '\0';
+    /** Folded value of invisible characters that are dropped, such as combining marks and zero-width spaces */
+    public static final char IGNORED = '\u0001';
+
+    private static final char[] FOLD = buildFoldTable();
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Fold a single character
+     * @param c Character to fold
+     * @return A letter from 'a' to 'z', {@link #SEPARATOR} or {@link #IGNORED}
+     */
+    public static char fold(char c) {
+        return FOLD[c];
+    }
+
+    /**
+     * Fold a whole string, dropping ignored characters and keeping separators
+     * @param text Text to fold
+     * @return Folded text
+     */
+    public static String normalize(CharSequence text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = FOLD[text.charAt(i)];
+            if (c != IGNORED) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            table[c] = foldSlow((char) c);
+        }
+        return table;
+    }
+
+    private static char foldSlow(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        // Fullwidth forms
+        if (c >= '\uFF21' && c <= '\uFF3A') {
+            return (char) (c - '\uFF21' + 'a');
+        }
+        if (c >= '\uFF41' && c <= '\uFF5A') {
+            return (char) (c - '\uFF41' + 'a');
+        }
+        if (c >= '\uFF10' && c <= '\uFF19') {
+            return foldSlow((char) (c - '\uFF10' + '0'));
+        }
+        char mapped = leetOrConfusable(c);
+        if (mapped != SEPARATOR) {
+            return mapped;
+        }
+        int type = Character.getType(c);
+        if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.FORMAT) {
+            return IGNORED;
+        }
+        // Accented Latin letters fold to their base letter
+        if ((c >= '\u00C0' && c <= '\u024F') || (c >= '\u1E00' && c <= '\u1EFF')) {
+            char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+            if (base != c && base < '\u0080') {
+                return foldSlow(base);
+            }
+        }
+        return SEPARATOR;
+    }
+
+    private static char leetOrConfusable(char c) {
+        return switch (c) {
+            // Leetspeak
+            case '0' -> 'o';
+            case '1', '!', '|' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7', '+' -> 't';
+            case '8' -> 'b';
+            case '9' -> 'g';
+            // Latin letters without a decomposition
+            case '\u00DF' -> 's'; // sharp s
+            case '\u00D8', '\u00F8' -> 'o'; // o with stroke
+            case '\u0110', '\u0111' -> 'd'; // d with stroke
+            case '\u0141', '\u0142' -> 'l'; // l with stroke
+            case '\u0131' -> 'i'; // dotless i
+            // Cyrillic lookalikes
+            case '\u0410', '\u0430' -> 'a';
+            case '\u0412', '\u0432' -> 'b';
+            case '\u0421', '\u0441' -> 'c';
+            case '\u0415', '\u0435', '\u0401', '\u0451' -> 'e';
+            case '\u041D', '\u043D' -> 'h';
+            case '\u0406', '\u0456', '\u0407', '\u0457' -> 'i';
+            case '\u0408', '\u0458' -> 'j';
+            case '\u041A', '\u043A' -> 'k';
+            case '\u041C', '\u043C' -> 'm';
+            case '\u041E', '\u043E' -> 'o';
+            case '\u0420', '\u0440' -> 'p';
+            case '\u0405', '\u0455' -> 's';
+            case '\u0422', '\u0442' -> 't';
+            case '\u0423', '\u0443' -> 'y';
+            case '\u0425', '\u0445' -> 'x';
+            // Greek lookalikes
+            case '\u0391', '\u03B1' -> 'a';
+            case '\u0392', '\u03B2' -> 'b';
+            case '\u0395', '\u03B5' -> 'e';
+            case '\u0397' -> 'h';
+            case '\u0399', '\u03B9' -> 'i';
+            case '\u039A', '\u03BA' -> 'k';
+            case '\u039C' -> 'm';
+            case '\u039D' -> 'n';
+            case '\u03BD' -> 'v';
+            case '\u039F', '\u03BF' -> 'o';
+            case '\u03A1', '\u03C1' -> 'p';
+            case '\u03A4', '\u03C4' -> 't';
+            case '\u03A5' -> 'y';
+            case '\u03C5' -> 'u';
+            case '\u03A7', '\u03C7' -> 'x';
+            case '\u0396' -> 'z';
+            default -> SEPARATOR;
+        };
+    }
+}
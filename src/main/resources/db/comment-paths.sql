@@ -0,0 +1,21 @@
+-- Backfill the materialized path and depth of comments created before the columns existed.
+-- A comment's path is its ancestors' IDs from the root down, each zero-padded to 19 digits.
+-- Safe to re-run; only rows without a path are touched.
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(1216);
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS depth INTEGER;
+
+WITH RECURSIVE tree (id, path, depth) AS (
+    SELECT c.id, CAST('' AS VARCHAR(1216)), 0
+      FROM comments c
+     WHERE c.parent_comment_id IS NULL
+    UNION ALL
+    SELECT c.id, CAST(t.path || LPAD(CAST(t.id AS VARCHAR), 19, '0') AS VARCHAR(1216)), t.depth + 1
+      FROM comments c
+      JOIN tree t ON c.parent_comment_id = t.id
+)
+UPDATE comments c
+   SET path = tree.path, depth = tree.depth
+  FROM tree
+ WHERE c.id = tree.id
+   AND c.path IS NULL;
@@ -0,0 +1,62 @@
+-- Indexes backing the keyset pagination and lookup queries.
+-- Mirrors the @Table(indexes = ...) declarations on the entities for databases
+-- that run with spring.jpa.hibernate.ddl-auto=none. Safe to re-run.
+-- On a live database run each statement on its own with CREATE INDEX CONCURRENTLY.
+
+-- Feeds: (created_date, post_id) < (?, ?) ORDER BY created_date DESC, post_id DESC
+CREATE INDEX IF NOT EXISTS idx_post_created_date_post_id ON post (created_date, post_id);
+CREATE INDEX IF NOT EXISTS idx_post_user_created_date_post_id ON post (user_id, created_date, post_id);
+CREATE INDEX IF NOT EXISTS idx_post_subreddits_subreddit_post ON post_subreddits (subreddit_id, post_id);
+
+-- Comment pages ordered by id
+CREATE INDEX IF NOT EXISTS idx_comments_post_parent_id ON comments (post_id, parent_comment_id, id);
+CREATE INDEX IF NOT EXISTS idx_comments_parent_id ON comments (parent_comment_id, id);
+CREATE INDEX IF NOT EXISTS idx_comments_user_id ON comments (user_id, id);
+
+-- Votes: one per user per target, plus per-target lookups
+DELETE FROM votes v USING votes d
+ WHERE v.user_id = d.user_id AND v.vote_id > d.vote_id
+   AND (v.post_id = d.post_id OR v.comment_id = d.comment_id);
+-- The duplicates removed above were each counted once, so bring the cached counts back in line
+-- with the remaining vote rows. Run while the application is stopped, before pending deltas flush.
+UPDATE post p SET vote_count = (SELECT COUNT(*) FROM votes v WHERE v.post_id = p.post_id)
+ WHERE p.vote_count IS DISTINCT FROM (SELECT COUNT(*) FROM votes v WHERE v.post_id = p.post_id);
+UPDATE comments c SET vote_count = (SELECT COUNT(*) FROM votes v WHERE v.comment_id = c.id)
+ WHERE c.vote_count IS DISTINCT FROM (SELECT COUNT(*) FROM votes v WHERE v.comment_id = c.id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_votes_user_post ON votes (user_id, post_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_votes_user_comment ON votes (user_id, comment_id);
+CREATE INDEX IF NOT EXISTS idx_votes_post ON votes (post_id);
+CREATE INDEX IF NOT EXISTS idx_votes_comment ON votes (comment_id);
+
+-- Follow and block graphs are read from both ends
+CREATE INDEX IF NOT EXISTS idx_follows_follower_active ON follows (follower_id, is_active);
+CREATE INDEX IF NOT EXISTS idx_follows_following_active ON follows (following_id, is_active);
+CREATE INDEX IF NOT EXISTS idx_blocks_blocker_active ON blocks (blocker_id, is_active);
+CREATE INDEX IF NOT EXISTS idx_blocks_blocked_active ON blocks (blocked_id, is_active);
+
+-- Notification inbox and unread counts
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_deleted_created ON notifications (recipient_id, is_deleted, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_read ON notifications (recipient_id, is_read);
+
+-- Random video call matching
+CREATE INDEX IF NOT EXISTS idx_rvcq_status_created ON random_video_call_queue (queue_status, request_created_at);
+CREATE INDEX IF NOT EXISTS idx_rvcq_user_status ON random_video_call_queue (user_id, queue_status);
+CREATE INDEX IF NOT EXISTS idx_rvcq_request_id ON random_video_call_queue (request_id);
+
+-- Comment threads: descendants of consecutive top-level comments are one path range
+CREATE INDEX IF NOT EXISTS idx_comments_post_path ON comments (post_id, path);
+
+-- Sorted comment pages (new, top), read newest/highest first on (sortKey, id)
+CREATE INDEX IF NOT EXISTS idx_comments_post_parent_created ON comments (post_id, parent_comment_id, created_date, id);
+CREATE INDEX IF NOT EXISTS idx_comments_post_parent_votes ON comments (post_id, parent_comment_id, vote_count, id);
+
+-- Username typeahead: prefix range scan on the lower-cased username, paged on (username_lower, user_id)
+CREATE INDEX IF NOT EXISTS idx_users_username_lower ON users (username_lower, user_id);
+
+-- Subreddit listing pages in (name, id) order
+CREATE INDEX IF NOT EXISTS idx_subreddit_name_id ON subreddit (name, id);
+
+-- Notification retention: the purge job walks read or deleted rows oldest first.
+-- Partial, so it is not declared on the entity; the archive index is.
+CREATE INDEX IF NOT EXISTS idx_notifications_purgeable ON notifications (created_at, id) WHERE is_read OR is_deleted;
+CREATE INDEX IF NOT EXISTS idx_notifications_archive_recipient_created ON notifications_archive (recipient_id, created_at);
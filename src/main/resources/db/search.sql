@@ -0,0 +1,21 @@
+-- Full-text and trigram search columns and indexes used by SearchServiceImpl. Requires
+-- PostgreSQL 12+ and the pg_trgm extension. Safe to re-run; until it has run, search
+-- falls back to an unindexed substring match.
+-- Post descriptions are stored as large objects (@Lob), so only post titles are indexed.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Full-text match: maintained by PostgreSQL on every insert and update, no application writes
+ALTER TABLE post ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(post_name, ''))) STORED;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(text, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_post_search_vector ON post USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector);
+
+-- Trigram fallback for typos and partial words (word_similarity, <%), which also serves
+-- the LIKE '%name%' lookup of posts by subreddit name
+CREATE INDEX IF NOT EXISTS idx_post_name_trgm ON post USING GIN (post_name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_comments_text_trgm ON comments USING GIN (text gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_subreddit_name_trgm ON subreddit USING GIN (name gin_trgm_ops);
@@ -0,0 +1,13 @@
+-- Add and backfill the stored post count of subreddits from post_subreddits.
+-- Run before db/indexes.sql; safe to re-run.
+
+ALTER TABLE subreddit ADD COLUMN IF NOT EXISTS post_count INTEGER DEFAULT 0;
+
+UPDATE subreddit s
+   SET post_count = counts.post_count
+  FROM (SELECT sr.id, COUNT(ps.post_id) AS post_count
+          FROM subreddit sr
+          LEFT JOIN post_subreddits ps ON ps.subreddit_id = sr.id
+         GROUP BY sr.id) counts
+ WHERE counts.id = s.id
+   AND s.post_count IS DISTINCT FROM counts.post_count;
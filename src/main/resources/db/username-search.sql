@@ -0,0 +1,12 @@
+-- Add and backfill the lower-cased username used by the typeahead user search.
+-- The "C" collation makes LIKE 'prefix%' a btree range scan on idx_users_username_lower
+-- regardless of the database locale. Run before db/indexes.sql; safe to re-run.
+-- The application also fills empty values in the background at startup
+-- (UsernameBackfillService), so the UPDATE below only matters for databases it never starts on.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username_lower VARCHAR(255);
+ALTER TABLE users ALTER COLUMN username_lower TYPE VARCHAR(255) COLLATE "C";
+
+UPDATE users
+   SET username_lower = LOWER(username)
+ WHERE username_lower IS DISTINCT FROM LOWER(username);
@@ -0,0 +1,114 @@
+package com.programming.techie.springredditclone.benchmark;
+
+import com.programming.techie.springredditclone.util.AhoCorasickMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the content filter automaton with the regex checks it replaced, on a clean
+ * comment, which is the common case and forces a full scan.
+ * Run with:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.programming.techie.springredditclone.benchmark.ContentFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentFilterBenchmark {
+
+    private static final String COMMENT = "Honestly this was a great write-up. I tried the same approach on my own "
+            + "project last week and the numbers matched almost exactly, although the cache warmup took a little "
+            + "longer on the smaller instance. Thanks for sharing the configuration, it saved me an afternoon! #java #perf";
+
+    // Extra generated words on top of the bundled list, to show how each approach scales with list size
+    @Param({"0", "1000"})
+    public int extraWords;
+
+    private AhoCorasickMatcher matcher;
+    private Pattern alternation;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> words = bundledWords();
+        Random random = new Random(42);
+        for (int i = 0; i < extraWords; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 5 + random.nextInt(4);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words.add(word.toString());
+        }
+        matcher = AhoCorasickMatcher.compile(words);
+        alternation = Pattern.compile("\\b(?:" + words.stream().map(Pattern::quote).collect(Collectors.joining("|")) + ")\\b",
+                Pattern.CASE_INSENSITIVE);
+    }
+
+    /** The former comment check: one hard-coded word */
+    @Benchmark
+    public boolean previousCommentContains() {
+        return COMMENT.contains("shit");
+    }
+
+    /** The former post check: two regexes compiled on every call */
+    @Benchmark
+    public boolean previousPostRegexValidation() {
+        return COMMENT.replaceAll("#\\w+", "").trim().matches(".*[a-zA-Z0-9].*");
+    }
+
+    /** The word list as one precompiled case-insensitive whole-word regex alternation, without normalization */
+    @Benchmark
+    public boolean regexAlternation() {
+        return alternation.matcher(COMMENT).find();
+    }
+
+    /** The content filter: normalization and matching of the whole list in one pass */
+    @Benchmark
+    public boolean ahoCorasick() {
+        return matcher.matches(COMMENT);
+    }
+
+    private static List<String> bundledWords() throws IOException {
+        try (InputStream in = ContentFilterBenchmark.class.getResourceAsStream("/content-filter/words.txt")) {
+            List<String> words = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    words.add(line.trim());
+                }
+            }
+            return words;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContentFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,6 +1,9 @@
 package com.programming.techie.springredditclone.controller;
 
 import com.programming.techie.springredditclone.dto.GetIntroDto;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.service.AuthService;
+import com.programming.techie.springredditclone.service.ExportService;
 import com.programming.techie.springredditclone.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +14,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import com.programming.techie.springredditclone.config.TestSecurityConfig;
 
+import java.io.OutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -29,6 +40,12 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private ExportService exportService;
+
     private GetIntroDto sampleUserIntro;
 
     @BeforeEach
@@ -98,4 +115,40 @@ class UserControllerTest {
         mockMvc.perform(get("/api/user/intro/1"))
                 .andExpect(status().isForbidden());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream the current user's history as NDJSON")
+    @WithMockUser(username = "testuser")
+    void shouldStreamCurrentUserHistoryAsNdjson() throws Exception {
+        // Given
+        User currentUser = new User();
+        currentUser.setUserId(5L);
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(exportService.exportUserHistory(eq(5L), any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"type\":\"post\"}\n".getBytes());
+            return 1L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/user/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"history.ndjson\""))
+                .andExpect(content().string("{\"type\":\"post\"}\n"));
+        verify(exportService).exportUserHistory(eq(5L), any());
+    }
+
+    @Test
+    @DisplayName("Should require authentication for export endpoint")
+    void shouldRequireAuthenticationForExportEndpoint() throws Exception {
+        mockMvc.perform(get("/api/user/export"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(exportService);
+    }
+}
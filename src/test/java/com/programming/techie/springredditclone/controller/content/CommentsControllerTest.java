@@ -5,6 +5,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.programming.techie.springredditclone.dto.CommentsDto;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.exceptions.GlobalExceptionHandler;
+import com.programming.techie.springredditclone.model.CommentSort;
 import com.programming.techie.springredditclone.service.CommentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -126,7 +127,7 @@ class CommentsControllerTest {
     @Test
     void getCommentsForPost_FirstPage_ShouldReturnPaginatedComments() throws Exception {
         // Arrange
-        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(20)))
+        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(20), isNull()))
                 .thenReturn(testPageResponse);
 
         // Act & Assert
@@ -142,7 +143,7 @@ class CommentsControllerTest {
     @Test
     void getCommentsForPost_WithCursorAndLimit_ShouldReturnPaginatedComments() throws Exception {
         // Arrange
-        when(commentService.getCommentsForPost(eq(1L), eq("test-cursor"), eq(10)))
+        when(commentService.getCommentsForPost(eq(1L), eq("test-cursor"), eq(10), isNull()))
                 .thenReturn(testPageResponse);
 
         // Act & Assert
@@ -154,10 +155,23 @@ class CommentsControllerTest {
                 .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
     }
 
+    @Test
+    void getCommentsForPost_WithSort_ShouldPassParsedSort() throws Exception {
+        // Arrange
+        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(20), eq(CommentSort.BEST)))
+                .thenReturn(testPageResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/comments/post/1")
+                        .param("sort", "best"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
     @Test
     void getCommentsForPost_WithCustomLimit_ShouldUseCustomLimit() throws Exception {
         // Arrange
-        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(30)))
+        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(30), isNull()))
                 .thenReturn(testPageResponse);
 
         // Act & Assert
@@ -167,6 +181,21 @@ class CommentsControllerTest {
                 .andExpect(jsonPath("$.limit").value(20)); // Should use the limit from response
     }
 
+    @Test
+    void searchComments_ShouldReturnRankedPage() throws Exception {
+        // Arrange
+        when(commentService.searchComments(eq("great post"), eq("page1"), eq(20)))
+                .thenReturn(testPageResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/comments/search")
+                        .param("query", "great post")
+                        .param("cursor", "page1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
     @Test
     void getCommentsForUser_FirstPage_ShouldReturnPaginatedComments() throws Exception {
         // Arrange
@@ -234,7 +263,7 @@ class CommentsControllerTest {
                 false,
                 20
         );
-        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(20)))
+        when(commentService.getCommentsForPost(eq(1L), isNull(), eq(20), isNull()))
                 .thenReturn(emptyResponse);
 
         // Act & Assert
@@ -15,6 +15,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -282,4 +283,26 @@ class PostControllerTest {
 
         verify(postService).getPostsByMultipleSubreddits(subredditNames);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should require authentication for the following timeline")
+    void shouldRequireAuthenticationForFollowingTimeline() throws Exception {
+        // Rejected before reaching the service, which needs a current user
+        mockMvc.perform(get("/api/posts/following"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(postService);
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    @DisplayName("Should return the following timeline for a logged in user")
+    void shouldReturnFollowingTimelineForLoggedInUser() throws Exception {
+        when(postService.getFollowingTimeline(null, 10)).thenReturn(new CursorPageResponse<>(List.of(samplePostResponse), null, false, 10));
+
+        mockMvc.perform(get("/api/posts/following"))
+                .andExpect(status().isOk());
+
+        verify(postService).getFollowingTimeline(null, 10);
+    }
+}
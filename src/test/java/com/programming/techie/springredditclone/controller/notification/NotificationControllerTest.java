@@ -2,6 +2,7 @@ package com.programming.techie.springredditclone.controller.notification;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationPageResponse;
 import com.programming.techie.springredditclone.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -152,6 +154,36 @@ class NotificationControllerTest {
         verify(notificationService).getUnreadNotificationCount();
     }
 
+    @Test
+    void getInbox_ShouldPassCursorAndFilters() throws Exception {
+        // Arrange
+        NotificationPageResponse page = new NotificationPageResponse(List.of(notificationDto1), "next", true, 1, null);
+        when(notificationService.getInbox("abc", 1, true, "comment", null, false)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/notifications/inbox")
+                        .param("cursor", "abc")
+                        .param("limit", "1")
+                        .param("unread", "true")
+                        .param("type", "comment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void streamNotifications_ShouldStartEventStream() throws Exception {
+        // Arrange
+        when(notificationService.subscribeToNotifications()).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/notifications/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(notificationService).subscribeToNotifications();
+    }
+
     @Test
     void getNotificationsByType_ShouldReturnNotificationsByType() throws Exception {
         // Arrange
@@ -6,7 +6,7 @@ import com.programming.techie.springredditclone.event.UserFollowedEvent;
 import com.programming.techie.springredditclone.model.Comment;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
-import com.programming.techie.springredditclone.service.NotificationService;
+import com.programming.techie.springredditclone.service.NotificationIngestionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +24,7 @@ import static org.mockito.Mockito.*;
 class NotificationEventListenerTest {
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationIngestionService notificationIngestionService;
 
     @InjectMocks
     private NotificationEventListener eventListener;
@@ -65,7 +65,7 @@ class NotificationEventListenerTest {
     }
 
     @Test
-    void handlePostLikedEvent_ShouldCreateLikeNotification() {
+    void handlePostLikedEvent_ShouldQueueLikeNotification() {
         // Arrange
         PostLikedEvent event = new PostLikedEvent(this, actor, recipient, post);
 
@@ -73,8 +73,8 @@ class NotificationEventListenerTest {
         eventListener.handlePostLikedEvent(event);
 
         // Assert
-        verify(notificationService, times(1))
-                .createLikeNotification(eq(actor), eq(recipient), eq(1L));
+        verify(notificationIngestionService, times(1))
+                .enqueueLike(eq(actor), eq(recipient), eq(1L));
     }
 
     @Test
@@ -86,11 +86,11 @@ class NotificationEventListenerTest {
         eventListener.handlePostLikedEvent(event);
 
         // Assert
-        verify(notificationService, never()).createLikeNotification(any(), any(), any());
+        verify(notificationIngestionService, never()).enqueueLike(any(), any(), any());
     }
 
     @Test
-    void handlePostCommentedEvent_ShouldCreateCommentNotification() {
+    void handlePostCommentedEvent_ShouldQueueCommentNotification() {
         // Arrange
         PostCommentedEvent event = new PostCommentedEvent(this, actor, recipient, post, comment);
 
@@ -98,8 +98,8 @@ class NotificationEventListenerTest {
         eventListener.handlePostCommentedEvent(event);
 
         // Assert
-        verify(notificationService, times(1))
-                .createCommentNotification(eq(actor), eq(recipient), eq(1L), eq(1L));
+        verify(notificationIngestionService, times(1))
+                .enqueueComment(eq(actor), eq(recipient), eq(1L), eq(1L));
     }
 
     @Test
@@ -111,11 +111,11 @@ class NotificationEventListenerTest {
         eventListener.handlePostCommentedEvent(event);
 
         // Assert
-        verify(notificationService, never()).createCommentNotification(any(), any(), any(), any());
+        verify(notificationIngestionService, never()).enqueueComment(any(), any(), any(), any());
     }
 
     @Test
-    void handleUserFollowedEvent_ShouldCreateFollowNotification() {
+    void handleUserFollowedEvent_ShouldQueueFollowNotification() {
         // Arrange
         UserFollowedEvent event = new UserFollowedEvent(this, actor, recipient);
 
@@ -123,8 +123,8 @@ class NotificationEventListenerTest {
         eventListener.handleUserFollowedEvent(event);
 
         // Assert
-        verify(notificationService, times(1))
-                .createFollowNotification(eq(actor), eq(recipient));
+        verify(notificationIngestionService, times(1))
+                .enqueueFollow(eq(actor), eq(recipient));
     }
 
     @Test
@@ -136,7 +136,7 @@ class NotificationEventListenerTest {
         eventListener.handleUserFollowedEvent(event);
 
         // Assert
-        verify(notificationService, never()).createFollowNotification(any(), any());
+        verify(notificationIngestionService, never()).enqueueFollow(any(), any());
     }
 
     @Test
@@ -144,14 +144,14 @@ class NotificationEventListenerTest {
         // Arrange
         PostLikedEvent event = new PostLikedEvent(this, actor, recipient, post);
         doThrow(new RuntimeException("Notification service error"))
-                .when(notificationService).createLikeNotification(any(), any(), any());
+                .when(notificationIngestionService).enqueueLike(any(), any(), any());
 
         // Act & Assert - should not throw exception
         eventListener.handlePostLikedEvent(event);
 
         // Verify the method was still called
-        verify(notificationService, times(1))
-                .createLikeNotification(eq(actor), eq(recipient), eq(1L));
+        verify(notificationIngestionService, times(1))
+                .enqueueLike(eq(actor), eq(recipient), eq(1L));
     }
 
     @Test
@@ -159,14 +159,14 @@ class NotificationEventListenerTest {
         // Arrange
         PostCommentedEvent event = new PostCommentedEvent(this, actor, recipient, post, comment);
         doThrow(new RuntimeException("Notification service error"))
-                .when(notificationService).createCommentNotification(any(), any(), any(), any());
+                .when(notificationIngestionService).enqueueComment(any(), any(), any(), any());
 
         // Act & Assert - should not throw exception
         eventListener.handlePostCommentedEvent(event);
 
         // Verify the method was still called
-        verify(notificationService, times(1))
-                .createCommentNotification(eq(actor), eq(recipient), eq(1L), eq(1L));
+        verify(notificationIngestionService, times(1))
+                .enqueueComment(eq(actor), eq(recipient), eq(1L), eq(1L));
     }
 
     @Test
@@ -174,13 +174,13 @@ class NotificationEventListenerTest {
         // Arrange
         UserFollowedEvent event = new UserFollowedEvent(this, actor, recipient);
         doThrow(new RuntimeException("Notification service error"))
-                .when(notificationService).createFollowNotification(any(), any());
+                .when(notificationIngestionService).enqueueFollow(any(), any());
 
         // Act & Assert - should not throw exception
         eventListener.handleUserFollowedEvent(event);
 
         // Verify the method was still called
-        verify(notificationService, times(1))
-                .createFollowNotification(eq(actor), eq(recipient));
+        verify(notificationIngestionService, times(1))
+                .enqueueFollow(eq(actor), eq(recipient));
     }
 } 
\ No newline at end of file
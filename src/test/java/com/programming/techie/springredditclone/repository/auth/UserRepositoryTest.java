@@ -2,13 +2,17 @@ package com.programming.techie.springredditclone.repository.auth;
 
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.UserRepository;
+import com.programming.techie.springredditclone.service.impl.UsernameBackfillServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Instant;
 import java.util.List;
@@ -27,6 +31,12 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User testUser;
 
     @BeforeEach
@@ -227,4 +237,64 @@ class UserRepositoryTest {
         assertThat(savedUser.isEnabled()).isTrue();
         assertThat(savedUser.getCreated()).isNotNull();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should keep lower-cased username in sync on save")
+    void shouldKeepLowerCasedUsernameInSyncOnSave() {
+        // Given
+        testUser.setUsername("TestUser");
+        User savedUser = userRepository.saveAndFlush(testUser);
+
+        // When
+        savedUser.setUsername("RenamedUser");
+        userRepository.saveAndFlush(savedUser);
+
+        // Then
+        assertThat(userRepository.findById(savedUser.getUserId()).get().getUsernameLower()).isEqualTo("renameduser");
+    }
+
+    @Test
+    @DisplayName("Should page username prefix matches in keyset order")
+    void shouldPageUsernamePrefixMatchesInKeysetOrder() {
+        // Given
+        for (String username : List.of("Johnny", "john_doe", "johnXdoe", "jane", "JOHN")) {
+            User user = new User();
+            user.setUsername(username);
+            user.setEmail(username + "@example.com");
+            user.setPassword("password");
+            user.setCreated(Instant.now());
+            user.setEnabled(true);
+            userRepository.save(user);
+        }
+
+        // When
+        List<Object[]> firstPage = userRepository.findUsernamePrefixFirstPage("john%", PageRequest.of(0, 2));
+        Object[] last = firstPage.get(firstPage.size() - 1);
+        List<Object[]> secondPage = userRepository.findUsernamePrefixWithCursor("john%", (String) last[2], (Long) last[0],
+                PageRequest.of(0, 2));
+        List<Object[]> escaped = userRepository.findUsernamePrefixFirstPage("john\\_%", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(firstPage).extracting(row -> row[1]).containsExactly("JOHN", "john_doe");
+        assertThat(secondPage).extracting(row -> row[1]).containsExactly("Johnny", "johnXdoe");
+        assertThat(escaped).extracting(row -> row[1]).containsExactly("john_doe");
+    }
+
+    @Test
+    @DisplayName("Should backfill lower-cased usernames left empty on existing rows")
+    void shouldBackfillMissingLowerCasedUsernames() {
+        // Given: rows written before the column existed
+        User legacy = userRepository.saveAndFlush(testUser);
+        jdbcTemplate.update("UPDATE users SET username_lower = NULL WHERE user_id = ?", legacy.getUserId());
+        UsernameBackfillServiceImpl backfillService = new UsernameBackfillServiceImpl(jdbcTemplate, transactionManager, 1);
+
+        // When
+        int filled = backfillService.backfill();
+
+        // Then
+        assertThat(filled).isEqualTo(1);
+        assertThat(backfillService.backfill()).isZero();
+        assertThat(userRepository.findUsernamePrefixFirstPage("test%", PageRequest.of(0, 10)))
+                .extracting(row -> row[2]).containsExactly("testuser");
+    }
+}
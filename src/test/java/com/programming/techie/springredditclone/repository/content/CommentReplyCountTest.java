@@ -0,0 +1,117 @@
+package com.programming.techie.springredditclone.repository.content;
+
+import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.CommentRepository;
+import com.programming.techie.springredditclone.service.impl.ReplyCountReconciliationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CommentReplyCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+    private Post testPost;
+    private Comment parent;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("replycounter");
+        testUser.setEmail("replycounter@example.com");
+        testUser.setPassword("password");
+        testUser.setEnabled(true);
+        testUser.setCreated(Instant.now());
+        testUser = entityManager.persist(testUser);
+
+        testPost = new Post();
+        testPost.setPostName("Counted Post");
+        testPost.setUser(testUser);
+        testPost = entityManager.persist(testPost);
+
+        parent = comment(null);
+        entityManager.flush();
+    }
+
+    @Test
+    void incrementAndDecrement_ShouldAdjustCounterInPlace() {
+        // Act
+        commentRepository.incrementReplyCount(parent.getId());
+        commentRepository.incrementReplyCount(parent.getId());
+        commentRepository.decrementReplyCount(parent.getId());
+
+        // Assert
+        assertEquals(1, reloadReplyCount(parent));
+    }
+
+    @Test
+    void decrement_ShouldNotGoBelowZero() {
+        // Act
+        int updated = commentRepository.decrementReplyCount(parent.getId());
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals(0, reloadReplyCount(parent));
+    }
+
+    @Test
+    void reconcile_ShouldRepairDriftedCountsAcrossBatches() {
+        // Arrange
+        comment(parent);
+        comment(parent);
+        Comment deleted = comment(parent);
+        deleted.setDeleted(true);
+        Comment drifted = comment(null);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE comments SET reply_count = 7 WHERE id = ?", drifted.getId());
+        ReplyCountReconciliationServiceImpl reconciler =
+                new ReplyCountReconciliationServiceImpl(jdbcTemplate, transactionManager, 2);
+
+        // Act
+        int repaired = reconciler.reconcile();
+
+        // Assert
+        assertEquals(2, repaired);
+        assertEquals(2, reloadReplyCount(parent));
+        assertEquals(0, reloadReplyCount(drifted));
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    private Comment comment(Comment parentComment) {
+        Comment comment = new Comment();
+        comment.setText("Comment");
+        comment.setPost(testPost);
+        comment.setUser(testUser);
+        comment.setParentComment(parentComment);
+        return entityManager.persist(comment);
+    }
+
+    private int reloadReplyCount(Comment comment) {
+        entityManager.clear();
+        return commentRepository.findById(comment.getId()).orElseThrow().getReplyCount();
+    }
+}
@@ -1,14 +1,17 @@
 package com.programming.techie.springredditclone.repository.content;
 
+import com.programming.techie.springredditclone.dto.CommentExportRow;
 import com.programming.techie.springredditclone.model.Comment;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.CommentRepository;
+import com.programming.techie.springredditclone.util.CommentPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +112,28 @@ class CommentRepositoryTest {
         assertTrue(comments.stream().allMatch(c -> c.getUser().equals(testUser)));
     }
 
+    @Test
+    void streamExportRowsByUserId_ShouldStreamTopLevelAndDeletedCommentsInIdOrder() {
+        // Arrange
+        testReply.setDeleted(true);
+        entityManager.persistAndFlush(testReply);
+
+        // Act
+        List<CommentExportRow> rows;
+        try (Stream<CommentExportRow> stream = commentRepository.streamExportRowsByUserId(testUser.getUserId())) {
+            rows = stream.toList();
+        }
+
+        // Assert
+        assertEquals(2, rows.size());
+        assertEquals(testComment.getId(), rows.get(0).getId());
+        assertEquals(testPost.getPostId(), rows.get(0).getPostId());
+        assertNull(rows.get(0).getParentCommentId());
+        assertEquals(testComment.getId(), rows.get(1).getParentCommentId());
+        assertEquals("Test reply", rows.get(1).getText());
+        assertTrue(rows.get(1).isDeleted());
+    }
+
     @Test
     void findByParentComment_ShouldReturnReplies() {
         // Act
@@ -343,7 +369,7 @@ class CommentRepositoryTest {
         comment2 = entityManager.persistAndFlush(comment2);
 
         // Act
-        List<Comment> comments = commentRepository.findTopLevelCommentsByPostWithCursor(testPost.getPostId(), testComment.getId());
+        List<Comment> comments = commentRepository.findTopLevelCommentsByPostWithCursor(testPost.getPostId(), testComment.getId(), PageRequest.of(0, 20));
 
         // Assert
         assertEquals(1, comments.size());
@@ -353,7 +379,7 @@ class CommentRepositoryTest {
     @Test
     void findTopLevelCommentsByPostFirstPage_ShouldReturnAllTopLevelComments() {
         // Act
-        List<Comment> comments = commentRepository.findTopLevelCommentsByPostFirstPage(testPost.getPostId());
+        List<Comment> comments = commentRepository.findTopLevelCommentsByPostFirstPage(testPost.getPostId(), PageRequest.of(0, 20));
 
         // Assert
         assertEquals(1, comments.size());
@@ -375,7 +401,7 @@ class CommentRepositoryTest {
         final Comment persistedComment2 = entityManager.persistAndFlush(comment2);
 
         // Act
-        List<Comment> comments = commentRepository.findCommentsByUserWithCursor(testUser.getUsername(), testComment.getId());
+        List<Comment> comments = commentRepository.findCommentsByUserWithCursor(testUser, testComment.getId(), PageRequest.of(0, 20));
 
         // Debug: Print actual results
         System.out.println("\n=== DEBUG findCommentsByUserWithCursor ===");
@@ -398,7 +424,7 @@ class CommentRepositoryTest {
     @Test
     void findCommentsByUserFirstPage_ShouldReturnAllUserComments() {
         // Act
-        List<Comment> comments = commentRepository.findCommentsByUserFirstPage(testUser.getUsername());
+        List<Comment> comments = commentRepository.findCommentsByUserFirstPage(testUser, PageRequest.of(0, 20));
 
         // Assert
         assertEquals(2, comments.size());
@@ -419,7 +445,7 @@ class CommentRepositoryTest {
         reply2 = entityManager.persistAndFlush(reply2);
 
         // Act
-        List<Comment> replies = commentRepository.findRepliesByCommentWithCursor(testComment.getId(), testReply.getId());
+        List<Comment> replies = commentRepository.findRepliesByCommentWithCursor(testComment.getId(), testReply.getId(), PageRequest.of(0, 20));
 
         // Assert
         assertEquals(1, replies.size());
@@ -429,11 +455,125 @@ class CommentRepositoryTest {
     @Test
     void findRepliesByCommentFirstPage_ShouldReturnAllReplies() {
         // Act
-        List<Comment> replies = commentRepository.findRepliesByCommentFirstPage(testComment.getId());
+        List<Comment> replies = commentRepository.findRepliesByCommentFirstPage(testComment.getId(), PageRequest.of(0, 20));
 
         // Assert
         assertEquals(1, replies.size());
         assertEquals(testReply.getId(), replies.get(0).getId());
         assertEquals(testComment.getId(), replies.get(0).getParentComment().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findTopLevelCommentsByPostWithCursor_ShouldOnlyReadRequestedPageSize() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            Comment comment = new Comment();
+            comment.setText("Paged " + i);
+            comment.setPost(testPost);
+            comment.setUser(testUser);
+            entityManager.persist(comment);
+        }
+        entityManager.flush();
+
+        // Act
+        List<Comment> firstPage = commentRepository.findTopLevelCommentsByPostFirstPage(testPost.getPostId(), PageRequest.of(0, 3));
+        List<Comment> secondPage = commentRepository.findTopLevelCommentsByPostWithCursor(
+                testPost.getPostId(), firstPage.get(firstPage.size() - 1).getId(), PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(3, firstPage.size());
+        assertEquals(3, secondPage.size());
+        assertTrue(firstPage.get(2).getId() < secondPage.get(0).getId());
+    }
+
+    @Test
+    void findThreadDescendants_ShouldReturnRepliesUnderRootRangeUpToDepth() {
+        // Arrange
+        testReply.setPath(CommentPath.childPath(CommentPath.ROOT, testComment.getId()));
+        testReply.setDepth(1);
+        Comment nested = new Comment();
+        nested.setText("Nested reply");
+        nested.setPost(testPost);
+        nested.setUser(testUser);
+        nested.setParentComment(testReply);
+        nested.setPath(CommentPath.childPath(testReply.getPath(), testReply.getId()));
+        nested.setDepth(2);
+        entityManager.persist(nested);
+
+        Comment otherRoot = new Comment();
+        otherRoot.setText("Other root");
+        otherRoot.setPost(testPost);
+        otherRoot.setUser(testUser);
+        otherRoot = entityManager.persist(otherRoot);
+        Comment otherReply = new Comment();
+        otherReply.setText("Reply outside the range");
+        otherReply.setPost(testPost);
+        otherReply.setUser(testUser);
+        otherReply.setParentComment(otherRoot);
+        otherReply.setPath(CommentPath.childPath(CommentPath.ROOT, otherRoot.getId()));
+        otherReply.setDepth(1);
+        entityManager.persist(otherReply);
+        entityManager.flush();
+
+        String from = CommentPath.subtreeStart(testComment.getId());
+        String to = CommentPath.subtreeEnd(testComment.getId());
+
+        // Act
+        List<Comment> all = commentRepository.findThreadDescendants(
+                testPost.getPostId(), from, to, 5, PageRequest.of(0, 20));
+        List<Comment> shallow = commentRepository.findThreadDescendants(
+                testPost.getPostId(), from, to, 1, PageRequest.of(0, 20));
+
+        // Assert
+        assertEquals(List.of(testReply.getId(), nested.getId()), all.stream().map(Comment::getId).toList());
+        assertEquals(List.of(testReply.getId()), shallow.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void findTopLevelCommentsByPostTop_ShouldPageByVoteCountThenId() {
+        // Arrange
+        Comment liked = sortedComment(3);
+        Comment other = sortedComment(2);
+        entityManager.clear();
+
+        // Act
+        List<Comment> firstPage = commentRepository.findTopLevelCommentsByPostTopFirstPage(testPost.getPostId(), PageRequest.of(0, 1));
+        List<Comment> secondPage = commentRepository.findTopLevelCommentsByPostTopWithCursor(
+                testPost.getPostId(), 3, liked.getId(), PageRequest.of(0, 5));
+
+        // Assert
+        assertEquals(List.of(liked.getId()), firstPage.stream().map(Comment::getId).toList());
+        assertEquals(List.of(other.getId(), testComment.getId()), secondPage.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void findTopLevelCommentsByPostNewest_ShouldPageNewestFirst() {
+        // Arrange
+        Comment newer = sortedComment(0);
+        entityManager.clear();
+
+        // Act
+        List<Comment> firstPage = commentRepository.findTopLevelCommentsByPostNewestFirstPage(testPost.getPostId(), PageRequest.of(0, 1));
+        List<Comment> secondPage = commentRepository.findTopLevelCommentsByPostNewestWithCursor(
+                testPost.getPostId(), firstPage.get(0).getCreatedDate(), firstPage.get(0).getId(), PageRequest.of(0, 5));
+
+        // Assert
+        assertEquals(List.of(newer.getId()), firstPage.stream().map(Comment::getId).toList());
+        assertEquals(List.of(testComment.getId()), secondPage.stream().map(Comment::getId).toList());
+    }
+
+    // Vote counts are written by the vote counter flush, not entity updates
+    private Comment sortedComment(int voteCount) {
+        Comment comment = new Comment();
+        comment.setText("Sorted " + voteCount);
+        comment.setPost(testPost);
+        comment.setUser(testUser);
+        comment = entityManager.persistAndFlush(comment);
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE comments SET vote_count = :voteCount WHERE id = :id")
+                .setParameter("voteCount", voteCount)
+                .setParameter("id", comment.getId())
+                .executeUpdate();
+        return comment;
+    }
+}
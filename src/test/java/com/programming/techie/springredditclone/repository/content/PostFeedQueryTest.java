@@ -0,0 +1,149 @@
+package com.programming.techie.springredditclone.repository.content;
+
+import com.programming.techie.springredditclone.dto.PostFeedRow;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.model.Subreddit;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.repository.SubredditRepository;
+import com.programming.techie.springredditclone.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class PostFeedQueryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubredditRepository subredditRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Subreddit programming;
+    private Subreddit gaming;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        base = Instant.now().minusSeconds(3600);
+
+        User owner = saveUser("owner");
+        programming = saveSubreddit("programming", owner);
+        gaming = saveSubreddit("gaming", owner);
+
+        // Every post has its own author so a lazy path would load one user per row
+        for (int i = 0; i < 30; i++) {
+            User author = saveUser("author" + i);
+            Post post = new Post();
+            post.setPostName("Post " + i);
+            post.setDescription("Description " + i);
+            post.setUrl("http://example.com/" + i);
+            post.setUser(author);
+            post.setCreatedDate(base.plusSeconds(i));
+            post.setVoteCount(i);
+            post.setCommentCount(0);
+            post.setSubreddits(new HashSet<>(Set.of(programming, gaming)));
+            postRepository.save(post);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a feed page with a constant number of statements")
+    void shouldLoadFeedPageWithConstantStatementCount() {
+        long smallPage = statementsForPage(5);
+        long largePage = statementsForPage(25);
+
+        assertThat(smallPage).isEqualTo(2);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("Should return author and subreddit names from the feed projection")
+    void shouldProjectAuthorAndSubredditNames() {
+        List<PostFeedRow> rows = postRepository.findFeedRowsBySubredditWithCursor(
+                programming, Instant.now(), Long.MAX_VALUE, PageRequest.of(0, 3));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(PostFeedRow::getUsername).containsExactly("author29", "author28", "author27");
+        assertThat(rows.get(0).getUserId()).isNotNull();
+
+        List<Object[]> names = postRepository.findSubredditNamesByPostIds(List.of(rows.get(0).getPostId()));
+        assertThat(names).extracting(row -> (String) row[1]).containsExactlyInAnyOrder("programming", "gaming");
+    }
+
+    @Test
+    @DisplayName("Should page feed rows by cursor")
+    void shouldPageFeedRowsByCursor() {
+        List<PostFeedRow> firstPage = postRepository.findFeedRowsWithCursor(Instant.now(), Long.MAX_VALUE, PageRequest.of(0, 10));
+        PostFeedRow last = firstPage.get(firstPage.size() - 1);
+
+        List<PostFeedRow> secondPage = postRepository.findFeedRowsWithCursor(last.getCreatedDate(), last.getPostId(), PageRequest.of(0, 10));
+
+        assertThat(secondPage).hasSize(10);
+        assertThat(secondPage.get(0).getCreatedDate()).isBefore(last.getCreatedDate());
+    }
+
+    private long statementsForPage(int limit) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<PostFeedRow> rows = postRepository.findFeedRowsWithCursor(Instant.now(), Long.MAX_VALUE, PageRequest.of(0, limit));
+        List<Long> postIds = rows.stream().map(PostFeedRow::getPostId).toList();
+        List<Object[]> names = postRepository.findSubredditNamesByPostIds(postIds);
+
+        // Touch everything PostMapper reads to make sure nothing is lazily loaded
+        rows.forEach(row -> assertThat(row.getUsername()).startsWith("author"));
+        assertThat(rows).hasSize(limit);
+        assertThat(names).hasSize(limit * 2);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setCreated(Instant.now());
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private Subreddit saveSubreddit(String name, User owner) {
+        Subreddit subreddit = new Subreddit();
+        subreddit.setName(name);
+        subreddit.setDescription(name + " discussions");
+        subreddit.setCreatedDate(Instant.now());
+        subreddit.setUser(owner);
+        return subredditRepository.save(subreddit);
+    }
+}
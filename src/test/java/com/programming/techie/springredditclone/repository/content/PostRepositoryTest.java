@@ -1,5 +1,8 @@
 package com.programming.techie.springredditclone.repository.content;
 
+import com.programming.techie.springredditclone.dto.PostExportRow;
+import com.programming.techie.springredditclone.dto.SubredditDto;
+import com.programming.techie.springredditclone.dto.SubredditPostCount;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.Subreddit;
 import com.programming.techie.springredditclone.model.User;
@@ -12,12 +15,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -35,6 +41,9 @@ class PostRepositoryTest {
     @Autowired
     private SubredditRepository subredditRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User user1;
     private User user2;
     private Subreddit programmingSubreddit;
@@ -161,6 +170,22 @@ class PostRepositoryTest {
         assertThat(user2Posts).allMatch(post -> post.getUser().equals(user2));
     }
 
+    @Test
+    @DisplayName("Should stream a user's posts as export rows, oldest first")
+    void shouldStreamExportRowsByUser() {
+        // When
+        List<PostExportRow> rows;
+        try (Stream<PostExportRow> stream = postRepository.streamExportRowsByUserId(user1.getUserId())) {
+            rows = stream.toList();
+        }
+
+        // Then
+        assertThat(rows).extracting(PostExportRow::getPostId).containsExactly(post1.getPostId(), post3.getPostId());
+        assertThat(rows.get(1).getPostName()).isEqualTo("Tech Post");
+        assertThat(rows.get(1).getUrl()).isEqualTo("http://example.com/3");
+        assertThat(rows.get(1).getVoteCount()).isEqualTo(7);
+    }
+
     @Test
     @DisplayName("Should find posts by subreddit")
     void shouldFindPostsBySubreddit() {
@@ -274,4 +299,55 @@ class PostRepositoryTest {
         assertThat(foundPost.get().getPostName()).isEqualTo("Programming Post");
         assertThat(foundPost.get().getSubreddits()).hasSize(2);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should count subreddit posts in the same statement")
+    void shouldCountSubredditPostsInSameStatement() {
+        // When
+        SubredditPostCount programming = subredditRepository.findWithPostCountById(programmingSubreddit.getId()).orElseThrow();
+        SubredditPostCount gaming = subredditRepository.findWithPostCountById(gamingSubreddit.getId()).orElseThrow();
+
+        // Then
+        assertThat(programming.getName()).isEqualTo("programming");
+        assertThat(programming.getPostCount()).isEqualTo(2L);
+        assertThat(gaming.getPostCount()).isEqualTo(1L);
+        assertThat(subredditRepository.findWithPostCountById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page subreddits by name with stored post counts")
+    void shouldPageSubredditsByNameWithStoredPostCounts() {
+        // Given
+        subredditRepository.incrementPostCount(Set.of(programmingSubreddit.getId(), technologySubreddit.getId()));
+        subredditRepository.incrementPostCount(Set.of(programmingSubreddit.getId()));
+        subredditRepository.decrementPostCount(Set.of(gamingSubreddit.getId()));
+
+        // When
+        List<SubredditDto> firstPage = subredditRepository.findListingFirstPage(PageRequest.of(0, 2));
+        SubredditDto last = firstPage.get(firstPage.size() - 1);
+        List<SubredditDto> secondPage = subredditRepository.findListingWithCursor(last.getName(), last.getId(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(firstPage).extracting(SubredditDto::getName).containsExactly("gaming", "programming");
+        assertThat(firstPage).extracting(SubredditDto::getNumberOfPosts).containsExactly(0, 2);
+        assertThat(secondPage).extracting(SubredditDto::getName).containsExactly("technology");
+        assertThat(secondPage).extracting(SubredditDto::getNumberOfPosts).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should treat a post count missing on an existing subreddit as zero")
+    void shouldTreatMissingPostCountAsZero() {
+        // Given: a row written before the post_count column existed
+        jdbcTemplate.update("UPDATE subreddit SET post_count = NULL WHERE id IN (?, ?)",
+                programmingSubreddit.getId(), gamingSubreddit.getId());
+
+        // When
+        subredditRepository.incrementPostCount(Set.of(programmingSubreddit.getId()));
+        subredditRepository.decrementPostCount(Set.of(gamingSubreddit.getId()));
+        List<SubredditDto> listing = subredditRepository.findListingFirstPage(PageRequest.of(0, 3));
+
+        // Then
+        assertThat(listing).extracting(SubredditDto::getName).containsExactly("gaming", "programming", "technology");
+        assertThat(listing).extracting(SubredditDto::getNumberOfPosts).containsExactly(0, 1, 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.programming.techie.springredditclone.repository.content;
+
+import com.programming.techie.springredditclone.dto.SearchHit;
+import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.service.impl.SearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the search page queries against H2, which takes the portable substring path;
+ * the PostgreSQL full-text statements are covered by SearchServiceTest.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class SearchQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SearchServiceImpl searchService;
+    private User testUser;
+    private Post testPost;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchServiceImpl(jdbcTemplate);
+
+        testUser = new User();
+        testUser.setUsername("searcher");
+        testUser.setEmail("searcher@example.com");
+        testUser.setPassword("password");
+        testUser.setEnabled(true);
+        testUser.setCreated(Instant.now());
+        testUser = entityManager.persist(testUser);
+
+        testPost = post("Unrelated title");
+        entityManager.flush();
+    }
+
+    @Test
+    void searchPosts_ShouldRankEarlierMatchesFirstAndPageWithoutOverlap() {
+        // Arrange
+        Post late = post("All about Spring");
+        Post early = post("spring cleaning");
+        Post tie = post("Spring boot");
+        post("Summer");
+        entityManager.flush();
+
+        // Act
+        List<SearchHit> firstPage = searchService.searchPosts("  SPRING ", null, null, 2);
+        SearchHit last = firstPage.get(firstPage.size() - 1);
+        List<SearchHit> secondPage = searchService.searchPosts("spring", last.getScore(), last.getId(), 2);
+
+        // Assert
+        assertEquals(List.of(tie.getPostId(), early.getPostId()), firstPage.stream().map(SearchHit::getId).toList());
+        assertEquals(List.of(late.getPostId()), secondPage.stream().map(SearchHit::getId).toList());
+        assertTrue(firstPage.get(1).getScore() > secondPage.get(0).getScore());
+    }
+
+    @Test
+    void searchComments_ShouldSkipDeletedAndHiddenComments() {
+        // Arrange
+        Comment visible = comment("What a great post");
+        comment("Great minds think alike").setDeleted(true);
+        comment("great, another one").setHidden(true);
+        entityManager.flush();
+
+        // Act
+        List<SearchHit> hits = searchService.searchComments("great", null, null, 10);
+
+        // Assert
+        assertEquals(List.of(visible.getId()), hits.stream().map(SearchHit::getId).toList());
+    }
+
+    @Test
+    void searchComments_ShouldMatchLikeWildcardsLiterally() {
+        // Arrange
+        Comment percent = comment("Agreed 100% with this");
+        comment("Over 1000 upvotes");
+        comment("snake_case please");
+        entityManager.flush();
+
+        // Act
+        List<SearchHit> percentHits = searchService.searchComments("100%", null, null, 10);
+        List<SearchHit> underscoreHits = searchService.searchComments("e_c", null, null, 10);
+
+        // Assert
+        assertEquals(List.of(percent.getId()), percentHits.stream().map(SearchHit::getId).toList());
+        assertEquals(1, underscoreHits.size());
+    }
+
+    @Test
+    void search_WithBlankQuery_ShouldReturnNothing() {
+        assertTrue(searchService.searchPosts("   ", null, null, 10).isEmpty());
+        assertTrue(searchService.searchComments(null, null, null, 10).isEmpty());
+    }
+
+    private Post post(String name) {
+        Post post = new Post();
+        post.setPostName(name);
+        post.setUser(testUser);
+        post.setCreatedDate(Instant.now());
+        return entityManager.persist(post);
+    }
+
+    private Comment comment(String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setPost(testPost);
+        comment.setUser(testUser);
+        return entityManager.persist(comment);
+    }
+}
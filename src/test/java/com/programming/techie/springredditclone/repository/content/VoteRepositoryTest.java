@@ -0,0 +1,110 @@
+package com.programming.techie.springredditclone.repository.content;
+
+import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.model.Vote;
+import com.programming.techie.springredditclone.model.VoteType;
+import com.programming.techie.springredditclone.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// H2 takes the portable INSERT ... WHERE NOT EXISTS path of the conditional inserts
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class VoteRepositoryTest {
+
+    private static final String UPVOTE = VoteType.UPVOTE.name();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    private User user;
+    private Post post;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("voter");
+        user.setEmail("voter@example.com");
+        user.setPassword("password");
+        user.setEnabled(true);
+        user.setCreated(Instant.now());
+        user = entityManager.persistAndFlush(user);
+
+        post = new Post();
+        post.setPostName("Post");
+        post.setDescription("Description");
+        post.setUser(user);
+        post.setCreatedDate(Instant.now());
+        post = entityManager.persistAndFlush(post);
+
+        comment = new Comment();
+        comment.setText("Comment");
+        comment.setPost(post);
+        comment.setUser(user);
+        comment = entityManager.persistAndFlush(comment);
+    }
+
+    @Test
+    @DisplayName("Should insert a post vote only once per user")
+    void shouldInsertPostVoteOnce() {
+        assertThat(voteRepository.insertPostVoteIfAbsent(post.getPostId(), user.getUserId(), UPVOTE)).isEqualTo(1);
+        assertThat(voteRepository.insertPostVoteIfAbsent(post.getPostId(), user.getUserId(), UPVOTE)).isZero();
+
+        entityManager.clear();
+        Vote vote = voteRepository.findByPostAndUser(post, user).orElseThrow();
+        assertThat(vote.getVoteType()).isEqualTo(VoteType.UPVOTE);
+        assertThat(vote.getComment()).isNull();
+        assertThat(voteRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should insert a comment vote only once per user, independently of post votes")
+    void shouldInsertCommentVoteOnce() {
+        assertThat(voteRepository.insertPostVoteIfAbsent(post.getPostId(), user.getUserId(), UPVOTE)).isEqualTo(1);
+        assertThat(voteRepository.insertCommentVoteIfAbsent(comment.getId(), user.getUserId(), UPVOTE)).isEqualTo(1);
+        assertThat(voteRepository.insertCommentVoteIfAbsent(comment.getId(), user.getUserId(), UPVOTE)).isZero();
+
+        assertThat(voteRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report how many votes were removed")
+    void shouldDeleteVotesOnce() {
+        voteRepository.insertPostVoteIfAbsent(post.getPostId(), user.getUserId(), UPVOTE);
+        voteRepository.insertCommentVoteIfAbsent(comment.getId(), user.getUserId(), UPVOTE);
+
+        assertThat(voteRepository.deletePostVote(post.getPostId(), user.getUserId())).isEqualTo(1);
+        assertThat(voteRepository.deletePostVote(post.getPostId(), user.getUserId())).isZero();
+        assertThat(voteRepository.deleteCommentVote(comment.getId(), user.getUserId())).isEqualTo(1);
+        assertThat(voteRepository.deleteCommentVote(comment.getId(), user.getUserId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate vote saved through JPA")
+    void shouldRejectDuplicateVote() {
+        voteRepository.saveAndFlush(Vote.builder().voteType(VoteType.UPVOTE).post(post).user(user).build());
+
+        assertThatThrownBy(() -> voteRepository.saveAndFlush(
+                Vote.builder().voteType(VoteType.UPVOTE).post(post).user(user).build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
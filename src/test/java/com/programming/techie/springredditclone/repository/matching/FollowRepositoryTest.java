@@ -451,4 +451,23 @@ class FollowRepositoryTest {
         assertThat(zeroFollowingLarge).isTrue();
         assertThat(largeFollowingZero).isFalse();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should list followed user IDs and authors over a follower limit")
+    void shouldFindFollowingIdsAndHeavyAuthors() {
+        // Given
+        Follow follow3 = new Follow();
+        follow3.setFollower(user2);
+        follow3.setFollowing(user3);
+        follow3.setActive(true);
+        followRepository.save(follow3);
+
+        // When
+        List<Long> followingIds = followRepository.findActiveFollowingIds(user1);
+        List<Long> heavyAuthorIds = followRepository.findUserIdsWithMoreActiveFollowersThan(1);
+
+        // Then
+        assertThat(followingIds).containsExactlyInAnyOrder(user2.getUserId(), user3.getUserId());
+        assertThat(heavyAuthorIds).containsExactly(user3.getUserId());
+    }
+}
@@ -1,9 +1,16 @@
 package com.programming.techie.springredditclone.repository.notification;
 
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationRetentionStats;
 import com.programming.techie.springredditclone.model.Notification;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.NotificationRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
+import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
+import com.programming.techie.springredditclone.service.impl.NotificationIngestionServiceImpl;
+import com.programming.techie.springredditclone.service.impl.NotificationRetentionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +19,17 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -32,6 +44,12 @@ class NotificationRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User user1;
     private User user2;
     private User user3;
@@ -148,6 +166,60 @@ class NotificationRepositoryTest {
         assertEquals(2L, result);
     }
 
+    @Test
+    void countUnreadByRecipientIds_ShouldMatchSingleCountsAndSkipDeleted() {
+        // Arrange
+        long before = notificationRepository.countUnreadByRecipientId(user1.getUserId());
+        jdbcTemplate.update("UPDATE notifications SET is_deleted = true WHERE id = ?", notification1.getId());
+
+        // Act
+        List<Object[]> rows = notificationRepository.countUnreadByRecipientIds(List.of(user1.getUserId(), user2.getUserId()));
+
+        // Assert
+        long user1Count = rows.stream()
+                .filter(row -> user1.getUserId().equals(row[0]))
+                .mapToLong(row -> (Long) row[1])
+                .sum();
+        assertEquals(before - 1, user1Count);
+        assertEquals(before - 1, notificationRepository.countUnreadByRecipientId(user1.getUserId()));
+    }
+
+    @Test
+    void findInbox_ShouldPageNewestFirstAndSkipDeleted() {
+        // Arrange
+        jdbcTemplate.update("UPDATE notifications SET is_deleted = true WHERE id = ?", notification2.getId());
+
+        // Act
+        List<NotificationDto> all = notificationRepository.findInboxFirstPage(user1.getUserId(), null, null, null, PageRequest.of(0, 10));
+        List<NotificationDto> firstPage = notificationRepository.findInboxFirstPage(user1.getUserId(), null, null, null, PageRequest.of(0, 1));
+        NotificationDto last = firstPage.get(0);
+        List<NotificationDto> secondPage = notificationRepository.findInboxWithCursor(user1.getUserId(), null, null, null,
+                last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(2, all.size());
+        assertTrue(all.stream().noneMatch(dto -> dto.getId().equals(notification2.getId())));
+        assertTrue(all.stream().allMatch(dto -> "testuser1".equals(dto.getRecipientUsername())));
+        assertEquals(all.get(0).getId(), last.getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(all.get(1).getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void findInbox_ShouldApplyFiltersAndProjectSender() {
+        // Act
+        List<NotificationDto> system = notificationRepository.findInboxFirstPage(user1.getUserId(), false, null, "system", PageRequest.of(0, 10));
+        List<NotificationDto> comments = notificationRepository.findInboxFirstPage(user1.getUserId(), null, "comment", null, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, system.size());
+        assertNull(system.get(0).getSenderUsername());
+        assertEquals(1, comments.size());
+        assertEquals("testuser2", comments.get(0).getSenderUsername());
+        assertEquals(1L, notificationRepository.countInbox(user1.getUserId(), false, null, "system"));
+        assertEquals(3L, notificationRepository.countInbox(user1.getUserId(), null, null, null));
+    }
+
     @Test
     void findByRecipientAndNotificationTypeOrderByCreatedAtDesc_ShouldReturnNotificationsByType() {
         // Act
@@ -228,7 +300,7 @@ class NotificationRepositoryTest {
         Instant readAt = Instant.now();
 
         // Act
-        notificationRepository.markAsRead(notification1.getId(), readAt);
+        notificationRepository.markAsRead(notification1.getId(), user1, readAt);
 
         // Assert
         entityManager.clear();
@@ -319,4 +391,78 @@ class NotificationRepositoryTest {
         assertEquals(1, result.size());
         assertEquals(123L, result.get(0).getRelatedCommentId());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void notificationIngestionFlush_ShouldBatchInsertCoalescedRows() {
+        // Arrange
+        NotificationIngestionServiceImpl ingestion = new NotificationIngestionServiceImpl(jdbcTemplate, transactionManager,
+                mock(BlockService.class), mock(UnreadNotificationCounter.class), mock(NotificationPushService.class), 100, 50);
+        ingestion.enqueueLike(user2, user3, 7L);
+        ingestion.enqueueLike(user1, user3, 7L);
+        ingestion.enqueueFollow(user2, user3);
+
+        // Act
+        int written = ingestion.flush();
+
+        // Assert
+        assertEquals(2, written);
+        List<Notification> result = notificationRepository.findByRecipientAndNotificationTypeOrderByCreatedAtDesc(user3, "like");
+        assertEquals(1, result.size());
+        Notification like = result.get(0);
+        assertEquals("testuser1 and 1 other liked your post", like.getMessage());
+        assertEquals(user1.getUserId(), like.getSender().getUserId());
+        assertEquals(7L, like.getRelatedPostId());
+        assertEquals("/posts/7", like.getActionUrl());
+        assertFalse(like.isRead());
+        assertFalse(like.isDeleted());
+        assertNotNull(like.getCreatedAt());
+        assertEquals(1, notificationRepository.findByRecipientAndNotificationTypeOrderByCreatedAtDesc(user3, "follow").size());
+    }
+
+    @Test
+    void notificationRetentionPurge_ShouldArchiveOldReadAndDeletedRowsOnly() {
+        // Arrange
+        Timestamp sixtyDaysAgo = Timestamp.from(Instant.now().minus(60, ChronoUnit.DAYS));
+        jdbcTemplate.update("UPDATE notifications SET created_at = ?", sixtyDaysAgo);
+        jdbcTemplate.update("UPDATE notifications SET is_deleted = true WHERE id = ?", notification1.getId());
+        jdbcTemplate.update("UPDATE notifications SET is_read = true WHERE id = ?", notification2.getId());
+        NotificationRetentionServiceImpl retention = new NotificationRetentionServiceImpl(jdbcTemplate, transactionManager,
+                true, 30, 1, 10, 0, 60_000);
+
+        // Act
+        long purged = retention.purge();
+
+        // Assert
+        assertEquals(2, purged);
+        List<Long> remaining = jdbcTemplate.queryForList("SELECT id FROM notifications", Long.class);
+        assertEquals(List.of(notification3.getId()), remaining);
+        List<Long> archived = jdbcTemplate.queryForList("SELECT id FROM notifications_archive ORDER BY id", Long.class);
+        assertEquals(List.of(notification1.getId(), notification2.getId()), archived);
+        assertEquals("Follow Notification", jdbcTemplate.queryForObject(
+                "SELECT title FROM notifications_archive WHERE id = ?", String.class, notification2.getId()));
+        NotificationRetentionStats stats = retention.getStats();
+        assertEquals(2, stats.getLastRunPurged());
+        assertEquals(2, stats.getLastRunBatches());
+        assertEquals(2, stats.getTotalArchived());
+        assertEquals(0, stats.getFailedBatches());
+        assertEquals(0, retention.purge());
+    }
+
+    @Test
+    void notificationRetentionPurge_ShouldStopAtRunTimeLimit() {
+        // Arrange
+        Timestamp sixtyDaysAgo = Timestamp.from(Instant.now().minus(60, ChronoUnit.DAYS));
+        jdbcTemplate.update("UPDATE notifications SET created_at = ?, is_read = true", sixtyDaysAgo);
+        NotificationRetentionServiceImpl retention = new NotificationRetentionServiceImpl(jdbcTemplate, transactionManager,
+                false, 30, 1, 10, 0, 0);
+
+        // Act
+        long purged = retention.purge();
+
+        // Assert
+        assertEquals(1, purged);
+        assertEquals(1, retention.getStats().getLastRunBatches());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Integer.class));
+        assertEquals(1, retention.purge());
+    }
+}
@@ -0,0 +1,356 @@
+package com.programming.techie.springredditclone.repository.schema;
+
+import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.model.Subreddit;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.BlockRepository;
+import com.programming.techie.springredditclone.repository.CommentRepository;
+import com.programming.techie.springredditclone.repository.FollowRepository;
+import com.programming.techie.springredditclone.repository.NotificationRepository;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.repository.RandomVideoCallQueueRepository;
+import com.programming.techie.springredditclone.repository.SubredditRepository;
+import com.programming.techie.springredditclone.repository.UserRepository;
+import com.programming.techie.springredditclone.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each hot repository query, captures the SQL and bind values Hibernate sends,
+ * and replays that statement under EXPLAIN. Fails if a query stops using the index
+ * declared for it on the entity, including after a change to the query itself.
+ * On Postgres sequential scans are disabled for the session so the small test
+ * tables still produce the plan a large table would.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(QueryIndexPlanTest.StatementCaptureConfig.class)
+class QueryIndexPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 21);
+    private static final List<CapturedStatement> CAPTURED = new ArrayList<>();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private RandomVideoCallQueueRepository randomVideoCallQueueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubredditRepository subredditRepository;
+
+    private boolean postgres;
+    private User user;
+    private Subreddit subreddit;
+    private Post post;
+    private Comment comment;
+
+    static Stream<Arguments> hotQueries() {
+        Instant now = Instant.now();
+        return Stream.of(
+                Arguments.of("post feed page",
+                        (HotQuery) t -> t.postRepository.findFeedRowsWithCursor(now, Long.MAX_VALUE, PAGE),
+                        "idx_post_created_date_post_id"),
+                Arguments.of("user post feed page",
+                        (HotQuery) t -> t.postRepository.findFeedRowsByUserWithCursor(t.user, now, Long.MAX_VALUE, PAGE),
+                        "idx_post_user_created_date_post_id"),
+                Arguments.of("subreddit post feed page",
+                        (HotQuery) t -> t.postRepository.findFeedRowsBySubredditWithCursor(t.subreddit, now, Long.MAX_VALUE, PAGE),
+                        "idx_post_subreddits_subreddit_post"),
+                Arguments.of("top-level comment page",
+                        (HotQuery) t -> t.commentRepository.findTopLevelCommentsByPostWithCursor(t.post.getPostId(), 0L, PAGE),
+                        "idx_comments_post_parent_id"),
+                Arguments.of("reply page",
+                        (HotQuery) t -> t.commentRepository.findRepliesByCommentWithCursor(t.comment.getId(), 0L, PAGE),
+                        "idx_comments_parent_id"),
+                Arguments.of("user comment page",
+                        (HotQuery) t -> t.commentRepository.findCommentsByUserWithCursor(t.user, 0L, PAGE),
+                        "idx_comments_user_id"),
+                Arguments.of("comment thread range",
+                        (HotQuery) t -> t.commentRepository.findThreadDescendants(t.post.getPostId(),
+                                "0000000000000000001", "0000000000000000011", 3, PAGE),
+                        "idx_comments_post_path"),
+                Arguments.of("newest comment page",
+                        (HotQuery) t -> t.commentRepository.findTopLevelCommentsByPostNewestWithCursor(t.post.getPostId(), now, 100L, PAGE),
+                        "idx_comments_post_parent_created"),
+                Arguments.of("top comment page",
+                        (HotQuery) t -> t.commentRepository.findTopLevelCommentsByPostTopWithCursor(t.post.getPostId(), 5, 100L, PAGE),
+                        "idx_comments_post_parent_votes"),
+                Arguments.of("viewer post votes",
+                        (HotQuery) t -> t.voteRepository.findPostVoteStatesByUser(t.user, List.of(1L, 2L, 3L)),
+                        "uk_votes_user_post"),
+                Arguments.of("viewer comment upvotes",
+                        (HotQuery) t -> t.voteRepository.findUpvotedCommentIdsByUser(t.user.getUserId(), List.of(1L, 2L, 3L)),
+                        "uk_votes_user_comment"),
+                Arguments.of("votes on a comment",
+                        (HotQuery) t -> t.voteRepository.countUpvotesByComment(t.comment),
+                        "idx_votes_comment"),
+                Arguments.of("active followers",
+                        (HotQuery) t -> t.followRepository.findActiveFollowerIds(t.user.getUserId()),
+                        "idx_follows_following_active"),
+                Arguments.of("active following",
+                        (HotQuery) t -> t.followRepository.findActiveFollowingIds(t.user),
+                        "idx_follows_follower_active"),
+                Arguments.of("blocked users",
+                        (HotQuery) t -> t.blockRepository.findBlockedUserIdsByBlocker(t.user),
+                        "idx_blocks_blocker_active"),
+                Arguments.of("blockers",
+                        (HotQuery) t -> t.blockRepository.findBlockerUserIdsByBlocked(t.user),
+                        "idx_blocks_blocked_active"),
+                Arguments.of("notification inbox page",
+                        (HotQuery) t -> t.notificationRepository.findInboxFirstPage(t.user.getUserId(), null, null, null, PAGE),
+                        "idx_notifications_recipient_deleted_created"),
+                Arguments.of("unread notification count",
+                        (HotQuery) t -> t.notificationRepository.countUnreadByRecipientId(t.user.getUserId()),
+                        "idx_notifications_recipient_read"),
+                Arguments.of("waiting call queue",
+                        (HotQuery) t -> t.randomVideoCallQueueRepository.findAllWaitingUsers(),
+                        "idx_rvcq_status_created"),
+                Arguments.of("active call request",
+                        (HotQuery) t -> t.randomVideoCallQueueRepository.findActiveRequestByUser(t.user),
+                        "idx_rvcq_user_status"),
+                Arguments.of("call request lookup",
+                        (HotQuery) t -> t.randomVideoCallQueueRepository.findByRequestId("request"),
+                        "idx_rvcq_request_id"),
+                Arguments.of("username prefix page",
+                        (HotQuery) t -> t.userRepository.findUsernamePrefixFirstPage("pla%", PAGE),
+                        "idx_users_username_lower"),
+                Arguments.of("subreddit listing page",
+                        (HotQuery) t -> t.subredditRepository.findListingWithCursor("java", 1L, PAGE),
+                        "idx_subreddit_name_id")
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        postgres = product != null && product.toLowerCase(Locale.ROOT).contains("postgres");
+        if (postgres) {
+            jdbcTemplate.execute("SET enable_seqscan = off");
+        }
+
+        user = new User();
+        user.setUsername("planner");
+        user.setEmail("planner@example.com");
+        user.setPassword("password");
+        user.setEnabled(true);
+        user.setCreated(Instant.now());
+        user = entityManager.persist(user);
+
+        subreddit = Subreddit.builder().name("java").description("Java").createdDate(Instant.now()).user(user).build();
+        subreddit = entityManager.persist(subreddit);
+
+        post = new Post();
+        post.setPostName("Post");
+        post.setDescription("Description");
+        post.setUser(user);
+        post.setCreatedDate(Instant.now());
+        post = entityManager.persist(post);
+
+        comment = new Comment();
+        comment.setText("Comment");
+        comment.setPost(post);
+        comment.setUser(user);
+        comment = entityManager.persist(comment);
+        entityManager.flush();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryShouldUseItsIndex(String description, HotQuery query, String index) {
+        CapturedStatement statement = capture(query);
+        String plan = explain(statement);
+
+        assertThat(plan.toLowerCase(Locale.ROOT)).as("plan for %s:%n%s%n%s", description, statement.sql, plan).contains(index);
+    }
+
+    // Runs the repository query and returns the last SELECT it sent
+    private CapturedStatement capture(HotQuery query) {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+        query.run(this);
+        synchronized (CAPTURED) {
+            for (int i = CAPTURED.size() - 1; i >= 0; i--) {
+                CapturedStatement statement = CAPTURED.get(i);
+                if (statement.sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    return statement;
+                }
+            }
+        }
+        throw new AssertionError("The repository query sent no SELECT statement");
+    }
+
+    private String explain(CapturedStatement statement) {
+        List<String> lines = jdbcTemplate.query("EXPLAIN " + statement.sql, ps -> {
+            for (Binding binding : statement.bindings) {
+                binding.apply(ps);
+            }
+        }, (rs, rowNum) -> rs.getString(1));
+        return lines.stream().collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @FunctionalInterface
+    interface HotQuery {
+        void run(QueryIndexPlanTest test);
+    }
+
+    private record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+
+    // One set* call on a PreparedStatement, replayed on the EXPLAIN statement at the same position
+    private record Binding(Method method, Object[] args) {
+        void apply(PreparedStatement ps) throws SQLException {
+            try {
+                method.invoke(ps, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Wraps the test DataSource so every prepared statement records its SQL and bind values when executed
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        // H2 backs every foreign key with an index of its own, which Postgres does not, and on
+        // empty tables its planner prefers that single-column index whenever a query carries an
+        // extra residual predicate. Dropping the constraints once the schema exists leaves only
+        // the declared indexes, so H2 chooses between the same candidates Postgres would.
+        @Bean
+        SmartInitializingSingleton h2ForeignKeyIndexRemover(DataSource dataSource) {
+            return () -> {
+                JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+                String product = jdbc.execute((ConnectionCallback<String>) connection ->
+                        connection.getMetaData().getDatabaseProductName());
+                if (product == null || !product.toLowerCase(Locale.ROOT).contains("h2")) {
+                    return;
+                }
+                jdbc.query("SELECT TABLE_NAME, CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                                "WHERE CONSTRAINT_TYPE = 'FOREIGN KEY' AND TABLE_SCHEMA = 'PUBLIC'",
+                                (rs, rowNum) -> "ALTER TABLE \"" + rs.getString(1) + "\" DROP CONSTRAINT \"" + rs.getString(2) + "\"")
+                        .forEach(jdbc::execute);
+            };
+        }
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return capturing(super.getConnection());
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(QueryIndexPlanTest.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return capturing(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(QueryIndexPlanTest.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            bindings.add(new Binding(method, args.clone()));
+                        } else if (name.equals("clearParameters")) {
+                            bindings.clear();
+                        } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                            synchronized (CAPTURED) {
+                                CAPTURED.add(new CapturedStatement(sql, List.copyOf(bindings)));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
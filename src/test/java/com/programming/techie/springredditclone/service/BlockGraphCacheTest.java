@@ -0,0 +1,160 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.BlockGraphSnapshot;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.BlockRepository;
+import com.programming.techie.springredditclone.service.impl.BlockGraphCacheImpl;
+import com.programming.techie.springredditclone.util.BlockContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockGraphCacheTest {
+
+    @Mock
+    private BlockRepository blockRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private BlockGraphCacheImpl blockGraphCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        blockGraphCache = new BlockGraphCacheImpl(blockRepository, redisService, listenerContainer, 100, 60, 1800);
+
+        user = new User();
+        user.setUserId(1L);
+        user.setUsername("viewer");
+    }
+
+    @Test
+    @DisplayName("Should load from database once and serve later reads from the local tier")
+    void shouldServeRepeatedReadsFromLocalTier() {
+        // Given
+        when(blockRepository.findBlockedUserIdsByBlocker(user)).thenReturn(List.of(2L));
+        when(blockRepository.findBlockerUserIdsByBlocked(user)).thenReturn(List.of(3L));
+
+        // When
+        BlockContext first = blockGraphCache.getBlockGraph(user);
+        BlockContext second = blockGraphCache.getBlockGraph(user);
+
+        // Then
+        assertThat(first.hasBlocked(2L)).isTrue();
+        assertThat(first.isBlockedBy(3L)).isTrue();
+        assertThat(first.hasBlockRelationship(4L)).isFalse();
+        assertThat(second).isSameAs(first);
+        verify(blockRepository, times(1)).findBlockedUserIdsByBlocker(user);
+        verify(redisService).set(eq("block:graph:1"), any(BlockGraphSnapshot.class), eq(1800L), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should use the Redis snapshot when its version is current")
+    void shouldUseRedisSnapshotWithCurrentVersion() {
+        // Given
+        when(redisService.get("block:graph:version:1", Number.class)).thenReturn(4L);
+        when(redisService.get("block:graph:1", BlockGraphSnapshot.class))
+                .thenReturn(new BlockGraphSnapshot(4L, new long[]{7L}, new long[0]));
+
+        // When
+        BlockContext context = blockGraphCache.getBlockGraph(user);
+
+        // Then
+        assertThat(context.hasBlocked(7L)).isTrue();
+        verifyNoInteractions(blockRepository);
+    }
+
+    @Test
+    @DisplayName("Should reload from database when the Redis snapshot is from an older version")
+    void shouldReloadWhenRedisSnapshotIsStale() {
+        // Given
+        when(redisService.get("block:graph:version:1", Number.class)).thenReturn(5L);
+        when(redisService.get("block:graph:1", BlockGraphSnapshot.class))
+                .thenReturn(new BlockGraphSnapshot(4L, new long[]{7L}, new long[0]));
+        when(blockRepository.findBlockedUserIdsByBlocker(user)).thenReturn(List.of());
+        when(blockRepository.findBlockerUserIdsByBlocked(user)).thenReturn(List.of());
+
+        // When
+        BlockContext context = blockGraphCache.getBlockGraph(user);
+
+        // Then
+        assertThat(context.hasBlocked(7L)).isFalse();
+        verify(blockRepository).findBlockedUserIdsByBlocker(user);
+    }
+
+    @Test
+    @DisplayName("Should bump version, drop cached copies and broadcast on invalidation")
+    void shouldBroadcastInvalidation() {
+        // Given
+        when(blockRepository.findBlockedUserIdsByBlocker(user)).thenReturn(List.of());
+        when(blockRepository.findBlockerUserIdsByBlocked(user)).thenReturn(List.of());
+        when(redisService.increment("block:graph:version:1")).thenReturn(1L);
+        blockGraphCache.getBlockGraph(user);
+
+        // When
+        blockGraphCache.invalidate(1L);
+        blockGraphCache.getBlockGraph(user);
+
+        // Then
+        verify(redisService).delete("block:graph:1");
+        verify(redisService).publish("block:graph:invalidate", "1:1");
+        verify(blockRepository, times(2)).findBlockedUserIdsByBlocker(user);
+    }
+
+    @Test
+    @DisplayName("Should evict the local copy when another node broadcasts a newer version")
+    void shouldEvictOnRemoteInvalidation() {
+        // Given
+        when(blockRepository.findBlockedUserIdsByBlocker(user)).thenReturn(List.of());
+        when(blockRepository.findBlockerUserIdsByBlocked(user)).thenReturn(List.of());
+        blockGraphCache.getBlockGraph(user);
+
+        // When
+        byte[] body = "\"1:3\"".getBytes(StandardCharsets.UTF_8);
+        blockGraphCache.onMessage(new DefaultMessage("block:graph:invalidate".getBytes(StandardCharsets.UTF_8), body), null);
+        blockGraphCache.getBlockGraph(user);
+
+        // Then
+        verify(blockRepository, times(2)).findBlockedUserIdsByBlocker(user);
+    }
+
+    @Test
+    @DisplayName("Should not cache a graph when the version changes while it is loading")
+    void shouldNotCacheGraphInvalidatedDuringLoad() {
+        // Given
+        when(redisService.get("block:graph:version:1", Number.class)).thenReturn(2L, 3L);
+        when(blockRepository.findBlockedUserIdsByBlocker(user)).thenReturn(List.of(2L));
+        when(blockRepository.findBlockerUserIdsByBlocked(user)).thenReturn(List.of());
+
+        // When
+        BlockContext first = blockGraphCache.getBlockGraph(user);
+        blockGraphCache.getBlockGraph(user);
+
+        // Then
+        assertThat(first.hasBlocked(2L)).isTrue();
+        verify(redisService, never()).set(eq("block:graph:1"), argThat((BlockGraphSnapshot s) -> s.getVersion() == 2L),
+                anyLong(), any(TimeUnit.class));
+        verify(blockRepository, times(2)).findBlockedUserIdsByBlocker(user);
+    }
+}
@@ -48,6 +48,9 @@ class BlockServiceTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private BlockGraphCache blockGraphCache;
+
     @InjectMocks
     private BlockServiceImpl blockService;
 
@@ -109,6 +112,7 @@ class BlockServiceTest {
         assertThat(response.isActive()).isTrue();
 
         verify(blockRepository).save(any(Block.class));
+        verify(blockGraphCache).invalidate(1L, 2L);
     }
 
     @Test
@@ -182,6 +186,7 @@ class BlockServiceTest {
         assertThat(response.isActive()).isFalse();
 
         verify(blockRepository).save(any(Block.class));
+        verify(blockGraphCache).invalidate(1L, 2L);
     }
 
     @Test
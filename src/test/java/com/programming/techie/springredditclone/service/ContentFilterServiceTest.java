@@ -0,0 +1,94 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.service.impl.ContentFilterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentFilterServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path wordList;
+    private ContentFilterServiceImpl contentFilterService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        wordList = tempDir.resolve("words.txt");
+        Files.writeString(wordList, "# comment line\nshit\n\nbastard\ntwat\nabcd\nbc\n");
+        contentFilterService = new ContentFilterServiceImpl(new DefaultResourceLoader(), wordList.toUri().toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "This comment contains shit",
+            "SHIT",
+            "Shit!",
+            "bastard!!",
+            "sh1t and $h!t",
+            "\uFF53\uFF48\uFF49\uFF54", // fullwidth
+            "\u0455h\u0456t", // Cyrillic dze and i
+            "sh\u00EFt", // i with diaeresis
+            "s\u200Bh\u0336it", // zero-width space and combining stroke
+            "B4$T4RD",
+            "a bc d"
+    })
+    void containsProfanity_ShouldMatchNormalizedText(String text) {
+        assertThat(contentFilterService.containsProfanity(text)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "This is a clean comment",
+            "this hit the spot",
+            "shiitake",
+            "s h i t",
+            "a b c d",
+            "saltwater fishing",
+            "Whitwater",
+            "shitake mushrooms",
+            "bullshitting",
+            "xabce",
+            "abcbc",
+            ""
+    })
+    void containsProfanity_ShouldOnlyMatchWholeWords(String text) {
+        assertThat(contentFilterService.containsProfanity(text)).isFalse();
+    }
+
+    @Test
+    void containsProfanity_WithNull_ShouldReturnFalse() {
+        assertThat(contentFilterService.containsProfanity(null)).isFalse();
+    }
+
+    @Test
+    void reloadIfModified_ShouldPickUpEditedWordList() throws IOException {
+        assertThat(contentFilterService.containsProfanity("gadzooks")).isFalse();
+
+        Files.writeString(wordList, "gadzooks\n");
+        wordList.toFile().setLastModified(wordList.toFile().lastModified() + 5000);
+        contentFilterService.reloadIfModified();
+
+        assertThat(contentFilterService.containsProfanity("Gadzooks!")).isTrue();
+        assertThat(contentFilterService.containsProfanity("shit")).isFalse();
+    }
+
+    @Test
+    void reload_WhenWordListIsMissing_ShouldKeepPreviousList() throws IOException {
+        Files.delete(wordList);
+
+        contentFilterService.reload();
+
+        assertThat(contentFilterService.containsProfanity("shit")).isTrue();
+    }
+}
@@ -0,0 +1,184 @@
+package com.programming.techie.springredditclone.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programming.techie.springredditclone.dto.CommentExportRow;
+import com.programming.techie.springredditclone.dto.PostExportRow;
+import com.programming.techie.springredditclone.repository.CommentRepository;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.impl.ExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final int LARGE_EXPORT_ROWS = 1_000_000;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(postRepository, commentRepository);
+    }
+
+    @Test
+    void exportUserHistory_ShouldWritePostsThenCommentsAsOneJsonObjectPerLine() throws IOException {
+        Instant created = Instant.parse("2024-05-01T10:15:30Z");
+        when(postRepository.streamExportRowsByUserId(7L)).thenReturn(Stream.of(
+                new PostExportRow(1L, "First", null, "Line one\nline two", 3, 2, created)));
+        when(commentRepository.streamExportRowsByUserId(7L)).thenReturn(Stream.of(
+                new CommentExportRow(10L, 1L, null, "Top \"quoted\"", created, null, 5, false),
+                new CommentExportRow(11L, 1L, 10L, "Reply", created, created, 0, true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long lines = exportService.exportUserHistory(7L, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(lines).isEqualTo(3);
+        assertThat(body).endsWith("}\n");
+        List<String> rows = body.lines().toList();
+        assertThat(rows).hasSize(3);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode post = mapper.readTree(rows.get(0));
+        assertThat(post.get("type").asText()).isEqualTo("post");
+        assertThat(post.get("description").asText()).isEqualTo("Line one\nline two");
+        assertThat(post.get("url").isNull()).isTrue();
+        assertThat(post.get("createdDate").asText()).isEqualTo("2024-05-01T10:15:30Z");
+        JsonNode top = mapper.readTree(rows.get(1));
+        assertThat(top.get("type").asText()).isEqualTo("comment");
+        assertThat(top.get("text").asText()).isEqualTo("Top \"quoted\"");
+        assertThat(top.get("parentCommentId").isNull()).isTrue();
+        JsonNode reply = mapper.readTree(rows.get(2));
+        assertThat(reply.get("parentCommentId").asLong()).isEqualTo(10L);
+        assertThat(reply.get("deleted").asBoolean()).isTrue();
+    }
+
+    @Test
+    void exportUserHistory_ShouldCloseResultStreamsAndLeaveOutputOpen() throws IOException {
+        AtomicBoolean postsClosed = new AtomicBoolean();
+        AtomicBoolean commentsClosed = new AtomicBoolean();
+        AtomicBoolean outputClosed = new AtomicBoolean();
+        when(postRepository.streamExportRowsByUserId(7L)).thenReturn(Stream.<PostExportRow>empty()
+                .onClose(() -> postsClosed.set(true)));
+        when(commentRepository.streamExportRowsByUserId(7L)).thenReturn(Stream.<CommentExportRow>empty()
+                .onClose(() -> commentsClosed.set(true)));
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                outputClosed.set(true);
+            }
+        };
+
+        long lines = exportService.exportUserHistory(7L, out);
+
+        assertThat(lines).isZero();
+        assertThat(out.toString()).isEmpty();
+        assertThat(postsClosed).isTrue();
+        assertThat(commentsClosed).isTrue();
+        assertThat(outputClosed).isFalse();
+    }
+
+    /**
+     * Exports a million synthetic rows, about 200 MB of NDJSON, in a separate JVM with a
+     * 32 MB heap. Buffering the history anywhere on the way out fails with OutOfMemoryError.
+     */
+    @Test
+    void exportUserHistory_WithMillionRows_ShouldRunInSmallHeap() throws Exception {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(), "-Xmx32m",
+                "-cp", System.getProperty("java.class.path"),
+                LargeExport.class.getName(), String.valueOf(LARGE_EXPORT_ROWS))
+                .redirectErrorStream(true)
+                .start();
+        boolean finished = process.waitFor(2, TimeUnit.MINUTES);
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!finished) {
+            process.destroyForcibly();
+        }
+
+        assertThat(finished).isTrue();
+        assertThat(process.exitValue()).as(output).isZero();
+        assertThat(output.trim()).endsWith("lines=" + (LARGE_EXPORT_ROWS + 1) + " newlines=" + (LARGE_EXPORT_ROWS + 1));
+    }
+
+    /**
+     * Child process entry point: repositories are plain proxies over lazily generated
+     * streams, so the only memory the export can hold on to is its own.
+     */
+    static final class LargeExport {
+
+        public static void main(String[] args) throws IOException {
+            int rows = Integer.parseInt(args[0]);
+            Instant created = Instant.parse("2024-05-01T10:15:30Z");
+            String text = "Synthetic comment text long enough to make each exported line well over a hundred bytes.";
+            PostRepository posts = repository(PostRepository.class, () -> Stream.of(
+                    new PostExportRow(1L, "Post", "https://example.com", "Description", 0, rows, created)));
+            CommentRepository comments = repository(CommentRepository.class, () -> LongStream.rangeClosed(1, rows)
+                    .mapToObj(id -> new CommentExportRow(id, 1L, id > 1 ? id - 1 : null, text + id,
+                            created.plusSeconds(id), null, (int) (id % 100), false)));
+            NewlineCountingOutputStream out = new NewlineCountingOutputStream();
+
+            long lines = new ExportServiceImpl(posts, comments).exportUserHistory(42L, out);
+
+            System.out.println("lines=" + lines + " newlines=" + out.newlines);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T repository(Class<T> type, Supplier<Stream<?>> rows) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().equals("streamExportRowsByUserId")) {
+                    return rows.get();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        }
+    }
+
+    private static final class NewlineCountingOutputStream extends OutputStream {
+        private long newlines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                newlines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    newlines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.RankedPost;
+import com.programming.techie.springredditclone.model.Post;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.impl.HotRankingServiceImpl;
+import com.programming.techie.springredditclone.util.HotScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotRankingServiceTest {
+
+    private static final String RANKING_KEY = "posts:hot";
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private VoteCounterService voteCounterService;
+
+    private HotRankingServiceImpl hotRankingService;
+
+    @BeforeEach
+    void setUp() {
+        hotRankingService = new HotRankingServiceImpl(postRepository, redisService, voteCounterService, 100, 7, 24, 60_000);
+    }
+
+    @Test
+    void hotScore_ShouldFavorEngagementAndRecency() {
+        Instant now = Instant.now();
+
+        assertThat(HotScore.compute(100, 0, now)).isGreaterThan(HotScore.compute(10, 0, now));
+        assertThat(HotScore.compute(10, 10, now)).isGreaterThan(HotScore.compute(10, 0, now));
+        assertThat(HotScore.compute(10, 0, now)).isGreaterThan(HotScore.compute(10, 0, now.minusSeconds(3600)));
+        // Ten times the votes buys the decay period of recency
+        assertThat(HotScore.compute(100, 0, now.minusSeconds(45000)))
+                .isCloseTo(HotScore.compute(10, 0, now), within(1e-9));
+    }
+
+    @Test
+    void updatePost_ShouldWriteScoreToSortedSet() {
+        Instant createdDate = Instant.now();
+        Post post = Post.builder().postId(7L).voteCount(12).commentCount(4).createdDate(createdDate).build();
+
+        hotRankingService.updatePost(post);
+
+        verify(redisService).zAddCapped(eq(List.of(RANKING_KEY)), eq(7L), eq(HotScore.compute(12, 4, createdDate)),
+                eq(100L), eq(7L), eq(TimeUnit.DAYS));
+    }
+
+    @Test
+    void updatePost_ShouldIncludePendingVoteDeltas() {
+        Instant createdDate = Instant.now();
+        Post post = Post.builder().postId(7L).voteCount(12).commentCount(4).createdDate(createdDate).build();
+        when(voteCounterService.getPendingPostDelta(7L)).thenReturn(3L);
+
+        hotRankingService.updatePost(post);
+
+        verify(redisService).zAddCapped(eq(List.of(RANKING_KEY)), eq(7L), eq(HotScore.compute(15, 4, createdDate)),
+                eq(100L), eq(7L), eq(TimeUnit.DAYS));
+    }
+
+    @Test
+    void getRankedPosts_ShouldContinueAfterCursorIncludingTies() {
+        when(redisService.hasKey("posts:hot:built")).thenReturn(true);
+        when(redisService.zReverseRangeByScoreWithScores(RANKING_KEY, 5.0, 5.0, -1))
+                .thenReturn(tuples(tuple(9L, 5.0), tuple(4L, 5.0), tuple(3L, 5.0)));
+        when(redisService.zReverseRangeByScoreWithScores(RANKING_KEY, Double.NEGATIVE_INFINITY, Math.nextDown(5.0), 3))
+                .thenReturn(tuples(tuple(8L, 4.0), tuple(2L, 3.0), tuple(1L, 2.0)));
+
+        List<RankedPost> page = hotRankingService.getRankedPosts(5.0, 4L, 3);
+
+        assertThat(page).extracting(RankedPost::getPostId).containsExactly(3L, 8L, 2L);
+    }
+
+    @Test
+    void getRankedPosts_ShouldLoadWholeTieGroupAtPageBoundary() {
+        when(redisService.hasKey("posts:hot:built")).thenReturn(true);
+        // Redis orders tied members by their serialized bytes, so "99" sorts above "200"
+        when(redisService.zReverseRangeByScoreWithScores(RANKING_KEY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 2))
+                .thenReturn(tuples(tuple(99L, 3.0), tuple(200L, 3.0)));
+        when(redisService.zReverseRangeByScoreWithScores(RANKING_KEY, 3.0, 3.0, -1))
+                .thenReturn(tuples(tuple(99L, 3.0), tuple(200L, 3.0), tuple(123L, 3.0)));
+
+        List<RankedPost> page = hotRankingService.getRankedPosts(null, null, 2);
+
+        assertThat(page).extracting(RankedPost::getPostId).containsExactly(200L, 123L);
+    }
+
+    @Test
+    void getRankedPosts_ShouldRebuildFromRecentPostsWhenNotBuilt() {
+        Instant now = Instant.now();
+        List<Object[]> inputs = new ArrayList<>();
+        inputs.add(new Object[]{1L, 1, 0, now});
+        inputs.add(new Object[]{2L, 500, 20, now.minusSeconds(3600)});
+        inputs.add(new Object[]{3L, 0, 0, now.minusSeconds(7200)});
+        when(redisService.hasKey("posts:hot:built")).thenReturn(false);
+        when(postRepository.findRankingInputsSince(any(Instant.class), any(Pageable.class))).thenReturn(inputs);
+
+        List<RankedPost> page = hotRankingService.getRankedPosts(null, null, 2);
+
+        assertThat(page).extracting(RankedPost::getPostId).containsExactly(2L, 1L);
+        verify(redisService).zAddAll(eq(RANKING_KEY), argThat(seed -> seed.size() == 3), eq(100L), eq(7L), eq(TimeUnit.DAYS));
+        verify(redisService).set("posts:hot:built", 1, 24L, TimeUnit.HOURS);
+    }
+
+    @Test
+    void getRankedPosts_ShouldServeLastRankingWhileRedisIsUnavailable() {
+        Instant now = Instant.now();
+        List<Object[]> inputs = new ArrayList<>();
+        inputs.add(new Object[]{1L, 1, 0, now});
+        inputs.add(new Object[]{2L, 500, 20, now.minusSeconds(3600)});
+        // A failing Redis reports every key as missing
+        when(redisService.hasKey("posts:hot:built")).thenReturn(false);
+        when(postRepository.findRankingInputsSince(any(Instant.class), any(Pageable.class))).thenReturn(inputs);
+
+        hotRankingService.getRankedPosts(null, null, 2);
+        List<RankedPost> page = hotRankingService.getRankedPosts(null, null, 2);
+
+        assertThat(page).extracting(RankedPost::getPostId).containsExactly(2L, 1L);
+        verify(postRepository, times(1)).findRankingInputsSince(any(Instant.class), any(Pageable.class));
+    }
+
+    @Test
+    void getRankedPosts_ShouldRebuildOnceForConcurrentRequests() throws Exception {
+        Instant now = Instant.now();
+        List<Object[]> inputs = new ArrayList<>();
+        inputs.add(new Object[]{1L, 1, 0, now});
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisService.hasKey("posts:hot:built")).thenReturn(false);
+        when(postRepository.findRankingInputsSince(any(Instant.class), any(Pageable.class))).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return inputs;
+        });
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<RankedPost>> first = requests.submit(() -> hotRankingService.getRankedPosts(null, null, 2));
+            assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<List<RankedPost>> second = requests.submit(() -> hotRankingService.getRankedPosts(null, null, 2));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).extracting(RankedPost::getPostId).containsExactly(1L);
+            assertThat(second.get(5, TimeUnit.SECONDS)).extracting(RankedPost::getPostId).containsExactly(1L);
+        } finally {
+            requests.shutdownNow();
+        }
+        verify(postRepository, times(1)).findRankingInputsSince(any(Instant.class), any(Pageable.class));
+    }
+
+    private static ZSetOperations.TypedTuple<Object> tuple(Long postId, double score) {
+        return new DefaultTypedTuple<>(postId, score);
+    }
+
+    @SafeVarargs
+    private static Set<ZSetOperations.TypedTuple<Object>> tuples(ZSetOperations.TypedTuple<Object>... tuples) {
+        return new LinkedHashSet<>(List.of(tuples));
+    }
+}
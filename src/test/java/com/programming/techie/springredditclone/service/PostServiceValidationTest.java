@@ -44,6 +44,27 @@ class PostServiceValidationTest {
     @Mock
     private com.programming.techie.springredditclone.repository.VoteRepository voteRepository;
 
+    @Mock
+    private com.programming.techie.springredditclone.repository.FollowRepository followRepository;
+
+    @Mock
+    private com.programming.techie.springredditclone.service.TimelineService timelineService;
+
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private com.programming.techie.springredditclone.service.HotRankingService hotRankingService;
+
+    @Mock
+    private com.programming.techie.springredditclone.service.VoteCounterService voteCounterService;
+
+    @Mock
+    private com.programming.techie.springredditclone.service.ContentFilterService contentFilterService;
+
+    @Mock
+    private com.programming.techie.springredditclone.service.SearchService searchService;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -94,6 +115,32 @@ class PostServiceValidationTest {
         assertEquals("At least one subreddit must be specified", exception.getMessage());
     }
 
+    @Test
+    void shouldThrowExceptionWhenTitleContainsProfanity() {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setSubredditNames(Arrays.asList("testsubreddit"));
+        postRequest.setPostName("Sh1t title");
+        postRequest.setDescription("Test content");
+        when(contentFilterService.containsProfanity("Sh1t title")).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            postService.save(postRequest);
+        });
+
+        assertEquals("Post contains unacceptable language", exception.getMessage());
+        verify(postRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldAcceptMultiLineDescription() {
+        PostRequest postRequest = new PostRequest();
+        postRequest.setSubredditNames(Arrays.asList("testsubreddit"));
+        postRequest.setPostName("Test Post");
+        postRequest.setDescription("First line\nsecond line #tag");
+
+        assertDoesNotThrow(() -> postService.save(postRequest));
+    }
+
     @Test
     void shouldThrowExceptionWhenPostNameIsNull() {
         PostRequest postRequest = new PostRequest();
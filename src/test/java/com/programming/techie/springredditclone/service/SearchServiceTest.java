@@ -0,0 +1,87 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.SearchHit;
+import com.programming.techie.springredditclone.service.impl.SearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Statement selection on PostgreSQL with db/search.sql applied; the portable
+ * substring path runs against H2 in SearchQueryTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("information_schema.columns"), eq(Integer.class))).thenReturn(2);
+        searchService = new SearchServiceImpl(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchPosts_WhenFullTextMatches_ShouldRankByTsRankAfterCursor() {
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq("spring boot"))).thenReturn(true);
+        List<SearchHit> hits = List.of(new SearchHit(3L, 0.2));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), (Object[]) any())).thenReturn(hits);
+
+        List<SearchHit> result = searchService.searchPosts(" spring   boot ", 0.5, 9L, 11);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(result).isSameAs(hits);
+        assertThat(sql.getValue())
+                .contains("ts_rank_cd(p.search_vector", "websearch_to_tsquery")
+                .contains("WHERE score < ? OR (score = ? AND id < ?)")
+                .endsWith("ORDER BY score DESC, id DESC LIMIT ?");
+        assertThat(args.getAllValues()).containsExactly("spring boot", 0.5, 0.5, 9L, 11);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchComments_WhenFullTextMatchesNothing_ShouldFallBackToTrigramSimilarity() {
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq("gret post"))).thenReturn(false);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), (Object[]) any())).thenReturn(List.of());
+
+        searchService.searchComments("gret post", null, null, 5);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("word_similarity(?, c.text)", "? <% c.text", "c.deleted = false")
+                .doesNotContain("score < ?");
+        assertThat(args.getAllValues()).containsExactly("gret post", "gret post", 5);
+    }
+
+    @Test
+    void searchPosts_WithOverlongQuery_ShouldTruncateIt() {
+        String query = "a".repeat(250);
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), anyString())).thenReturn(false);
+
+        searchService.searchPosts(query, null, null, 5);
+
+        verify(jdbcTemplate).queryForObject(contains("EXISTS"), eq(Boolean.class),
+                eq("a".repeat(200)));
+    }
+}
@@ -0,0 +1,191 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.dto.FollowedAuthors;
+import com.programming.techie.springredditclone.dto.HeavyAuthorSnapshot;
+import com.programming.techie.springredditclone.repository.FollowRepository;
+import com.programming.techie.springredditclone.repository.PostRepository;
+import com.programming.techie.springredditclone.service.impl.TimelineServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    private TimelineServiceImpl timelineService;
+
+    @BeforeEach
+    void setUp() {
+        timelineService = new TimelineServiceImpl(followRepository, postRepository, redisService, 100, 1500, 72);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fanOutPost_ShouldPushToFollowerTimelinesInBatches() {
+        Instant createdDate = Instant.now();
+        List<Long> followerIds = LongStream.rangeClosed(1, 1200).boxed().collect(Collectors.toList());
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of());
+        when(followRepository.findActiveFollowerIds(99L)).thenReturn(followerIds);
+
+        timelineService.fanOutPost(7L, 99L, createdDate);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisService, times(2)).zAddCapped(keys.capture(), eq(7L), eq((double) createdDate.toEpochMilli()),
+                eq(100L), eq(72L), eq(TimeUnit.HOURS));
+        assertThat(keys.getAllValues().get(0)).hasSize(1000).startsWith("timeline:1");
+        assertThat(keys.getAllValues().get(1)).hasSize(200).endsWith("timeline:1200");
+    }
+
+    @Test
+    void fanOutPost_ShouldSkipHeavyAuthors() {
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of(99L));
+
+        timelineService.fanOutPost(7L, 99L, Instant.now());
+
+        verify(followRepository, never()).findActiveFollowerIds(anyLong());
+        verify(redisService, never()).zAddCapped(anyCollection(), any(), anyDouble(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getTimelinePostIds_ShouldReadRangeWhenTimelineIsBuilt() {
+        Instant before = Instant.now();
+        when(redisService.hasKey("timeline:built:1")).thenReturn(true);
+        when(redisService.zReverseRangeByScore("timeline:1", before.toEpochMilli(), 5))
+                .thenReturn(new LinkedHashSet<>(List.of(30, 20L)));
+
+        List<Long> postIds = timelineService.getTimelinePostIds(1L, List.of(2L), before, 5);
+
+        assertThat(postIds).containsExactly(30L, 20L);
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTimelinePostIds_ShouldRebuildAndServeFromSeedWhenMissing() {
+        Instant now = Instant.now();
+        List<Object[]> entries = new ArrayList<>();
+        entries.add(new Object[]{30L, now.minusSeconds(10)});
+        entries.add(new Object[]{20L, now.minusSeconds(20)});
+        entries.add(new Object[]{10L, now.minusSeconds(30)});
+        when(redisService.hasKey("timeline:built:1")).thenReturn(false);
+        when(postRepository.findTimelineEntriesByUserIds(eq(List.of(2L)), any(Pageable.class))).thenReturn(entries);
+
+        List<Long> postIds = timelineService.getTimelinePostIds(1L, List.of(2L), now.minusSeconds(15), 5);
+
+        assertThat(postIds).containsExactly(20L, 10L);
+        ArgumentCaptor<Map<Object, Double>> seed = ArgumentCaptor.forClass(Map.class);
+        verify(redisService).zAddAll(eq("timeline:1"), seed.capture(), eq(100L), eq(72L), eq(TimeUnit.HOURS));
+        assertThat(seed.getValue()).containsOnlyKeys(30L, 20L, 10L);
+        verify(redisService).set("timeline:built:1", 1, 72L, TimeUnit.HOURS);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addAuthor_ShouldMergeRecentPostsIntoBuiltTimeline() {
+        Instant now = Instant.now();
+        List<Object[]> entries = new ArrayList<>();
+        entries.add(new Object[]{30L, now.minusSeconds(10)});
+        entries.add(new Object[]{20L, now.minusSeconds(20)});
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of());
+        when(redisService.hasKey("timeline:built:1")).thenReturn(true);
+        when(postRepository.findTimelineEntriesByUserIds(eq(List.of(2L)), any(Pageable.class))).thenReturn(entries);
+
+        timelineService.addAuthor(1L, 2L);
+
+        ArgumentCaptor<Map<Object, Double>> merged = ArgumentCaptor.forClass(Map.class);
+        verify(redisService).zAddAll(eq("timeline:1"), merged.capture(), eq(100L), eq(72L), eq(TimeUnit.HOURS));
+        assertThat(merged.getValue()).containsOnlyKeys(30L, 20L);
+    }
+
+    @Test
+    void addAuthor_ShouldSkipUnbuiltTimeline() {
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of());
+        when(redisService.hasKey("timeline:built:1")).thenReturn(false);
+
+        timelineService.addAuthor(1L, 2L);
+
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void removeAuthor_ShouldRemoveAuthorsRecentPostsFromTimeline() {
+        Instant now = Instant.now();
+        List<Object[]> entries = new ArrayList<>();
+        entries.add(new Object[]{30L, now.minusSeconds(10)});
+        entries.add(new Object[]{20L, now.minusSeconds(20)});
+        when(postRepository.findTimelineEntriesByUserIds(eq(List.of(2L)), any(Pageable.class))).thenReturn(entries);
+
+        timelineService.removeAuthor(1L, 2L);
+
+        verify(redisService).zRemove("timeline:1", 30L, 20L);
+    }
+
+    @Test
+    void classifyAuthors_ShouldLoadHeavyAuthorsOnceWhenRedisHasNoSnapshot() {
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of(99L));
+
+        FollowedAuthors authors = timelineService.classifyAuthors(List.of(2L, 99L));
+        timelineService.classifyAuthors(List.of(3L));
+
+        assertThat(authors.getFanOutAuthorIds()).containsExactly(2L);
+        assertThat(authors.getFanOutOnReadAuthorIds()).containsExactly(99L);
+        verify(followRepository, times(1)).findUserIdsWithMoreActiveFollowersThan(1500L);
+        verify(redisService).set(eq("timeline:heavy-authors"), any(HeavyAuthorSnapshot.class));
+    }
+
+    @Test
+    void classifyAuthors_ShouldUseSharedSnapshotAndReadRecentlyLightAuthorsBothWays() {
+        long now = System.currentTimeMillis();
+        when(redisService.get("timeline:heavy-authors", HeavyAuthorSnapshot.class)).thenReturn(new HeavyAuthorSnapshot(
+                new long[]{99L}, new long[]{5L, 6L}, new long[]{now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.HOURS.toMillis(100)}));
+
+        FollowedAuthors authors = timelineService.classifyAuthors(List.of(2L, 5L, 6L, 99L));
+
+        assertThat(authors.getFanOutAuthorIds()).containsExactly(2L, 5L, 6L);
+        // Author 6 dropped under the limit before the grace period, so every timeline holds its posts by now
+        assertThat(authors.getFanOutOnReadAuthorIds()).containsExactly(5L, 99L);
+        verifyNoInteractions(followRepository);
+    }
+
+    @Test
+    void refreshHeavyAuthors_ShouldRecordAuthorsDroppingUnderLimit() {
+        long now = System.currentTimeMillis();
+        when(redisService.get("timeline:heavy-authors", HeavyAuthorSnapshot.class)).thenReturn(new HeavyAuthorSnapshot(
+                new long[]{98L, 99L}, new long[]{5L, 6L}, new long[]{now - TimeUnit.HOURS.toMillis(1), now - TimeUnit.HOURS.toMillis(100)}));
+        when(followRepository.findUserIdsWithMoreActiveFollowersThan(1500L)).thenReturn(List.of(98L));
+
+        timelineService.refreshHeavyAuthors();
+
+        ArgumentCaptor<HeavyAuthorSnapshot> snapshot = ArgumentCaptor.forClass(HeavyAuthorSnapshot.class);
+        verify(redisService).set(eq("timeline:heavy-authors"), snapshot.capture());
+        assertThat(snapshot.getValue().getHeavyAuthorIds()).containsExactly(98L);
+        assertThat(snapshot.getValue().getRecentlyLightAuthorIds()).containsExactly(5L, 99L);
+        assertThat(snapshot.getValue().getRecentlyLightSinceMillis()[1]).isGreaterThanOrEqualTo(now);
+    }
+}
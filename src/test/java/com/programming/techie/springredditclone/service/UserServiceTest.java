@@ -1,5 +1,6 @@
 package com.programming.techie.springredditclone.service;
 
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
 import com.programming.techie.springredditclone.dto.GetIntroDto;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.model.UserIntro;
@@ -9,13 +10,16 @@ import com.programming.techie.springredditclone.service.impl.UserServiceImpl;
 import com.programming.techie.springredditclone.mapper.UserMapper;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -24,7 +28,11 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +53,9 @@ class UserServiceTest {
     @Mock
     private BlockService blockService;
 
+    @Mock
+    private CursorUtil cursorUtil;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -124,134 +135,116 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should search users by username and return matching users")
-    void shouldSearchUsersByUsernameAndReturnMatchingUsers() {
+    @DisplayName("Should search users by lower-cased, escaped username prefix")
+    void shouldSearchUsersByLowerCasedEscapedPrefix() {
         // Given
-        User user1 = createUser(1L, "john_doe");
-        User user2 = createUser(2L, "jane_smith");
-        User user3 = createUser(3L, "bob_wilson");
-        
-        List<User> allUsers = Arrays.asList(user1, user2, user3);
-        when(userRepository.findAll()).thenReturn(allUsers);
-        
-        GetIntroDto dto1 = new GetIntroDto(1L, "john_doe", "John's bio");
-        
-        when(userIntroRepository.findByUserId(1L)).thenReturn(Optional.empty());
-        when(userMapper.mapToGetIntroDto(user1)).thenReturn(dto1);
+        when(userRepository.findUsernamePrefixFirstPage(eq("john\\_d%"), any(Pageable.class)))
+                .thenReturn(rows(row(1L, "John_Doe")));
+        when(userIntroRepository.findBiosByUserIds(List.of(1L))).thenReturn(List.of());
 
         // When
-        List<GetIntroDto> result = userService.searchUsersByUsername("john");
+        CursorPageResponse<GetIntroDto> result = userService.searchUsersByUsername("  John_D ", null, null);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getUsername()).isEqualTo("john_doe");
+        assertThat(result.getContent()).extracting("username").containsExactly("John_Doe");
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getLimit()).isEqualTo(10);
     }
 
     @Test
-    @DisplayName("Should search users by username case insensitive")
-    void shouldSearchUsersByUsernameCaseInsensitive() {
+    @DisplayName("Should return empty page without querying when prefix is blank")
+    void shouldReturnEmptyPageWhenPrefixIsBlank() {
+        // When
+        CursorPageResponse<GetIntroDto> result = userService.searchUsersByUsername("   ", null, 20);
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        verifyNoInteractions(userRepository, userIntroRepository);
+    }
+
+    @Test
+    @DisplayName("Should return empty page when no users match prefix")
+    void shouldReturnEmptyPageWhenNoUsersMatchPrefix() {
         // Given
-        User user1 = createUser(1L, "JohnDoe");
-        User user2 = createUser(2L, "JaneSmith");
-        
-        List<User> allUsers = Arrays.asList(user1, user2);
-        when(userRepository.findAll()).thenReturn(allUsers);
-        
-        GetIntroDto dto1 = new GetIntroDto(1L, "JohnDoe", "John's bio");
-        when(userIntroRepository.findByUserId(1L)).thenReturn(Optional.empty());
-        when(userMapper.mapToGetIntroDto(user1)).thenReturn(dto1);
+        when(userRepository.findUsernamePrefixFirstPage(eq("xyz%"), any(Pageable.class))).thenReturn(List.of());
 
         // When
-        List<GetIntroDto> result = userService.searchUsersByUsername("johndoe");
+        CursorPageResponse<GetIntroDto> result = userService.searchUsersByUsername("xyz", null, null);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getUsername()).isEqualTo("JohnDoe");
+        assertThat(result.getContent()).isEmpty();
+        verifyNoInteractions(userIntroRepository);
     }
 
     @Test
-    @DisplayName("Should return empty list when no users match search term")
-    void shouldReturnEmptyListWhenNoUsersMatchSearchTerm() {
+    @DisplayName("Should load bios for the whole page in one query")
+    void shouldLoadBiosForWholePageInOneQuery() {
         // Given
-        User user1 = createUser(1L, "john_doe");
-        User user2 = createUser(2L, "jane_smith");
-        
-        List<User> allUsers = Arrays.asList(user1, user2);
-        when(userRepository.findAll()).thenReturn(allUsers);
+        when(userRepository.findUsernamePrefixFirstPage(eq("john%"), any(Pageable.class)))
+                .thenReturn(rows(row(1L, "john_doe"), row(2L, "john_smith")));
+        when(userIntroRepository.findBiosByUserIds(List.of(1L, 2L)))
+                .thenReturn(rows(new Object[]{2L, "John's detailed bio"}));
 
         // When
-        List<GetIntroDto> result = userService.searchUsersByUsername("xyz");
+        CursorPageResponse<GetIntroDto> result = userService.searchUsersByUsername("john", null, null);
 
         // Then
-        assertThat(result).isEmpty();
+        assertThat(result.getContent()).extracting("bio").containsExactly(null, "John's detailed bio");
+        verify(userIntroRepository, never()).findByUserId(any());
     }
 
     @Test
-    @DisplayName("Should return users with intro data when available")
-    void shouldReturnUsersWithIntroDataWhenAvailable() {
+    @DisplayName("Should cap the page size and continue from the cursor of the last user")
+    void shouldCapPageSizeAndContinueFromCursor() {
         // Given
-        User user1 = createUser(1L, "john_doe");
-        UserIntro userIntro1 = createUserIntro(user1, "John's detailed bio");
-        
-        List<User> allUsers = Arrays.asList(user1);
-        when(userRepository.findAll()).thenReturn(allUsers);
-        when(userIntroRepository.findByUserId(1L)).thenReturn(Optional.of(userIntro1));
-        
-        GetIntroDto dto1 = new GetIntroDto(1L, "john_doe", "John's detailed bio");
-        when(userMapper.mapToGetIntroDto(user1, userIntro1)).thenReturn(dto1);
+        when(userRepository.findUsernamePrefixFirstPage(eq("j%"), any(Pageable.class)))
+                .thenReturn(rows(row(1L, "jane"), row(2L, "John")));
+        when(userIntroRepository.findBiosByUserIds(List.of(1L))).thenReturn(List.of());
+        when(cursorUtil.encodeKeyCursor("jane", 1L)).thenReturn("cursor-1");
+        when(cursorUtil.decodeKeyCursor("cursor-1")).thenReturn(new CursorUtil.KeyCursorData("jane", 1L));
+        when(userRepository.findUsernamePrefixWithCursor(eq("j%"), eq("jane"), eq(1L), any(Pageable.class)))
+                .thenReturn(rows(row(2L, "John")));
+        when(userIntroRepository.findBiosByUserIds(List.of(2L))).thenReturn(List.of());
 
         // When
-        List<GetIntroDto> result = userService.searchUsersByUsername("john");
+        CursorPageResponse<GetIntroDto> first = userService.searchUsersByUsername("j", null, 1);
+        CursorPageResponse<GetIntroDto> second = userService.searchUsersByUsername("j", first.getNextCursor(), 1);
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getUsername()).isEqualTo("john_doe");
-        assertThat(result.get(0).getBio()).isEqualTo("John's detailed bio");
+        assertThat(first.getContent()).extracting("username").containsExactly("jane");
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo("cursor-1");
+        assertThat(second.getContent()).extracting("username").containsExactly("John");
+        assertThat(second.isHasMore()).isFalse();
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findUsernamePrefixFirstPage(eq("j%"), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(2);
     }
 
     @Test
-    @DisplayName("Should return multiple users when search term matches multiple usernames")
-    void shouldReturnMultipleUsersWhenSearchTermMatchesMultipleUsernames() {
+    @DisplayName("Should cap the requested limit at 50")
+    void shouldCapRequestedLimitAtFifty() {
         // Given
-        User user1 = createUser(1L, "john_doe");
-        User user2 = createUser(2L, "john_smith");
-        User user3 = createUser(3L, "jane_doe");
-        
-        List<User> allUsers = Arrays.asList(user1, user2, user3);
-        when(userRepository.findAll()).thenReturn(allUsers);
-        
-        GetIntroDto dto1 = new GetIntroDto(1L, "john_doe", null);
-        GetIntroDto dto2 = new GetIntroDto(2L, "john_smith", null);
-        
-        when(userIntroRepository.findByUserId(1L)).thenReturn(Optional.empty());
-        when(userIntroRepository.findByUserId(2L)).thenReturn(Optional.empty());
-        when(userMapper.mapToGetIntroDto(user1)).thenReturn(dto1);
-        when(userMapper.mapToGetIntroDto(user2)).thenReturn(dto2);
+        when(userRepository.findUsernamePrefixFirstPage(eq("a%"), any(Pageable.class))).thenReturn(List.of());
 
         // When
-        List<GetIntroDto> result = userService.searchUsersByUsername("john");
+        CursorPageResponse<GetIntroDto> result = userService.searchUsersByUsername("a", null, 500);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).extracting("username").containsExactlyInAnyOrder("john_doe", "john_smith");
+        assertThat(result.getLimit()).isEqualTo(50);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findUsernamePrefixFirstPage(eq("a%"), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(51);
     }
 
-    private User createUser(Long userId, String username) {
-        User user = new User();
-        user.setUserId(userId);
-        user.setUsername(username);
-        user.setEmail(username + "@example.com");
-        user.setPassword("password");
-        user.setCreated(Instant.now());
-        user.setEnabled(true);
-        return user;
+    private static Object[] row(Long userId, String username) {
+        return new Object[]{userId, username, username.toLowerCase()};
     }
 
-    private UserIntro createUserIntro(User user, String bio) {
-        UserIntro userIntro = new UserIntro();
-        userIntro.setId(user.getUserId());
-        userIntro.setUser(user);
-        userIntro.setBio(bio);
-        return userIntro;
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
     }
-} 
\ No newline at end of file
+}
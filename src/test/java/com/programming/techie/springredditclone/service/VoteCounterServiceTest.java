@@ -0,0 +1,115 @@
+package com.programming.techie.springredditclone.service;
+
+import com.programming.techie.springredditclone.service.impl.VoteCounterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private VoteCounterServiceImpl voteCounterService;
+
+    @BeforeEach
+    void setUp() {
+        voteCounterService = new VoteCounterServiceImpl(jdbcTemplate, transactionManager, 500);
+    }
+
+    @Test
+    void addDelta_ShouldAccumulatePendingCountsPerRow() {
+        voteCounterService.addPostDelta(1L, 1);
+        voteCounterService.addPostDelta(1L, 1);
+        voteCounterService.addPostDelta(1L, -1);
+        voteCounterService.addPostDelta(2L, 1);
+        voteCounterService.addCommentDelta(1L, -1);
+
+        assertThat(voteCounterService.getPendingPostDelta(1L)).isEqualTo(1);
+        assertThat(voteCounterService.getPendingPostDelta(2L)).isEqualTo(1);
+        assertThat(voteCounterService.getPendingPostDelta(3L)).isZero();
+        assertThat(voteCounterService.getPendingCommentDelta(1L)).isEqualTo(-1);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteAdditiveBatchAndDrainPendingDeltas() {
+        voteCounterService.addPostDelta(1L, 1);
+        voteCounterService.addPostDelta(1L, 1);
+        voteCounterService.addPostDelta(2L, 1);
+        voteCounterService.addPostDelta(2L, -1);
+        voteCounterService.addCommentDelta(5L, -1);
+
+        voteCounterService.flush();
+
+        ArgumentCaptor<List<Object[]>> postRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE post SET vote_count = vote_count + ? WHERE post_id = ?"),
+                postRows.capture(), eq(500), any(ParameterizedPreparedStatementSetter.class));
+        // Rows whose deltas cancel out are skipped
+        assertThat(postRows.getValue()).containsExactly(new Object[]{2L, 1L});
+
+        ArgumentCaptor<List<Object[]>> commentRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE comments SET vote_count = vote_count + ? WHERE id = ?"),
+                commentRows.capture(), eq(500), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(commentRows.getValue()).containsExactly(new Object[]{-1L, 5L});
+
+        assertThat(voteCounterService.getPendingPostDelta(1L)).isZero();
+        assertThat(voteCounterService.getPendingCommentDelta(5L)).isZero();
+    }
+
+    @Test
+    void flush_ShouldKeepDeltasWhenWriteFails() {
+        voteCounterService.addPostDelta(1L, 1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        voteCounterService.flush();
+        voteCounterService.addPostDelta(1L, 1);
+
+        assertThat(voteCounterService.getPendingPostDelta(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void flush_ShouldKeepDeltasVisibleUntilWriteCommitsAndKeepLaterLikes() {
+        voteCounterService.addPostDelta(1L, 1);
+        voteCounterService.addPostDelta(1L, 1);
+        long[] pendingDuringWrite = new long[1];
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    pendingDuringWrite[0] = voteCounterService.getPendingPostDelta(1L);
+                    // A like landing while the batch is in flight
+                    voteCounterService.addPostDelta(1L, 1);
+                    return new int[][]{{1}};
+                });
+
+        voteCounterService.flush();
+
+        assertThat(pendingDuringWrite[0]).isEqualTo(2);
+        assertThat(voteCounterService.getPendingPostDelta(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void flush_ShouldSkipDatabaseWhenNothingPending() {
+        voteCounterService.flush();
+
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+}
@@ -1,11 +1,10 @@
 package com.programming.techie.springredditclone.service;
 
+import com.programming.techie.springredditclone.dto.VoteStatusDto;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.model.Comment;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
-import com.programming.techie.springredditclone.model.Vote;
-import com.programming.techie.springredditclone.model.VoteType;
 import com.programming.techie.springredditclone.repository.CommentRepository;
 import com.programming.techie.springredditclone.repository.PostRepository;
 import com.programming.techie.springredditclone.repository.VoteRepository;
@@ -21,7 +20,10 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -43,9 +45,18 @@ class VoteServiceLikeTest {
     @Mock
     private BlockService blockService;
 
+    @Mock
+    private BlockValidationService blockValidationService;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private VoteCounterService voteCounterService;
+
     @InjectMocks
     private VoteServiceImpl voteService;
 
@@ -74,23 +85,16 @@ class VoteServiceLikeTest {
     @DisplayName("Should do nothing when trying to like already liked post (idempotent)")
     void shouldDoNothingWhenTryingToLikeAlreadyLikedPost() {
         // Given
-        Vote existingVote = Vote.builder()
-                .voteType(VoteType.UPVOTE)
-                .post(testPost)
-                .user(testUser)
-                .build();
-
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(blockService.isBlockedByUser(anyLong())).thenReturn(false);
-        when(blockService.hasBlockedUser(anyLong())).thenReturn(false);
-        when(voteRepository.findByPostAndUser(testPost, testUser)).thenReturn(Optional.of(existingVote));
+        when(voteRepository.insertPostVoteIfAbsent(1L, 1L, "UPVOTE")).thenReturn(0);
 
         // When
         voteService.likePost(1L);
 
         // Then - should do nothing, no exceptions thrown
-        verify(voteRepository, never()).save(any(Vote.class));
+        verify(blockValidationService).validateCanInteract(testUser);
+        verify(voteCounterService, never()).addPostDelta(anyLong(), anyInt());
         verify(postRepository, never()).save(any(Post.class));
         verify(eventPublisher, never()).publishEvent(any());
     }
@@ -101,37 +105,29 @@ class VoteServiceLikeTest {
         // Given
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(voteRepository.findByPostAndUser(testPost, testUser)).thenReturn(Optional.empty());
+        when(voteRepository.deletePostVote(1L, 1L)).thenReturn(0);
 
         // When
         voteService.unlikePost(1L);
 
         // Then - should do nothing, no exceptions thrown
-        verify(voteRepository, never()).delete(any(Vote.class));
-        verify(postRepository, never()).save(any(Post.class));
+        verify(voteCounterService, never()).addPostDelta(anyLong(), anyInt());
+        verify(hotRankingService, never()).updatePost(any());
     }
 
     @Test
     @DisplayName("Should do nothing when trying to like already liked comment (idempotent)")
     void shouldDoNothingWhenTryingToLikeAlreadyLikedComment() {
         // Given
-        Vote existingVote = Vote.builder()
-                .voteType(VoteType.UPVOTE)
-                .comment(testComment)
-                .user(testUser)
-                .build();
-
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(blockService.isBlockedByUser(anyLong())).thenReturn(false);
-        when(blockService.hasBlockedUser(anyLong())).thenReturn(false);
-        when(voteRepository.findByCommentAndUser(testComment, testUser)).thenReturn(Optional.of(existingVote));
+        when(voteRepository.insertCommentVoteIfAbsent(1L, 1L, "UPVOTE")).thenReturn(0);
 
         // When
         voteService.likeComment(1L);
 
         // Then - should do nothing, no exceptions thrown
-        verify(voteRepository, never()).save(any(Vote.class));
+        verify(voteCounterService, never()).addCommentDelta(anyLong(), anyInt());
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
@@ -139,16 +135,15 @@ class VoteServiceLikeTest {
     @DisplayName("Should do nothing when trying to unlike not liked comment (idempotent)")
     void shouldDoNothingWhenTryingToUnlikeNotLikedComment() {
         // Given
-        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(commentRepository.existsById(1L)).thenReturn(true);
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(voteRepository.findByCommentAndUser(testComment, testUser)).thenReturn(Optional.empty());
+        when(voteRepository.deleteCommentVote(1L, 1L)).thenReturn(0);
 
         // When
         voteService.unlikeComment(1L);
 
         // Then - should do nothing, no exceptions thrown
-        verify(voteRepository, never()).delete(any(Vote.class));
-        verify(commentRepository, never()).save(any(Comment.class));
+        verify(voteCounterService, never()).addCommentDelta(anyLong(), anyInt());
     }
 
     @Test
@@ -157,41 +152,60 @@ class VoteServiceLikeTest {
         // Given
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(blockService.isBlockedByUser(anyLong())).thenReturn(false);
-        when(blockService.hasBlockedUser(anyLong())).thenReturn(false);
-        when(voteRepository.findByPostAndUser(testPost, testUser)).thenReturn(Optional.empty());
-        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(voteRepository.insertPostVoteIfAbsent(1L, 1L, "UPVOTE")).thenReturn(1);
 
         // When
         voteService.likePost(1L);
 
         // Then
-        verify(voteRepository).save(any(Vote.class));
-        verify(postRepository).save(any(Post.class));
+        verify(voteCounterService).addPostDelta(1L, 1);
+        verify(voteRepository, never()).findByPostAndUser(any(), any());
+        verify(postRepository, never()).save(any(Post.class));
         verify(eventPublisher).publishEvent(any());
+        verify(hotRankingService).updatePost(testPost);
     }
 
     @Test
     @DisplayName("Should successfully unlike post when liked before")
     void shouldSuccessfullyUnlikePostWhenLikedBefore() {
         // Given
-        Vote existingVote = Vote.builder()
-                .voteType(VoteType.UPVOTE)
-                .post(testPost)
-                .user(testUser)
-                .build();
-
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(authService.getCurrentUser()).thenReturn(testUser);
-        when(voteRepository.findByPostAndUser(testPost, testUser)).thenReturn(Optional.of(existingVote));
-        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(voteRepository.deletePostVote(1L, 1L)).thenReturn(1);
 
         // When
         voteService.unlikePost(1L);
 
         // Then
-        verify(voteRepository).delete(existingVote);
-        verify(postRepository).save(any(Post.class));
+        verify(voteCounterService).addPostDelta(1L, -1);
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    @DisplayName("Should reject unliking a missing comment")
+    void shouldRejectUnlikingMissingComment() {
+        when(commentRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> voteService.unlikeComment(1L)).isInstanceOf(SpringRedditException.class);
+
+        verify(voteRepository, never()).deleteCommentVote(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should include pending vote deltas in like status")
+    void shouldIncludePendingDeltasInLikeStatus() {
+        // Given
+        testPost.setVoteCount(5);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(voteRepository.findByPostAndUser(testPost, testUser)).thenReturn(Optional.empty());
+        when(voteCounterService.getPendingPostDelta(1L)).thenReturn(2L);
+
+        // When
+        VoteStatusDto status = voteService.getPostLikeStatus(1L);
+
+        // Then
+        assertThat(status.getLikeCount()).isEqualTo(7);
+        assertThat(status.isLiked()).isFalse();
     }
-} 
\ No newline at end of file
+}
@@ -60,7 +60,7 @@ class AuthServiceImplTest {
     void setUp() {
         authService = new AuthServiceImpl(
             passwordEncoder, userRepository, verificationTokenRepository, 
-            mailService, null, null, null
+            mailService, null, null, null, null
         );
         
         registerRequest = new RegisterRequest();
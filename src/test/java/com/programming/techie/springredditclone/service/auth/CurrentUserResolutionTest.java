@@ -0,0 +1,141 @@
+package com.programming.techie.springredditclone.service.auth;
+
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.UserRepository;
+import com.programming.techie.springredditclone.repository.VerificationTokenRepository;
+import com.programming.techie.springredditclone.security.JwtProvider;
+import com.programming.techie.springredditclone.security.UserIdCache;
+import com.programming.techie.springredditclone.service.MailService;
+import com.programming.techie.springredditclone.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthServiceImpl current-user resolution
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentUserResolutionTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Mock
+    private MailService mailService;
+
+    private UserIdCache userIdCache;
+    private AuthServiceImpl authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userIdCache = new UserIdCache(100, 600);
+        authService = new AuthServiceImpl(
+            passwordEncoder, userRepository, verificationTokenRepository,
+            mailService, null, null, null, userIdCache
+        );
+
+        user = new User();
+        user.setUserId(7L);
+        user.setUsername("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should resolve by userId claim without a username lookup")
+    void shouldResolveByUserIdClaim() {
+        authenticate(jwt("alice", 7L));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        assertThat(authService.getCurrentUser()).isSameAs(user);
+
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should resolve the principal once per request")
+    void shouldMemoizeWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate(jwt("alice", 7L));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(authService.getCurrentUser()).isSameAs(user);
+        }
+
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to username lookup for tokens without a userId claim and cache the id")
+    void shouldCacheUserIdForLegacyTokens() {
+        authenticate(jwt("alice", null));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        authService.getCurrentUser();
+        authService.getCurrentUser();
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        verify(userRepository, times(1)).findById(7L);
+        assertThat(userIdCache.getUserId("alice")).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should ignore a userId claim that belongs to another username")
+    void shouldIgnoreMismatchedClaim() {
+        User other = new User();
+        other.setUserId(7L);
+        other.setUsername("bob");
+        authenticate(jwt("alice", 7L));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(other));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        assertThat(authService.getCurrentUser()).isSameAs(user);
+    }
+
+    private static Jwt jwt(String username, Long userId) {
+        Jwt.Builder builder = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(username)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60));
+        if (userId != null) {
+            builder.claim(JwtProvider.USER_ID_CLAIM, userId);
+        }
+        return builder.build();
+    }
+
+    private static void authenticate(Jwt jwt) {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+}
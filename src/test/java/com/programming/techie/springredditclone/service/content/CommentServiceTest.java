@@ -2,25 +2,36 @@ package com.programming.techie.springredditclone.service.content;
 
 import com.programming.techie.springredditclone.dto.CommentsDto;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.dto.SearchHit;
 import com.programming.techie.springredditclone.dto.CreateCommentRequest;
 import com.programming.techie.springredditclone.exceptions.PostNotFoundException;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.mapper.CommentMapper;
 import com.programming.techie.springredditclone.model.Comment;
+import com.programming.techie.springredditclone.model.CommentSort;
 import com.programming.techie.springredditclone.model.NotificationEmail;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.CommentRepository;
 import com.programming.techie.springredditclone.repository.PostRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
+import com.programming.techie.springredditclone.repository.VoteRepository;
 import com.programming.techie.springredditclone.service.AuthService;
+import com.programming.techie.springredditclone.service.BlockValidationService;
 import com.programming.techie.springredditclone.service.CommentService;
+import com.programming.techie.springredditclone.service.HotRankingService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import com.programming.techie.springredditclone.service.ContentFilterService;
+import com.programming.techie.springredditclone.service.SearchService;
 import com.programming.techie.springredditclone.event.PostCommentedEvent;
 import com.programming.techie.springredditclone.service.impl.CommentServiceImpl;
 import com.programming.techie.springredditclone.service.impl.MailContentBuilder;
 import com.programming.techie.springredditclone.service.MailService;
+import com.programming.techie.springredditclone.util.BlockContext;
+import com.programming.techie.springredditclone.util.CommentPath;
 import com.programming.techie.springredditclone.util.CursorUtil;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,9 +77,27 @@ class CommentServiceTest {
     @Mock
     private CursorUtil cursorUtil;
 
+    @Mock
+    private BlockValidationService blockValidationService;
+
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private VoteCounterService voteCounterService;
+
+    @Mock
+    private ContentFilterService contentFilterService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private VoteRepository voteRepository;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -180,6 +209,7 @@ class CommentServiceTest {
         // Arrange
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(commentRepository.findByPost(testPost)).thenReturn(Arrays.asList(testComment));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -234,7 +264,8 @@ class CommentServiceTest {
         // Arrange
         List<Comment> comments = Arrays.asList(testComment);
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(commentRepository.findTopLevelCommentsByPostFirstPage(1L)).thenReturn(comments);
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(comments);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -255,7 +286,8 @@ class CommentServiceTest {
         CursorUtil.CursorData cursorData = new CursorUtil.CursorData(Instant.now(), 1L);
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
         when(cursorUtil.decodeCursor("test-cursor")).thenReturn(cursorData);
-        when(commentRepository.findTopLevelCommentsByPostWithCursor(1L, 1L)).thenReturn(comments);
+        when(commentRepository.findTopLevelCommentsByPostWithCursor(eq(1L), eq(1L), any(Pageable.class))).thenReturn(comments);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -272,7 +304,8 @@ class CommentServiceTest {
         // Arrange
         List<Comment> comments = Arrays.asList(testComment);
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(commentRepository.findTopLevelCommentsByPostFirstPage(1L)).thenReturn(comments);
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(comments);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -287,7 +320,8 @@ class CommentServiceTest {
         // Arrange
         List<Comment> comments = Arrays.asList(testComment);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(commentRepository.findCommentsByUserFirstPage("testuser")).thenReturn(comments);
+        when(commentRepository.findCommentsByUserFirstPage(eq(testUser), any(Pageable.class))).thenReturn(comments);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -304,7 +338,8 @@ class CommentServiceTest {
         // Arrange
         List<Comment> replies = Arrays.asList(testComment);
         when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
-        when(commentRepository.findRepliesByCommentFirstPage(1L)).thenReturn(replies);
+        when(commentRepository.findRepliesByCommentFirstPage(eq(1L), any(Pageable.class))).thenReturn(replies);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
 
         // Act
@@ -316,6 +351,73 @@ class CommentServiceTest {
         assertEquals(testCommentDto, result.getContent().get(0));
     }
 
+    @Test
+    void getRepliesForComment_LoggedIn_ShouldMarkViewerUpvotesWithOneQuery() {
+        // Arrange
+        Comment reply = new Comment();
+        reply.setId(2L);
+        reply.setPost(testPost);
+        reply.setUser(testUser);
+        CommentsDto replyDto = CommentsDto.builder().id(2L).build();
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(commentRepository.findRepliesByCommentFirstPage(eq(1L), any(Pageable.class))).thenReturn(List.of(testComment, reply));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(authService.isLoggedIn()).thenReturn(true);
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(voteRepository.findUpvotedCommentIdsByUser(1L, List.of(1L, 2L))).thenReturn(List.of(2L));
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+        when(commentMapper.mapToDto(reply)).thenReturn(replyDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getRepliesForComment(1L, null, 20);
+
+        // Assert
+        assertFalse(result.getContent().get(0).isUpVote());
+        assertTrue(result.getContent().get(1).isUpVote());
+        verify(voteRepository, never()).findByCommentAndUser(any(), any());
+    }
+
+    @Test
+    void searchComments_ShouldHydrateHitsInRelevanceOrderAndEncodeScoreCursor() {
+        // Arrange
+        Comment best = new Comment();
+        best.setId(5L);
+        best.setPost(testPost);
+        best.setUser(testUser);
+        CommentsDto bestDto = CommentsDto.builder().id(5L).build();
+        when(searchService.searchComments("great post", null, null, 3)).thenReturn(List.of(
+                new SearchHit(5L, 0.8), new SearchHit(1L, 0.5), new SearchHit(9L, 0.2)));
+        when(commentRepository.findAllWithUserByIdIn(List.of(5L, 1L))).thenReturn(List.of(testComment, best));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(best)).thenReturn(bestDto);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+        when(cursorUtil.encodeScoreCursor(0.5, 1L)).thenReturn("page2");
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.searchComments("great post", null, 2);
+
+        // Assert
+        assertEquals(List.of(5L, 1L), result.getContent().stream().map(CommentsDto::getId).toList());
+        assertTrue(result.isHasMore());
+        assertEquals("page2", result.getNextCursor());
+    }
+
+    @Test
+    void getCommentsForPost_Anonymous_ShouldNotQueryVotes() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(List.of(testComment));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentsForPost(1L, null, 20);
+
+        // Assert
+        assertFalse(result.getContent().get(0).isUpVote());
+        verifyNoInteractions(voteRepository);
+    }
+
     @Test
     void getRepliesForComment_InvalidCommentId_ShouldThrowException() {
         // Arrange
@@ -329,6 +431,9 @@ class CommentServiceTest {
 
     @Test
     void containsSwearWords_WithSwearWord_ShouldThrowException() {
+        // Arrange
+        when(contentFilterService.containsProfanity("This comment contains shit")).thenReturn(true);
+
         // Act & Assert
         assertThrows(SpringRedditException.class, () -> {
             commentService.containsSwearWords("This comment contains shit");
@@ -349,16 +454,19 @@ class CommentServiceTest {
         // Arrange
         Comment comment1 = new Comment();
         comment1.setId(1L);
+        comment1.setUser(testUser);
         comment1.setCreatedDate(Instant.now());
         
         Comment comment2 = new Comment();
         comment2.setId(2L);
+        comment2.setUser(testUser);
         comment2.setCreatedDate(Instant.now());
         
         List<Comment> comments = Arrays.asList(comment1, comment2);
         
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(commentRepository.findTopLevelCommentsByPostFirstPage(1L)).thenReturn(comments);
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(comments);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
         when(commentMapper.mapToDto(any(Comment.class))).thenReturn(testCommentDto);
         when(cursorUtil.encodeCursor(any(Instant.class), any(Long.class))).thenReturn("next-cursor");
 
@@ -369,6 +477,73 @@ class CommentServiceTest {
         assertTrue(result.isHasMore());
         assertEquals("next-cursor", result.getNextCursor());
         assertEquals(1, result.getContent().size());
+        verify(cursorUtil).encodeCursor(comment1.getCreatedDate(), 1L);
+    }
+
+    @Test
+    void getCommentsForPost_ShouldReadOnlyOneRowPastTheLimit() {
+        // Arrange
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), pageable.capture())).thenReturn(List.of(testComment));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentsForPost(1L, null, 1);
+
+        // Assert
+        assertEquals(2, pageable.getValue().getPageSize());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+        verify(cursorUtil, never()).encodeCursor(any(), any());
+    }
+
+    @Test
+    void getCommentsForPost_SortedByTop_ShouldEncodeStoredVoteCountInCursor() {
+        // Arrange
+        Comment second = new Comment();
+        second.setId(2L);
+        second.setPost(testPost);
+        second.setUser(testUser);
+        testComment.setVoteCount(7);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(cursorUtil.decodeScoreCursor("top-cursor")).thenReturn(new CursorUtil.ScoreCursorData(9, 5L));
+        when(commentRepository.findTopLevelCommentsByPostTopWithCursor(eq(1L), eq(9), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(testComment, second));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+        when(voteCounterService.getPendingCommentDelta(1L)).thenReturn(3L);
+        when(cursorUtil.encodeScoreCursor(7.0, 1L)).thenReturn("next-top-cursor");
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentsForPost(1L, "top-cursor", 1, CommentSort.TOP);
+
+        // Assert
+        assertTrue(result.isHasMore());
+        assertEquals("next-top-cursor", result.getNextCursor());
+        assertEquals(1, result.getContent().size());
+        assertEquals(3, result.getContent().get(0).getVoteCount());
+        verify(commentRepository, never()).findTopLevelCommentsByPostWithCursor(any(), any(), any());
+    }
+
+    @Test
+    void getCommentsForPost_SortedByBest_ShouldPageLikeTop() {
+        // Arrange
+        testComment.setVoteCount(4);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findTopLevelCommentsByPostTopFirstPage(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(testComment));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentsForPost(1L, null, 20, CommentSort.BEST);
+
+        // Assert
+        assertFalse(result.isHasMore());
+        assertEquals(1, result.getContent().size());
+        verify(commentRepository).findTopLevelCommentsByPostTopFirstPage(eq(1L), any(Pageable.class));
     }
 
     @Test
@@ -411,6 +586,7 @@ class CommentServiceTest {
         verify(postRepository).save(argThat(savedPost -> 
             savedPost.getCommentCount() == 1 && savedPost.getPostId().equals(1L)
         ));
+        verify(hotRankingService).updatePost(argThat(rankedPost -> rankedPost.getCommentCount() == 1));
     }
 
     @Test
@@ -448,4 +624,86 @@ class CommentServiceTest {
             savedPost.getCommentCount() == 2 && savedPost.getPostId().equals(1L)
         ));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createComment_Reply_ShouldExtendParentPath() {
+        // Arrange
+        testComment.setPath(CommentPath.ROOT);
+        testComment.setDepth(0);
+        Comment reply = new Comment();
+        reply.setUser(testUser);
+        CreateCommentRequest request = CreateCommentRequest.builder()
+                .postId(1L)
+                .parentCommentId(1L)
+                .text("Reply")
+                .build();
+        testPost.setCommentCount(1);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(testComment));
+        when(commentMapper.mapToComment(request, testPost, testUser, testComment)).thenReturn(reply);
+
+        // Act
+        commentService.createComment(request);
+
+        // Assert
+        verify(commentRepository).save(argThat(saved ->
+            CommentPath.segment(1L).equals(saved.getPath()) && saved.getDepth() == 1
+        ));
+        verify(commentRepository).incrementReplyCount(1L);
+    }
+
+    @Test
+    void getCommentThread_ShouldNestDescendantsUnderTheirParents() {
+        // Arrange
+        Comment reply = threadComment(2L, testComment, 1);
+        Comment nested = threadComment(3L, reply, 2);
+        Comment orphan = threadComment(4L, threadComment(99L, testComment, 1), 2);
+        CommentsDto replyDto = CommentsDto.builder().id(2L).build();
+        CommentsDto nestedDto = CommentsDto.builder().id(3L).build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(List.of(testComment));
+        when(commentRepository.findThreadDescendants(eq(1L), eq(CommentPath.subtreeStart(1L)),
+                eq(CommentPath.subtreeEnd(1L)), eq(3), any(Pageable.class))).thenReturn(List.of(reply, nested, orphan));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+        when(commentMapper.mapToDto(reply)).thenReturn(replyDto);
+        when(commentMapper.mapToDto(nested)).thenReturn(nestedDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentThread(1L, null, 10, null);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        CommentsDto root = result.getContent().get(0);
+        assertEquals(List.of(replyDto), root.getReplies());
+        assertEquals(List.of(nestedDto), replyDto.getReplies());
+        assertTrue(nestedDto.getReplies().isEmpty());
+    }
+
+    @Test
+    void getCommentThread_WithZeroDepth_ShouldNotLoadDescendants() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        when(commentRepository.findTopLevelCommentsByPostFirstPage(eq(1L), any(Pageable.class))).thenReturn(List.of(testComment));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(commentMapper.mapToDto(testComment)).thenReturn(testCommentDto);
+
+        // Act
+        CursorPageResponse<CommentsDto> result = commentService.getCommentThread(1L, null, 10, 0);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        verify(commentRepository, never()).findThreadDescendants(any(), any(), any(), anyInt(), any());
+    }
+
+    private Comment threadComment(Long id, Comment parent, int depth) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setPost(testPost);
+        comment.setUser(testUser);
+        comment.setParentComment(parent);
+        comment.setDepth(depth);
+        return comment;
+    }
+}
@@ -1,11 +1,17 @@
 package com.programming.techie.springredditclone.service.content;
 
+import com.programming.techie.springredditclone.dto.FollowedAuthors;
 import com.programming.techie.springredditclone.dto.PostRequest;
+import com.programming.techie.springredditclone.dto.PostFeedRow;
 import com.programming.techie.springredditclone.dto.PostResponse;
+import com.programming.techie.springredditclone.dto.RankedPost;
+import com.programming.techie.springredditclone.dto.SearchHit;
+import com.programming.techie.springredditclone.event.PostCreatedEvent;
 import com.programming.techie.springredditclone.mapper.PostMapper;
 import com.programming.techie.springredditclone.model.Post;
 import com.programming.techie.springredditclone.model.Subreddit;
 import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.repository.FollowRepository;
 import com.programming.techie.springredditclone.repository.PostRepository;
 import com.programming.techie.springredditclone.repository.SubredditRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
@@ -15,6 +21,12 @@ import com.programming.techie.springredditclone.repository.VoteRepository;
 import com.programming.techie.springredditclone.model.Vote;
 import com.programming.techie.springredditclone.model.VoteType;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.BlockValidationService;
+import com.programming.techie.springredditclone.service.HotRankingService;
+import com.programming.techie.springredditclone.service.VoteCounterService;
+import com.programming.techie.springredditclone.service.ContentFilterService;
+import com.programming.techie.springredditclone.service.SearchService;
+import com.programming.techie.springredditclone.service.TimelineService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,7 +36,11 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.util.BlockContext;
+import com.programming.techie.springredditclone.util.CursorUtil;
+import com.programming.techie.springredditclone.util.LongHashSet;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -62,6 +78,33 @@ class PostServiceTest {
     @Mock
     private BlockService blockService;
 
+    @Mock
+    private BlockValidationService blockValidationService;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CursorUtil cursorUtil;
+
+    @Mock
+    private HotRankingService hotRankingService;
+
+    @Mock
+    private VoteCounterService voteCounterService;
+
+    @Mock
+    private ContentFilterService contentFilterService;
+
+    @Mock
+    private SearchService searchService;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -127,6 +170,8 @@ class PostServiceTest {
         assertThat(savedPost.getCreatedDate()).isNotNull();
         assertThat(savedPost.getSubreddits()).hasSize(2);
         assertThat(savedPost.getSubreddits()).contains(programmingSubreddit, gamingSubreddit);
+        verify(subredditRepository).incrementPostCount(Set.of(1L, 2L));
+        verify(eventPublisher).publishEvent(any(PostCreatedEvent.class));
     }
 
     @Test
@@ -510,40 +555,237 @@ class PostServiceTest {
     @DisplayName("Should get posts by subreddit ID successfully")
     void shouldGetPostsBySubredditId() {
         // Given
-        List<Post> posts = List.of(new Post(), new Post());
+        List<PostFeedRow> rows = List.of(feedRow(10L, testUser), feedRow(11L, testUser));
         List<PostResponse> expectedResponses = List.of(new PostResponse(), new PostResponse());
 
         when(subredditRepository.findById(1L)).thenReturn(Optional.of(programmingSubreddit));
-        when(postRepository.findBySubredditWithCursor(eq(programmingSubreddit), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(posts);
-        when(postMapper.mapToDto(posts.get(0))).thenReturn(expectedResponses.get(0));
-        when(postMapper.mapToDto(posts.get(1))).thenReturn(expectedResponses.get(1));
+        when(postRepository.findFeedRowsBySubredditWithCursor(eq(programmingSubreddit), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(rows);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(postMapper.mapToDto(eq(rows.get(0)), anyList())).thenReturn(expectedResponses.get(0));
+        when(postMapper.mapToDto(eq(rows.get(1)), anyList())).thenReturn(expectedResponses.get(1));
 
         // When
         CursorPageResponse<PostResponse> result = postService.getPostsBySubreddit(1L, null, 10);
 
         // Then
         assertThat(result.getContent()).isEqualTo(expectedResponses);
-        verify(postRepository).findBySubredditWithCursor(eq(programmingSubreddit), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class));
+        verify(postRepository).findFeedRowsBySubredditWithCursor(eq(programmingSubreddit), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class));
     }
 
     @Test
     @DisplayName("Should get posts by username successfully")
     void shouldGetPostsByUsername() {
         // Given
-        List<Post> posts = List.of(new Post(), new Post());
+        List<PostFeedRow> rows = List.of(feedRow(10L, testUser), feedRow(11L, testUser));
         List<PostResponse> expectedResponses = List.of(new PostResponse(), new PostResponse());
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(postRepository.findByUserWithCursor(eq(testUser), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(posts);
-        when(postMapper.mapToDto(posts.get(0))).thenReturn(expectedResponses.get(0));
-        when(postMapper.mapToDto(posts.get(1))).thenReturn(expectedResponses.get(1));
+        when(postRepository.findFeedRowsByUserWithCursor(eq(testUser), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(rows);
+        when(postMapper.mapToDto(eq(rows.get(0)), anyList())).thenReturn(expectedResponses.get(0));
+        when(postMapper.mapToDto(eq(rows.get(1)), anyList())).thenReturn(expectedResponses.get(1));
 
         // When
         CursorPageResponse<PostResponse> result = postService.getPostsByUsername("testuser", null, 10);
 
         // Then
         assertThat(result.getContent()).isEqualTo(expectedResponses);
-        verify(postRepository).findByUserWithCursor(eq(testUser), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class));
+        verify(postRepository).findFeedRowsByUserWithCursor(eq(testUser), any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should resolve vote state and subreddit names for a whole feed page with bulk queries")
+    void shouldResolveFeedVoteStateInBulk() {
+        // Given
+        List<PostFeedRow> rows = List.of(feedRow(10L, testUser), feedRow(11L, testUser));
+
+        when(postRepository.findFeedRowsWithCursor(any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(rows);
+        List<Object[]> subredditRows = new ArrayList<>();
+        subredditRows.add(new Object[]{10L, "programming"});
+        subredditRows.add(new Object[]{10L, "gaming"});
+        when(postRepository.findSubredditNamesByPostIds(List.of(10L, 11L))).thenReturn(subredditRows);
+        when(postMapper.mapToDto(any(PostFeedRow.class), anyList())).thenAnswer(invocation -> {
+            PostResponse response = new PostResponse();
+            response.setSubredditNames(invocation.getArgument(1));
+            return response;
+        });
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(authService.isLoggedIn()).thenReturn(true);
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        List<Object[]> voteRows = new ArrayList<>();
+        voteRows.add(new Object[]{10L, VoteType.UPVOTE});
+        when(voteRepository.findPostVoteStatesByUser(eq(testUser), eq(List.of(10L, 11L)))).thenReturn(voteRows);
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.getAllPosts(null, 10);
+
+        // Then
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent().get(0).isUpVote()).isTrue();
+        assertThat(result.getContent().get(0).getSubredditNames()).containsExactly("programming", "gaming");
+        assertThat(result.getContent().get(1).isUpVote()).isFalse();
+        assertThat(result.getContent().get(1).getSubredditNames()).isEmpty();
+        verify(authService, times(1)).getCurrentUser();
+        verify(voteRepository, times(1)).findPostVoteStatesByUser(eq(testUser), any());
+        verify(postRepository, times(1)).findSubredditNamesByPostIds(any());
+        verify(voteRepository, never()).findByPostAndUser(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should filter feed authors against the request's block context")
+    void shouldFilterFeedAgainstBlockContext() {
+        // Given
+        User blockedAuthor = new User();
+        blockedAuthor.setUserId(2L);
+        blockedAuthor.setUsername("blockedauthor");
+        PostFeedRow visibleRow = feedRow(10L, testUser);
+        PostFeedRow blockedRow = feedRow(11L, blockedAuthor);
+        LongHashSet blockedUserIds = new LongHashSet();
+        blockedUserIds.add(2L);
+
+        when(postRepository.findFeedRowsWithCursor(any(Instant.class), any(Long.class), any(org.springframework.data.domain.Pageable.class))).thenReturn(List.of(visibleRow, blockedRow));
+        when(postMapper.mapToDto(eq(visibleRow), anyList())).thenReturn(new PostResponse());
+        when(blockValidationService.getBlockContext()).thenReturn(new BlockContext(blockedUserIds, LongHashSet.empty()));
+        when(authService.isLoggedIn()).thenReturn(false);
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.getAllPosts(null, 10);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        verify(blockValidationService, times(1)).getBlockContext();
+        verify(blockValidationService, never()).hasBlockRelationship(any(Long.class));
+        verify(postMapper, never()).mapToDto(eq(blockedRow), anyList());
+        verify(postRepository).findSubredditNamesByPostIds(List.of(10L));
+    }
+
+    @Test
+    @DisplayName("Should merge fanned-out timeline entries with heavy authors read at query time")
+    void shouldMergeFollowingTimeline() {
+        // Given
+        User lightAuthor = new User();
+        lightAuthor.setUserId(2L);
+        lightAuthor.setUsername("light");
+        User heavyAuthor = new User();
+        heavyAuthor.setUserId(3L);
+        heavyAuthor.setUsername("heavy");
+        User unfollowedAuthor = new User();
+        unfollowedAuthor.setUserId(4L);
+        unfollowedAuthor.setUsername("unfollowed");
+        Instant now = Instant.now();
+        PostFeedRow newest = new PostFeedRow(30L, "Newest", null, "d", 0, 0, now.minusSeconds(10), 2L, "light");
+        PostFeedRow middle = new PostFeedRow(20L, "Middle", null, "d", 0, 0, now.minusSeconds(20), 3L, "heavy");
+        PostFeedRow oldest = new PostFeedRow(10L, "Oldest", null, "d", 0, 0, now.minusSeconds(30), 2L, "light");
+        PostFeedRow stale = new PostFeedRow(15L, "Stale", null, "d", 0, 0, now.minusSeconds(15), 4L, "unfollowed");
+
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(followRepository.findActiveFollowingIds(testUser)).thenReturn(List.of(2L, 3L));
+        when(timelineService.classifyAuthors(List.of(2L, 3L))).thenReturn(new FollowedAuthors(List.of(2L), List.of(3L)));
+        when(timelineService.getTimelinePostIds(eq(1L), eq(List.of(2L)), any(Instant.class), eq(6)))
+                .thenReturn(List.of(30L, 15L, 10L));
+        when(postRepository.findFeedRowsByPostIds(List.of(30L, 15L, 10L))).thenReturn(List.of(oldest, stale, newest));
+        when(postRepository.findFeedRowsByUserIdsWithCursor(eq(List.of(3L)), any(Instant.class), eq(Long.MAX_VALUE), any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(List.of(middle));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(postMapper.mapToDto(any(PostFeedRow.class), anyList())).thenAnswer(invocation -> {
+            PostResponse response = new PostResponse();
+            response.setId(((PostFeedRow) invocation.getArgument(0)).getPostId());
+            return response;
+        });
+        when(cursorUtil.encodeCursor(middle.getCreatedDate(), 20L)).thenReturn("next");
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.getFollowingTimeline(null, 2);
+
+        // Then
+        assertThat(result.getContent()).extracting(PostResponse::getId).containsExactly(30L, 20L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Should widen the timeline range until enough entries survive filtering")
+    void shouldWidenFollowingTimelineRangeWhenEntriesAreFiltered() {
+        // Given
+        Instant now = Instant.now();
+        PostFeedRow newest = new PostFeedRow(30L, "Newest", null, "d", 0, 0, now.minusSeconds(30), 2L, "light");
+        PostFeedRow oldest = new PostFeedRow(10L, "Oldest", null, "d", 0, 0, now.minusSeconds(40), 2L, "light");
+        List<PostFeedRow> unfollowedRows = new ArrayList<>();
+        for (long id = 41; id <= 44; id++) {
+            unfollowedRows.add(new PostFeedRow(id, "Stale", null, "d", 0, 0, now.minusSeconds(id - 40), 4L, "unfollowed"));
+        }
+        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(followRepository.findActiveFollowingIds(testUser)).thenReturn(List.of(2L));
+        when(timelineService.classifyAuthors(List.of(2L))).thenReturn(new FollowedAuthors(List.of(2L), List.of()));
+        when(timelineService.getTimelinePostIds(eq(1L), eq(List.of(2L)), any(Instant.class), eq(4)))
+                .thenReturn(List.of(41L, 42L, 43L, 44L));
+        when(timelineService.getTimelinePostIds(eq(1L), eq(List.of(2L)), any(Instant.class), eq(8)))
+                .thenReturn(List.of(41L, 42L, 43L, 44L, 30L, 10L));
+        when(postRepository.findFeedRowsByPostIds(List.of(41L, 42L, 43L, 44L))).thenReturn(unfollowedRows);
+        when(postRepository.findFeedRowsByPostIds(List.of(30L, 10L))).thenReturn(List.of(newest, oldest));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(postMapper.mapToDto(any(PostFeedRow.class), anyList())).thenAnswer(invocation -> {
+            PostResponse response = new PostResponse();
+            response.setId(((PostFeedRow) invocation.getArgument(0)).getPostId());
+            return response;
+        });
+        when(cursorUtil.encodeCursor(newest.getCreatedDate(), 30L)).thenReturn("next");
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.getFollowingTimeline(null, 1);
+
+        // Then
+        assertThat(result.getContent()).extracting(PostResponse::getId).containsExactly(30L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Should page promoted posts by (score, id) cursor in ranking order")
+    void shouldPagePromotedPostsByScoreCursor() {
+        // Given
+        when(cursorUtil.decodeScoreCursor("page1")).thenReturn(new CursorUtil.ScoreCursorData(5.0, 40L));
+        when(hotRankingService.getRankedPosts(5.0, 40L, 3)).thenReturn(List.of(
+                new RankedPost(30L, 4.5), new RankedPost(20L, 4.0), new RankedPost(10L, 3.0)));
+        when(postRepository.findFeedRowsByPostIds(List.of(30L, 20L))).thenReturn(List.of(feedRow(20L, testUser), feedRow(30L, testUser)));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(postMapper.mapToDto(any(PostFeedRow.class), anyList())).thenAnswer(invocation -> {
+            PostResponse response = new PostResponse();
+            response.setId(((PostFeedRow) invocation.getArgument(0)).getPostId());
+            return response;
+        });
+        when(cursorUtil.encodeScoreCursor(4.0, 20L)).thenReturn("page2");
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.getPromotedPosts("page1", 2);
+
+        // Then
+        assertThat(result.getContent()).extracting(PostResponse::getId).containsExactly(30L, 20L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("page2");
+    }
+
+    @Test
+    @DisplayName("Should page search results by (score, id) cursor in relevance order")
+    void shouldPageSearchResultsByScoreCursor() {
+        // Given
+        when(searchService.searchPosts("spring boot", null, null, 3)).thenReturn(List.of(
+                new SearchHit(30L, 0.9), new SearchHit(20L, 0.4), new SearchHit(10L, 0.1)));
+        when(postRepository.findFeedRowsByPostIds(List.of(30L, 20L))).thenReturn(List.of(feedRow(20L, testUser), feedRow(30L, testUser)));
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
+        when(postMapper.mapToDto(any(PostFeedRow.class), anyList())).thenAnswer(invocation -> {
+            PostResponse response = new PostResponse();
+            response.setId(((PostFeedRow) invocation.getArgument(0)).getPostId());
+            return response;
+        });
+        when(cursorUtil.encodeScoreCursor(0.4, 20L)).thenReturn("page2");
+
+        // When
+        CursorPageResponse<PostResponse> result = postService.searchPosts("spring boot", null, 2);
+
+        // Then
+        assertThat(result.getContent()).extracting(PostResponse::getId).containsExactly(30L, 20L);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("page2");
     }
 
     @Test
@@ -730,4 +972,9 @@ class PostServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("You can only delete your own posts");
     }
-} 
\ No newline at end of file
+
+    private static PostFeedRow feedRow(Long postId, User author) {
+        return new PostFeedRow(postId, "Post " + postId, null, "description", 0, 0,
+                Instant.now(), author.getUserId(), author.getUsername());
+    }
+}
@@ -0,0 +1,112 @@
+package com.programming.techie.springredditclone.service.content;
+
+import com.programming.techie.springredditclone.dto.CursorPageResponse;
+import com.programming.techie.springredditclone.dto.SubredditDto;
+import com.programming.techie.springredditclone.dto.SubredditPostCount;
+import com.programming.techie.springredditclone.exceptions.SpringRedditException;
+import com.programming.techie.springredditclone.mapper.SubredditMapper;
+import com.programming.techie.springredditclone.repository.SubredditRepository;
+import com.programming.techie.springredditclone.service.impl.SubredditServiceImpl;
+import com.programming.techie.springredditclone.util.CursorUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubredditServiceTest {
+
+    @Mock
+    private SubredditRepository subredditRepository;
+
+    @Mock
+    private SubredditMapper subredditMapper;
+
+    @Mock
+    private CursorUtil cursorUtil;
+
+    @InjectMocks
+    private SubredditServiceImpl subredditService;
+
+    @Test
+    @DisplayName("Should page subreddits and continue from the cursor of the last one")
+    void shouldPageSubredditsAndContinueFromCursor() {
+        // Given
+        SubredditDto gaming = new SubredditDto(2L, "gaming", "Gaming discussions", 4);
+        SubredditDto programming = new SubredditDto(1L, "programming", "Programming discussions", 9);
+        when(subredditRepository.findListingFirstPage(any(Pageable.class))).thenReturn(List.of(gaming, programming));
+        when(cursorUtil.encodeKeyCursor("gaming", 2L)).thenReturn("cursor-1");
+        when(cursorUtil.decodeKeyCursor("cursor-1")).thenReturn(new CursorUtil.KeyCursorData("gaming", 2L));
+        when(subredditRepository.findListingWithCursor(eq("gaming"), eq(2L), any(Pageable.class))).thenReturn(List.of(programming));
+
+        // When
+        CursorPageResponse<SubredditDto> first = subredditService.getAll(null, 1);
+        CursorPageResponse<SubredditDto> second = subredditService.getAll(first.getNextCursor(), 1);
+
+        // Then
+        assertThat(first.getContent()).containsExactly(gaming);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getContent()).containsExactly(programming);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(subredditRepository).findListingFirstPage(pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cap the requested limit at 100")
+    void shouldCapRequestedLimit() {
+        // Given
+        when(subredditRepository.findListingFirstPage(any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        CursorPageResponse<SubredditDto> page = subredditService.getAll(null, 1000);
+
+        // Then
+        assertThat(page.getLimit()).isEqualTo(100);
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read a single subreddit with its counted posts")
+    void shouldReadSubredditWithCountedPosts() {
+        // Given
+        when(subredditRepository.findWithPostCountById(1L))
+                .thenReturn(Optional.of(new SubredditPostCount(1L, "programming", "Programming discussions", 12L)));
+
+        // When
+        SubredditDto subreddit = subredditService.getSubreddit(1L);
+
+        // Then
+        assertThat(subreddit.getName()).isEqualTo("programming");
+        assertThat(subreddit.getNumberOfPosts()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should throw when subreddit does not exist")
+    void shouldThrowWhenSubredditDoesNotExist() {
+        // Given
+        when(subredditRepository.findWithPostCountById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> subredditService.getSubreddit(99L))
+                .isInstanceOf(SpringRedditException.class)
+                .hasMessage("No subreddit found with ID - 99");
+    }
+}
@@ -12,6 +12,7 @@ import com.programming.techie.springredditclone.repository.FollowRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.event.UserFollowedEvent;
+import com.programming.techie.springredditclone.event.UserUnfollowedEvent;
 import com.programming.techie.springredditclone.service.impl.FollowServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -196,6 +197,7 @@ class FollowServiceTest {
 
         // Then
         verify(followRepository).delete(follow1);
+        verify(eventPublisher).publishEvent(any(UserUnfollowedEvent.class));
     }
 
     @Test
@@ -11,8 +11,11 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.MatchRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.BlockValidationService;
 import com.programming.techie.springredditclone.service.MatchingService;
 import com.programming.techie.springredditclone.service.impl.MatchingServiceImpl;
+import com.programming.techie.springredditclone.util.BlockContext;
+import com.programming.techie.springredditclone.util.LongHashSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,6 +47,9 @@ class MatchingServiceTest {
     @Mock
     private BlockService blockService;
 
+    @Mock
+    private BlockValidationService blockValidationService;
+
     private MatchingServiceImpl matchingService;
 
     private User currentUser;
@@ -67,7 +73,7 @@ class MatchingServiceTest {
         matchedUser.setEnabled(true);
 
         // Create service with mocked dependencies and test current user
-        matchingService = new TestMatchingServiceImpl(matchRepository, userRepository, blockService, matchMapper, currentUser);
+        matchingService = new TestMatchingServiceImpl(matchRepository, userRepository, blockService, blockValidationService, matchMapper, currentUser);
 
         // Setup test match
         match = new Match();
@@ -96,6 +102,7 @@ class MatchingServiceTest {
         // Arrange
         List<User> potentialUsers = Arrays.asList(matchedUser);
         when(userRepository.findPotentialMatches(anyLong(), anyInt())).thenReturn(potentialUsers);
+        when(blockValidationService.getBlockContext()).thenReturn(BlockContext.EMPTY);
 
         // Act
         List<MatchDto> result = matchingService.findPotentialMatches(10);
@@ -110,6 +117,27 @@ class MatchingServiceTest {
         verify(userRepository).findPotentialMatches(anyLong(), eq(10));
     }
 
+    @Test
+    void findPotentialMatches_ShouldFilterBlockedUsersInMemory() {
+        // Arrange
+        User blockingUser = new User();
+        blockingUser.setUserId(3L);
+        blockingUser.setUsername("testuser3");
+        LongHashSet blockedByUserIds = new LongHashSet();
+        blockedByUserIds.add(3L);
+        when(userRepository.findPotentialMatches(anyLong(), anyInt())).thenReturn(Arrays.asList(matchedUser, blockingUser));
+        when(blockValidationService.getBlockContext()).thenReturn(new BlockContext(LongHashSet.empty(), blockedByUserIds));
+
+        // Act
+        List<MatchDto> result = matchingService.findPotentialMatches(10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getMatchedUserId());
+        verify(blockValidationService, times(1)).getBlockContext();
+        verifyNoInteractions(blockService);
+    }
+
     @Test
     void createMatch_ShouldCreateNewMatchSuccessfully() {
         // Arrange
@@ -11,6 +11,7 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.MatchRepository;
 import com.programming.techie.springredditclone.repository.UserRepository;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.BlockValidationService;
 import com.programming.techie.springredditclone.service.impl.MatchingServiceImpl;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,9 +31,10 @@ public class TestMatchingServiceImpl extends MatchingServiceImpl {
     public TestMatchingServiceImpl(MatchRepository matchRepository, 
                                  UserRepository userRepository, 
                                  BlockService blockService,
+                                 BlockValidationService blockValidationService,
                                  MatchMapper matchMapper,
                                  User testCurrentUser) {
-        super(matchRepository, userRepository, blockService, matchMapper);
+        super(matchRepository, userRepository, blockService, blockValidationService, matchMapper);
         this.testCurrentUser = testCurrentUser;
     }
 
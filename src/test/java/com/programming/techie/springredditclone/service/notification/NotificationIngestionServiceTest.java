@@ -0,0 +1,303 @@
+package com.programming.techie.springredditclone.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.model.User;
+import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
+import com.programming.techie.springredditclone.service.impl.NotificationIngestionServiceImpl;
+import com.programming.techie.springredditclone.service.impl.NotificationPushServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationIngestionServiceTest {
+
+    // Row layout of NotificationIngestionServiceImpl.INSERT_SQL parameters
+    private static final int RECIPIENT = 0;
+    private static final int SENDER = 1;
+    private static final int MESSAGE = 3;
+    private static final int TYPE = 4;
+    private static final int POST = 6;
+    private static final int COMMENT = 7;
+    private static final int ACTION_URL = 10;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BlockService blockService;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    private NotificationIngestionServiceImpl ingestionService;
+    private User owner;
+    // Parameter rows bound to the insert statement, in batch order
+    private final List<Object[]> insertedRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ingestionService = ingestionService(100);
+        owner = user(1L, "owner");
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection()));
+    }
+
+    @Test
+    void flush_ShouldCoalesceLikeBurstIntoOneRowNamingLatestActor() {
+        for (long id = 2; id <= 43; id++) {
+            ingestionService.enqueueLike(user(id, "user" + id), owner, 10L);
+        }
+
+        int written = ingestionService.flush();
+
+        assertThat(written).isEqualTo(1);
+        List<Object[]> rows = capturedRows();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[RECIPIENT]).isEqualTo(1L);
+        assertThat(rows.get(0)[SENDER]).isEqualTo(43L);
+        assertThat(rows.get(0)[MESSAGE]).isEqualTo("user43 and 41 others liked your post");
+        assertThat(rows.get(0)[TYPE]).isEqualTo("like");
+        assertThat(rows.get(0)[POST]).isEqualTo(10L);
+    }
+
+    @Test
+    void flush_ShouldKeepSeparateRowsPerRecipientTypeAndPost() {
+        User liker = user(2L, "liker");
+        ingestionService.enqueueLike(liker, owner, 10L);
+        ingestionService.enqueueLike(liker, owner, 11L);
+        ingestionService.enqueueComment(liker, owner, 10L, 100L);
+        ingestionService.enqueueFollow(liker, owner);
+        ingestionService.enqueueLike(liker, user(3L, "other"), 10L);
+
+        ingestionService.flush();
+
+        List<Object[]> rows = capturedRows();
+        assertThat(rows).extracting(row -> row[MESSAGE]).containsExactly(
+                "liker liked your post", "liker liked your post", "liker commented on your post",
+                "liker started following you", "liker liked your post");
+        assertThat(rows.get(2)[COMMENT]).isEqualTo(100L);
+        assertThat(rows.get(2)[ACTION_URL]).isEqualTo("/posts/10#comment-100");
+        assertThat(rows.get(3)[ACTION_URL]).isEqualTo("/profile/liker");
+        verify(unreadNotificationCounter).increment(1L, 4L);
+        verify(unreadNotificationCounter).increment(3L, 1L);
+    }
+
+    @Test
+    void flush_ShouldCountRepeatedActorOnce() {
+        User alice = user(2L, "alice");
+        User bob = user(3L, "bob");
+        ingestionService.enqueueLike(alice, owner, 10L);
+        ingestionService.enqueueLike(bob, owner, 10L);
+        ingestionService.enqueueLike(alice, owner, 10L);
+
+        ingestionService.flush();
+
+        assertThat(capturedRows().get(0)[MESSAGE]).isEqualTo("alice and 1 other liked your post");
+    }
+
+    @Test
+    void enqueue_ShouldSkipSelfAndBlockedUsers() {
+        when(blockService.hasBlockedUser(3L)).thenReturn(true);
+
+        ingestionService.enqueueLike(owner, owner, 10L);
+        ingestionService.enqueueFollow(user(2L, "follower"), user(3L, "blocker"));
+
+        assertThat(ingestionService.flush()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void enqueue_WhenQueueIsFull_ShouldFlushOnCallerThread() {
+        ingestionService = ingestionService(2);
+
+        ingestionService.enqueueLike(user(2L, "a"), owner, 10L);
+        ingestionService.enqueueLike(user(3L, "b"), owner, 11L);
+        ingestionService.enqueueLike(user(4L, "c"), owner, 12L);
+
+        // The first two were written to make room, the third is still queued
+        assertThat(capturedRows()).hasSize(2);
+        ingestionService.flush();
+        verify(jdbcTemplate, times(2)).execute(any(ConnectionCallback.class));
+        assertThat(capturedRows()).hasSize(3);
+    }
+
+    @Test
+    void flush_WhenInsertFails_ShouldRequeueEventsForNextFlush() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection()));
+        ingestionService.enqueueLike(user(2L, "a"), owner, 10L);
+        ingestionService.enqueueLike(user(3L, "b"), owner, 10L);
+
+        assertThat(ingestionService.flush()).isZero();
+        verifyNoInteractions(unreadNotificationCounter, notificationPushService);
+        assertThat(ingestionService.flush()).isEqualTo(1);
+        assertThat(ingestionService.flush()).isZero();
+        verify(unreadNotificationCounter).increment(1L, 1L);
+        verify(notificationPushService).pushNotification(eq(1L), any(NotificationDto.class));
+    }
+
+    @Test
+    void flush_ShouldPushEachWrittenRowWithItsGeneratedId() {
+        ingestionService.enqueueLike(user(2L, "alice"), owner, 10L);
+        ingestionService.enqueueLike(user(3L, "bob"), owner, 10L);
+        ingestionService.enqueueFollow(user(2L, "alice"), user(4L, "carol"));
+
+        ingestionService.flush();
+
+        ArgumentCaptor<NotificationDto> pushed = ArgumentCaptor.forClass(NotificationDto.class);
+        verify(notificationPushService).pushNotification(eq(1L), pushed.capture());
+        verify(notificationPushService).pushNotification(eq(4L), pushed.capture());
+        assertThat(pushed.getAllValues()).extracting(NotificationDto::getId).containsExactly(1L, 2L);
+        NotificationDto like = pushed.getAllValues().get(0);
+        assertThat(like.getMessage()).isEqualTo("bob and 1 other liked your post");
+        assertThat(like.getRecipientUsername()).isEqualTo("owner");
+        assertThat(like.getSenderUsername()).isEqualTo("bob");
+        assertThat(like.getNotificationType()).isEqualTo("like");
+        assertThat(like.getRelatedPostId()).isEqualTo(10L);
+        assertThat(like.isRead()).isFalse();
+        assertThat(pushed.getAllValues().get(1).getActionUrl()).isEqualTo("/profile/alice");
+    }
+
+    @Test
+    void flush_ShouldDeliverLikeToSubscribedStream() {
+        List<String> events = new ArrayList<>();
+        NotificationPushServiceImpl pushService = new NotificationPushServiceImpl(mock(RedisService.class),
+                mock(RedisMessageListenerContainer.class), new ObjectMapper().findAndRegisterModules(), Runnable::run,
+                60_000, 90_000, 10_000, 16, 5, 100) {
+            @Override
+            protected SseEmitter createEmitter() {
+                return new SseEmitter() {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        StringBuilder event = new StringBuilder();
+                        builder.build().forEach(part -> event.append(part.getData()));
+                        events.add(event.toString());
+                    }
+                };
+            }
+        };
+        ingestionService = new NotificationIngestionServiceImpl(jdbcTemplate, transactionManager, blockService, unreadNotificationCounter,
+                pushService, 100, 500);
+        pushService.subscribe(1L, 0L);
+
+        ingestionService.enqueueLike(user(2L, "alice"), owner, 10L);
+        ingestionService.flush();
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1))
+                .startsWith("event:notification\n")
+                .contains("\"id\":1", "\"message\":\"alice liked your post\"", "\"recipientUsername\":\"owner\"");
+    }
+
+    @Test
+    void flush_WhenDriverReturnsNoKeys_ShouldSkipPushButKeepRows() throws SQLException {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection(false)));
+        ingestionService.enqueueLike(user(2L, "a"), owner, 10L);
+
+        assertThat(ingestionService.flush()).isEqualTo(1);
+
+        verify(unreadNotificationCounter).increment(1L, 1L);
+        verify(notificationPushService, never()).pushNotification(anyLong(), any());
+    }
+
+    private NotificationIngestionServiceImpl ingestionService(int queueCapacity) {
+        return new NotificationIngestionServiceImpl(jdbcTemplate, transactionManager, blockService, unreadNotificationCounter,
+                notificationPushService, queueCapacity, 500);
+    }
+
+    private List<Object[]> capturedRows() {
+        return insertedRows;
+    }
+
+    private Connection connection() throws SQLException {
+        return connection(true);
+    }
+
+    // Records bound rows and hands out sequential generated ids for every executed batch
+    private Connection connection(boolean returnKeys) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(eq(insertSql()), any(String[].class))).thenReturn(statement);
+        Object[][] current = {new Object[13]};
+        List<Long> pendingKeys = new ArrayList<>();
+        lenient().doAnswer(invocation -> {
+            current[0][invocation.<Integer>getArgument(0) - 1] = invocation.getArgument(1);
+            return null;
+        }).when(statement).setObject(anyInt(), any(), anyInt());
+        lenient().doAnswer(invocation -> {
+            insertedRows.add(current[0]);
+            pendingKeys.add((long) insertedRows.size());
+            current[0] = new Object[13];
+            return null;
+        }).when(statement).addBatch();
+        lenient().when(statement.getGeneratedKeys()).thenAnswer(invocation -> {
+            List<Long> keys = returnKeys ? new ArrayList<>(pendingKeys) : List.of();
+            pendingKeys.clear();
+            return keys(keys);
+        });
+        return connection;
+    }
+
+    private static ResultSet keys(List<Long> ids) throws SQLException {
+        ResultSet keys = mock(ResultSet.class);
+        int[] cursor = {-1};
+        when(keys.next()).thenAnswer(invocation -> ++cursor[0] < ids.size());
+        lenient().when(keys.getLong(1)).thenAnswer(invocation -> ids.get(cursor[0]));
+        return keys;
+    }
+
+    private static String insertSql() {
+        return "INSERT INTO notifications (recipient_id, sender_id, title, message, notification_type, "
+                + "priority, is_read, is_deleted, related_post_id, related_comment_id, related_user_id, created_at, action_url, icon, category) "
+                + "VALUES (?, ?, ?, ?, ?, ?, false, false, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,252 @@
+package com.programming.techie.springredditclone.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.impl.NotificationPushServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPushServiceTest {
+
+    private static final String CHANNEL = "notifications:push";
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private CountDownLatch stallWrites;
+    private NotificationPushServiceImpl pushService;
+
+    @BeforeEach
+    void setUp() {
+        pushService = pushService(Runnable::run, 90_000, 4, 5);
+    }
+
+    @Test
+    void subscribe_ShouldSendCurrentUnreadCountFirst() {
+        pushService.subscribe(1L, 3L);
+
+        assertThat(emitters.get(0).events).containsExactly("event:unread-count\ndata:3\n\n");
+    }
+
+    @Test
+    void pushNotification_ShouldWriteToLocalStreamsAndPublishOnce() throws Exception {
+        pushService.subscribe(1L, 0L);
+        pushService.subscribe(2L, 0L);
+
+        pushService.pushNotification(1L, notification(10L));
+
+        assertThat(emitters.get(0).events).hasSize(2);
+        assertThat(emitters.get(0).events.get(1)).startsWith("event:notification\ndata:").contains("\"id\":10");
+        assertThat(emitters.get(1).events).hasSize(1);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisService).publish(eq(CHANNEL), published.capture());
+        assertThat(objectMapper.readTree(published.getValue()).get("userId").asLong()).isEqualTo(1L);
+    }
+
+    @Test
+    void onMessage_ShouldDeliverEventsFromOtherNodesOnly() throws Exception {
+        NotificationPushServiceImpl otherNode = pushService(Runnable::run, 90_000, 4, 5);
+        otherNode.subscribe(1L, 0L);
+        pushService.subscribe(1L, 0L);
+        otherNode.pushUnreadCount(1L, 7L);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisService).publish(eq(CHANNEL), published.capture());
+
+        pushService.onMessage(message(published.getValue()), null);
+        otherNode.onMessage(message(published.getValue()), null);
+
+        // Each stream sees the count once: the origin wrote it directly, the other node from Redis
+        assertThat(emitters.get(0).events).containsExactly(
+                "event:unread-count\ndata:0\n\n", "event:unread-count\ndata:7\n\n");
+        assertThat(emitters.get(1).events).containsExactly(
+                "event:unread-count\ndata:0\n\n", "event:unread-count\ndata:7\n\n");
+    }
+
+    @Test
+    void pushUnreadCount_WhileWriterIsBusy_ShouldSendOnlyLatestCount() {
+        List<Runnable> stalled = new ArrayList<>();
+        pushService = pushService(stalled::add, 90_000, 2, 5);
+        pushService.subscribe(1L, 0L);
+
+        pushService.pushUnreadCount(1L, 1L);
+        pushService.pushUnreadCount(1L, 2L);
+        stalled.get(0).run();
+
+        assertThat(stalled).hasSize(1);
+        assertThat(emitters.get(0).events).containsExactly("event:unread-count\ndata:2\n\n");
+    }
+
+    @Test
+    void pushNotification_WhenClientFallsBehind_ShouldDisconnectIt() {
+        List<Runnable> stalled = new ArrayList<>();
+        pushService = pushService(stalled::add, 90_000, 2, 5);
+        pushService.subscribe(1L, 0L);
+
+        pushService.pushNotification(1L, notification(10L));
+        pushService.pushNotification(1L, notification(11L));
+        assertThat(emitters.get(0).completed).isFalse();
+
+        pushService.pushNotification(1L, notification(12L));
+
+        assertThat(emitters.get(0).completed).isTrue();
+        stalled.get(0).run();
+        assertThat(emitters.get(0).events).isEmpty();
+    }
+
+    @Test
+    void sendHeartbeats_ShouldCloseStreamsThatCannotBeWritten() {
+        pushService.subscribe(1L, 0L);
+        pushService.subscribe(2L, 0L);
+        emitters.get(1).failing = true;
+
+        pushService.sendHeartbeats();
+
+        assertThat(emitters.get(0).events).last().isEqualTo(":heartbeat\n\n");
+        assertThat(emitters.get(0).completed).isFalse();
+        assertThat(emitters.get(1).completed).isTrue();
+    }
+
+    @Test
+    void sendHeartbeats_ShouldEvictIdleStreams() {
+        pushService = pushService(task -> { }, -1, 4, 5);
+        pushService.subscribe(1L, 0L);
+
+        assertThat(pushService.sendHeartbeats()).isEqualTo(1);
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(pushService.sendHeartbeats()).isZero();
+    }
+
+    @Test
+    void sendHeartbeats_ShouldAbortStreamBlockedInWriteBeyondSendTimeout() throws Exception {
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            pushService = pushService(writer, 90_000, 0, 4, 5);
+            // The initial unread count write blocks until the client connection is dropped
+            stallWrites = new CountDownLatch(1);
+            pushService.subscribe(1L, 0L);
+            RecordingEmitter emitter = emitters.get(0);
+            assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(5);
+
+            assertThat(pushService.sendHeartbeats()).isEqualTo(1);
+
+            assertThat(emitter.error).isInstanceOf(IOException.class);
+            assertThat(pushService.sendHeartbeats()).isZero();
+        } finally {
+            stallWrites.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    void subscribe_OverPerUserLimit_ShouldCloseOldestStream() {
+        pushService = pushService(Runnable::run, 90_000, 4, 1);
+
+        pushService.subscribe(1L, 0L);
+        pushService.subscribe(1L, 0L);
+        pushService.pushUnreadCount(1L, 5L);
+
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(emitters.get(0).events).hasSize(1);
+        assertThat(emitters.get(1).events).hasSize(2);
+    }
+
+    private NotificationPushServiceImpl pushService(Executor executor, long idleTimeoutMillis, int bufferSize, int maxStreamsPerUser) {
+        return pushService(executor, idleTimeoutMillis, 10_000, bufferSize, maxStreamsPerUser);
+    }
+
+    private NotificationPushServiceImpl pushService(Executor executor, long idleTimeoutMillis, long sendTimeoutMillis,
+                                                    int bufferSize, int maxStreamsPerUser) {
+        return new NotificationPushServiceImpl(redisService, listenerContainer, objectMapper, executor,
+                60_000, idleTimeoutMillis, sendTimeoutMillis, bufferSize, maxStreamsPerUser, 100) {
+            @Override
+            protected SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitter.stall = stallWrites;
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private DefaultMessage message(String payload) throws Exception {
+        // Published strings reach listeners JSON-encoded by the template's value serializer
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(payload));
+    }
+
+    private static NotificationDto notification(Long id) {
+        return NotificationDto.builder()
+                .id(id)
+                .title("New Like")
+                .notificationType("like")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+        private CountDownLatch stall;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (stall != null) {
+                try {
+                    stall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("Connection reset");
+            }
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            error = ex;
+        }
+    }
+}
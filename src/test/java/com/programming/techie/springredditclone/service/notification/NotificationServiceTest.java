@@ -1,6 +1,7 @@
 package com.programming.techie.springredditclone.service.notification;
 
 import com.programming.techie.springredditclone.dto.NotificationDto;
+import com.programming.techie.springredditclone.dto.NotificationPageResponse;
 import com.programming.techie.springredditclone.exceptions.SpringRedditException;
 import com.programming.techie.springredditclone.mapper.NotificationMapper;
 import com.programming.techie.springredditclone.model.Notification;
@@ -8,8 +9,11 @@ import com.programming.techie.springredditclone.model.User;
 import com.programming.techie.springredditclone.repository.NotificationRepository;
 import com.programming.techie.springredditclone.service.AuthService;
 import com.programming.techie.springredditclone.service.BlockService;
+import com.programming.techie.springredditclone.service.NotificationPushService;
 import com.programming.techie.springredditclone.service.NotificationService;
+import com.programming.techie.springredditclone.service.UnreadNotificationCounter;
 import com.programming.techie.springredditclone.service.impl.NotificationServiceImpl;
+import com.programming.techie.springredditclone.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +23,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -44,6 +49,14 @@ class NotificationServiceTest {
     @Mock
     private BlockService blockService;
 
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    private final CursorUtil cursorUtil = new CursorUtil();
+
     private NotificationService notificationService;
 
     private User currentUser;
@@ -53,7 +66,8 @@ class NotificationServiceTest {
 
     @BeforeEach
     void setUp() {
-        notificationService = new NotificationServiceImpl(notificationRepository, notificationMapper, authService, blockService);
+        notificationService = new NotificationServiceImpl(notificationRepository, notificationMapper, authService, blockService, unreadNotificationCounter,
+                notificationPushService, cursorUtil);
 
         // Setup test users
         currentUser = new User();
@@ -117,6 +131,7 @@ class NotificationServiceTest {
         assertEquals("comment", result.getNotificationType());
         verify(notificationRepository).save(any(Notification.class));
         verify(notificationMapper).mapToDto(notification);
+        verify(notificationPushService).pushNotification(1L, notificationDto);
     }
 
     @Test
@@ -141,14 +156,72 @@ class NotificationServiceTest {
         verify(notificationRepository).findByRecipientOrderByCreatedAtDesc(currentUser, pageable);
     }
 
+    @Test
+    void getInbox_FirstPage_ShouldReturnCursorOfLastRowWithoutCounting() {
+        // Arrange
+        NotificationDto newer = NotificationDto.builder().id(3L).createdAt(Instant.parse("2024-01-02T00:00:00Z")).build();
+        NotificationDto older = NotificationDto.builder().id(2L).createdAt(Instant.parse("2024-01-01T00:00:00Z")).build();
+        NotificationDto lookAhead = NotificationDto.builder().id(1L).createdAt(Instant.parse("2023-12-31T00:00:00Z")).build();
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(notificationRepository.findInboxFirstPage(1L, null, null, null, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(newer, older, lookAhead));
+
+        // Act
+        NotificationPageResponse result = notificationService.getInbox(null, 2, false, null, null, false);
+
+        // Assert
+        assertEquals(List.of(newer, older), result.getContent());
+        assertTrue(result.isHasMore());
+        assertNull(result.getTotalCount());
+        CursorUtil.CursorData cursor = cursorUtil.decodeCursor(result.getNextCursor());
+        assertEquals(older.getCreatedAt(), cursor.getCreatedDate());
+        assertEquals(2L, cursor.getId());
+        verify(notificationRepository, never()).countInbox(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getInbox_WithCursor_ShouldContinueAfterCursorAndCountWhenAsked() {
+        // Arrange
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        String cursor = cursorUtil.encodeCursor(createdAt, 5L);
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(notificationRepository.findInboxWithCursor(1L, null, "like", null, createdAt, 5L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(notificationDto));
+        when(notificationRepository.countInbox(1L, null, "like", null)).thenReturn(6L);
+
+        // Act
+        NotificationPageResponse result = notificationService.getInbox(cursor, null, false, "like", null, true);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+        assertEquals(6L, result.getTotalCount());
+    }
+
+    @Test
+    void getInbox_UnreadOnlyWithCount_ShouldTakeTotalFromUnreadCounter() {
+        // Arrange
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(notificationRepository.findInboxFirstPage(1L, false, null, null, PageRequest.of(0, 51)))
+                .thenReturn(List.of(notificationDto));
+        when(unreadNotificationCounter.getUnreadCount(1L)).thenReturn(4L);
+
+        // Act
+        NotificationPageResponse result = notificationService.getInbox(null, 500, true, null, null, true);
+
+        // Assert
+        assertEquals(50, result.getLimit());
+        assertEquals(4L, result.getTotalCount());
+        verify(notificationRepository, never()).countInbox(anyLong(), any(), any(), any());
+    }
+
     @Test
     void getUnreadNotificationsForCurrentUser_ShouldReturnUnreadNotifications() {
         // Arrange
-        List<Notification> unreadNotifications = Arrays.asList(notification);
         when(authService.getCurrentUser()).thenReturn(currentUser);
-        when(notificationRepository.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(currentUser))
-                .thenReturn(unreadNotifications);
-        when(notificationMapper.mapToDto(notification)).thenReturn(notificationDto);
+        when(notificationRepository.findInboxFirstPage(1L, false, null, null, PageRequest.of(0, 100)))
+                .thenReturn(List.of(notificationDto));
 
         // Act
         List<NotificationDto> result = notificationService.getUnreadNotificationsForCurrentUser();
@@ -157,17 +230,14 @@ class NotificationServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertFalse(result.get(0).isRead());
-        verify(notificationRepository).findByRecipientAndIsReadFalseOrderByCreatedAtDesc(currentUser);
     }
 
     @Test
     void getNotificationsByType_ShouldReturnNotificationsByType() {
         // Arrange
-        List<Notification> typeNotifications = Arrays.asList(notification);
         when(authService.getCurrentUser()).thenReturn(currentUser);
-        when(notificationRepository.findByRecipientAndNotificationTypeOrderByCreatedAtDesc(currentUser, "comment"))
-                .thenReturn(typeNotifications);
-        when(notificationMapper.mapToDto(notification)).thenReturn(notificationDto);
+        when(notificationRepository.findInboxFirstPage(1L, null, "comment", null, PageRequest.of(0, 100)))
+                .thenReturn(List.of(notificationDto));
 
         // Act
         List<NotificationDto> result = notificationService.getNotificationsByType("comment");
@@ -176,17 +246,14 @@ class NotificationServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("comment", result.get(0).getNotificationType());
-        verify(notificationRepository).findByRecipientAndNotificationTypeOrderByCreatedAtDesc(currentUser, "comment");
     }
 
     @Test
     void getNotificationsByCategory_ShouldReturnNotificationsByCategory() {
         // Arrange
-        List<Notification> categoryNotifications = Arrays.asList(notification);
         when(authService.getCurrentUser()).thenReturn(currentUser);
-        when(notificationRepository.findByRecipientAndCategoryOrderByCreatedAtDesc(currentUser, "social"))
-                .thenReturn(categoryNotifications);
-        when(notificationMapper.mapToDto(notification)).thenReturn(notificationDto);
+        when(notificationRepository.findInboxFirstPage(1L, null, null, "social", PageRequest.of(0, 100)))
+                .thenReturn(List.of(notificationDto));
 
         // Act
         List<NotificationDto> result = notificationService.getNotificationsByCategory("social");
@@ -195,19 +262,33 @@ class NotificationServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("social", result.get(0).getCategory());
-        verify(notificationRepository).findByRecipientAndCategoryOrderByCreatedAtDesc(currentUser, "social");
     }
 
     @Test
     void markNotificationAsRead_ShouldMarkNotificationAsRead() {
         // Arrange
         when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(notificationRepository.markAsRead(eq(1L), eq(currentUser), any(Instant.class))).thenReturn(1);
 
         // Act
         notificationService.markNotificationAsRead(1L);
 
         // Assert
-        verify(notificationRepository).markAsRead(eq(1L), any(Instant.class));
+        verify(notificationRepository).markAsRead(eq(1L), eq(currentUser), any(Instant.class));
+        verify(unreadNotificationCounter).decrement(1L);
+    }
+
+    @Test
+    void markNotificationAsRead_WhenAlreadyRead_ShouldNotDecrementUnreadCount() {
+        // Arrange
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(notificationRepository.markAsRead(eq(1L), eq(currentUser), any(Instant.class))).thenReturn(0);
+
+        // Act
+        notificationService.markNotificationAsRead(1L);
+
+        // Assert
+        verify(unreadNotificationCounter, never()).decrement(anyLong());
     }
 
     @Test
@@ -220,20 +301,36 @@ class NotificationServiceTest {
 
         // Assert
         verify(notificationRepository).markAllAsRead(eq(currentUser), any(Instant.class));
+        verify(unreadNotificationCounter).reset(1L);
     }
 
     @Test
     void getUnreadNotificationCount_ShouldReturnCorrectCount() {
         // Arrange
         when(authService.getCurrentUser()).thenReturn(currentUser);
-        when(notificationRepository.countByRecipientAndIsReadFalse(currentUser)).thenReturn(5L);
+        when(unreadNotificationCounter.getUnreadCount(1L)).thenReturn(5L);
 
         // Act
         Long result = notificationService.getUnreadNotificationCount();
 
         // Assert
         assertEquals(5L, result);
-        verify(notificationRepository).countByRecipientAndIsReadFalse(currentUser);
+        verify(notificationRepository, never()).countByRecipientAndIsReadFalse(any(User.class));
+    }
+
+    @Test
+    void subscribeToNotifications_ShouldOpenStreamWithCurrentUnreadCount() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(authService.getCurrentUser()).thenReturn(currentUser);
+        when(unreadNotificationCounter.getUnreadCount(1L)).thenReturn(3L);
+        when(notificationPushService.subscribe(1L, 3L)).thenReturn(emitter);
+
+        // Act
+        SseEmitter result = notificationService.subscribeToNotifications();
+
+        // Assert
+        assertSame(emitter, result);
     }
 
     @Test
@@ -251,6 +348,7 @@ class NotificationServiceTest {
         verify(notificationRepository).save(notification);
         assertTrue(notification.isDeleted());
         assertNotNull(notification.getDeletedAt());
+        verify(unreadNotificationCounter).decrement(1L);
     }
 
     @Test
@@ -291,6 +389,7 @@ class NotificationServiceTest {
 
         // Assert
         verify(notificationRepository).deleteAllForUser(eq(currentUser), any(Instant.class));
+        verify(unreadNotificationCounter).reset(1L);
     }
 
     @Test
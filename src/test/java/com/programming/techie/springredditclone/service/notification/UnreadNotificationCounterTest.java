@@ -0,0 +1,114 @@
+package com.programming.techie.springredditclone.service.notification;
+
+import com.programming.techie.springredditclone.repository.NotificationRepository;
+import com.programming.techie.springredditclone.service.NotificationPushService;
+import com.programming.techie.springredditclone.service.RedisService;
+import com.programming.techie.springredditclone.service.impl.UnreadNotificationCounterImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    private static final String KEY = "notifications:unread:1";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    private UnreadNotificationCounterImpl counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounterImpl(notificationRepository, redisService, notificationPushService, 100, 60_000, 86_400);
+    }
+
+    @Test
+    void getUnreadCount_ShouldServeRepeatedReadsFromLocalTier() {
+        when(redisService.get(KEY, Number.class)).thenReturn(4);
+
+        assertThat(counter.getUnreadCount(1L)).isEqualTo(4L);
+        assertThat(counter.getUnreadCount(1L)).isEqualTo(4L);
+
+        verify(redisService, times(1)).get(KEY, Number.class);
+        verify(notificationRepository, never()).countUnreadByRecipientId(anyLong());
+    }
+
+    @Test
+    void getUnreadCount_WhenNotCached_ShouldRebuildFromDatabase() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(7L);
+
+        assertThat(counter.getUnreadCount(1L)).isEqualTo(7L);
+
+        verify(redisService).set(KEY, 7L, 86_400, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void increment_ShouldAdjustCachedCountAndDropLocalEntry() {
+        when(redisService.get(KEY, Number.class)).thenReturn(4, 5);
+        when(redisService.incrementIfPresent(KEY, 1)).thenReturn(5L);
+        counter.getUnreadCount(1L);
+
+        counter.increment(1L, 1);
+
+        assertThat(counter.getUnreadCount(1L)).isEqualTo(5L);
+        verify(redisService, never()).delete(KEY);
+        verify(notificationPushService).pushUnreadCount(1L, 5L);
+    }
+
+    @Test
+    void increment_WhenCountIsNotCached_ShouldLeaveItToBeRebuilt() {
+        when(redisService.incrementIfPresent(KEY, -1)).thenReturn(null);
+
+        counter.decrement(1L);
+
+        verify(redisService).delete(KEY);
+        verify(notificationPushService, never()).pushUnreadCount(anyLong(), anyLong());
+        verify(redisService, never()).set(eq(KEY), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void reset_ShouldStoreZero() {
+        counter.reset(1L);
+
+        verify(redisService).set(KEY, 0L, 86_400, TimeUnit.SECONDS);
+        verify(notificationPushService).pushUnreadCount(1L, 0L);
+    }
+
+    @Test
+    void reconcile_ShouldOverwriteDriftedCountsOnly() {
+        when(redisService.get(KEY, Number.class)).thenReturn(3, 9);
+        when(redisService.get("notifications:unread:2", Number.class)).thenReturn(2, 2);
+        counter.getUnreadCount(1L);
+        counter.getUnreadCount(2L);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection()))
+                .thenReturn(List.of(new Object[]{1L, 3L}, new Object[]{2L, 2L}));
+
+        int repaired = counter.reconcile();
+
+        assertThat(repaired).isEqualTo(1);
+        verify(redisService).set(KEY, 3L, 86_400, TimeUnit.SECONDS);
+        verify(redisService, never()).set(eq("notifications:unread:2"), any(), anyLong(), any(TimeUnit.class));
+    }
+}